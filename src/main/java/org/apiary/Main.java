@@ -5,8 +5,11 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.apiary.config.CacheStatistics;
+import org.apiary.config.ConnectionPoolStatistics;
 import org.apiary.config.HibernateConfig;
 import org.apiary.service.ServiceFactory;
+import org.apiary.utils.concurrent.BackgroundLoader;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 
@@ -42,8 +45,11 @@ public class Main extends Application {
 
     @Override
     public void stop() {
+        BackgroundLoader.shutdown();
         ServiceFactory.shutdown();
         if (HibernateConfig.getSessionFactory() != null) {
+            CacheStatistics.logRegionStatistics();
+            ConnectionPoolStatistics.logMetrics();
             HibernateConfig.getSessionFactory().close();
         }
     }
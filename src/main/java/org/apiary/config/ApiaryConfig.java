@@ -1,31 +1,34 @@
 package org.apiary.config;
 
+import org.apiary.model.PaymentGateway;
+import org.apiary.model.PaymentSystem;
+import org.apiary.repository.changefeed.ChangeFeed;
+import org.apiary.repository.changefeed.ChangeLogTableTransport;
 import org.apiary.repository.impl.*;
 import org.apiary.repository.interfaces.*;
+import org.apiary.repository.transaction.TransactionTemplate;
 import org.apiary.service.AllServices;
 import org.apiary.service.impl.*;
 import org.apiary.service.interfaces.*;
+import org.apiary.utils.observer.EventDispatcher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.IOException;
-import java.util.Properties;
-
 @Configuration
 public class ApiaryConfig {
 
+    // The same profile-resolved properties the session factory is built from
     @Bean
-    public Properties getDatabaseProperties() {
-        Properties properties = new Properties();
-        try {
-            // Load from classpath (src/main/resources)
-            properties.load(getClass().getClassLoader().getResourceAsStream("application.properties"));
-        } catch(IOException e) {
-            System.err.println("Failed to load application.properties: " + e.getMessage());
-            throw new RuntimeException("Configuration file application.properties not found", e);
-        }
-        return properties;
+    public DatabaseProperties databaseProperties() {
+        return HibernateConfig.getDatabaseProperties();
+    }
+
+    // Change feed shared with the other instances: poll every 2000 ms, read 200 entries at once, keep entries for 1440 minutes
+    @Bean(destroyMethod = "shutdown")
+    public ChangeFeed changeFeed() {
+        return new ChangeFeed(new ChangeLogTableTransport(), 2000, 200, 1440);
     }
+
     // Repository
     @Bean
     public UserRepository userRepository() {
@@ -33,18 +36,24 @@ public class ApiaryConfig {
     }
 
     @Bean
-    public ApiaryRepository apiaryRepository() {
-        return new ApiaryRepositoryImpl();
+    public ApiaryRepository apiaryRepository(ChangeFeed changeFeed) {
+        ApiaryRepositoryImpl apiaryRepository = new ApiaryRepositoryImpl();
+        apiaryRepository.setChangeFeed(changeFeed);
+        return apiaryRepository;
     }
 
     @Bean
-    public HiveRepository hiveRepository() {
-        return new HiveRepositoryImpl();
+    public HiveRepository hiveRepository(ChangeFeed changeFeed) {
+        HiveRepositoryImpl hiveRepository = new HiveRepositoryImpl();
+        hiveRepository.setChangeFeed(changeFeed);
+        return hiveRepository;
     }
 
     @Bean
-    public HoneyProductRepository honeyProductRepository() {
-        return new HoneyProductRepositoryImpl();
+    public HoneyProductRepository honeyProductRepository(ChangeFeed changeFeed) {
+        HoneyProductRepositoryImpl honeyProductRepository = new HoneyProductRepositoryImpl();
+        honeyProductRepository.setChangeFeed(changeFeed);
+        return honeyProductRepository;
     }
 
     @Bean
@@ -58,8 +67,10 @@ public class ApiaryConfig {
     }
 
     @Bean
-    public OrderRepository orderRepository() {
-        return new OrderRepositoryImpl();
+    public OrderRepository orderRepository(ChangeFeed changeFeed) {
+        OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+        orderRepository.setChangeFeed(changeFeed);
+        return orderRepository;
     }
 
     @Bean
@@ -72,6 +83,34 @@ public class ApiaryConfig {
         return new PaymentRepositoryImpl();
     }
 
+    @Bean
+    public TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate();
+    }
+
+    @Bean
+    public OutboxRepository outboxRepository() {
+        return new OutboxRepositoryImpl();
+    }
+
+    // Order and stock event outbox: drain every 1000 ms when no commit wakes it, publish 100 events at once, keep events for 1440 minutes
+    @Bean(destroyMethod = "shutdown")
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository) {
+        return new OutboxRelay(outboxRepository, 1000, 100, 1440);
+    }
+
+    // Payment gateway; swap in StubPaymentGateway to run checkouts against a local stub
+    @Bean
+    public PaymentGateway paymentGateway() {
+        return new PaymentSystem("Stripe", "stripe_api_key");
+    }
+
+    // Observer notification: 2 threads, 1000 events per observer, 100 ms coalescing window, 500 ms back-pressure wait
+    @Bean(destroyMethod = "shutdown")
+    public EventDispatcher eventDispatcher() {
+        return new EventDispatcher(2, 1000, 100, 500);
+    }
+
     // Service
     @Bean
     public UserService userService(UserRepository userRepository) {
@@ -80,23 +119,36 @@ public class ApiaryConfig {
 
     @Bean
     public ApiaryService apiaryService(ApiaryRepository apiaryRepository,
+                                       HiveRepository hiveRepository,
                                        HoneyProductRepository honeyProductRepository,
                                        OrderItemRepository orderItemRepository,
-                                       CartItemRepository cartItemRepository) {
-        return new ApiaryServiceImpl(apiaryRepository, honeyProductRepository,
-                orderItemRepository, cartItemRepository);
+                                       CartItemRepository cartItemRepository,
+                                       TransactionTemplate transactionTemplate,
+                                       EventDispatcher eventDispatcher) {
+        ApiaryServiceImpl apiaryService = new ApiaryServiceImpl(apiaryRepository, hiveRepository,
+                honeyProductRepository, orderItemRepository, cartItemRepository, transactionTemplate);
+        apiaryService.setEventDispatcher(eventDispatcher);
+        return apiaryService;
     }
 
     @Bean
-    public HiveService hiveService(HiveRepository hiveRepository, ApiaryService apiaryService) {
-        return new HiveServiceImpl(hiveRepository, apiaryService);
+    public HiveService hiveService(HiveRepository hiveRepository, ApiaryService apiaryService,
+                                   EventDispatcher eventDispatcher) {
+        HiveServiceImpl hiveService = new HiveServiceImpl(hiveRepository, apiaryService);
+        hiveService.setEventDispatcher(eventDispatcher);
+        return hiveService;
     }
 
-    @Bean
+    // Search index reconciled with the database every 300 seconds
+    @Bean(destroyMethod = "shutdown")
     public HoneyProductService honeyProductService(HoneyProductRepository honeyProductRepository,
                                                    ApiaryService apiaryService,
-                                                   HiveService hiveService) {
-        return new HoneyProductServiceImpl(honeyProductRepository, apiaryService, hiveService);
+                                                   HiveService hiveService,
+                                                   EventDispatcher eventDispatcher) {
+        HoneyProductServiceImpl honeyProductService =
+                new HoneyProductServiceImpl(honeyProductRepository, apiaryService, hiveService, 300);
+        honeyProductService.setEventDispatcher(eventDispatcher);
+        return honeyProductService;
     }
 
     @Bean
@@ -106,20 +158,53 @@ public class ApiaryConfig {
         return new ShoppingCartServiceImpl(shoppingCartRepository, cartItemRepository, honeyProductRepository);
     }
 
-    @Bean
-    public PaymentService paymentService(PaymentRepository paymentRepository) {
-        return new PaymentServiceImpl(paymentRepository);
+    @Bean(destroyMethod = "shutdown")
+    public PaymentService paymentService(PaymentRepository paymentRepository, PaymentGateway paymentGateway) {
+        return new PaymentServiceImpl(paymentRepository, paymentGateway, 4, 100, 10000);
     }
 
-    @Bean
+    // Orders left PENDING for 15 minutes are held for payment review
+    @Bean(destroyMethod = "shutdown")
     public OrderService orderService(OrderRepository orderRepository,
                                      OrderItemRepository orderItemRepository,
                                      ShoppingCartService shoppingCartService,
                                      PaymentService paymentService,
                                      HoneyProductService honeyProductService,
-                                     HoneyProductRepository honeyProductRepository) {
-        return new OrderServiceImpl(orderRepository, orderItemRepository, shoppingCartService,
-                paymentService, honeyProductService, honeyProductRepository);
+                                     HoneyProductRepository honeyProductRepository,
+                                     CartItemRepository cartItemRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     OutboxRelay outboxRelay,
+                                     EventDispatcher eventDispatcher) {
+        OrderServiceImpl orderService = new OrderServiceImpl(orderRepository, orderItemRepository,
+                shoppingCartService, paymentService, honeyProductService, honeyProductRepository,
+                cartItemRepository, transactionTemplate, outboxRelay, 15);
+        orderService.setEventDispatcher(eventDispatcher);
+        return orderService;
+    }
+
+    // Catalog index, reconciled with the database every 300 seconds
+    @Bean(destroyMethod = "shutdown")
+    public ProductCatalogService productCatalogService(HoneyProductRepository honeyProductRepository,
+                                                       HoneyProductService honeyProductService,
+                                                       OrderService orderService,
+                                                       ApiaryService apiaryService) {
+        return new ProductCatalogServiceImpl(honeyProductRepository, honeyProductService, orderService,
+                apiaryService, 300);
+    }
+
+    // Publishes the changes of the other instances through the services above
+    @Bean
+    public ChangeFeedRelay changeFeedRelay(ChangeFeed changeFeed,
+                                           ApiaryRepository apiaryRepository,
+                                           HiveRepository hiveRepository,
+                                           HoneyProductRepository honeyProductRepository,
+                                           OrderRepository orderRepository,
+                                           ApiaryService apiaryService,
+                                           HiveService hiveService,
+                                           HoneyProductService honeyProductService,
+                                           OrderService orderService) {
+        return new ChangeFeedRelay(changeFeed, apiaryRepository, hiveRepository, honeyProductRepository,
+                orderRepository, apiaryService, hiveService, honeyProductService, orderService);
     }
 
     @Bean
@@ -129,8 +214,9 @@ public class ApiaryConfig {
                                    HoneyProductService honeyProductService,
                                    ShoppingCartService shoppingCartService,
                                    OrderService orderService,
-                                   PaymentService paymentService) {
+                                   PaymentService paymentService,
+                                   ProductCatalogService productCatalogService) {
         return new AllServices(userService, apiaryService, hiveService, honeyProductService,
-                shoppingCartService, orderService, paymentService);
+                shoppingCartService, orderService, paymentService, productCatalogService);
     }
 }
\ No newline at end of file
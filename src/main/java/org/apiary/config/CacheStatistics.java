@@ -0,0 +1,70 @@
+package org.apiary.config;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Exposes per-region hit/miss statistics of the Hibernate second-level and query caches.
+ * Hibernate only counts them when hibernate.generate_statistics is true for the active profile.
+ */
+public class CacheStatistics {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheStatistics.class.getName());
+
+    // Prevent instantiation
+    private CacheStatistics() {
+    }
+
+    /**
+     * Get the statistics of every cache region, keyed by region name
+     * @return A map of region names to their statistics, or an empty map if statistics are not collected
+     */
+    public static Map<String, CacheRegionStatistics> getRegionStatistics() {
+        Statistics statistics = HibernateConfig.getSessionFactory().getStatistics();
+        Map<String, CacheRegionStatistics> regions = new LinkedHashMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+            if (regionStatistics != null) {
+                regions.put(regionName, regionStatistics);
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Get the hit ratio of a cache region
+     * @param regionStatistics The region statistics
+     * @return The hit ratio between 0 and 1, or 0 if the region has not been accessed
+     */
+    public static double getHitRatio(CacheRegionStatistics regionStatistics) {
+        long accesses = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return accesses > 0 ? (double) regionStatistics.getHitCount() / accesses : 0.0;
+    }
+
+    /**
+     * Log the hit/miss statistics of every cache region, or that none were collected
+     */
+    public static void logRegionStatistics() {
+        Statistics statistics = HibernateConfig.getSessionFactory().getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            LOGGER.info("Cache statistics are off; set hibernate.generate_statistics=true to collect them");
+            return;
+        }
+        LOGGER.info("Query cache - Hits: " + statistics.getQueryCacheHitCount()
+                + " | Misses: " + statistics.getQueryCacheMissCount()
+                + " | Puts: " + statistics.getQueryCachePutCount());
+        getRegionStatistics().forEach((regionName, regionStatistics) ->
+                LOGGER.info("Cache region " + regionName
+                        + " - Hits: " + regionStatistics.getHitCount()
+                        + " | Misses: " + regionStatistics.getMissCount()
+                        + " | Puts: " + regionStatistics.getPutCount()
+                        + " | Hit ratio: " + String.format("%.2f", getHitRatio(regionStatistics))));
+    }
+}
\ No newline at end of file
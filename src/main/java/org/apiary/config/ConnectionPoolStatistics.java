@@ -0,0 +1,44 @@
+package org.apiary.config;
+
+import org.apiary.config.pool.PoolMetrics;
+import org.apiary.config.pool.PooledConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Exposes the live metrics of the connection pool behind the Hibernate session factory
+ */
+public class ConnectionPoolStatistics {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPoolStatistics.class.getName());
+
+    // Prevent instantiation
+    private ConnectionPoolStatistics() {
+    }
+
+    /**
+     * Get a snapshot of the connection pool's metrics
+     * @return The metrics, or empty if the session factory does not use a {@link PooledConnectionProvider}
+     */
+    public static Optional<PoolMetrics> getMetrics() {
+        ConnectionProvider provider = HibernateConfig.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        if (provider instanceof PooledConnectionProvider) {
+            return Optional.of(((PooledConnectionProvider) provider).getMetrics());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Log the connection pool's metrics
+     */
+    public static void logMetrics() {
+        getMetrics().ifPresentOrElse(
+                metrics -> LOGGER.info("Connection pool - " + metrics
+                        + " | Peak utilisation: " + String.format("%.2f", metrics.getPeakUtilisation())),
+                () -> LOGGER.info("Connection pool metrics are not available"));
+    }
+}
\ No newline at end of file
@@ -1,17 +1,109 @@
 package org.apiary.config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Database configuration properties
  */
 public class DatabaseProperties {
+    private static final Logger LOGGER = Logger.getLogger(DatabaseProperties.class.getName());
+    private static final String RESOURCE = "application.properties";
+    private static final String PROFILE_KEY = "app.profile";
+    private static final String PROFILE_ENV = "APIARY_PROFILE";
+    private static final String DEFAULT_PROFILE = "prod";
+    // System properties with these prefixes override the files
+    private static final String[] OVERRIDABLE_PREFIXES = {"db.", "hibernate.", "app."};
     private Properties properties;
 
     public DatabaseProperties(Properties properties) {
         this.properties = properties;
     }
 
+    /**
+     * Load application.properties from the classpath, then the application-&lt;profile&gt;.properties
+     * of the active profile over it. The profile is taken from the app.profile system property,
+     * the APIARY_PROFILE environment variable or application.properties, in that order, and is
+     * prod if none names one. A db.*, hibernate.* or app.* system property overrides both files,
+     * so a profile or a single setting can be changed for one run without rebuilding.
+     * @return The database properties
+     */
+    public static DatabaseProperties load() {
+        Properties properties = new Properties();
+        if (!loadResource(properties, RESOURCE)) {
+            LOGGER.warning(RESOURCE + " not found on the classpath, using defaults");
+        }
+
+        String profile = firstNonBlank(System.getProperty(PROFILE_KEY), System.getenv(PROFILE_ENV),
+                properties.getProperty(PROFILE_KEY), DEFAULT_PROFILE).trim();
+        String profileResource = "application-" + profile + ".properties";
+        if (!loadResource(properties, profileResource)) {
+            LOGGER.warning(profileResource + " not found on the classpath, using the defaults for profile " + profile);
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            for (String prefix : OVERRIDABLE_PREFIXES) {
+                if (name.startsWith(prefix)) {
+                    properties.setProperty(name, System.getProperty(name));
+                    break;
+                }
+            }
+        }
+        properties.setProperty(PROFILE_KEY, profile);
+        LOGGER.info("Loaded settings for profile: " + profile);
+        return new DatabaseProperties(properties);
+    }
+
+    private static boolean loadResource(Properties properties, String resource) {
+        try (InputStream in = DatabaseProperties.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return false;
+            }
+            properties.load(in);
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read " + resource, e);
+            return false;
+        }
+    }
+
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the profile the properties were loaded for
+     * @return The active profile, e.g. dev, prod or test
+     */
+    public String getProfile() {
+        return getProperty(PROFILE_KEY, DEFAULT_PROFILE);
+    }
+
+    /**
+     * Get every property whose name starts with a prefix
+     * @param prefix The prefix, e.g. "hibernate."
+     * @return The matching properties, keyed by their full names
+     */
+    public Map<String, String> getPropertiesWithPrefix(String prefix) {
+        Map<String, String> matching = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                matching.put(name, properties.getProperty(name));
+            }
+        }
+        return matching;
+    }
+
     public String getProperty(String key) {
         return properties.getProperty(key);
     }
@@ -20,6 +112,28 @@ public class DatabaseProperties {
         return properties.getProperty(key, defaultValue);
     }
 
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid number for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     public String getServerName() {
         return getProperty("db.server", "localhost");
     }
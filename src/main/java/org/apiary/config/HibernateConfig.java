@@ -1,5 +1,7 @@
 package org.apiary.config;
 
+import org.apiary.config.pool.PoolSettings;
+import org.apiary.config.pool.PooledConnectionProvider;
 import org.apiary.model.*;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
@@ -8,48 +10,85 @@ import org.hibernate.cfg.Environment;
 import org.hibernate.service.ServiceRegistry;
 
 import java.util.Properties;
+import java.util.logging.Logger;
 
 public class HibernateConfig {
+    private static final Logger LOGGER = Logger.getLogger(HibernateConfig.class.getName());
+    private static final int DEFAULT_BATCH_SIZE = 50;
     private static SessionFactory sessionFactory;
+    private static DatabaseProperties databaseProperties;
 
     public static SessionFactory getSessionFactory() {
         if (sessionFactory == null) {
             try {
                 Configuration configuration = new Configuration();
                 Properties settings = new Properties();
+                DatabaseProperties properties = getDatabaseProperties();
 
                 settings.put(Environment.DRIVER, "com.microsoft.sqlserver.jdbc.SQLServerDriver");
 
-                String serverName = System.getProperty("db.server", "localhost");
-                String port = System.getProperty("db.port", "1433");
-                String databaseName = System.getProperty("db.name", "apiary");
-                String username = System.getProperty("db.username", "david");
-                String password = System.getProperty("db.password", "treiezicucuieti");
-
-                settings.put(Environment.URL,
-                        String.format("jdbc:sqlserver://%s:%s;" +
-                                        "databaseName=%s;" +
-                                        "trustServerCertificate=true;" +
-                                        "encrypt=false;" +
-                                        "loginTimeout=30",
-                                serverName, port, databaseName));
+                String serverName = properties.getServerName();
+                String port = properties.getPort();
+                String databaseName = properties.getDatabaseName();
+                String username = properties.getUsername();
+                String password = properties.getPassword();
+
+                String url = String.format("jdbc:sqlserver://%s:%s;" +
+                                "databaseName=%s;" +
+                                "trustServerCertificate=true;" +
+                                "encrypt=false;" +
+                                "loginTimeout=30",
+                        serverName, port, databaseName);
+                settings.put(Environment.URL, url);
                 settings.put(Environment.USER, username);
                 settings.put(Environment.PASS, password);
 
+                // Create the tables added since the database was set up, before validate checks them
+                if (properties.getBoolean("db.schema.migrate", true)) {
+                    SchemaMigrations.apply(url, username, password);
+                }
+
                 // Rest of configuration...
                 settings.put(Environment.DIALECT, "org.hibernate.dialect.SQLServer2012Dialect");
-                settings.put(Environment.SHOW_SQL, "true");
-                settings.put(Environment.FORMAT_SQL, "true");
                 settings.put(Environment.CURRENT_SESSION_CONTEXT_CLASS, "thread");
-                settings.put(Environment.HBM2DDL_AUTO, "update");
 
-                // Connection pool settings
-                settings.put(Environment.CONNECTION_PROVIDER, "org.hibernate.connection.C3P0ConnectionProvider");
-                settings.put(Environment.C3P0_MIN_SIZE, "5");
-                settings.put(Environment.C3P0_MAX_SIZE, "20");
-                settings.put(Environment.C3P0_TIMEOUT, "1800");
-                settings.put(Environment.C3P0_MAX_STATEMENTS, "50");
-                settings.put(Environment.C3P0_IDLE_TEST_PERIOD, "3000");
+                // Production defaults: quiet, and the schema is only checked, never altered
+                settings.put(Environment.SHOW_SQL, "false");
+                settings.put(Environment.FORMAT_SQL, "false");
+                settings.put(Environment.HBM2DDL_AUTO, "validate");
+
+                // JDBC batching: group inserts/updates per entity so flushes need few round-trips
+                settings.put(Environment.STATEMENT_BATCH_SIZE, String.valueOf(getBatchSize()));
+                settings.put(Environment.ORDER_INSERTS, "true");
+                settings.put(Environment.ORDER_UPDATES, "true");
+                settings.put(Environment.BATCH_VERSIONED_DATA, "true");
+
+                // Second-level cache and query cache (region factory is pluggable through db.cache.*)
+                boolean cacheEnabled = properties.getBoolean("db.cache.enabled", true);
+                settings.put(Environment.USE_SECOND_LEVEL_CACHE, String.valueOf(cacheEnabled));
+                settings.put(Environment.USE_QUERY_CACHE, String.valueOf(cacheEnabled));
+                if (cacheEnabled) {
+                    settings.put(Environment.CACHE_REGION_FACTORY,
+                            properties.getProperty("db.cache.region_factory", "jcache"));
+                    settings.put("hibernate.javax.cache.provider",
+                            properties.getProperty("db.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider"));
+                    settings.put("hibernate.javax.cache.uri",
+                            properties.getProperty("db.cache.config", "ehcache.xml"));
+                    settings.put("hibernate.javax.cache.missing_cache_strategy", "create");
+                }
+                settings.put(Environment.GENERATE_STATISTICS, "false");
+                settings.put(Environment.LOG_SESSION_METRICS, "false");
+
+                // Connection pool, chosen and sized by the db.pool.* properties
+                settings.put(Environment.CONNECTION_PROVIDER,
+                        PooledConnectionProvider.create(PoolSettings.from(properties)));
+
+                // The active profile's hibernate.* properties override everything above
+                settings.putAll(properties.getPropertiesWithPrefix("hibernate."));
+                LOGGER.info("Building session factory for profile " + properties.getProfile()
+                        + " (schema " + settings.get(Environment.HBM2DDL_AUTO)
+                        + ", show SQL " + settings.get(Environment.SHOW_SQL)
+                        + ", batch size " + settings.get(Environment.STATEMENT_BATCH_SIZE) + ")");
 
                 configuration.setProperties(settings);
 
@@ -65,6 +104,8 @@ public class HibernateConfig {
                 configuration.addAnnotatedClass(Order.class);
                 configuration.addAnnotatedClass(OrderItem.class);
                 configuration.addAnnotatedClass(Payment.class);
+                configuration.addAnnotatedClass(ChangeLogEntry.class);
+                configuration.addAnnotatedClass(OutboxEvent.class);
 
                 ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
                         .applySettings(configuration.getProperties()).build();
@@ -79,6 +120,25 @@ public class HibernateConfig {
         return sessionFactory;
     }
 
+    /**
+     * Get the database properties of the active profile, loaded once
+     * @return The database properties
+     */
+    public static synchronized DatabaseProperties getDatabaseProperties() {
+        if (databaseProperties == null) {
+            databaseProperties = DatabaseProperties.load();
+        }
+        return databaseProperties;
+    }
+
+    /**
+     * Get the JDBC batch size, which is also the chunk size used when saving many entities at once
+     * @return The batch size (property db.jdbc.batch_size, default 50)
+     */
+    public static int getBatchSize() {
+        return Math.max(1, getDatabaseProperties().getInt("db.jdbc.batch_size", DEFAULT_BATCH_SIZE));
+    }
+
     public static void shutdown() {
         if (sessionFactory != null) {
             sessionFactory.close();
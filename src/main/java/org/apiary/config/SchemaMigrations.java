@@ -0,0 +1,58 @@
+package org.apiary.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Creates the tables and sequences Hibernate's validate mode expects but an existing database may not have yet.
+ * Each script is one idempotent T-SQL batch that checks for its objects first, so all of them run
+ * on every start and a database is brought up to date whichever version it was created by.
+ */
+public class SchemaMigrations {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrations.class.getName());
+    // In the order they must run; add new scripts at the end
+    private static final List<String> SCRIPTS = List.of(
+            "db/migration/V1__create_change_log.sql",
+            "db/migration/V2__create_outbox.sql",
+            "db/migration/V3__order_sequences.sql");
+
+    // Prevent instantiation
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Run every migration script against a database
+     * @param url The JDBC URL
+     * @param username The database user
+     * @param password The database password
+     * @throws SQLException If a script fails; the schema would not validate
+     */
+    public static void apply(String url, String username, String password) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            for (String script : SCRIPTS) {
+                statement.execute(read(script));
+                LOGGER.info("Applied schema migration " + script);
+            }
+        }
+    }
+
+    private static String read(String script) throws SQLException {
+        try (InputStream in = SchemaMigrations.class.getClassLoader().getResourceAsStream(script)) {
+            if (in == null) {
+                throw new SQLException("Schema migration not found on the classpath: " + script);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Could not read schema migration: " + script, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package org.apiary.config.pool;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import com.mchange.v2.resourcepool.TimeoutException;
+import org.hibernate.HibernateException;
+
+import javax.sql.DataSource;
+import java.beans.PropertyVetoException;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connection provider backed by a c3p0 pool, which also caches prepared statements per connection
+ */
+public class C3p0ConnectionProvider extends PooledConnectionProvider {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(C3p0ConnectionProvider.class.getName());
+    private ComboPooledDataSource dataSource;
+
+    public C3p0ConnectionProvider(PoolSettings settings) {
+        super(settings);
+    }
+
+    @Override
+    protected void startPool(String driverClass, String url, String username, String password, boolean autoCommit) {
+        ComboPooledDataSource pool = new ComboPooledDataSource();
+        try {
+            if (driverClass != null) {
+                pool.setDriverClass(driverClass);
+            }
+        } catch (PropertyVetoException e) {
+            throw new HibernateException("Invalid JDBC driver class: " + driverClass, e);
+        }
+        pool.setJdbcUrl(url);
+        pool.setUser(username);
+        pool.setPassword(password);
+        pool.setMinPoolSize(settings.getMinIdle());
+        pool.setInitialPoolSize(settings.getMinIdle());
+        pool.setMaxPoolSize(settings.getMaxSize());
+        pool.setCheckoutTimeout((int) settings.getConnectionTimeoutMillis());
+        pool.setMaxIdleTimeExcessConnections((int) settings.getIdleTimeoutSeconds());
+        pool.setMaxStatements(settings.getStatementCacheSize());
+        pool.setIdleConnectionTestPeriod((int) settings.getIdleTestPeriodSeconds());
+        pool.setDataSourceName("apiary-c3p0");
+        dataSource = pool;
+    }
+
+    @Override
+    protected DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    protected boolean isTimeout(SQLException e) {
+        return e.getCause() instanceof TimeoutException;
+    }
+
+    @Override
+    protected int getIdleConnections() {
+        try {
+            return dataSource.getNumIdleConnectionsDefaultUser();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Could not read idle connections", e);
+            return -1;
+        }
+    }
+
+    @Override
+    protected int getThreadsAwaiting() {
+        try {
+            return dataSource.getNumThreadsAwaitingCheckoutDefaultUser();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Could not read threads awaiting checkout", e);
+            return -1;
+        }
+    }
+
+    @Override
+    protected int getCachedStatements() {
+        try {
+            return dataSource.getStatementCacheNumStatementsDefaultUser();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Could not read statement cache size", e);
+            return -1;
+        }
+    }
+
+    @Override
+    protected void closePool() {
+        dataSource.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package org.apiary.config.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection provider backed by a HikariCP pool. HikariCP has no statement cache of its own;
+ * on SQL Server the driver's prepared statement handle cache is enabled in its place.
+ */
+public class HikariConnectionProvider extends PooledConnectionProvider {
+
+    private static final long serialVersionUID = 1L;
+
+    private HikariDataSource dataSource;
+
+    public HikariConnectionProvider(PoolSettings settings) {
+        super(settings);
+    }
+
+    @Override
+    protected void startPool(String driverClass, String url, String username, String password, boolean autoCommit) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("apiary-hikari");
+        if (driverClass != null) {
+            config.setDriverClassName(driverClass);
+        }
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setAutoCommit(autoCommit);
+        config.setMinimumIdle(settings.getMinIdle());
+        config.setMaximumPoolSize(settings.getMaxSize());
+        config.setConnectionTimeout(settings.getConnectionTimeoutMillis());
+        config.setIdleTimeout(TimeUnit.SECONDS.toMillis(settings.getIdleTimeoutSeconds()));
+        config.setMaxLifetime(TimeUnit.SECONDS.toMillis(settings.getMaxLifetimeSeconds()));
+        if (url != null && url.startsWith("jdbc:sqlserver:") && settings.getStatementCacheSize() > 0) {
+            config.addDataSourceProperty("disableStatementPooling", "false");
+            config.addDataSourceProperty("statementPoolingCacheSize", String.valueOf(settings.getStatementCacheSize()));
+        }
+        dataSource = new HikariDataSource(config);
+    }
+
+    @Override
+    protected DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    protected boolean isTimeout(SQLException e) {
+        return e instanceof SQLTransientConnectionException;
+    }
+
+    @Override
+    protected int getIdleConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getIdleConnections() : -1;
+    }
+
+    @Override
+    protected int getThreadsAwaiting() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getThreadsAwaitingConnection() : -1;
+    }
+
+    @Override
+    protected int getCachedStatements() {
+        return -1;
+    }
+
+    @Override
+    protected void closePool() {
+        dataSource.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package org.apiary.config.pool;
+
+/**
+ * Point-in-time snapshot of a {@link PooledConnectionProvider}'s connections and counters
+ */
+public class PoolMetrics {
+
+    private final String type;
+    private final int activeConnections;
+    private final int peakActiveConnections;
+    private final int idleConnections;
+    private final int maxConnections;
+    private final int threadsAwaiting;
+    private final long acquisitions;
+    private final long timeouts;
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+    private final int cachedStatements;
+
+    public PoolMetrics(String type, int activeConnections, int peakActiveConnections, int idleConnections,
+                       int maxConnections, int threadsAwaiting, long acquisitions, long timeouts,
+                       double averageWaitMillis, double maxWaitMillis, int cachedStatements) {
+        this.type = type;
+        this.activeConnections = activeConnections;
+        this.peakActiveConnections = peakActiveConnections;
+        this.idleConnections = idleConnections;
+        this.maxConnections = maxConnections;
+        this.threadsAwaiting = threadsAwaiting;
+        this.acquisitions = acquisitions;
+        this.timeouts = timeouts;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.cachedStatements = cachedStatements;
+    }
+
+    /**
+     * Get the pool implementation
+     * @return "hikari" or "c3p0"
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Get the number of connections currently handed out
+     * @return The active connections
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * Get the largest number of connections handed out at once since the pool started
+     * @return The peak active connections
+     */
+    public int getPeakActiveConnections() {
+        return peakActiveConnections;
+    }
+
+    /**
+     * Get the number of open connections waiting in the pool
+     * @return The idle connections, or -1 if the pool could not tell
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Get the largest number of connections the pool opens
+     * @return The maximum pool size
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Get the number of callers currently waiting for a connection
+     * @return The waiting threads, or -1 if the pool could not tell
+     */
+    public int getThreadsAwaiting() {
+        return threadsAwaiting;
+    }
+
+    /**
+     * Get the number of connection requests, successful or not
+     * @return The number of acquisitions
+     */
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    /**
+     * Get the number of connection requests that gave up waiting
+     * @return The number of timeouts
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Get the average time a caller waited for a connection
+     * @return The average wait in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    /**
+     * Get the longest time a caller waited for a connection
+     * @return The maximum wait in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Get the number of prepared statements held in the pool's statement cache
+     * @return The cached statements, or -1 if the statements are cached by the driver instead
+     */
+    public int getCachedStatements() {
+        return cachedStatements;
+    }
+
+    /**
+     * Get the share of the pool in use at the peak; close to 1 means callers had to wait at peak load
+     * @return The peak active connections divided by the maximum pool size
+     */
+    public double getPeakUtilisation() {
+        return maxConnections > 0 ? (double) peakActiveConnections / maxConnections : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s pool: active %d (peak %d of %d), idle %d, waiting %d, " +
+                        "%d acquisitions, %d timeouts, wait avg %.2f ms (max %.1f ms), cached statements %d",
+                type, activeConnections, peakActiveConnections, maxConnections, idleConnections, threadsAwaiting,
+                acquisitions, timeouts, averageWaitMillis, maxWaitMillis, cachedStatements);
+    }
+}
\ No newline at end of file
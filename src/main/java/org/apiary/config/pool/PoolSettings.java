@@ -0,0 +1,123 @@
+package org.apiary.config.pool;
+
+import org.apiary.config.DatabaseProperties;
+
+/**
+ * Connection pool settings, read from the db.pool.* properties
+ */
+public class PoolSettings {
+
+    private final String type;
+    private final int minIdle;
+    private final int maxSize;
+    private final long connectionTimeoutMillis;
+    private final long idleTimeoutSeconds;
+    private final long maxLifetimeSeconds;
+    private final int statementCacheSize;
+    private final long idleTestPeriodSeconds;
+
+    public PoolSettings(String type, int minIdle, int maxSize, long connectionTimeoutMillis, long idleTimeoutSeconds,
+                        long maxLifetimeSeconds, int statementCacheSize, long idleTestPeriodSeconds) {
+        if (minIdle < 0 || maxSize <= 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min idle " + minIdle + ", max " + maxSize);
+        }
+        this.type = type;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+        this.maxLifetimeSeconds = maxLifetimeSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.idleTestPeriodSeconds = idleTestPeriodSeconds;
+    }
+
+    /**
+     * Read the pool settings from the database properties
+     * @param properties The database properties
+     * @return The settings, with defaults for the properties that are not set
+     */
+    public static PoolSettings from(DatabaseProperties properties) {
+        return new PoolSettings(
+                properties.getProperty("db.pool.type", "hikari").trim().toLowerCase(),
+                properties.getInt("db.pool.min_idle", 5),
+                properties.getInt("db.pool.max_size", 20),
+                properties.getLong("db.pool.connection_timeout_ms", 30000),
+                properties.getLong("db.pool.idle_timeout_s", 600),
+                properties.getLong("db.pool.max_lifetime_s", 1800),
+                properties.getInt("db.pool.statement_cache_size", 50),
+                properties.getLong("db.pool.idle_test_period_s", 300));
+    }
+
+    /**
+     * Get the pool implementation
+     * @return "hikari" or "c3p0"
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Get the number of idle connections the pool keeps ready
+     * @return The minimum number of idle connections
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * Get the largest number of connections the pool opens
+     * @return The maximum pool size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get how long a caller waits for a connection before giving up
+     * @return The connection timeout in milliseconds
+     */
+    public long getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    /**
+     * Get how long a connection above the minimum may stay idle before it is closed
+     * @return The idle timeout in seconds
+     */
+    public long getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+
+    /**
+     * Get the age at which a connection is retired once it is returned (HikariCP only)
+     * @return The maximum lifetime in seconds
+     */
+    public long getMaxLifetimeSeconds() {
+        return maxLifetimeSeconds;
+    }
+
+    /**
+     * Get the number of prepared statements cached per connection; 0 disables the cache.
+     * c3p0 caches them in the pool, HikariCP leaves it to the SQL Server driver.
+     * @return The statement cache size
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Get how often idle connections are tested (c3p0 only; HikariCP validates on checkout)
+     * @return The idle test period in seconds
+     */
+    public long getIdleTestPeriodSeconds() {
+        return idleTestPeriodSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, %d-%d connections, timeout %d ms, idle timeout %d s, max lifetime %d s, " +
+                        "%d cached statements",
+                type, minIdle, maxSize, connectionTimeoutMillis, idleTimeoutSeconds, maxLifetimeSeconds,
+                statementCacheSize);
+    }
+}
\ No newline at end of file
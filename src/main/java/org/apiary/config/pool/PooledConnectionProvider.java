@@ -0,0 +1,192 @@
+package org.apiary.config.pool;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Hibernate connection provider backed by a connection pool chosen in the db.pool.* properties.
+ * Every checkout is timed here, so wait times, timeouts and peak usage are reported the same
+ * way whichever pool is behind it. The JDBC URL and credentials come from the Hibernate settings.
+ */
+public abstract class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(PooledConnectionProvider.class.getName());
+
+    protected final PoolSettings settings;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private boolean autoCommit;
+
+    protected PooledConnectionProvider(PoolSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Create the connection provider for the pool the settings name
+     * @param settings The pool settings
+     * @return The connection provider, not yet started
+     */
+    public static PooledConnectionProvider create(PoolSettings settings) {
+        switch (settings.getType()) {
+            case "hikari":
+                return new HikariConnectionProvider(settings);
+            case "c3p0":
+                return new C3p0ConnectionProvider(settings);
+            default:
+                throw new IllegalArgumentException("Unknown connection pool type: " + settings.getType());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void configure(Map configurationValues) {
+        autoCommit = ConfigurationHelper.getBoolean(Environment.AUTOCOMMIT, configurationValues, false);
+        startPool(ConfigurationHelper.getString(Environment.DRIVER, configurationValues),
+                ConfigurationHelper.getString(Environment.URL, configurationValues),
+                ConfigurationHelper.getString(Environment.USER, configurationValues),
+                ConfigurationHelper.getString(Environment.PASS, configurationValues),
+                autoCommit);
+        LOGGER.info("Started connection pool: " + settings);
+    }
+
+    /**
+     * Open the pool
+     * @param driverClass The JDBC driver class
+     * @param url The JDBC URL
+     * @param username The database user
+     * @param password The database password
+     * @param autoCommit Whether connections are handed out in auto-commit mode
+     */
+    protected abstract void startPool(String driverClass, String url, String username, String password,
+                                      boolean autoCommit);
+
+    /**
+     * Get the pool's data source
+     * @return The data source
+     */
+    protected abstract DataSource getDataSource();
+
+    /**
+     * Tell whether a failed checkout gave up waiting for a connection
+     * @param e The failure
+     * @return true if the checkout timed out
+     */
+    protected abstract boolean isTimeout(SQLException e);
+
+    /**
+     * Get the number of open connections waiting in the pool
+     * @return The idle connections, or -1 if the pool could not tell
+     */
+    protected abstract int getIdleConnections();
+
+    /**
+     * Get the number of callers waiting for a connection
+     * @return The waiting threads, or -1 if the pool could not tell
+     */
+    protected abstract int getThreadsAwaiting();
+
+    /**
+     * Get the number of prepared statements in the pool's statement cache
+     * @return The cached statements, or -1 if the pool has no statement cache
+     */
+    protected abstract int getCachedStatements();
+
+    /**
+     * Close the pool and its connections
+     */
+    protected abstract void closePool();
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = getDataSource().getConnection();
+        } catch (SQLException e) {
+            if (isTimeout(e)) {
+                timeouts.increment();
+            }
+            throw e;
+        } finally {
+            long waited = System.nanoTime() - start;
+            acquisitions.increment();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            closeConnection(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        active.decrementAndGet();
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    /**
+     * Get a snapshot of the pool's connections and counters
+     * @return The current metrics
+     */
+    public PoolMetrics getMetrics() {
+        long acquisitionCount = acquisitions.sum();
+        double averageWait = acquisitionCount == 0 ? 0 : totalWaitNanos.sum() / 1e6 / acquisitionCount;
+        return new PoolMetrics(settings.getType(), active.get(), peakActive.get(), getIdleConnections(),
+                settings.getMaxSize(), getThreadsAwaiting(), acquisitionCount, timeouts.sum(),
+                averageWait, maxWaitNanos.get() / 1e6, getCachedStatements());
+    }
+
+    @Override
+    public void stop() {
+        LOGGER.info("Closing connection pool: " + getMetrics());
+        closePool();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean isUnwrappableAs(Class unwrapType) {
+        return unwrapType.isInstance(this) || unwrapType.isInstance(getDataSource());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return (T) this;
+        }
+        if (unwrapType.isInstance(getDataSource())) {
+            return (T) getDataSource();
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+}
\ No newline at end of file
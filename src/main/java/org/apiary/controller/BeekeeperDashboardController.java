@@ -3,6 +3,7 @@ package org.apiary.controller;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -19,15 +20,20 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import org.apiary.model.*;
+import org.apiary.model.projection.OrderRow;
 import org.apiary.service.ServiceFactory;
 import org.apiary.service.interfaces.ApiaryService;
 import org.apiary.service.interfaces.HiveService;
 import org.apiary.service.interfaces.HoneyProductService;
 import org.apiary.service.interfaces.OrderService;
-import org.apiary.utils.StringUtils;
 import org.apiary.utils.ValidationUtils;
+import org.apiary.utils.concurrent.BackgroundLoader;
+import org.apiary.utils.delta.ListPatcher;
 import org.apiary.utils.events.EntityChangeEvent;
+import org.apiary.utils.events.EntityChangeFilter;
 import org.apiary.utils.observer.Observer;
+import org.apiary.utils.pagination.KeysetPage;
+import org.apiary.utils.pagination.KeysetPageable;
 
 import org.apiary.model.OrderItem;
 
@@ -35,17 +41,26 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class BeekeeperDashboardController implements Observer<EntityChangeEvent<?>> {
 
     private static final Logger LOGGER = Logger.getLogger(BeekeeperDashboardController.class.getName());
+    private static final int ORDER_PAGE_SIZE = 50;
 
     // FXML controls
     @FXML private Label welcomeLabel;
+    @FXML private ProgressIndicator loadingIndicator;
     @FXML private TabPane mainTabPane;
 
     // Apiaries tab controls
@@ -83,14 +98,15 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
     @FXML private ComboBox<String> orderStatusFilterComboBox;
     @FXML private DatePicker orderStartDatePicker;
     @FXML private DatePicker orderEndDatePicker;
-    @FXML private TableView<Order> ordersTable;
-    @FXML private TableColumn<Order, Integer> orderIdColumn;
-    @FXML private TableColumn<Order, LocalDateTime> orderDateColumn;
-    @FXML private TableColumn<Order, String> orderCustomerColumn;
-    @FXML private TableColumn<Order, String> orderProductsColumn;
-    @FXML private TableColumn<Order, BigDecimal> orderTotalColumn;
-    @FXML private TableColumn<Order, String> orderStatusColumn;
-    @FXML private TableColumn<Order, Void> orderActionsColumn;
+    @FXML private TableView<OrderRow> ordersTable;
+    @FXML private Button loadMoreOrdersButton;
+    @FXML private TableColumn<OrderRow, Integer> orderIdColumn;
+    @FXML private TableColumn<OrderRow, LocalDateTime> orderDateColumn;
+    @FXML private TableColumn<OrderRow, String> orderCustomerColumn;
+    @FXML private TableColumn<OrderRow, String> orderProductsColumn;
+    @FXML private TableColumn<OrderRow, BigDecimal> orderTotalColumn;
+    @FXML private TableColumn<OrderRow, String> orderStatusColumn;
+    @FXML private TableColumn<OrderRow, Void> orderActionsColumn;
 
     // Model
     private Beekeeper beekeeper;
@@ -101,11 +117,38 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
     private HoneyProductService honeyProductService;
     private OrderService orderService;
 
+    // Runs service calls off the JavaFX Application Thread
+    private final BackgroundLoader backgroundLoader = new BackgroundLoader();
+
     // Observable lists
     private ObservableList<Apiary> apiaries;
     private ObservableList<Hive> hives;
     private ObservableList<HoneyProduct> products;
-    private ObservableList<Order> orders;
+    private ObservableList<OrderRow> orders;
+
+    // Orders are loaded a keyset page at a time with the filters applied when the first page was loaded;
+    // the next page is null once the last page is shown
+    private Function<KeysetPageable, KeysetPage<OrderRow>> orderPageQuery;
+    private KeysetPageable nextOrdersPage;
+
+    // Row counts, computed once per table load so rendering a cell never queries
+    private Map<Integer, Long> apiaryHiveCounts = Map.of();
+    private Map<Integer, Long> apiaryProductCounts = Map.of();
+    private Map<Integer, Long> hiveProductCounts = Map.of();
+    // Reloads and notifications asked for while a batch of events is applied, by kind
+    private Map<String, Runnable> pendingRefreshes;
+
+    // Patch rows in place on change events, in the order each list is loaded in
+    private final ListPatcher<Apiary, Integer> apiaryPatcher =
+            new ListPatcher<>(Apiary::getApiaryId, Comparator.comparing(Apiary::getApiaryId));
+    private final ListPatcher<Hive, Integer> hivePatcher =
+            new ListPatcher<>(Hive::getHiveId, Comparator.comparing(Hive::getHiveNumber));
+    // The hive filter starts with null for "All Hives"
+    private final ListPatcher<Hive, Integer> hiveFilterPatcher =
+            new ListPatcher<>(Hive::getHiveId, Comparator.nullsFirst(Comparator.comparing(Hive::getHiveNumber)));
+    private final ListPatcher<HoneyProduct, Integer> productPatcher =
+            new ListPatcher<>(HoneyProduct::getProductId, Comparator.comparing(HoneyProduct::getProductId));
+    private final ListPatcher<OrderRow, Integer> orderPatcher = new ListPatcher<>(OrderRow::getOrderId, null);
 
     @FXML
     private void initialize() {
@@ -115,30 +158,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         honeyProductService = ServiceFactory.getHoneyProductService();
         orderService = ServiceFactory.getOrderService();
 
-        // Register as observer for entity changes
-        LOGGER.info("=== REGISTERING BEEKEEPER DASHBOARD AS OBSERVER ===");
-
-        try {
-            apiaryService.addObserver(this);
-            LOGGER.info("Registered as observer for ApiaryService");
-
-            hiveService.addObserver(this);
-            LOGGER.info("Registered as observer for HiveService");
-
-            honeyProductService.addObserver(this);
-            LOGGER.info("Registered as observer for HoneyProductService");
-
-            LOGGER.info("BeekeeperDashboardController registered as observer for all services");
-
-            // Log service instances for debugging
-            LOGGER.info("HoneyProductService instance: " + honeyProductService.getClass().getSimpleName() + "@" +
-                    Integer.toHexString(honeyProductService.hashCode()));
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error registering as observer", e);
-        }
-
-        LOGGER.info("=== BEEKEEPER DASHBOARD OBSERVER REGISTRATION COMPLETED ===");
+        // Observers are registered in setBeekeeper(), once it is known whose changes to receive
 
         apiaries = FXCollections.observableArrayList();
         hives = FXCollections.observableArrayList();
@@ -151,6 +171,8 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         productsTable.setItems(products);
         ordersTable.setItems(orders);
 
+        loadingIndicator.visibleProperty().bind(backgroundLoader.loadingProperty());
+
         setupComboBoxes();
         mainTabPane.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> {
             if (beekeeper != null) {
@@ -190,7 +212,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
             loadProductsByFilters();
         });
         orderStatusFilterComboBox.getItems().addAll(
-                "All", "PENDING", "PAID", "DELIVERED", "CANCELED");
+                "All", "PENDING", "PAYMENT_REVIEW", "PAID", "DELIVERED", "CANCELED");
         orderStatusFilterComboBox.setValue("All");
     }
 
@@ -200,36 +222,50 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         welcomeLabel.setText("Welcome, " + beekeeper.getUsername());
         LOGGER.info("=== BEEKEEPER SET: " + beekeeper.getUsername() + " ===");
 
+        registerAsObserver();
         verifyBeekeeperObserverRegistration();
         loadApiaries();
     }
 
+    /**
+     * Register for changes to this beekeeper's apiaries, hives, products and orders only
+     */
+    private void registerAsObserver() {
+        LOGGER.info("=== REGISTERING BEEKEEPER DASHBOARD AS OBSERVER ===");
+
+        try {
+            // Drop any registration for a previous beekeeper, whose filter would no longer apply
+            apiaryService.removeObserver(this);
+            hiveService.removeObserver(this);
+            honeyProductService.removeObserver(this);
+            orderService.removeObserver(this);
+
+            apiaryService.addObserver(this, eventFilter());
+            hiveService.addObserver(this, eventFilter());
+            honeyProductService.addObserver(this, eventFilter());
+            orderService.addObserver(this, eventFilter());
+            LOGGER.info("BeekeeperDashboardController registered as observer for all services");
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error registering as observer", e);
+        }
+
+        LOGGER.info("=== BEEKEEPER DASHBOARD OBSERVER REGISTRATION COMPLETED ===");
+    }
+
+    private EntityChangeFilter eventFilter() {
+        return EntityChangeFilter.any().ownedByBeekeeper(beekeeper.getUserId());
+    }
+
     private void setupTableColumns() {
         apiaryIdColumn.setCellValueFactory(new PropertyValueFactory<>("apiaryId"));
         apiaryNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
         apiaryLocationColumn.setCellValueFactory(new PropertyValueFactory<>("location"));
 
-        apiaryHivesCountColumn.setCellValueFactory(cellData -> {
-            Apiary apiary = cellData.getValue();
-            return javafx.beans.binding.Bindings.createObjectBinding(() -> {
-                try {
-                    return (int) hiveService.countByApiary(apiary);
-                } catch (Exception e) {
-                    return 0;
-                }
-            });
-        });
+        apiaryHivesCountColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(
+                apiaryHiveCounts.getOrDefault(cellData.getValue().getApiaryId(), 0L).intValue()));
 
-        apiaryProductsCountColumn.setCellValueFactory(cellData -> {
-            Apiary apiary = cellData.getValue();
-            return javafx.beans.binding.Bindings.createObjectBinding(() -> {
-                try {
-                    return (int) honeyProductService.countProductsByApiary(apiary.getApiaryId());
-                } catch (Exception e) {
-                    return 0;
-                }
-            });
-        });
+        apiaryProductsCountColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(
+                apiaryProductCounts.getOrDefault(cellData.getValue().getApiaryId(), 0L).intValue()));
         apiaryActionsColumn.setCellFactory(col -> new TableCell<Apiary, Void>() {
             private final Button editButton = new Button("Edit");
             private final Button deleteButton = new Button("Delete");
@@ -267,16 +303,8 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         });
 
         hiveQueenYearColumn.setCellValueFactory(new PropertyValueFactory<>("queenYear"));
-        hiveProductsCountColumn.setCellValueFactory(cellData -> {
-            Hive hive = cellData.getValue();
-            return javafx.beans.binding.Bindings.createObjectBinding(() -> {
-                try {
-                    return (int) honeyProductService.countProductsByHive(hive.getHiveId());
-                } catch (Exception e) {
-                    return 0;
-                }
-            });
-        });
+        hiveProductsCountColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(
+                hiveProductCounts.getOrDefault(cellData.getValue().getHiveId(), 0L).intValue()));
 
         hiveActionsColumn.setCellFactory(col -> new TableCell<Hive, Void>() {
             private final Button editButton = new Button("Edit");
@@ -351,26 +379,17 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
 
         orderIdColumn.setCellValueFactory(new PropertyValueFactory<>("orderId"));
         orderDateColumn.setCellValueFactory(new PropertyValueFactory<>("date"));
-        orderCustomerColumn.setCellValueFactory(cellData -> {
-            Order order = cellData.getValue();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                Client client = order.getClient();
-                return StringUtils.isBlank(client.getFullName()) ?
-                        client.getUsername() : client.getFullName();
-            });
-        });
+        orderCustomerColumn.setCellValueFactory(cellData ->
+                new ReadOnlyObjectWrapper<>(cellData.getValue().getCustomerName()));
 
         orderProductsColumn.setCellValueFactory(cellData -> {
-            Order order = cellData.getValue();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                int itemCount = order.getItems().size();
-                return itemCount + " item" + (itemCount != 1 ? "s" : "");
-            });
+            int itemCount = cellData.getValue().getItemCount();
+            return new ReadOnlyObjectWrapper<>(itemCount + " item" + (itemCount != 1 ? "s" : ""));
         });
 
         orderTotalColumn.setCellValueFactory(new PropertyValueFactory<>("total"));
         orderStatusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
-        orderActionsColumn.setCellFactory(col -> new TableCell<Order, Void>() {
+        orderActionsColumn.setCellFactory(col -> new TableCell<OrderRow, Void>() {
             private final Button viewDetailsButton = new Button("View Details");
             private final HBox buttonBox = new HBox(5, viewDetailsButton);
 
@@ -378,7 +397,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
                 viewDetailsButton.getStyleClass().add("secondary-button");
 
                 viewDetailsButton.setOnAction(e -> {
-                    Order order = getTableView().getItems().get(getIndex());
+                    OrderRow order = getTableView().getItems().get(getIndex());
                     handleViewOrderDetails(order);
                 });
             }
@@ -442,8 +461,15 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
     }
 
     private void loadApiaries() {
-        try {
+        backgroundLoader.load("apiaries", () -> {
             List<Apiary> beekeeperApiaries = apiaryService.findByBeekeeper(beekeeper);
+            return new ApiaryRows(beekeeperApiaries,
+                    hiveService.countByApiaries(beekeeperApiaries),
+                    honeyProductService.countProductsByApiaries(beekeeperApiaries));
+        }, rows -> {
+            List<Apiary> beekeeperApiaries = rows.apiaries;
+            apiaryHiveCounts = rows.hiveCounts;
+            apiaryProductCounts = rows.productCounts;
             apiaries.setAll(beekeeperApiaries);
             apiaryFilterComboBox.getItems().setAll(beekeeperApiaries);
             productApiaryFilterComboBox.getItems().setAll(beekeeperApiaries);
@@ -457,10 +483,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
                     productApiaryFilterComboBox.setValue(beekeeperApiaries.get(0));
                 }
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading apiaries", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load apiaries: " + e.getMessage());
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load apiaries: " + e.getMessage()));
     }
 
     private void loadHives() {
@@ -468,18 +491,20 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         if (selectedApiary != null) {
             loadHivesByApiary(selectedApiary);
         } else {
+            backgroundLoader.cancel("hives");
             hives.clear();
         }
     }
 
     private void loadHivesByApiary(Apiary apiary) {
-        try {
+        backgroundLoader.load("hives", () -> {
             List<Hive> apiaryHives = hiveService.findByApiary(apiary);
-            hives.setAll(apiaryHives);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading hives", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load hives: " + e.getMessage());
-        }
+            return new HiveRows(apiaryHives, honeyProductService.countProductsByHives(apiaryHives));
+        }, rows -> {
+            hiveProductCounts = rows.productCounts;
+            hives.setAll(rows.hives);
+        }, e ->
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load hives: " + e.getMessage()));
     }
 
     private void loadProducts() {
@@ -493,87 +518,78 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
     }
 
     private void loadProductHiveFilter(Apiary apiary) {
-        try {
-            List<Hive> apiaryHives = hiveService.findByApiary(apiary);
+        backgroundLoader.load("productHiveFilter", () -> hiveService.findByApiary(apiary), apiaryHives -> {
             productHiveFilterComboBox.getItems().clear();
             productHiveFilterComboBox.getItems().add(null); // Null represents "All Hives"
             productHiveFilterComboBox.getItems().addAll(apiaryHives);
             productHiveFilterComboBox.setValue(null);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading hive filter", e);
-        }
+        }, e -> LOGGER.log(Level.SEVERE, "Error loading hive filter", e));
     }
 
     private void loadProductsByFilters() {
-        try {
-            Apiary selectedApiary = productApiaryFilterComboBox.getValue();
-            Hive selectedHive = productHiveFilterComboBox.getValue();
+        Apiary selectedApiary = productApiaryFilterComboBox.getValue();
+        Hive selectedHive = productHiveFilterComboBox.getValue();
 
-            List<HoneyProduct> filteredProducts;
+        backgroundLoader.load("products", () -> {
             if (selectedApiary != null) {
                 if (selectedHive != null) {
-                    filteredProducts = honeyProductService.findByHive(selectedHive);
-                } else {
-                    filteredProducts = honeyProductService.findByApiary(selectedApiary);
+                    return honeyProductService.findByHive(selectedHive);
                 }
-            } else {
-                filteredProducts = honeyProductService.findByBeekeeper(beekeeper);
+                return honeyProductService.findByApiary(selectedApiary);
             }
-
-            products.setAll(filteredProducts);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading products", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load products: " + e.getMessage());
-        }
+            return honeyProductService.findByBeekeeper(beekeeper);
+        }, products::setAll, e ->
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load products: " + e.getMessage()));
     }
 
     private void loadAllProducts() {
-        try {
-            List<HoneyProduct> beekeeperProducts = honeyProductService.findByBeekeeper(beekeeper);
-            products.setAll(beekeeperProducts);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading products", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load products: " + e.getMessage());
-        }
+        backgroundLoader.load("products", () -> honeyProductService.findByBeekeeper(beekeeper), products::setAll, e ->
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load products: " + e.getMessage()));
     }
 
     private void loadOrders() {
-        try {
-            LOGGER.info("Loading orders for beekeeper: " + beekeeper.getUsername());
-            String statusFilter = orderStatusFilterComboBox.getValue();
-            LocalDate startDate = orderStartDatePicker.getValue();
-            LocalDate endDate = orderEndDatePicker.getValue();
-
-            LOGGER.info("Order filters - Status: " + statusFilter + ", Start Date: " + startDate + ", End Date: " + endDate);
-
-            List<Order> filteredOrders;
-            if ("All".equals(statusFilter) && startDate == null && endDate == null) {
-                LOGGER.info("Loading all orders for beekeeper (no filters)");
-                filteredOrders = orderService.findOrdersForBeekeeper(beekeeper);
-            } else {
-                LOGGER.info("Loading orders with filters for beekeeper");
-                filteredOrders = orderService.findOrdersWithFilters(
-                        beekeeper,
-                        "All".equals(statusFilter) ? null : statusFilter,
-                        startDate != null ? startDate.atStartOfDay() : null,
-                        endDate != null ? endDate.plusDays(1).atStartOfDay() : null);
-            }
-
-            LOGGER.info("Setting " + filteredOrders.size() + " orders in table");
-            orders.setAll(filteredOrders);
+        LOGGER.info("Loading orders for beekeeper: " + beekeeper.getUsername());
+        String statusFilter = orderStatusFilterComboBox.getValue();
+        LocalDate startDate = orderStartDatePicker.getValue();
+        LocalDate endDate = orderEndDatePicker.getValue();
+
+        LOGGER.info("Order filters - Status: " + statusFilter + ", Start Date: " + startDate + ", End Date: " + endDate);
+
+        String status = "All".equals(statusFilter) ? null : statusFilter;
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime to = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+        orderPageQuery = pageable -> orderService.findOrderRowsForBeekeeper(beekeeper, status, from, to, pageable);
+        nextOrdersPage = null;
+        loadOrderPage(KeysetPageable.first(ORDER_PAGE_SIZE, "date", "desc"), orders::setAll);
+    }
 
-            for (Order order : filteredOrders) {
-                LOGGER.info("Order in table: ID=" + order.getOrderId() +
-                        ", Status=" + order.getStatus() +
-                        ", Client=" + order.getClient().getUsername() +
-                        ", Date=" + order.getDate() +
-                        ", Total=" + order.getTotal());
-            }
+    @FXML
+    private void handleLoadMoreOrders() {
+        if (nextOrdersPage != null) {
+            loadOrderPage(nextOrdersPage, orders::addAll);
+        }
+    }
 
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading orders", e);
+    private void loadOrderPage(KeysetPageable pageable, Consumer<List<OrderRow>> show) {
+        // A refresh shares the key, so it replaces a further page that is still loading
+        Function<KeysetPageable, KeysetPage<OrderRow>> query = orderPageQuery;
+        loadMoreOrdersButton.setDisable(true);
+        backgroundLoader.load("orders", () -> query.apply(pageable), page -> {
+            LOGGER.info("Adding " + page.getContent().size() + " orders to table");
+            show.accept(page.getContent());
+            ordersTable.sort();
+            nextOrdersPage = page.getNextPageable();
+            loadMoreOrdersButton.setDisable(!page.hasNext());
+        }, e -> {
+            loadMoreOrdersButton.setDisable(nextOrdersPage == null);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load orders: " + e.getMessage());
-        }
+        });
+    }
+
+    // An order older than the last row shown sits on a page that has not been loaded yet
+    private boolean isBeyondLoadedOrders(Order order) {
+        return nextOrdersPage != null && order.getDate() != null
+                && order.getDate().isBefore((LocalDateTime) nextOrdersPage.getLastSortValue());
     }
 
     @FXML
@@ -729,14 +745,17 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
                 LOGGER.info("Deleting apiary: " + apiary.getName() +
                         " with " + hiveCount + " hives and " + productCount + " products");
 
-                boolean deleted = apiaryService.deleteApiary(apiary.getApiaryId());
+                ApiaryDeletionResult deleted = apiaryService.deleteApiary(apiary.getApiaryId());
 
-                if (deleted) {
+                if (deleted != null) {
                     LOGGER.info("=== APIARY CASCADE DELETION SUCCESSFUL ===");
                     showAlert(Alert.AlertType.INFORMATION, "Deletion Successful",
-                            "Apiary '" + apiary.getName() + "' and all related data have been deleted successfully.\n" +
-                                    "All dashboards will be updated automatically.\n" +
-                                    "Any orders containing these products have had those items removed.");
+                            "Apiary '" + apiary.getName() + "' and all related data have been deleted successfully:\n" +
+                                    "• " + deleted.getHivesDeleted() + " hive(s)\n" +
+                                    "• " + deleted.getProductsDeleted() + " honey product(s)\n" +
+                                    "• " + deleted.getCartItemsDeleted() + " shopping cart item(s)\n" +
+                                    "• " + deleted.getOrderItemsDeleted() + " order item(s)\n\n" +
+                                    "All dashboards will be updated automatically.");
                 } else {
                     LOGGER.warning("Apiary deletion failed");
                     showAlert(Alert.AlertType.ERROR, "Deletion Failed",
@@ -990,7 +1009,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
 
                 if (observerCount == 0) {
                     LOGGER.warning("BEEKEEPER: No observers registered for HoneyProductService! Re-registering...");
-                    honeyProductService.addObserver(this);
+                    honeyProductService.addObserver(this, eventFilter());
                 }
             }
 
@@ -1002,7 +1021,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
 
                 if (observerCount == 0) {
                     LOGGER.warning("BEEKEEPER: No observers registered for OrderService! Re-registering...");
-                    orderService.addObserver(this);
+                    orderService.addObserver(this, eventFilter());
                 }
             }
 
@@ -1014,7 +1033,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
 
                 if (observerCount == 0) {
                     LOGGER.warning("BEEKEEPER: No observers registered for ApiaryService! Re-registering...");
-                    apiaryService.addObserver(this);
+                    apiaryService.addObserver(this, eventFilter());
                 }
             }
 
@@ -1260,7 +1279,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         }
     }
 
-    private void handleViewOrderDetails(Order order) {
+    private void handleViewOrderDetails(OrderRow order) {
         try {
             Dialog<Void> dialog = new Dialog<>();
             dialog.setTitle("Order #" + order.getOrderId() + " Details");
@@ -1281,10 +1300,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
             infoGrid.add(new Label(order.getDate().toString()), 1, 1);
 
             infoGrid.add(new Label("Customer:"), 0, 2);
-            Client client = order.getClient();
-            String customerName = StringUtils.isBlank(client.getFullName()) ?
-                    client.getUsername() : client.getFullName();
-            infoGrid.add(new Label(customerName), 1, 2);
+            infoGrid.add(new Label(order.getCustomerName()), 1, 2);
 
             infoGrid.add(new Label("Status:"), 0, 3);
             Label statusLabel = new Label(order.getStatus());
@@ -1356,7 +1372,7 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
             totalBox.getChildren().add(totalLabel);
             content.getChildren().add(totalBox);
 
-            if ("PAID".equals(order.getStatus())) {
+            if ("PAID".equals(order.getStatus()) || "PAYMENT_REVIEW".equals(order.getStatus())) {
                 Separator separator = new Separator();
                 content.getChildren().add(separator);
 
@@ -1364,29 +1380,17 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
                 statusBox.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
                 statusBox.getChildren().add(new Label("Mark as:"));
 
-                Button markDeliveredButton = new Button("Mark as Delivered");
-                markDeliveredButton.getStyleClass().add("primary-button");
-                markDeliveredButton.setOnAction(e -> {
-                    LOGGER.info("Beekeeper " + beekeeper.getUsername() +
-                            " marking order " + order.getOrderId() + " as DELIVERED");
-
-                    boolean updated = orderService.updateOrderStatus(order.getOrderId(), "DELIVERED");
-
-                    if (updated) {
-                        LOGGER.info("Order status updated successfully, observers should be notified");
-
-                        showAlert(Alert.AlertType.INFORMATION, "Status Updated",
-                                "Order marked as delivered successfully. The customer has been notified.");
-                        dialog.close();
-                        loadOrders();
-                    } else {
-                        LOGGER.warning("Failed to update order status to DELIVERED");
-                        showAlert(Alert.AlertType.ERROR, "Error",
-                                "Failed to update order status.");
-                    }
-                });
-
-                statusBox.getChildren().add(markDeliveredButton);
+                if ("PAID".equals(order.getStatus())) {
+                    statusBox.getChildren().add(createStatusButton(dialog, order, "Mark as Delivered", "DELIVERED",
+                            "Order marked as delivered successfully. The customer has been notified."));
+                } else {
+                    // The payment outcome was never recorded; settle it with what the payment provider reports
+                    statusBox.getChildren().addAll(
+                            createStatusButton(dialog, order, "Payment Received", "PAID",
+                                    "Order marked as paid. The customer has been notified."),
+                            createStatusButton(dialog, order, "Cancel and Restock", "CANCELED",
+                                    "Order canceled and its stock put back on sale. The customer has been notified."));
+                }
                 content.getChildren().add(statusBox);
             }
 
@@ -1401,6 +1405,40 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         }
     }
 
+    /**
+     * Create a button that moves an order to a new status and closes the order details
+     * @param dialog The order details dialog
+     * @param order The order
+     * @param text The button text
+     * @param status The new status
+     * @param successMessage The message shown once the status is updated
+     * @return The button
+     */
+    private Button createStatusButton(Dialog<Void> dialog, OrderRow order, String text, String status,
+                                      String successMessage) {
+        Button button = new Button(text);
+        button.getStyleClass().add("primary-button");
+        button.setOnAction(e -> {
+            LOGGER.info("Beekeeper " + beekeeper.getUsername() +
+                    " marking order " + order.getOrderId() + " as " + status);
+
+            boolean updated = orderService.updateOrderStatus(order.getOrderId(), status);
+
+            if (updated) {
+                LOGGER.info("Order status updated successfully, observers should be notified");
+
+                showAlert(Alert.AlertType.INFORMATION, "Status Updated", successMessage);
+                dialog.close();
+                loadOrders();
+            } else {
+                LOGGER.warning("Failed to update order status to " + status);
+                showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to update order status.");
+            }
+        });
+        return button;
+    }
+
     @FXML
     private void handleLogout() {
         Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
@@ -1411,6 +1449,8 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         Optional<ButtonType> result = confirmDialog.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
+                backgroundLoader.cancelAll();
+
                 // Close only this dashboard window (login window remains open)
                 Stage stage = (Stage) welcomeLabel.getScene().getWindow();
                 stage.close();
@@ -1442,70 +1482,199 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
         }
     }
 
-    private void handleEntityChange(EntityChangeEvent<?> event) {
+    @Override
+    public void updateAll(List<EntityChangeEvent<?>> events) {
+        if (Platform.isFxApplicationThread()) {
+            applyBatch(events);
+        } else {
+            Platform.runLater(() -> applyBatch(events));
+        }
+    }
+
+    /**
+     * Apply every event of a batch, since each one patches its own row and count;
+     * the reloads and notifications the events ask for run once, after the whole batch
+     */
+    private void applyBatch(List<EntityChangeEvent<?>> events) {
+        pendingRefreshes = new LinkedHashMap<>();
         try {
-            LOGGER.info("=== BEEKEEPER DASHBOARD PROCESSING ENTITY CHANGE ===");
-            LOGGER.info("Event Type: " + event.getType() + " | Entity Type: " + event.getEntityType());
-
-            switch (event.getEntityType()) {
-                case "Apiary":
-                    LOGGER.info("Processing Apiary change event: " + event.getType());
-                    if (event.getType() == EntityChangeEvent.Type.DELETED) {
-                        LOGGER.info("Apiary deleted - refreshing all related data");
-                        // Refresh all data since apiary deletion cascades to everything
-                        loadApiaries();
-                        loadHives();
-                        loadProducts();
-                        loadOrders(); // Orders might be affected if they contain products from this apiary
+            events.forEach(this::handleEntityChange);
+        } finally {
+            Map<String, Runnable> refreshes = pendingRefreshes;
+            pendingRefreshes = null;
+            refreshes.values().forEach(Runnable::run);
+        }
+    }
 
-                        Platform.runLater(() -> {
-                            showTemporaryNotification("Apiary and all related data have been deleted.");
-                        });
-                    } else {
-                        loadApiaries();
-                        loadHives();
-                        loadProducts();
-                    }
-                    break;
-
-                case "Hive":
-                    LOGGER.info("Processing Hive change event: " + event.getType());
-                    loadHives();
-                    loadProducts(); // Hive changes affect products
-                    if (event.getType() == EntityChangeEvent.Type.DELETED) {
-                        Platform.runLater(() -> {
-                            showTemporaryNotification("Hive and related products have been updated.");
-                        });
-                    }
-                    break;
-
-                case "HoneyProduct":
-                    LOGGER.info("Processing HoneyProduct change event: " + event.getType());
-                    loadProducts();
-                    if (event.getType() == EntityChangeEvent.Type.DELETED) {
-                        Platform.runLater(() -> {
-                            showTemporaryNotification("Honey product has been removed.");
-                        });
-                    }
-                    break;
+    // Outside a batch the refresh runs right away
+    private void refreshOnce(String key, Runnable refresh) {
+        if (pendingRefreshes != null) {
+            pendingRefreshes.putIfAbsent(key, refresh);
+        } else {
+            refresh.run();
+        }
+    }
 
-                case "Order":
-                    LOGGER.info("Processing Order change event: " + event.getType());
-                    loadOrders();
-                    break;
+    private void notifyOnce(String message) {
+        refreshOnce(message, () -> Platform.runLater(() -> showTemporaryNotification(message)));
+    }
 
-                default:
-                    LOGGER.info("Unknown entity type for beekeeper dashboard: " + event.getEntityType());
-                    break;
+    private void handleEntityChange(EntityChangeEvent<?> event) {
+        try {
+            LOGGER.fine("Beekeeper dashboard applying " + event.getType() + " " + event.getEntityType());
+
+            Object entity = event.getEntity();
+            if (entity instanceof Apiary) {
+                applyApiaryChange(event.getType(), (Apiary) entity);
+            } else if (entity instanceof Hive) {
+                applyHiveChange(event.getType(), (Hive) entity);
+            } else if (entity instanceof HoneyProduct) {
+                applyProductChange(event.getType(), (HoneyProduct) entity);
+            } else if (entity instanceof Order) {
+                applyOrderChange(event.getType(), (Order) entity);
+            } else {
+                LOGGER.fine("Unknown entity type for beekeeper dashboard: " + event.getEntityType());
             }
-
-            LOGGER.info("=== BEEKEEPER DASHBOARD ENTITY CHANGE PROCESSING COMPLETED ===");
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error handling entity change in BeekeeperDashboard", e);
-            e.printStackTrace();
         }
     }
 
+    private void applyApiaryChange(EntityChangeEvent.Type type, Apiary apiary) {
+        if (apiaryPatcher.apply(apiaries, type, apiary, a -> true) == ListPatcher.Result.PATCHED) {
+            apiariesTable.sort();
+        }
+        // Hives and products of a deleted apiary arrive as their own deletions
+        patchApiaryFilter(apiaryFilterComboBox, type, apiary);
+        patchApiaryFilter(productApiaryFilterComboBox, type, apiary);
+
+        if (type == EntityChangeEvent.Type.UPDATED) {
+            // Hive and product rows show the apiary name through their own copy of the apiary
+            Integer apiaryId = apiary.getApiaryId();
+            if (hives.stream().anyMatch(hive -> apiaryId.equals(hive.getApiary().getApiaryId()))) {
+                refreshOnce("hives", this::loadHives);
+            }
+            if (products.stream().anyMatch(product -> apiaryId.equals(product.getApiary().getApiaryId()))) {
+                refreshOnce("products", this::loadProducts);
+            }
+        } else if (type == EntityChangeEvent.Type.DELETED) {
+            refreshOnce("orders", this::loadOrders); // Orders might be affected if they contain products from this apiary
+            notifyOnce("Apiary and all related data have been deleted.");
+        }
+    }
+
+    private void patchApiaryFilter(ComboBox<Apiary> filter, EntityChangeEvent.Type type, Apiary apiary) {
+        apiaryPatcher.apply(filter.getItems(), type, apiary, a -> true);
+        Apiary selected = filter.getValue();
+        if (selected == null || !selected.getApiaryId().equals(apiary.getApiaryId())) {
+            if (selected == null && type == EntityChangeEvent.Type.CREATED) {
+                filter.setValue(apiary);
+            }
+            return;
+        }
+        if (type == EntityChangeEvent.Type.DELETED) {
+            filter.setValue(filter.getItems().isEmpty() ? null : filter.getItems().get(0));
+        } else {
+            // Equal by id, so the value listener does not reload; only the shown name changes
+            filter.setValue(apiary);
+        }
+    }
+
+    private void applyHiveChange(EntityChangeEvent.Type type, Hive hive) {
+        Integer apiaryId = hive.getApiary().getApiaryId();
+        if (type != EntityChangeEvent.Type.UPDATED) {
+            apiaryHiveCounts = adjustCount(apiaryHiveCounts, apiaryId,
+                    type == EntityChangeEvent.Type.CREATED ? 1 : -1);
+            apiariesTable.refresh();
+        }
+
+        Apiary selectedApiary = apiaryFilterComboBox.getValue();
+        ListPatcher.Result result = hivePatcher.apply(hives, type, hive,
+                h -> selectedApiary != null && selectedApiary.getApiaryId().equals(apiaryId));
+        if (result == ListPatcher.Result.PATCHED) {
+            hivesTable.sort();
+        }
+
+        Apiary productApiary = productApiaryFilterComboBox.getValue();
+        if (productApiary != null && productApiary.getApiaryId().equals(apiaryId)) {
+            Hive selectedHive = productHiveFilterComboBox.getValue();
+            if (type == EntityChangeEvent.Type.DELETED && hive.equals(selectedHive)) {
+                productHiveFilterComboBox.setValue(null);
+            }
+            hiveFilterPatcher.apply(productHiveFilterComboBox.getItems(), type, hive, h -> true);
+        }
+
+        // Product rows show the hive number, and deleting a hive changes its products
+        if (type != EntityChangeEvent.Type.CREATED && products.stream().anyMatch(product ->
+                product.getHive() != null && hive.getHiveId().equals(product.getHive().getHiveId()))) {
+            refreshOnce("products", this::loadProducts);
+        }
+
+        if (type == EntityChangeEvent.Type.DELETED) {
+            notifyOnce("Hive and related products have been updated.");
+        }
+    }
+
+    private void applyProductChange(EntityChangeEvent.Type type, HoneyProduct product) {
+        if (type != EntityChangeEvent.Type.UPDATED) {
+            long delta = type == EntityChangeEvent.Type.CREATED ? 1 : -1;
+            apiaryProductCounts = adjustCount(apiaryProductCounts, product.getApiary().getApiaryId(), delta);
+            apiariesTable.refresh();
+            if (product.getHive() != null) {
+                hiveProductCounts = adjustCount(hiveProductCounts, product.getHive().getHiveId(), delta);
+                hivesTable.refresh();
+            }
+        }
+
+        if (productPatcher.apply(products, type, product, this::isProductShown) == ListPatcher.Result.PATCHED) {
+            productsTable.sort();
+        }
+
+        if (type == EntityChangeEvent.Type.DELETED) {
+            notifyOnce("Honey product has been removed.");
+        }
+    }
+
+    private boolean isProductShown(HoneyProduct product) {
+        Apiary apiary = productApiaryFilterComboBox.getValue();
+        Hive hive = productHiveFilterComboBox.getValue();
+        return (apiary == null || apiary.getApiaryId().equals(product.getApiary().getApiaryId()))
+                && (hive == null || (product.getHive() != null
+                        && hive.getHiveId().equals(product.getHive().getHiveId())));
+    }
+
+    private void applyOrderChange(EntityChangeEvent.Type type, Order order) {
+        String statusFilter = orderStatusFilterComboBox.getValue();
+        Predicate<OrderRow> shown = row -> "All".equals(statusFilter) || statusFilter.equals(row.getStatus());
+
+        // Rows carry per-order totals and item counts that only the database can provide,
+        // so only status changes of rows already in the table are patched
+        int index = orderPatcher.indexOf(orders, order.getOrderId());
+        if (type != EntityChangeEvent.Type.UPDATED) {
+            refreshOnce("orders", this::loadOrders);
+            return;
+        }
+        if (index < 0) {
+            // The order may have just entered the status filter
+            if (("All".equals(statusFilter) || statusFilter.equals(order.getStatus()))
+                    && !isBeyondLoadedOrders(order)) {
+                refreshOnce("orders", this::loadOrders);
+            }
+            return;
+        }
+        OrderRow row = orders.get(index).withStatus(order.getStatus());
+        if (orderPatcher.apply(orders, type, row, shown) == ListPatcher.Result.PATCHED) {
+            ordersTable.sort();
+        }
+    }
+
+    // Counts come from the services and may be immutable, so a changed copy replaces them
+    private static Map<Integer, Long> adjustCount(Map<Integer, Long> counts, Integer key, long delta) {
+        Map<Integer, Long> adjusted = new HashMap<>(counts);
+        adjusted.merge(key, delta, Long::sum);
+        return adjusted;
+    }
+
     private void showTemporaryNotification(String message) {
         try {
             Alert notification = new Alert(Alert.AlertType.INFORMATION);
@@ -1524,4 +1693,32 @@ public class BeekeeperDashboardController implements Observer<EntityChangeEvent<
             LOGGER.log(Level.WARNING, "Error showing notification", e);
         }
     }
+
+    /**
+     * Apiaries loaded for the apiaries table, with their per-row counts
+     */
+    private static class ApiaryRows {
+        private final List<Apiary> apiaries;
+        private final Map<Integer, Long> hiveCounts;
+        private final Map<Integer, Long> productCounts;
+
+        private ApiaryRows(List<Apiary> apiaries, Map<Integer, Long> hiveCounts, Map<Integer, Long> productCounts) {
+            this.apiaries = apiaries;
+            this.hiveCounts = hiveCounts;
+            this.productCounts = productCounts;
+        }
+    }
+
+    /**
+     * Hives loaded for the hives table, with their per-row product counts
+     */
+    private static class HiveRows {
+        private final List<Hive> hives;
+        private final Map<Integer, Long> productCounts;
+
+        private HiveRows(List<Hive> hives, Map<Integer, Long> productCounts) {
+            this.hives = hives;
+            this.productCounts = productCounts;
+        }
+    }
 }
\ No newline at end of file
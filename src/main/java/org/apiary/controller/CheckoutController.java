@@ -1,5 +1,6 @@
 package org.apiary.controller;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -9,9 +10,11 @@ import javafx.scene.layout.VBox;
 import org.apiary.config.HibernateConfig;
 import org.apiary.model.CartItem;
 import org.apiary.model.Client;
+import org.apiary.model.Order;
 import org.apiary.service.ServiceFactory;
 import org.apiary.service.interfaces.OrderService;
 import org.apiary.service.interfaces.ShoppingCartService;
+import org.apiary.utils.concurrent.BackgroundLoader;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 
@@ -53,11 +56,13 @@ public class CheckoutController {
     @FXML private Label summarySubtotalLabel;
     @FXML private Label summaryShippingLabel;
     @FXML private Label summaryTotalLabel;
+    @FXML private Button placeOrderButton;
 
     private Client client;
     private ShoppingCartService shoppingCartService;
     private OrderService orderService;
     private ObservableList<CartItem> cartItems;
+    private final BackgroundLoader backgroundLoader = new BackgroundLoader();
 
     @FXML
     private void initialize() {
@@ -214,66 +219,96 @@ public class CheckoutController {
                 return;
             }
 
-            LOGGER.info("Testing database connection...");
-            try {
-                SessionFactory sessionFactory = HibernateConfig.getSessionFactory();
-                try (Session testSession = sessionFactory.openSession()) {
-                    testSession.beginTransaction();
-                    Long userCount = testSession.createQuery("SELECT COUNT(*) FROM User", Long.class).uniqueResult();
-                    testSession.getTransaction().commit();
-                    LOGGER.info("Database connection test successful. User count: " + userCount);
-                }
-            } catch (Exception dbTest) {
-                LOGGER.log(Level.SEVERE, "Database connection test failed", dbTest);
-                showAlert(Alert.AlertType.ERROR, "Database Error",
-                        "Cannot connect to database: " + dbTest.getMessage() +
-                                "\n\nPlease check your database connection and try again.");
-                return;
-            }
-
-            LOGGER.info("Starting order placement for client: " + client.getUsername());
-            List<CartItem> currentCartItems = shoppingCartService.getCartItems(client);
-            if (currentCartItems.isEmpty()) {
-                showAlert(Alert.AlertType.ERROR, "Cart Error",
-                        "Your cart appears to be empty. Please add items before checking out.");
-                return;
-            }
-
-            LOGGER.info("Cart verification successful, proceeding with order creation and payment");
-            var order = orderService.createOrderFromCart(client);
-            if (order != null) {
-                LOGGER.info("Order created and paid successfully with ID: " + order.getOrderId());
-
-                if ("PAID".equals(order.getStatus())) {
-                    orderNumberLabel.setText("Order #" + order.getOrderId());
-                    confirmationTotalLabel.setText(order.getTotal() + " RON");
-                    showStep(4);
-
-                    showAlert(Alert.AlertType.INFORMATION, "Order Successful",
-                            "Your order has been placed and paid successfully!\n" +
-                                    "Order #" + order.getOrderId() + "\n" +
-                                    "Stock quantities have been updated automatically.");
-                } else {
-                    LOGGER.warning("Order was created but status is not PAID: " + order.getStatus());
-                    showAlert(Alert.AlertType.ERROR, "Order Status Error",
-                            "Order was created but payment processing failed. Status: " + order.getStatus());
-                }
-            } else {
-                LOGGER.severe("Order creation returned null for client: " + client.getUsername());
-                showAlert(Alert.AlertType.ERROR, "Order Failed",
-                        "Could not create and process order. Please check:\n" +
-                                "• Product availability\n" +
-                                "• Database connectivity\n" +
-                                "• Payment processing\n\n" +
-                                "Please try again or contact support if the problem persists.");
-            }
+            // Checks and placement run in the background; keep the button disabled so the order is not placed twice
+            placeOrderButton.setDisable(true);
+            backgroundLoader.load("place-order", this::verifyCheckout,
+                    currentCartItems -> {
+                        if (currentCartItems.isEmpty()) {
+                            placeOrderButton.setDisable(false);
+                            showAlert(Alert.AlertType.ERROR, "Cart Error",
+                                    "Your cart appears to be empty. Please add items before checking out.");
+                            return;
+                        }
+                        LOGGER.info("Cart verification successful, proceeding with order creation and payment");
+                        placeOrder();
+                    },
+                    error -> {
+                        placeOrderButton.setDisable(false);
+                        showAlert(Alert.AlertType.ERROR, "Database Error",
+                                "Cannot connect to database: " + error.getMessage() +
+                                        "\n\nPlease check your database connection and try again.");
+                    });
         } catch (Exception e) {
+            placeOrderButton.setDisable(false);
             LOGGER.log(Level.SEVERE, "Error placing order for client: " + client.getUsername(), e);
             showAlert(Alert.AlertType.ERROR, "Error",
                     "An unexpected error occurred: " + e.getClass().getSimpleName() +
                             ": " + e.getMessage());
         }
     }
+
+    /**
+     * Check the database connection and re-read the cart; runs on the background loader
+     * @return The items currently in the client's cart
+     */
+    private List<CartItem> verifyCheckout() {
+        LOGGER.info("Testing database connection...");
+        SessionFactory sessionFactory = HibernateConfig.getSessionFactory();
+        try (Session testSession = sessionFactory.openSession()) {
+            testSession.beginTransaction();
+            Long userCount = testSession.createQuery("SELECT COUNT(*) FROM User", Long.class).uniqueResult();
+            testSession.getTransaction().commit();
+            LOGGER.info("Database connection test successful. User count: " + userCount);
+        }
+
+        LOGGER.info("Starting order placement for client: " + client.getUsername());
+        return shoppingCartService.getCartItems(client);
+    }
+
+    private void placeOrder() {
+        // Placement and payment both run off the JavaFX Application Thread
+        orderService.createOrderFromCartAsync(client)
+                .whenComplete((order, error) -> Platform.runLater(() -> {
+                    placeOrderButton.setDisable(false);
+                    if (error != null) {
+                        LOGGER.log(Level.SEVERE, "Error placing order for client: " + client.getUsername(), error);
+                        showAlert(Alert.AlertType.ERROR, "Error",
+                                "An unexpected error occurred: " + error.getMessage());
+                    } else {
+                        showOrderResult(order);
+                    }
+                }));
+    }
+
+    private void showOrderResult(Order order) {
+        if (order != null) {
+            if ("PAID".equals(order.getStatus())) {
+                LOGGER.info("Order created and paid successfully with ID: " + order.getOrderId());
+                orderNumberLabel.setText("Order #" + order.getOrderId());
+                confirmationTotalLabel.setText(order.getTotal() + " RON");
+                showStep(4);
+
+                showAlert(Alert.AlertType.INFORMATION, "Order Successful",
+                        "Your order has been placed and paid successfully!\n" +
+                                "Order #" + order.getOrderId() + "\n" +
+                                "Stock quantities have been updated automatically.");
+            } else {
+                LOGGER.warning("Order was created but status is not PAID: " + order.getStatus());
+                showAlert(Alert.AlertType.ERROR, "Payment Failed",
+                        "Payment for order #" + order.getOrderId() + " could not be processed, " +
+                                "so the order was canceled. Status: " + order.getStatus() +
+                                "\n\nNo items were taken from your cart. Please try again.");
+            }
+        } else {
+            LOGGER.severe("Order creation returned null for client: " + client.getUsername());
+            showAlert(Alert.AlertType.ERROR, "Order Failed",
+                    "Could not create and process order. Please check:\n" +
+                            "• Product availability\n" +
+                            "• Database connectivity\n" +
+                            "• Payment processing\n\n" +
+                            "Please try again or contact support if the problem persists.");
+        }
+    }
     private boolean validatePaymentDetails() {
         if (creditCardRadioButton.isSelected()) {
             if (cardNumberField.getText().trim().isEmpty()) {
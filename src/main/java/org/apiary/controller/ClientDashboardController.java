@@ -1,8 +1,10 @@
 package org.apiary.controller;
 
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -15,25 +17,37 @@ import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import org.apiary.model.*;
+import org.apiary.model.projection.OrderRow;
+import org.apiary.model.projection.ProductCard;
 import org.apiary.service.ServiceFactory;
 import org.apiary.service.interfaces.*;
 import org.apiary.utils.StringUtils;
 import org.apiary.utils.ValidationUtils;
+import org.apiary.utils.cache.LruCache;
+import org.apiary.utils.concurrent.BackgroundLoader;
+import org.apiary.utils.delta.ListPatcher;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.Observer;
+import org.apiary.utils.pagination.KeysetPageable;
 import org.apiary.utils.pagination.Page;
 import org.apiary.utils.pagination.Pageable;
+import org.apiary.view.ProductGrid;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,6 +57,7 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
     // FXML controls
     @FXML private Label welcomeLabel;
+    @FXML private ProgressIndicator loadingIndicator;
     @FXML private TabPane mainTabPane;
 
     // Honey Products tab controls
@@ -50,7 +65,7 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     @FXML private ComboBox<String> categoryFilter;
     @FXML private ComboBox<String> priceFilter;
     @FXML private ComboBox<String> sortOptions;
-    @FXML private TilePane productsContainer;
+    @FXML private ProductGrid productsGrid;
     @FXML private Button prevPageButton;
     @FXML private Label pageInfoLabel;
     @FXML private Button nextPageButton;
@@ -66,13 +81,14 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     @FXML private Label cartTotalLabel;
 
     // Orders tab controls
-    @FXML private TableView<Order> ordersTable;
-    @FXML private TableColumn<Order, Integer> orderIdColumn;
-    @FXML private TableColumn<Order, String> orderDateColumn;
-    @FXML private TableColumn<Order, String> orderItemsColumn;
-    @FXML private TableColumn<Order, BigDecimal> orderTotalColumn;
-    @FXML private TableColumn<Order, String> orderStatusColumn;
-    @FXML private TableColumn<Order, Void> orderActionsColumn;
+    @FXML private TableView<OrderRow> ordersTable;
+    @FXML private Button loadMoreOrdersButton;
+    @FXML private TableColumn<OrderRow, Integer> orderIdColumn;
+    @FXML private TableColumn<OrderRow, String> orderDateColumn;
+    @FXML private TableColumn<OrderRow, String> orderItemsColumn;
+    @FXML private TableColumn<OrderRow, BigDecimal> orderTotalColumn;
+    @FXML private TableColumn<OrderRow, String> orderStatusColumn;
+    @FXML private TableColumn<OrderRow, Void> orderActionsColumn;
 
     // Apiaries tab controls
     @FXML private TextField apiarySearchField;
@@ -93,11 +109,27 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     private ApiaryService apiaryService;
     private UserService userService;
     private HiveService hiveService;
+    private ProductCatalogService productCatalogService;
+
+    // Runs service calls off the JavaFX Application Thread
+    private final BackgroundLoader backgroundLoader = new BackgroundLoader();
+
+    // Live search: keystrokes within the debounce window collapse into one query,
+    // and recent product pages are served again without asking the catalog
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+    private static final int PRODUCT_PAGE_CACHE_SIZE = 32;
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private final LruCache<ProductQuery, Page<ProductCard>> productPageCache = new LruCache<>(PRODUCT_PAGE_CACHE_SIZE);
 
     // Pagination state
     private int currentPage = 0;
     private int pageSize = 12;
     private int totalPages = 0;
+    private int shownProductPage = -1;
+
+    // Order history is loaded a keyset page at a time; null once the last page is shown
+    private static final int ORDER_PAGE_SIZE = 50;
+    private KeysetPageable nextOrdersPage;
     private String currentSearchTerm = "";
     private String currentCategory = null;
     private BigDecimal minPrice = null;
@@ -106,9 +138,20 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     private String currentSortDir = "asc";
 
     private ObservableList<CartItem> cartItems;
-    private ObservableList<Order> orders;
+    private ObservableList<OrderRow> orders;
     private ObservableList<Apiary> apiaries;
 
+    // Apiary row counts, computed once per table load so rendering a cell never queries
+    private Map<Integer, Long> apiaryHiveCounts = Map.of();
+    private Map<Integer, Long> apiaryProductCounts = Map.of();
+    // Reloads and notifications asked for while a batch of events is applied, by kind
+    private Map<String, Runnable> pendingRefreshes;
+
+    // Patch rows in place on change events, in the order each list is loaded in
+    private final ListPatcher<Apiary, Integer> apiaryPatcher =
+            new ListPatcher<>(Apiary::getApiaryId, Comparator.comparing(Apiary::getApiaryId));
+    private final ListPatcher<OrderRow, Integer> orderPatcher = new ListPatcher<>(OrderRow::getOrderId, null);
+
     @FXML
     private void initialize() {
         try {
@@ -124,6 +167,7 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
             apiaryService = ServiceFactory.getApiaryService();
             userService = ServiceFactory.getUserService();
             hiveService = ServiceFactory.getHiveService();
+            productCatalogService = ServiceFactory.getProductCatalogService();
 
             LOGGER.info("Services obtained successfully");
 
@@ -136,6 +180,9 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
             LOGGER.info("Setting up table columns...");
             setupTableColumns();
 
+            productsGrid.setOnViewDetails(this::handleViewProductDetails);
+            productsGrid.setOnAddToCart(this::handleQuickAddToCart);
+
             LOGGER.info("Initializing observable lists...");
             cartItems = FXCollections.observableArrayList();
             orders = FXCollections.observableArrayList();
@@ -146,6 +193,8 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
             ordersTable.setItems(orders);
             apiariesTable.setItems(apiaries);
 
+            loadingIndicator.visibleProperty().bind(backgroundLoader.loadingProperty());
+
             // Set up event listeners
             LOGGER.info("Setting up event listeners...");
             setupEventListeners();
@@ -161,11 +210,11 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
     private void setupEventListeners() {
         try {
-            // Set up search listeners
+            // Set up search listeners; every keystroke restarts the debounce window
+            searchDebounce.setOnFinished(e -> applySearchTerm());
             searchField.textProperty().addListener((obs, oldVal, newVal) -> {
                 if (!newVal.equals(oldVal)) {
-                    currentPage = 0; // Reset to first page on new search
-                    handleSearchProducts();
+                    searchDebounce.playFromStart();
                 }
             });
 
@@ -227,154 +276,160 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
     @Override
     public void update(EntityChangeEvent<?> event) {
-        LOGGER.info("=== CLIENT DASHBOARD UPDATE METHOD CALLED ===");
-        LOGGER.info("Thread: " + Thread.currentThread().getName());
-        LOGGER.info("Event: " + event.getType() + " | Entity: " + event.getEntityType());
-
-        if (event.getEntity() instanceof HoneyProduct) {
-            HoneyProduct product = (HoneyProduct) event.getEntity();
-            LOGGER.info("Product update received - ID: " + product.getProductId() +
-                    " | Name: " + product.getName() + " | Price: " + product.getPrice());
+        if (Platform.isFxApplicationThread()) {
+            handleEntityChangeUpdate(event);
+        } else {
+            Platform.runLater(() -> handleEntityChangeUpdate(event));
         }
+    }
 
+    @Override
+    public void updateAll(List<EntityChangeEvent<?>> events) {
+        if (Platform.isFxApplicationThread()) {
+            applyBatch(events);
+        } else {
+            Platform.runLater(() -> applyBatch(events));
+        }
+    }
+
+    /**
+     * Apply every event of a batch, since each one patches its own row and count;
+     * the reloads and notifications the events ask for run once, after the whole batch
+     */
+    private void applyBatch(List<EntityChangeEvent<?>> events) {
+        pendingRefreshes = new LinkedHashMap<>();
         try {
-            if (Platform.isFxApplicationThread()) {
-                LOGGER.info("Already on JavaFX Application Thread, processing immediately");
-                handleEntityChangeUpdate(event);
-            } else {
-                LOGGER.info("Not on JavaFX Application Thread, using Platform.runLater");
-                Platform.runLater(() -> {
-                    try {
-                        LOGGER.info("Platform.runLater execution started");
-                        handleEntityChangeUpdate(event);
-                        LOGGER.info("Platform.runLater execution completed");
-                    } catch (Exception e) {
-                        LOGGER.log(Level.SEVERE, "Error in Platform.runLater execution", e);
-                    }
-                });
-            }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error in update method", e);
+            events.forEach(this::handleEntityChangeUpdate);
+        } finally {
+            Map<String, Runnable> refreshes = pendingRefreshes;
+            pendingRefreshes = null;
+            refreshes.values().forEach(Runnable::run);
         }
+    }
 
-        LOGGER.info("=== CLIENT DASHBOARD UPDATE METHOD COMPLETED ===");
+    // Outside a batch the refresh runs right away
+    private void refreshOnce(String key, Runnable refresh) {
+        if (pendingRefreshes != null) {
+            pendingRefreshes.putIfAbsent(key, refresh);
+        } else {
+            refresh.run();
+        }
     }
 
     private void handleEntityChangeUpdate(EntityChangeEvent<?> event) {
         try {
-            LOGGER.info("=== CLIENT DASHBOARD PROCESSING ENTITY CHANGE ===");
-            LOGGER.info("Event Type: " + event.getType() + " | Entity Type: " + event.getEntityType());
-            LOGGER.info("Current tab index: " + mainTabPane.getSelectionModel().getSelectedIndex());
+            LOGGER.fine("Client dashboard applying " + event.getType() + " " + event.getEntityType());
 
             switch (event.getEntityType()) {
                 case "HoneyProduct":
-                    LOGGER.info("Processing HoneyProduct change event");
-                    if (event.getEntity() instanceof HoneyProduct) {
-                        HoneyProduct product = (HoneyProduct) event.getEntity();
-                        LOGGER.info("Product change: " + product.getName() +
-                                " | Event: " + event.getType());
+                    HoneyProduct product = (HoneyProduct) event.getEntity();
+
+                    // The catalog index already has the change, so refreshing the page needs no query
+                    refreshOnce("products", this::forceRefreshProducts);
+                    if (event.getType() != EntityChangeEvent.Type.UPDATED) {
+                        apiaryProductCounts = adjustCount(apiaryProductCounts, product.getApiary().getApiaryId(),
+                                event.getType() == EntityChangeEvent.Type.CREATED ? 1 : -1);
+                        apiariesTable.refresh();
                     }
 
-                    // Force refresh products regardless of current tab
-                    forceRefreshProducts();
-
                     // Show notification for product changes
-                    Platform.runLater(() -> {
-                        try {
-                            String message = switch (event.getType()) {
-                                case CREATED -> "New honey product available!";
-                                case UPDATED -> "Product information updated!";
-                                case DELETED -> "A product is no longer available.";
-                            };
-                            showTemporaryNotification(message);
-                        } catch (Exception e) {
-                            LOGGER.log(Level.WARNING, "Error showing notification", e);
-                        }
-                    });
+                    String message = switch (event.getType()) {
+                        case CREATED -> "New honey product available!";
+                        case UPDATED -> "Product information updated!";
+                        case DELETED -> "A product is no longer available.";
+                    };
+                    refreshOnce(message, () -> showTemporaryNotification(message));
                     break;
 
                 case "Apiary":
-                    LOGGER.info("Processing Apiary change event: " + event.getType());
+                    applyApiaryChange(event.getType(), (Apiary) event.getEntity());
+                    refreshOnce("products", this::forceRefreshProducts); // Product tiles show the apiary name
                     if (event.getType() == EntityChangeEvent.Type.DELETED) {
-                        LOGGER.info("Apiary deleted - refreshing all related data");
-                        // Refresh all tabs since apiary deletion affects everything
-                        loadApiaries();
-                        forceRefreshProducts();
-
-                        Platform.runLater(() -> {
-                            showTemporaryNotification("An apiary and its products have been removed.");
-                        });
-                    } else {
-                        loadApiaries();
-                        forceRefreshProducts();
+                        String removed = "An apiary and its products have been removed.";
+                        refreshOnce(removed, () -> showTemporaryNotification(removed));
                     }
                     break;
 
                 case "Hive":
-                    LOGGER.info("Processing Hive change event: " + event.getType());
-                    loadApiaries(); // Update hive counts in apiary table
-                    forceRefreshProducts(); // Hive changes might affect products
+                    Hive hive = (Hive) event.getEntity();
+                    if (event.getType() != EntityChangeEvent.Type.UPDATED) {
+                        apiaryHiveCounts = adjustCount(apiaryHiveCounts, hive.getApiary().getApiaryId(),
+                                event.getType() == EntityChangeEvent.Type.CREATED ? 1 : -1);
+                        apiariesTable.refresh();
+                    }
+                    if (event.getType() == EntityChangeEvent.Type.DELETED) {
+                        refreshOnce("products", this::forceRefreshProducts); // Hive changes might affect products
+                    }
                     break;
 
                 case "Order":
-                    LOGGER.info("Processing Order change event");
-                    loadOrders();
-                    if (event.getType() == EntityChangeEvent.Type.CREATED) {
-                        loadCartItems(); // Clear cart after order creation
+                    refreshOnce("products", this::forceRefreshProducts); // Orders move stock; the catalog index already has the new quantities
+                    // Other clients' orders only matter for stock
+                    if (client != null && client.getUserId().equals(event.getClientId())) {
+                        applyOrderChange(event.getType(), (Order) event.getEntity());
+                        if (event.getType() == EntityChangeEvent.Type.CREATED) {
+                            refreshOnce("cart", this::loadCartItems); // Clear cart after order creation
+                        }
                     }
                     break;
 
                 case "CartItem":
-                    LOGGER.info("Processing CartItem change event");
-                    loadCartItems();
+                    refreshOnce("cart", this::loadCartItems);
                     break;
 
                 default:
-                    LOGGER.info("Unknown entity type: " + event.getEntityType());
+                    LOGGER.fine("Unknown entity type: " + event.getEntityType());
                     break;
             }
 
-            LOGGER.info("=== CLIENT DASHBOARD ENTITY CHANGE PROCESSING COMPLETED ===");
-
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error handling entity change update in ClientDashboard", e);
-            e.printStackTrace();
         }
     }
 
+    private void applyApiaryChange(EntityChangeEvent.Type type, Apiary apiary) {
+        // A search or location filter is matched by the database, so it cannot be checked here
+        boolean unfiltered = StringUtils.isBlank(apiarySearchField.getText())
+                && "All Locations".equals(apiaryLocationFilter.getValue());
+        ListPatcher.Result result = apiaryPatcher.apply(apiaries, type, apiary, unfiltered ? a -> true : null);
+        if (result == ListPatcher.Result.RELOAD) {
+            refreshOnce("apiaries", this::loadApiaries);
+        } else if (result == ListPatcher.Result.PATCHED) {
+            apiariesTable.sort();
+        }
+    }
+
+    private void applyOrderChange(EntityChangeEvent.Type type, Order order) {
+        // Rows carry totals and item counts that only the database can provide,
+        // so only status changes of rows already in the table are patched
+        int index = orderPatcher.indexOf(orders, order.getOrderId());
+        if (type == EntityChangeEvent.Type.UPDATED && index < 0 && isBeyondLoadedOrders(order)) {
+            return;
+        }
+        if (type != EntityChangeEvent.Type.UPDATED || index < 0) {
+            refreshOnce("orders", this::loadOrders);
+            return;
+        }
+        orderPatcher.apply(orders, type, orders.get(index).withStatus(order.getStatus()), row -> true);
+        ordersTable.sort();
+    }
+
+    // Counts come from the services and may be immutable, so a changed copy replaces them
+    private static Map<Integer, Long> adjustCount(Map<Integer, Long> counts, Integer key, long delta) {
+        Map<Integer, Long> adjusted = new HashMap<>(counts);
+        adjusted.merge(key, delta, Long::sum);
+        return adjusted;
+    }
+
     /**
-     * Force refresh products with complete UI clearing
+     * Reload the product page after a change; the grid rebinds only the tiles that changed
      */
     private void forceRefreshProducts() {
         try {
             LOGGER.info("=== FORCE REFRESH PRODUCTS STARTED ===");
-            LOGGER.info("Current products container children count: " + productsContainer.getChildren().size());
-
-            productsContainer.getChildren().clear();
-            productsContainer.requestLayout();
-
-            LOGGER.info("Products container cleared, children count: " + productsContainer.getChildren().size());
-
-            Platform.runLater(() -> {
-                try {
-                    LOGGER.info("=== EXECUTING DELAYED REFRESH ===");
-
-                    if (!productsContainer.getChildren().isEmpty()) {
-                        LOGGER.warning("Container not empty after clear, forcing clear again");
-                        productsContainer.getChildren().clear();
-                    }
-
-                    loadProducts();
-                    productsContainer.requestLayout();
-
-                    LOGGER.info("=== DELAYED REFRESH COMPLETED ===");
-                    LOGGER.info("Final products container children count: " + productsContainer.getChildren().size());
-
-                } catch (Exception e) {
-                    LOGGER.log(Level.SEVERE, "Error in delayed product refresh", e);
-                }
-            });
-
+            // Cached pages were built from the catalog before this change
+            productPageCache.clear();
+            loadProducts();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error in forceRefreshProducts", e);
         }
@@ -504,6 +559,8 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     public void cleanup() {
         LOGGER.info("=== CLEANING UP CLIENT DASHBOARD OBSERVERS ===");
         try {
+            searchDebounce.stop();
+            backgroundLoader.cancelAll();
             if (honeyProductService != null) {
                 honeyProductService.removeObserver(this);
                 LOGGER.info("Removed observer from HoneyProductService");
@@ -549,20 +606,18 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
                 "Name: Z to A",
                 "Price: Low to High",
                 "Price: High to Low",
-                "Newest First"
+                "Newest First",
+                "Best Match"
         );
         sortOptions.setValue("Name: A to Z");
 
         // Apiary location filter
         apiaryLocationFilter.getItems().add("All Locations");
-        // Load locations dynamically from database
-        try {
-            List<String> locations = apiaryService.findAllLocations();
-            apiaryLocationFilter.getItems().addAll(locations);
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Could not load apiary locations", e);
-        }
         apiaryLocationFilter.setValue("All Locations");
+        // Load locations dynamically from database
+        backgroundLoader.load("apiaryLocations", apiaryService::findAllLocations,
+                locations -> apiaryLocationFilter.getItems().addAll(locations),
+                e -> LOGGER.log(Level.WARNING, "Could not load apiary locations", e));
     }
 
     private void setupTableColumns() {
@@ -616,11 +671,8 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
                         () -> cellData.getValue().getDate().toString()));
 
         orderItemsColumn.setCellValueFactory(cellData -> {
-            Order order = cellData.getValue();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                int itemCount = order.getItems().size();
-                return itemCount + " item" + (itemCount != 1 ? "s" : "");
-            });
+            int itemCount = cellData.getValue().getItemCount();
+            return new ReadOnlyObjectWrapper<>(itemCount + " item" + (itemCount != 1 ? "s" : ""));
         });
 
         orderTotalColumn.setCellValueFactory(cellData ->
@@ -638,7 +690,7 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
             {
                 viewButton.getStyleClass().add("secondary-button");
                 viewButton.setOnAction(e -> {
-                    Order order = getTableView().getItems().get(getIndex());
+                    OrderRow order = getTableView().getItems().get(getIndex());
                     handleViewOrderDetails(order);
                 });
             }
@@ -660,29 +712,12 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
                         () -> cellData.getValue().getLocation()));
 
         // FIX: Use HiveService to count hives instead of accessing collection directly
-        apiaryHivesColumn.setCellValueFactory(cellData -> {
-            Apiary apiary = cellData.getValue();
-            return javafx.beans.binding.Bindings.createObjectBinding(() -> {
-                try {
-                    return (int) hiveService.countByApiary(apiary);
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error counting hives for apiary: " + apiary.getApiaryId(), e);
-                    return 0;
-                }
-            });
-        });
+        apiaryHivesColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(
+                apiaryHiveCounts.getOrDefault(cellData.getValue().getApiaryId(), 0L).intValue()));
 
         apiaryProductsColumn.setCellValueFactory(cellData -> {
-            Apiary apiary = cellData.getValue();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                try {
-                    long productCount = honeyProductService.countProductsByApiary(apiary.getApiaryId());
-                    return productCount + " product" + (productCount != 1 ? "s" : "");
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error counting products for apiary: " + apiary.getApiaryId(), e);
-                    return "N/A";
-                }
-            });
+            long productCount = apiaryProductCounts.getOrDefault(cellData.getValue().getApiaryId(), 0L);
+            return new ReadOnlyObjectWrapper<>(productCount + " product" + (productCount != 1 ? "s" : ""));
         });
     }
 
@@ -733,6 +768,11 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
                 currentSortBy = "id";
                 currentSortDir = "desc";
                 break;
+            case "Best Match":
+                // Ranks search results; without a search term the catalog falls back to product order
+                currentSortBy = "relevance";
+                currentSortDir = "asc";
+                break;
             default:
                 currentSortBy = "name";
                 currentSortDir = "asc";
@@ -742,11 +782,24 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
     @FXML
     private void handleSearchProducts() {
+        // Submitting runs the search now instead of waiting out the debounce window
+        searchDebounce.stop();
         currentSearchTerm = searchField.getText().trim();
         currentPage = 0;
         loadProducts();
     }
 
+    private void applySearchTerm() {
+        String searchTerm = searchField.getText().trim();
+        if (searchTerm.equals(currentSearchTerm)) {
+            // Only whitespace changed, or the term was typed and erased again
+            return;
+        }
+        currentSearchTerm = searchTerm;
+        currentPage = 0; // Reset to first page on new search
+        loadProducts();
+    }
+
     @FXML
     private void handlePreviousPage() {
         if (currentPage > 0) {
@@ -764,56 +817,58 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     }
 
     private void loadProducts() {
-        try {
-            LOGGER.info("=== LOADING PRODUCTS FOR CLIENT DASHBOARD ===");
-            LOGGER.info("Current page: " + currentPage + " | Page size: " + pageSize);
-            LOGGER.info("Search term: '" + currentSearchTerm + "' | Category: " + currentCategory);
-            LOGGER.info("Price range: " + minPrice + " - " + maxPrice);
-
-            LOGGER.info("Clearing products container...");
-            productsContainer.getChildren().clear();
-            productsContainer.requestLayout();
-
-            LOGGER.info("After clear - children count: " + productsContainer.getChildren().size());
-            Pageable pageable = new Pageable(currentPage, pageSize, currentSortBy, currentSortDir);
-            Page<HoneyProduct> productPage;
-            if (!StringUtils.isBlank(currentSearchTerm)) {
-                LOGGER.info("Loading products by search term: " + currentSearchTerm);
-                productPage = honeyProductService.findByNameContaining(
-                        currentSearchTerm, currentCategory, minPrice, maxPrice, pageable);
-            } else if (currentCategory != null || minPrice != null || maxPrice != null) {
+        LOGGER.info("=== LOADING PRODUCTS FOR CLIENT DASHBOARD ===");
+        LOGGER.info("Current page: " + currentPage + " | Page size: " + pageSize);
+        LOGGER.info("Search term: '" + currentSearchTerm + "' | Category: " + currentCategory);
+        LOGGER.info("Price range: " + minPrice + " - " + maxPrice);
+
+        // Capture the filters now; the query runs in the background while they may change
+        String searchTerm = currentSearchTerm;
+        String category = currentCategory;
+        BigDecimal min = minPrice;
+        BigDecimal max = maxPrice;
+        int page = currentPage;
+        Pageable pageable = new Pageable(page, pageSize, currentSortBy, currentSortDir);
+
+        ProductQuery query = new ProductQuery(searchTerm, category, min, max, currentSortBy, currentSortDir, page, pageSize);
+        Page<ProductCard> cached = productPageCache.get(query);
+        if (cached != null) {
+            LOGGER.info("Serving products from the page cache");
+            // A slower query for an earlier state of the filters must not overwrite this page
+            backgroundLoader.cancel("products");
+            showProducts(cached, page);
+            return;
+        }
+
+        backgroundLoader.load("products", () -> {
+            if (!StringUtils.isBlank(searchTerm)) {
+                LOGGER.info("Loading products by search term: " + searchTerm);
+                return productCatalogService.searchProductCards(searchTerm, category, min, max, false, pageable);
+            } else if (category != null || min != null || max != null) {
                 LOGGER.info("Loading products with filters");
-                productPage = honeyProductService.findByFilters(
-                        currentCategory, minPrice, maxPrice, pageable);
+                return productCatalogService.findProductCards(null, category, min, max, false, pageable);
             } else {
                 LOGGER.info("Loading all available products");
-                productPage = honeyProductService.findAvailableProducts(pageable);
+                return productCatalogService.findProductCards(null, null, null, null, true, pageable);
             }
+        }, productPage -> {
+            productPageCache.put(query, productPage);
+            showProducts(productPage, page);
+        }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load products: " + e.getMessage()));
+    }
 
-            LOGGER.info("Loaded " + productPage.getContent().size() + " products on page " +
-                    (currentPage + 1) + " of " + productPage.getTotalPages());
-
-            totalPages = productPage.getTotalPages();
-            updatePaginationControls();
-            int tileCount = 0;
-            for (HoneyProduct product : productPage.getContent()) {
-                try {
-                    LOGGER.info("About to create tile for product: " + product.getName() +
-                            " with price: " + product.getPrice());
-                    createProductTile(product);
-                    tileCount++;
-                    LOGGER.info("Successfully created tile " + tileCount + " for product: " + product.getName());
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error creating tile for product: " + product.getName(), e);
-                }
-            }
+    private void showProducts(Page<ProductCard> productPage, int page) {
+        LOGGER.info("Loaded " + productPage.getContent().size() + " products on page " +
+                (page + 1) + " of " + productPage.getTotalPages());
 
-            productsContainer.requestLayout();
-            LOGGER.info("=== PRODUCT LOADING COMPLETED - " + tileCount + " tiles created ===");
+        totalPages = productPage.getTotalPages();
+        updatePaginationControls();
 
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading products", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load products: " + e.getMessage());
+        boolean pageChanged = page != shownProductPage;
+        shownProductPage = page;
+        productsGrid.setProducts(productPage.getContent());
+        if (pageChanged) {
+            productsGrid.scrollTo(0);
         }
     }
 
@@ -868,80 +923,6 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
         LOGGER.info("=== OBSERVER REGISTRATION VERIFICATION COMPLETED ===");
     }
 
-    private void createProductTile(HoneyProduct product) {
-        LOGGER.info("=== CREATING PRODUCT TILE ===");
-        LOGGER.info("Product: " + product.getName() + " | Price: " + product.getPrice() + " | ID: " + product.getProductId());
-
-        VBox productTile = new VBox();
-        productTile.getStyleClass().add("product-tile");
-        productTile.setPrefWidth(200);
-        productTile.setPrefHeight(250);
-        productTile.setPadding(new Insets(10));
-        productTile.setSpacing(5);
-
-        productTile.setId("product-tile-" + product.getProductId());
-
-        StackPane imageContainer = new StackPane();
-        imageContainer.setPrefSize(180, 120);
-
-        Rectangle placeholder = new Rectangle(180, 120);
-        placeholder.setFill(Color.LIGHTGOLDENRODYELLOW);
-        placeholder.setStroke(Color.DARKGOLDENROD);
-        placeholder.setStrokeWidth(2);
-
-        Label honeyIcon = new Label("🍯");
-        honeyIcon.setStyle("-fx-font-size: 36px;");
-
-        imageContainer.getChildren().addAll(placeholder, honeyIcon);
-
-        // Product name
-        Label nameLabel = new Label(product.getName());
-        nameLabel.getStyleClass().add("product-name");
-        nameLabel.setWrapText(true);
-        nameLabel.setId("name-" + product.getProductId());
-
-        // Apiary name
-        Label apiaryLabel = new Label("From: " + product.getApiary().getName());
-        apiaryLabel.setWrapText(true);
-        apiaryLabel.setId("apiary-" + product.getProductId());
-
-        // Price label - FORCE the text update
-        Label priceLabel = new Label();
-        priceLabel.getStyleClass().add("product-price");
-        priceLabel.setId("price-" + product.getProductId());
-
-        // Force text update with explicit string conversion
-        String priceText = String.format("%.2f RON", product.getPrice().doubleValue());
-        priceLabel.setText(priceText);
-
-        LOGGER.info("Setting price label text to: '" + priceText + "' for product: " + product.getName());
-
-        // Buttons
-        Button viewButton = new Button("View Details");
-        viewButton.getStyleClass().add("secondary-button");
-        viewButton.setOnAction(e -> handleViewProductDetails(product));
-
-        Button addToCartButton = new Button("Add to Cart");
-        addToCartButton.getStyleClass().add("primary-button");
-        addToCartButton.setMaxWidth(Double.MAX_VALUE);
-        addToCartButton.setOnAction(e -> handleQuickAddToCart(product));
-
-        // Add all components
-        productTile.getChildren().addAll(
-                imageContainer, nameLabel, apiaryLabel, priceLabel,
-                new Region(), viewButton, addToCartButton);
-        VBox.setVgrow(viewButton, Priority.ALWAYS);
-
-        // Force layout update
-        productTile.autosize();
-
-        // Add to container and force immediate layout
-        productsContainer.getChildren().add(productTile);
-
-        LOGGER.info("Product tile created and added to container for: " + product.getName() +
-                " with price: " + priceText);
-    }
-
     private void updatePaginationControls() {
         pageInfoLabel.setText("Page " + (currentPage + 1) + " of " + totalPages);
         prevPageButton.setDisable(currentPage == 0);
@@ -972,34 +953,55 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
     }
 
     private void loadCartItems() {
-        try {
-            List<CartItem> items = shoppingCartService.getCartItems(client);
+        backgroundLoader.load("cartItems", () -> shoppingCartService.getCartItems(client), items -> {
             cartItems.setAll(items);
 
             // Update total
-            BigDecimal total = shoppingCartService.calculateCartTotal(client);
+            BigDecimal total = items.stream()
+                    .map(CartItem::getSubtotal)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
             cartTotalLabel.setText(total + " RON");
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading cart items", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load cart items: " + e.getMessage());
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load cart items: " + e.getMessage()));
     }
 
     private void loadOrders() {
-        try {
-            List<Order> clientOrders = orderService.findByClient(client);
-            orders.setAll(clientOrders);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading orders", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load orders: " + e.getMessage());
+        nextOrdersPage = null;
+        loadOrderPage(KeysetPageable.first(ORDER_PAGE_SIZE, "date", "desc"), orders::setAll);
+    }
+
+    @FXML
+    private void handleLoadMoreOrders() {
+        if (nextOrdersPage != null) {
+            loadOrderPage(nextOrdersPage, orders::addAll);
         }
     }
 
+    private void loadOrderPage(KeysetPageable pageable, Consumer<List<OrderRow>> show) {
+        // A refresh shares the key, so it replaces a further page that is still loading
+        loadMoreOrdersButton.setDisable(true);
+        backgroundLoader.load("orders", () -> orderService.findOrderRowsByClient(client, pageable),
+                page -> {
+                    show.accept(page.getContent());
+                    ordersTable.sort();
+                    nextOrdersPage = page.getNextPageable();
+                    loadMoreOrdersButton.setDisable(!page.hasNext());
+                }, e -> {
+                    loadMoreOrdersButton.setDisable(nextOrdersPage == null);
+                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to load orders: " + e.getMessage());
+                });
+    }
+
+    // An order older than the last row shown sits on a page that has not been loaded yet
+    private boolean isBeyondLoadedOrders(Order order) {
+        return nextOrdersPage != null && order.getDate() != null
+                && order.getDate().isBefore((LocalDateTime) nextOrdersPage.getLastSortValue());
+    }
+
     private void loadApiaries() {
-        try {
-            String searchTerm = apiarySearchField.getText().trim();
-            String locationFilter = apiaryLocationFilter.getValue();
+        String searchTerm = apiarySearchField.getText().trim();
+        String locationFilter = apiaryLocationFilter.getValue();
 
+        backgroundLoader.load("apiaries", () -> {
             List<Apiary> apiaryList;
             if (!StringUtils.isBlank(searchTerm)) {
                 apiaryList = apiaryService.findByNameContaining(searchTerm);
@@ -1008,12 +1010,15 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
             } else {
                 apiaryList = apiaryService.findAll();
             }
-
-            apiaries.setAll(apiaryList);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading apiaries", e);
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load apiaries: " + e.getMessage());
-        }
+            return new ApiaryRows(apiaryList,
+                    hiveService.countByApiaries(apiaryList),
+                    honeyProductService.countProductsByApiaries(apiaryList));
+        }, rows -> {
+            apiaryHiveCounts = rows.hiveCounts;
+            apiaryProductCounts = rows.productCounts;
+            apiaries.setAll(rows.apiaries);
+        }, e ->
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load apiaries: " + e.getMessage()));
     }
 
     @FXML
@@ -1021,7 +1026,11 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
         loadApiaries();
     }
 
-    private void handleViewProductDetails(HoneyProduct product) {
+    private void handleViewProductDetails(ProductCard card) {
+        findCatalogProduct(card, this::showProductDetails);
+    }
+
+    private void showProductDetails(HoneyProduct product) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/productDetail.fxml"));
             Parent root = loader.load();
@@ -1045,44 +1054,58 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
         }
     }
 
-    private void handleQuickAddToCart(HoneyProduct product) {
-        try {
-            boolean added = shoppingCartService.addToCart(client, product, 1);
+    private void handleQuickAddToCart(ProductCard card) {
+        findCatalogProduct(card, product -> backgroundLoader.load("addToCart",
+                () -> shoppingCartService.addToCart(client, product, 1),
+                added -> {
+                    if (added) {
+                        showAlert(Alert.AlertType.INFORMATION, "Success",
+                                "Added " + product.getName() + " to your cart.");
+                        loadCartItems();
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error",
+                                "Could not add product to cart. Please try again.");
+                    }
+                },
+                e -> showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to add product to cart: " + e.getMessage())));
+    }
 
-            if (added) {
-                showAlert(Alert.AlertType.INFORMATION, "Success",
-                        "Added " + product.getName() + " to your cart.");
-                loadCartItems();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error",
-                        "Could not add product to cart. Please try again.");
-            }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error adding to cart", e);
-            showAlert(Alert.AlertType.ERROR, "Error",
-                    "Failed to add product to cart: " + e.getMessage());
-        }
+    /**
+     * Load the product behind a catalog card in the background
+     * The catalog shows projections, so the entity is fetched only when the client acts on it
+     * @param card The card the client selected
+     * @param action Called on the JavaFX Application Thread with the product, unless it was
+     *               removed since the catalog was loaded
+     */
+    private void findCatalogProduct(ProductCard card, Consumer<HoneyProduct> action) {
+        backgroundLoader.load("catalogProduct", () -> honeyProductService.findById(card.getProductId()),
+                product -> {
+                    if (product.isPresent()) {
+                        action.accept(product.get());
+                    } else {
+                        showAlert(Alert.AlertType.WARNING, "Product Unavailable",
+                                card.getName() + " is no longer available.");
+                        forceRefreshProducts();
+                    }
+                },
+                e -> showAlert(Alert.AlertType.ERROR, "Error", "Could not load product: " + e.getMessage()));
     }
 
     private void handleRemoveFromCart(CartItem item) {
-        try {
+        backgroundLoader.load("removeFromCart", () -> {
             boolean removed = shoppingCartService.removeFromCart(client, item.getItemId());
-
-            if (removed) {
+            return removed ? shoppingCartService.calculateCartTotal(client) : null;
+        }, total -> {
+            if (total != null) {
                 cartItems.remove(item);
-
-                // Update total
-                BigDecimal total = shoppingCartService.calculateCartTotal(client);
                 cartTotalLabel.setText(total + " RON");
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error",
                         "Could not remove item from cart. Please try again.");
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error removing from cart", e);
-            showAlert(Alert.AlertType.ERROR, "Error",
-                    "Failed to remove item from cart: " + e.getMessage());
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Error",
+                "Failed to remove item from cart: " + e.getMessage()));
     }
 
     @FXML
@@ -1096,15 +1119,15 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
             Optional<ButtonType> result = confirmDialog.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                boolean cleared = shoppingCartService.clearCart(client);
-
-                if (cleared) {
-                    cartItems.clear();
-                    cartTotalLabel.setText("0.00 RON");
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error",
-                            "Could not clear cart. Please try again.");
-                }
+                backgroundLoader.load("clearCart", () -> shoppingCartService.clearCart(client), cleared -> {
+                    if (cleared) {
+                        cartItems.clear();
+                        cartTotalLabel.setText("0.00 RON");
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error",
+                                "Could not clear cart. Please try again.");
+                    }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to clear cart: " + e.getMessage()));
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error clearing cart", e);
@@ -1146,7 +1169,15 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
         }
     }
 
-    private void handleViewOrderDetails(Order order) {
+    private void handleViewOrderDetails(OrderRow order) {
+        // FIX: Load order items using service instead of accessing collection directly
+        backgroundLoader.load("orderItems", () -> orderService.getOrderItems(order.getOrderId()),
+                orderItems -> showOrderDetails(order, orderItems),
+                e -> showAlert(Alert.AlertType.ERROR, "Error",
+                        "Could not display order details: " + e.getMessage()));
+    }
+
+    private void showOrderDetails(OrderRow order, List<OrderItem> orderItems) {
         try {
             // Create a dialog to show order details
             Dialog<Void> dialog = new Dialog<>();
@@ -1208,8 +1239,6 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
             itemsTable.getColumns().addAll(itemNameCol, itemPriceCol, itemQuantityCol, itemTotalCol);
 
-            // FIX: Load order items using service instead of accessing collection directly
-            List<OrderItem> orderItems = orderService.getOrderItems(order.getOrderId());
             itemsTable.getItems().addAll(orderItems);
 
             content.getChildren().add(itemsTable);
@@ -1244,7 +1273,7 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
         }
     }
 
-    private void handleCancelOrder(Order order, Dialog<Void> dialog) {
+    private void handleCancelOrder(OrderRow order, Dialog<Void> dialog) {
         try {
             Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
             confirmDialog.setTitle("Cancel Order");
@@ -1253,21 +1282,23 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
             Optional<ButtonType> result = confirmDialog.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                boolean canceled = orderService.cancelOrder(order.getOrderId(), client);
-
-                if (canceled) {
-                    showAlert(Alert.AlertType.INFORMATION, "Order Canceled",
-                            "Order #" + order.getOrderId() + " has been canceled.");
-
-                    // Close the dialog
-                    dialog.close();
-
-                    // Refresh orders
-                    loadOrders();
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error",
-                            "Could not cancel order. Please try again.");
-                }
+                backgroundLoader.load("cancelOrder", () -> orderService.cancelOrder(order.getOrderId(), client),
+                        canceled -> {
+                            if (canceled) {
+                                showAlert(Alert.AlertType.INFORMATION, "Order Canceled",
+                                        "Order #" + order.getOrderId() + " has been canceled.");
+
+                                // Close the dialog
+                                dialog.close();
+
+                                // Refresh orders
+                                loadOrders();
+                            } else {
+                                showAlert(Alert.AlertType.ERROR, "Error",
+                                        "Could not cancel order. Please try again.");
+                            }
+                        },
+                        e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to cancel order: " + e.getMessage()));
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error canceling order", e);
@@ -1404,25 +1435,22 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
 
             // Show dialog and process result
             Optional<User> result = dialog.showAndWait();
-            result.ifPresent(updatedUser -> {
-                try {
-                    User saved = userService.updateProfile(updatedUser);
-                    if (saved != null) {
-                        showAlert(Alert.AlertType.INFORMATION, "Profile Updated",
-                                "Your profile has been updated successfully.");
-
-                        welcomeLabel.setText("Welcome, " + (StringUtils.isBlank(client.getFullName()) ?
-                                client.getUsername() : client.getFullName()));
-                    } else {
-                        showAlert(Alert.AlertType.ERROR, "Update Error",
-                                "Could not update profile. Please try again.");
-                    }
-                } catch (Exception e) {
-                    LOGGER.log(Level.SEVERE, "Error updating profile", e);
-                    showAlert(Alert.AlertType.ERROR, "Error",
-                            "Failed to update profile: " + e.getMessage());
-                }
-            });
+            result.ifPresent(updatedUser -> backgroundLoader.load("profile",
+                    () -> userService.updateProfile(updatedUser),
+                    saved -> {
+                        if (saved != null) {
+                            showAlert(Alert.AlertType.INFORMATION, "Profile Updated",
+                                    "Your profile has been updated successfully.");
+
+                            welcomeLabel.setText("Welcome, " + (StringUtils.isBlank(client.getFullName()) ?
+                                    client.getUsername() : client.getFullName()));
+                        } else {
+                            showAlert(Alert.AlertType.ERROR, "Update Error",
+                                    "Could not update profile. Please try again.");
+                        }
+                    },
+                    e -> showAlert(Alert.AlertType.ERROR, "Error",
+                            "Failed to update profile: " + e.getMessage())));
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error opening profile", e);
             showAlert(Alert.AlertType.ERROR, "Error",
@@ -1464,4 +1492,64 @@ public class ClientDashboardController implements Observer<EntityChangeEvent<?>>
         alert.showAndWait();
     }
 
+    /**
+     * Apiaries loaded for the apiaries table, with their per-row counts
+     */
+    private static class ApiaryRows {
+        private final List<Apiary> apiaries;
+        private final Map<Integer, Long> hiveCounts;
+        private final Map<Integer, Long> productCounts;
+
+        private ApiaryRows(List<Apiary> apiaries, Map<Integer, Long> hiveCounts, Map<Integer, Long> productCounts) {
+            this.apiaries = apiaries;
+            this.hiveCounts = hiveCounts;
+            this.productCounts = productCounts;
+        }
+    }
+
+    /**
+     * Everything that decides which product page is shown, used as the page cache key
+     */
+    private static class ProductQuery {
+        private final String searchTerm;
+        private final String category;
+        private final BigDecimal minPrice;
+        private final BigDecimal maxPrice;
+        private final String sortBy;
+        private final String sortDir;
+        private final int page;
+        private final int pageSize;
+
+        private ProductQuery(String searchTerm, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                             String sortBy, String sortDir, int page, int pageSize) {
+            this.searchTerm = searchTerm;
+            this.category = category;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.sortBy = sortBy;
+            this.sortDir = sortDir;
+            this.page = page;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ProductQuery query = (ProductQuery) o;
+            return page == query.page &&
+                    pageSize == query.pageSize &&
+                    Objects.equals(searchTerm, query.searchTerm) &&
+                    Objects.equals(category, query.category) &&
+                    Objects.equals(minPrice, query.minPrice) &&
+                    Objects.equals(maxPrice, query.maxPrice) &&
+                    Objects.equals(sortBy, query.sortBy) &&
+                    Objects.equals(sortDir, query.sortDir);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(searchTerm, category, minPrice, maxPrice, sortBy, sortDir, page, pageSize);
+        }
+    }
 }
\ No newline at end of file
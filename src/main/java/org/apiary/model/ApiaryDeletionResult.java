@@ -0,0 +1,53 @@
+package org.apiary.model;
+
+/**
+ * Reports how many rows were removed when an apiary was deleted together with its dependents
+ * This is not a JPA entity but a value returned by the apiary service
+ */
+public class ApiaryDeletionResult {
+    private final Integer apiaryId;
+    private final int cartItemsDeleted;
+    private final int orderItemsDeleted;
+    private final int productsDeleted;
+    private final int hivesDeleted;
+
+    public ApiaryDeletionResult(Integer apiaryId, int cartItemsDeleted, int orderItemsDeleted,
+                                int productsDeleted, int hivesDeleted) {
+        this.apiaryId = apiaryId;
+        this.cartItemsDeleted = cartItemsDeleted;
+        this.orderItemsDeleted = orderItemsDeleted;
+        this.productsDeleted = productsDeleted;
+        this.hivesDeleted = hivesDeleted;
+    }
+
+    public Integer getApiaryId() {
+        return apiaryId;
+    }
+
+    public int getCartItemsDeleted() {
+        return cartItemsDeleted;
+    }
+
+    public int getOrderItemsDeleted() {
+        return orderItemsDeleted;
+    }
+
+    public int getProductsDeleted() {
+        return productsDeleted;
+    }
+
+    public int getHivesDeleted() {
+        return hivesDeleted;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiaryDeletionResult{" +
+                "apiaryId=" + apiaryId +
+                ", cartItemsDeleted=" + cartItemsDeleted +
+                ", orderItemsDeleted=" + orderItemsDeleted +
+                ", productsDeleted=" + productsDeleted +
+                ", hivesDeleted=" + hivesDeleted +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package org.apiary.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One entity change, written in the transaction that made it so that other application
+ * instances can follow it. Besides the changed entity the entry names its owners and parents,
+ * which is all a deletion can still be described by once the row is gone.
+ */
+@Entity
+@Table(name = "ChangeLog")
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "changeId")
+    private Long changeId;
+
+    @Column(name = "entityType", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entityId", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "changeType", nullable = false, length = 10)
+    private String changeType; // "CREATED", "UPDATED", "DELETED"
+
+    @Column(name = "origin", nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "clientId")
+    private Integer clientId;
+
+    @Column(name = "beekeeperIds")
+    private String beekeeperIds; // comma-separated
+
+    @Column(name = "apiaryId")
+    private Integer apiaryId;
+
+    @Column(name = "hiveId")
+    private Integer hiveId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDateTime date;
+
+    public ChangeLogEntry() {
+        this.date = LocalDateTime.now();
+    }
+
+    public ChangeLogEntry(String entityType, Integer entityId, String changeType) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.date = LocalDateTime.now();
+    }
+
+    public Long getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(Long changeId) {
+        this.changeId = changeId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Integer clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getBeekeeperIds() {
+        return beekeeperIds;
+    }
+
+    public void setBeekeeperIds(String beekeeperIds) {
+        this.beekeeperIds = beekeeperIds;
+    }
+
+    public Integer getApiaryId() {
+        return apiaryId;
+    }
+
+    public void setApiaryId(Integer apiaryId) {
+        this.apiaryId = apiaryId;
+    }
+
+    public Integer getHiveId() {
+        return hiveId;
+    }
+
+    public void setHiveId(Integer hiveId) {
+        this.hiveId = hiveId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    /**
+     * Get the beekeepers the changed entity belongs to
+     * @return The beekeeper IDs; empty if there are none
+     */
+    public Set<Integer> getBeekeeperIdSet() {
+        if (beekeeperIds == null || beekeeperIds.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(beekeeperIds.split(","))
+                .map(Integer::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Set the beekeepers the changed entity belongs to
+     * @param beekeeperIds The beekeeper IDs
+     */
+    public void setBeekeeperIdSet(Collection<Integer> beekeeperIds) {
+        this.beekeeperIds = beekeeperIds.isEmpty() ? null : beekeeperIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Set the apiary the changed entity belongs to, along with the apiary's beekeeper
+     * @param apiary The apiary, or null
+     */
+    public void setOwningApiary(Apiary apiary) {
+        if (apiary == null) {
+            return;
+        }
+        this.apiaryId = apiary.getApiaryId();
+        if (apiary.getBeekeeper() != null && apiary.getBeekeeper().getUserId() != null) {
+            this.beekeeperIds = String.valueOf(apiary.getBeekeeper().getUserId());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChangeLogEntry that = (ChangeLogEntry) o;
+        return Objects.equals(changeId, that.changeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(changeId);
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeLogEntry{" +
+                "changeId=" + changeId +
+                ", entityType='" + entityType + '\'' +
+                ", entityId=" + entityId +
+                ", changeType='" + changeType + '\'' +
+                ", origin='" + origin + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
@@ -6,8 +6,19 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "HoneyProduct")
+@NamedEntityGraph(name = HoneyProduct.WITH_APIARY_AND_BEEKEEPER,
+        attributeNodes = {
+                @NamedAttributeNode(value = "apiary", subgraph = "apiary"),
+                @NamedAttributeNode("hive")
+        },
+        subgraphs = @NamedSubgraph(name = "apiary", attributeNodes = @NamedAttributeNode("beekeeper")))
 public class HoneyProduct {
 
+    /**
+     * Entity graph loading a product with its hive, its apiary and the apiary's beekeeper
+     */
+    public static final String WITH_APIARY_AND_BEEKEEPER = "HoneyProduct.withApiaryAndBeekeeper";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "productId")
@@ -9,10 +9,33 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "Orders")
+@NamedEntityGraph(name = Order.WITH_ITEMS_AND_PRODUCTS,
+        attributeNodes = {
+                @NamedAttributeNode("client"),
+                @NamedAttributeNode("payment"),
+                @NamedAttributeNode(value = "items", subgraph = "items")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "items",
+                        attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product")),
+                @NamedSubgraph(name = "product", attributeNodes = {
+                        @NamedAttributeNode(value = "apiary", subgraph = "apiary"),
+                        @NamedAttributeNode("hive")
+                }),
+                @NamedSubgraph(name = "apiary", attributeNodes = @NamedAttributeNode("beekeeper"))
+        })
 public class Order {
 
+    /**
+     * Entity graph loading an order with its client, payment and items, each item with its product,
+     * the product's hive and apiary and the apiary's beekeeper
+     */
+    public static final String WITH_ITEMS_AND_PRODUCTS = "Order.withItemsAndProducts";
+
+    // Sequence IDs let Hibernate batch order inserts; the pooled optimizer takes 50 IDs per sequence call
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderIdGenerator")
+    @SequenceGenerator(name = "orderIdGenerator", sequenceName = "Orders_seq", allocationSize = 50)
     @Column(name = "orderId")
     private Integer orderId;
 
@@ -27,7 +50,7 @@ public class Order {
     private BigDecimal total;
 
     @Column(name = "status", nullable = false)
-    private String status; // "PENDING", "PAID", "CANCELLED", "DELIVERED"
+    private String status; // "PENDING", "PAYMENT_REVIEW", "PAID", "CANCELED", "DELIVERED"
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
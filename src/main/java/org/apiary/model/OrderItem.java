@@ -6,10 +6,30 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "OrderItem")
+@NamedEntityGraph(name = OrderItem.WITH_PRODUCT,
+        attributeNodes = {
+                @NamedAttributeNode("order"),
+                @NamedAttributeNode(value = "product", subgraph = "product")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "product", attributeNodes = {
+                        @NamedAttributeNode(value = "apiary", subgraph = "apiary"),
+                        @NamedAttributeNode("hive")
+                }),
+                @NamedSubgraph(name = "apiary", attributeNodes = @NamedAttributeNode("beekeeper"))
+        })
 public class OrderItem {
 
+    /**
+     * Entity graph loading an order item with its order and its product, the product's hive and
+     * apiary and the apiary's beekeeper
+     */
+    public static final String WITH_PRODUCT = "OrderItem.withProduct";
+
+    // Sequence IDs let Hibernate batch item inserts; the pooled optimizer takes 50 IDs per sequence call
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderItemIdGenerator")
+    @SequenceGenerator(name = "orderItemIdGenerator", sequenceName = "OrderItem_seq", allocationSize = 50)
     @Column(name = "orderItemId")
     private Integer orderItemId;
 
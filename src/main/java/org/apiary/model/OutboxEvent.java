@@ -0,0 +1,129 @@
+package org.apiary.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * An event waiting to be published, written in the same transaction as the change it announces,
+ * so that only committed changes are ever announced and none is lost to a failure after the commit.
+ */
+@Entity
+@Table(name = "Outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outboxId")
+    private Long outboxId;
+
+    @Column(name = "entityType", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entityId", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "eventType", nullable = false, length = 10)
+    private String eventType; // "CREATED", "UPDATED", "DELETED"
+
+    @Column(name = "origin", nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "date", nullable = false)
+    private LocalDateTime date;
+
+    @Column(name = "publishedDate")
+    private LocalDateTime publishedDate;
+
+    public OutboxEvent() {
+        this.date = LocalDateTime.now();
+    }
+
+    public OutboxEvent(String entityType, Integer entityId, String eventType, String origin) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.eventType = eventType;
+        this.origin = origin;
+        this.date = LocalDateTime.now();
+    }
+
+    public Long getOutboxId() {
+        return outboxId;
+    }
+
+    public void setOutboxId(Long outboxId) {
+        this.outboxId = outboxId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public LocalDateTime getPublishedDate() {
+        return publishedDate;
+    }
+
+    public void setPublishedDate(LocalDateTime publishedDate) {
+        this.publishedDate = publishedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent that = (OutboxEvent) o;
+        return Objects.equals(outboxId, that.outboxId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(outboxId);
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "outboxId=" + outboxId +
+                ", entityType='" + entityType + '\'' +
+                ", entityId=" + entityId +
+                ", eventType='" + eventType + '\'' +
+                ", publishedDate=" + publishedDate +
+                '}';
+    }
+}
\ No newline at end of file
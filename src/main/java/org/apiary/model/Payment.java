@@ -22,7 +22,7 @@ public class Payment {
     private BigDecimal amount;
 
     @Column(name = "status", nullable = false)
-    private String status; // "SUCCESS", "FAILED", "PENDING"
+    private String status; // "SUCCESS", "FAILED", "PENDING", "REFUND_DUE"
 
     @Column(name = "date", nullable = false)
     private LocalDateTime date;
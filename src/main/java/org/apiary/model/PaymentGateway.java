@@ -0,0 +1,14 @@
+package org.apiary.model;
+
+/**
+ * Represents a gateway that charges orders, such as an external payment provider
+ * This is not a JPA entity but a service interface
+ */
+public interface PaymentGateway {
+    /**
+     * Process a payment for an order, recording the resulting payment on the order
+     * @param order The order to process payment for
+     * @return true if payment is successful, false otherwise
+     */
+    boolean processPayment(Order order);
+}
\ No newline at end of file
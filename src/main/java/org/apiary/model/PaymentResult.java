@@ -0,0 +1,85 @@
+package org.apiary.model;
+
+/**
+ * Represents the outcome of a payment attempt for an order
+ * This is not a JPA entity but a value returned by the payment service
+ */
+public class PaymentResult {
+    private final Integer orderId;
+    private final boolean successful;
+    private final boolean timedOut;
+    private final Payment payment;
+    private final String message;
+
+    private PaymentResult(Integer orderId, boolean successful, boolean timedOut, Payment payment, String message) {
+        this.orderId = orderId;
+        this.successful = successful;
+        this.timedOut = timedOut;
+        this.payment = payment;
+        this.message = message;
+    }
+
+    /**
+     * Create a result for a successful payment
+     * @param order The order that was paid
+     * @return A successful payment result
+     */
+    public static PaymentResult success(Order order) {
+        return new PaymentResult(order.getOrderId(), true, false, order.getPayment(), "Payment successful");
+    }
+
+    /**
+     * Create a result for a failed payment
+     * @param order The order that could not be paid
+     * @param message The reason the payment failed
+     * @return A failed payment result
+     */
+    public static PaymentResult failure(Order order, String message) {
+        Payment payment = order.getPayment();
+        if (payment == null || !"FAILED".equals(payment.getStatus())) {
+            payment = new Payment(order, order.getTotal(), "FAILED");
+        }
+        return new PaymentResult(order.getOrderId(), false, false, payment, message);
+    }
+
+    /**
+     * Create a result for a payment whose outcome is unknown because the gateway did not answer in time.
+     * The gateway may still have charged the client, so the payment is left PENDING.
+     * @param order The order being paid
+     * @return A timed out payment result
+     */
+    public static PaymentResult timedOut(Order order) {
+        Payment payment = new Payment(order, order.getTotal(), "PENDING");
+        return new PaymentResult(order.getOrderId(), false, true, payment, "Payment timed out");
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public Payment getPayment() {
+        return payment;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentResult{" +
+                "orderId=" + orderId +
+                ", successful=" + successful +
+                ", timedOut=" + timedOut +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
@@ -6,7 +6,7 @@ import java.math.BigDecimal;
  * Represents an external payment system for processing payments
  * This is not a JPA entity but a service interface
  */
-public class PaymentSystem {
+public class PaymentSystem implements PaymentGateway {
     private String paymentProvider;
     private String apiKey;
 
@@ -22,6 +22,7 @@ public class PaymentSystem {
      * @param order The order to process payment for
      * @return true if payment is successful, false otherwise
      */
+    @Override
     public boolean processPayment(Order order) {
         try {
             System.out.println("Processing payment with " + paymentProvider + " for Order #" + order.getOrderId());
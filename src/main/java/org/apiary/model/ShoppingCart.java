@@ -9,8 +9,28 @@ import java.util.Optional;
 
 @Entity
 @Table(name = "ShoppingCart")
+@NamedEntityGraph(name = ShoppingCart.WITH_ITEMS_AND_PRODUCTS,
+        attributeNodes = {
+                @NamedAttributeNode("client"),
+                @NamedAttributeNode(value = "items", subgraph = "items")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "items",
+                        attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product")),
+                @NamedSubgraph(name = "product", attributeNodes = {
+                        @NamedAttributeNode(value = "apiary", subgraph = "apiary"),
+                        @NamedAttributeNode("hive")
+                }),
+                @NamedSubgraph(name = "apiary", attributeNodes = @NamedAttributeNode("beekeeper"))
+        })
 public class ShoppingCart {
 
+    /**
+     * Entity graph loading a cart with its client and items, each item with its product, the
+     * product's hive and apiary and the apiary's beekeeper
+     */
+    public static final String WITH_ITEMS_AND_PRODUCTS = "ShoppingCart.withItemsAndProducts";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "cartId")
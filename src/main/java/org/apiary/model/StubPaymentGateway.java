@@ -0,0 +1,58 @@
+package org.apiary.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local payment gateway that simulates a provider with a fixed latency and failure rate.
+ * Meant for development and tests, where no real provider is available.
+ */
+public class StubPaymentGateway implements PaymentGateway {
+    private final long latencyMillis;
+    private final double failureRate;
+
+    /**
+     * Create a stub gateway
+     * @param latencyMillis How long each payment takes, in milliseconds
+     * @param failureRate The fraction of payments that fail, between 0.0 and 1.0
+     */
+    public StubPaymentGateway(long latencyMillis, double failureRate) {
+        if (latencyMillis < 0) {
+            throw new IllegalArgumentException("Latency must not be negative: " + latencyMillis);
+        }
+        if (failureRate < 0.0 || failureRate > 1.0) {
+            throw new IllegalArgumentException("Failure rate must be between 0.0 and 1.0: " + failureRate);
+        }
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public boolean processPayment(Order order) {
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            order.setPayment(new Payment(order, order.getTotal(), "FAILED"));
+            return false;
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            order.setPayment(new Payment(order, order.getTotal(), "FAILED"));
+            return false;
+        }
+
+        order.setPayment(new Payment(order, order.getTotal(), "SUCCESS"));
+        order.setStatus("PAID");
+        return true;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package org.apiary.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Read-only view of an order for order tables
+ * Built by an HQL constructor expression, so it holds plain column values and no entity references
+ */
+public final class OrderRow {
+    private final Integer orderId;
+    private final LocalDateTime date;
+    private final String status;
+    private final BigDecimal total;
+    private final String customerName;
+    private final int itemCount;
+
+    public OrderRow(Integer orderId, LocalDateTime date, String status, BigDecimal total,
+                    String clientUsername, String clientFullName, int itemCount) {
+        this.orderId = orderId;
+        this.date = date;
+        this.status = status;
+        this.total = total;
+        this.customerName = clientFullName == null || clientFullName.isBlank() ? clientUsername : clientFullName;
+        this.itemCount = itemCount;
+    }
+
+    private OrderRow(Integer orderId, LocalDateTime date, String status, BigDecimal total,
+                     String customerName, int itemCount) {
+        this.orderId = orderId;
+        this.date = date;
+        this.status = status;
+        this.total = total;
+        this.customerName = customerName;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Get a copy of this row with another status, for following a status change without a reload
+     * @param status The new status
+     * @return The updated row
+     */
+    public OrderRow withStatus(String status) {
+        return new OrderRow(orderId, date, status, total, customerName, itemCount);
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the name to show for the client who placed the order
+     * @return The client's full name, or the username if no full name is set
+     */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderRow row = (OrderRow) o;
+        return itemCount == row.itemCount &&
+                Objects.equals(orderId, row.orderId) &&
+                Objects.equals(date, row.date) &&
+                Objects.equals(status, row.status) &&
+                Objects.equals(total, row.total) &&
+                Objects.equals(customerName, row.customerName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId, date, status, total, customerName, itemCount);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderRow{" +
+                "orderId=" + orderId +
+                ", date=" + date +
+                ", status='" + status + '\'' +
+                ", total=" + total +
+                '}';
+    }
+}
\ No newline at end of file
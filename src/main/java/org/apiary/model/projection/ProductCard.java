@@ -0,0 +1,66 @@
+package org.apiary.model.projection;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Read-only view of a honey product for the catalog
+ * Built by an HQL constructor expression, so it holds plain column values and no entity references
+ */
+public final class ProductCard {
+    private final Integer productId;
+    private final String name;
+    private final BigDecimal price;
+    private final BigDecimal quantity;
+    private final String apiaryName;
+
+    public ProductCard(Integer productId, String name, BigDecimal price, BigDecimal quantity, String apiaryName) {
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+        this.apiaryName = apiaryName;
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public String getApiaryName() {
+        return apiaryName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductCard card = (ProductCard) o;
+        return Objects.equals(productId, card.productId) &&
+                Objects.equals(name, card.name) &&
+                Objects.equals(price, card.price) &&
+                Objects.equals(quantity, card.quantity) &&
+                Objects.equals(apiaryName, card.apiaryName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, name, price, quantity, apiaryName);
+    }
+
+    @Override
+    public String toString() {
+        return name + " - " + price + " RON";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package org.apiary.repository.changefeed;
+
+import org.apiary.model.ChangeLogEntry;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connects this application instance to the changes made by the others sharing its database.
+ * Repositories record their changes through the feed; a poller reads the transport past a
+ * high-water mark in batches and hands the entries written by other instances to a listener.
+ * The instance's own entries only move the mark, since their events were already published locally.
+ */
+public class ChangeFeed {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeFeed.class.getName());
+    // Caught-up polls read less than a batch; a backlog is read in this many batches per poll at most
+    private static final int MAX_BATCHES_PER_POLL = 10;
+
+    private final ChangeFeedTransport transport;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long retentionMinutes;
+    private final String origin = UUID.randomUUID().toString();
+    private ScheduledExecutorService poller;
+    private volatile long highWaterMark;
+    private LocalDateTime lastPurge = LocalDateTime.now();
+
+    /**
+     * Create a change feed
+     * @param transport The transport entries are written to and read from
+     * @param pollIntervalMillis The delay between polls
+     * @param batchSize The maximum number of entries read at once
+     * @param retentionMinutes How long entries are kept before the feed purges them
+     */
+    public ChangeFeed(ChangeFeedTransport transport, long pollIntervalMillis, int batchSize, long retentionMinutes) {
+        if (pollIntervalMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Poll interval and batch size must be positive");
+        }
+        this.transport = transport;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * Record changes as part of the unit of work that made them
+     * @param session The session of the unit of work
+     * @param entries The changes
+     */
+    public void record(Session session, List<ChangeLogEntry> entries) {
+        for (ChangeLogEntry entry : entries) {
+            entry.setOrigin(origin);
+        }
+        transport.append(session, entries);
+    }
+
+    /**
+     * Start polling for the changes of other instances.
+     * Only changes recorded from now on are delivered; the instance loads everything older itself.
+     * @param listener Called on the polling thread with each batch of changes from other instances
+     */
+    public synchronized void start(Consumer<List<ChangeLogEntry>> listener) {
+        if (poller != null) {
+            LOGGER.warning("Change feed already started");
+            return;
+        }
+        highWaterMark = transport.latestChangeId();
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> poll(listener), pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        LOGGER.info("Change feed " + origin + " polling every " + pollIntervalMillis + " ms from change " + highWaterMark);
+    }
+
+    /**
+     * Read and deliver what other instances recorded since the last poll
+     * @param listener Called with the changes from other instances, if there are any
+     */
+    void poll(Consumer<List<ChangeLogEntry>> listener) {
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_POLL; batch++) {
+                List<ChangeLogEntry> entries = transport.readAfter(highWaterMark, batchSize);
+                if (entries.isEmpty()) {
+                    break;
+                }
+
+                List<ChangeLogEntry> remote = new ArrayList<>(entries.size());
+                for (ChangeLogEntry entry : entries) {
+                    if (!origin.equals(entry.getOrigin())) {
+                        remote.add(entry);
+                    }
+                }
+                if (!remote.isEmpty()) {
+                    listener.accept(remote);
+                }
+                highWaterMark = entries.get(entries.size() - 1).getChangeId();
+
+                if (entries.size() < batchSize) {
+                    break;
+                }
+            }
+            purgeIfDue();
+        } catch (Exception e) {
+            // The mark only moves past delivered entries, so the next poll retries the rest
+            LOGGER.log(Level.SEVERE, "Error polling change feed after change: " + highWaterMark, e);
+        }
+    }
+
+    private void purgeIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.plusMinutes(retentionMinutes).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+        int purged = transport.purgeBefore(now.minusMinutes(retentionMinutes));
+        if (purged > 0) {
+            LOGGER.info("Purged " + purged + " change log entries older than " + retentionMinutes + " minutes");
+        }
+    }
+
+    /**
+     * Get the identifier this instance stamps on the changes it records
+     * @return The origin
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Get the ID of the last change read
+     * @return The high-water mark
+     */
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Stop polling
+     */
+    public synchronized void shutdown() {
+        if (poller == null) {
+            return;
+        }
+        poller.shutdown();
+        try {
+            if (!poller.awaitTermination(5, TimeUnit.SECONDS)) {
+                poller.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            poller.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Change feed " + origin + " stopped at change " + highWaterMark);
+    }
+}
\ No newline at end of file
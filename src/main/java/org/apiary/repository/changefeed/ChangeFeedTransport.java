@@ -0,0 +1,42 @@
+package org.apiary.repository.changefeed;
+
+import org.apiary.model.ChangeLogEntry;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Carries change log entries from the instance that wrote them to every instance polling the feed.
+ * Entries are numbered in the order they are appended, and readers page through them by that number.
+ */
+public interface ChangeFeedTransport {
+    /**
+     * Append entries as part of the unit of work that made the changes, so they become visible
+     * if and only if the changes commit
+     * @param session The session of the unit of work
+     * @param entries The entries to append
+     */
+    void append(Session session, List<ChangeLogEntry> entries);
+
+    /**
+     * Read the entries appended after a high-water mark
+     * @param afterChangeId The ID of the last entry already read
+     * @param limit The maximum number of entries to read
+     * @return The entries in append order; at most {@code limit}
+     */
+    List<ChangeLogEntry> readAfter(long afterChangeId, int limit);
+
+    /**
+     * Get the ID of the latest entry, where a reader that only wants new changes starts from
+     * @return The latest entry ID, or 0 if the feed is empty
+     */
+    long latestChangeId();
+
+    /**
+     * Remove entries that every reader has long passed
+     * @param cutoff Entries appended before this time are removed
+     * @return The number of entries removed
+     */
+    int purgeBefore(LocalDateTime cutoff);
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package org.apiary.repository.changefeed;
+
+import org.apiary.model.ChangeLogEntry;
+import org.apiary.repository.transaction.SessionScope;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Change feed carried by the ChangeLog table of the shared database.
+ * Entries are inserted on the writing unit of work's own connection, so they commit or roll back
+ * with the changes they describe. Readers poll by change ID, which the database assigns in
+ * insert order. Under SQL Server's default locking read committed isolation a reader waits for
+ * an uncommitted insert below its range instead of skipping it, so a lower ID that commits late
+ * is not passed over.
+ */
+public class ChangeLogTableTransport implements ChangeFeedTransport {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeLogTableTransport.class.getName());
+    private static final String INSERT_SQL = "INSERT INTO ChangeLog " +
+            "(entityType, entityId, changeType, origin, clientId, beekeeperIds, apiaryId, hiveId, date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public void append(Session session, List<ChangeLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // One JDBC batch; identity IDs would make Hibernate insert the entities one by one
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (ChangeLogEntry entry : entries) {
+                    statement.setString(1, entry.getEntityType());
+                    statement.setInt(2, entry.getEntityId());
+                    statement.setString(3, entry.getChangeType());
+                    statement.setString(4, entry.getOrigin());
+                    setInteger(statement, 5, entry.getClientId());
+                    statement.setString(6, entry.getBeekeeperIds());
+                    setInteger(statement, 7, entry.getApiaryId());
+                    setInteger(statement, 8, entry.getHiveId());
+                    statement.setTimestamp(9, Timestamp.valueOf(entry.getDate()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public List<ChangeLogEntry> readAfter(long afterChangeId, int limit) {
+        try (Session session = SessionScope.openSession()) {
+            Query<ChangeLogEntry> query = session.createQuery(
+                    "FROM ChangeLogEntry WHERE changeId > :afterChangeId ORDER BY changeId", ChangeLogEntry.class);
+            query.setParameter("afterChangeId", afterChangeId);
+            query.setMaxResults(limit);
+            query.setReadOnly(true);
+            query.setHibernateFlushMode(FlushMode.MANUAL);
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error reading change log after: " + afterChangeId, e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public long latestChangeId() {
+        try (Session session = SessionScope.openSession()) {
+            Long latest = session.createQuery("SELECT MAX(changeId) FROM ChangeLogEntry", Long.class)
+                    .getSingleResult();
+            return latest != null ? latest : 0;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding latest change log entry", e);
+            return 0;
+        }
+    }
+
+    @Override
+    public int purgeBefore(LocalDateTime cutoff) {
+        Transaction transaction = null;
+        try (Session session = SessionScope.openSession()) {
+            transaction = session.beginTransaction();
+            int purged = session.createQuery("DELETE FROM ChangeLogEntry WHERE date < :cutoff")
+                    .setParameter("cutoff", cutoff)
+                    .executeUpdate();
+            transaction.commit();
+            return purged;
+        } catch (Exception e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            LOGGER.log(Level.SEVERE, "Error purging change log before: " + cutoff, e);
+            return 0;
+        }
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value != null) {
+            statement.setInt(index, value);
+        } else {
+            statement.setNull(index, Types.INTEGER);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package org.apiary.repository.changefeed;
+
+import org.apiary.model.ChangeLogEntry;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory change feed shared by the feeds of one JVM, for running several instances side by
+ * side without a database table. Appended entries are visible at once; a rollback of the writing
+ * unit of work does not take them back.
+ */
+public class LoopbackChangeFeedTransport implements ChangeFeedTransport {
+
+    private final List<ChangeLogEntry> entries = new ArrayList<>();
+    private long lastChangeId;
+
+    @Override
+    public synchronized void append(Session session, List<ChangeLogEntry> appended) {
+        for (ChangeLogEntry entry : appended) {
+            entry.setChangeId(++lastChangeId);
+            entries.add(entry);
+        }
+    }
+
+    @Override
+    public synchronized List<ChangeLogEntry> readAfter(long afterChangeId, int limit) {
+        List<ChangeLogEntry> read = new ArrayList<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getChangeId() > afterChangeId) {
+                read.add(entry);
+                if (read.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized long latestChangeId() {
+        return lastChangeId;
+    }
+
+    @Override
+    public synchronized int purgeBefore(LocalDateTime cutoff) {
+        int before = entries.size();
+        entries.removeIf(entry -> entry.getDate().isBefore(cutoff));
+        return before - entries.size();
+    }
+}
\ No newline at end of file
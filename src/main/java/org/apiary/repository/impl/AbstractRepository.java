@@ -1,15 +1,27 @@
 package org.apiary.repository.impl;
 
 import org.apiary.config.HibernateConfig;
+import org.apiary.model.ChangeLogEntry;
+import org.apiary.repository.changefeed.ChangeFeed;
 import org.apiary.repository.interfaces.Repository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.utils.events.EntityChangeEvent;
+import org.hibernate.Cache;
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.query.Query;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -22,15 +34,26 @@ import java.util.logging.Logger;
 public abstract class AbstractRepository<ID, T> implements Repository<ID, T> {
 
     private static final Logger LOGGER = Logger.getLogger(AbstractRepository.class.getName());
+    // SQL Server rejects statements with more than 2100 parameters
+    private static final int MAX_IN_PARAMETERS = 1000;
     private final Class<T> entityClass;
+    private ChangeFeed changeFeed;
 
     protected AbstractRepository(Class<T> entityClass) {
         this.entityClass = entityClass;
     }
 
+    /**
+     * Record this repository's writes in a change feed, so other application instances see them
+     * @param changeFeed The change feed, or null to not record changes
+     */
+    public void setChangeFeed(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
     @Override
     public Optional<T> findById(ID id) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             return Optional.ofNullable(session.get(entityClass, (Serializable) id));
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding entity by ID: " + id, e);
@@ -38,35 +61,48 @@ public abstract class AbstractRepository<ID, T> implements Repository<ID, T> {
         }
     }
 
+    @Override
+    public Optional<T> findById(Session session, ID id) {
+        return Optional.ofNullable(session.get(entityClass, (Serializable) id));
+    }
+
     @Override
     public List<T> findAll() {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<T> cq = cb.createQuery(entityClass);
-            Root<T> root = cq.from(entityClass);
-            cq.select(root);
-            return session.createQuery(cq).getResultList();
+        try (Session session = SessionScope.openSession()) {
+            return findAll(session);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding all entities", e);
             return List.of();
         }
     }
 
+    @Override
+    public List<T> findAll(Session session) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(entityClass);
+        Root<T> root = cq.from(entityClass);
+        cq.select(root);
+        return session.createQuery(cq).getResultList();
+    }
+
     @Override
     public T save(T entity) {
         Transaction transaction = null;
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             LOGGER.info("Opening database session for save operation");
             transaction = session.beginTransaction();
             LOGGER.info("Transaction started");
 
-            session.saveOrUpdate(entity);
+            T attached = attach(session, entity);
+            EntityChangeEvent.Type type = changeTypeOf(session, attached);
+            session.saveOrUpdate(attached);
             LOGGER.info("Entity saveOrUpdate called");
+            recordChanges(session, List.of(attached), type);
 
             transaction.commit();
             LOGGER.info("Transaction committed successfully");
 
-            return entity;
+            return attached;
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error in save operation", e);
             if (transaction != null) {
@@ -82,21 +118,86 @@ public abstract class AbstractRepository<ID, T> implements Repository<ID, T> {
                     LOGGER.log(Level.SEVERE, "Error rolling back transaction", rollbackEx);
                 }
             }
+            evictCachedEntities();
             return null;
         }
     }
 
+    @Override
+    public T save(Session session, T entity) {
+        T attached = attach(session, entity);
+        EntityChangeEvent.Type type = changeTypeOf(session, attached);
+        session.saveOrUpdate(attached);
+        recordChanges(session, List.of(attached), type);
+        return attached;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+        Transaction transaction = null;
+        try (Session session = SessionScope.openSession()) {
+            transaction = session.beginTransaction();
+            List<T> saved = saveAll(session, entities);
+            transaction.commit();
+            LOGGER.info("Saved " + saved.size() + " entities of type " + entityClass.getSimpleName());
+            return saved;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error in saveAll operation for " + entities.size() + " entities", e);
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            evictCachedEntities();
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<T> saveAll(Session session, Collection<T> entities) {
+        int batchSize = HibernateConfig.getBatchSize();
+        List<T> saved = new ArrayList<>(entities.size());
+        List<ChangeLogEntry> changes = new ArrayList<>();
+        List<T> batch = new ArrayList<>(batchSize);
+        for (T entity : entities) {
+            EntityChangeEvent.Type type = changeTypeOf(session, entity);
+            session.saveOrUpdate(entity);
+            saved.add(entity);
+            batch.add(entity);
+            if (changeFeed != null) {
+                // Described before the batch is evicted below
+                changes.add(describeChange(session, entity, type));
+            }
+            // Send the pending batch and release it from the first-level cache so memory stays flat.
+            // Only this batch is evicted: the session may be a scope's, holding the caller's entities too
+            if (batch.size() == batchSize) {
+                session.flush();
+                batch.forEach(session::evict);
+                batch.clear();
+            }
+        }
+        session.flush();
+        if (!changes.isEmpty()) {
+            changeFeed.record(session, changes);
+        }
+        return saved;
+    }
+
     @Override
     public void delete(T entity) {
         Transaction transaction = null;
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             transaction = session.beginTransaction();
-            session.delete(entity);
+            T attached = attach(session, entity);
+            recordChanges(session, List.of(attached), EntityChangeEvent.Type.DELETED);
+            session.delete(attached);
             transaction.commit();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
             }
+            evictCachedEntities();
             LOGGER.log(Level.SEVERE, "Error deleting entity", e);
         }
     }
@@ -105,4 +206,157 @@ public abstract class AbstractRepository<ID, T> implements Repository<ID, T> {
     public void deleteById(ID id) {
         findById(id).ifPresent(this::delete);
     }
+
+    @Override
+    public void evictCached(ID id) {
+        try {
+            Cache cache = HibernateConfig.getSessionFactory().getCache();
+            cache.evictEntityData(entityClass, (Serializable) id);
+            cache.evictQueryRegions();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error evicting cached entity of type: " + entityClass.getSimpleName() +
+                    " with ID: " + id, e);
+        }
+    }
+
+    /**
+     * Resolve an entity against a session that may already hold it.
+     * A session shared through a {@link SessionScope} can contain another instance with the same
+     * identifier, loaded by an earlier step; handing it the detached copy would fail, so its state
+     * is merged onto the instance the session already manages. Sessions opened for a single call
+     * never contain the entity, and it is returned unchanged.
+     * @param session The session the entity is about to be written with
+     * @param entity The entity
+     * @return The instance to write
+     */
+    @SuppressWarnings("unchecked")
+    protected T attach(Session session, T entity) {
+        if (!SessionScope.isActive() || session.contains(entity)) {
+            return entity;
+        }
+        Object id = session.getSessionFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        return id == null ? entity : (T) session.merge(entity);
+    }
+
+    /**
+     * Check whether this repository records its writes in a change feed.
+     * Set-based writes that bypass the session check this before loading the rows they touch.
+     * @return true if changes are recorded, false otherwise
+     */
+    protected boolean isRecordingChanges() {
+        return changeFeed != null;
+    }
+
+    /**
+     * Record changes in the change feed, if there is one, as part of the session's unit of work
+     * @param session The session the changes are written with
+     * @param entities The changed entities
+     * @param type The type of change
+     */
+    protected void recordChanges(Session session, Collection<T> entities, EntityChangeEvent.Type type) {
+        if (changeFeed == null || entities.isEmpty()) {
+            return;
+        }
+        List<ChangeLogEntry> changes = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            changes.add(describeChange(session, entity, type));
+        }
+        changeFeed.record(session, changes);
+    }
+
+    /**
+     * Name the owners and parents of a changed entity in its change log entry, so that other
+     * instances can route the change and describe it after a deletion.
+     * Entities that have none keep the default, which leaves the entry as it is.
+     * @param session The session the change is written with
+     * @param entity The changed entity
+     * @param entry The entry to complete
+     */
+    protected void describeOwners(Session session, T entity, ChangeLogEntry entry) {
+    }
+
+    private ChangeLogEntry describeChange(Session session, T entity, EntityChangeEvent.Type type) {
+        Object id = session.getSessionFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        ChangeLogEntry entry = new ChangeLogEntry(entityClass.getSimpleName(), ((Number) id).intValue(), type.name());
+        describeOwners(session, entity, entry);
+        return entry;
+    }
+
+    // Identifiers are generated on insert, so an entity without one is about to be created
+    private EntityChangeEvent.Type changeTypeOf(Session session, T entity) {
+        return session.getSessionFactory().getPersistenceUnitUtil().getIdentifier(entity) == null
+                ? EntityChangeEvent.Type.CREATED : EntityChangeEvent.Type.UPDATED;
+    }
+
+    /**
+     * Evict this repository's entity type from the second-level cache.
+     * Successful writes keep the cache in sync through Hibernate itself; this is only needed
+     * when a write fails part-way and the cached state can no longer be trusted.
+     */
+    protected void evictCachedEntities() {
+        try {
+            HibernateConfig.getSessionFactory().getCache().evictEntityData(entityClass);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error evicting cached entities of type: " + entityClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Run a query read-only: the session is not flushed before it runs and any entities it returns
+     * are not snapshotted for dirty checking. Meant for queries that only feed list views,
+     * typically constructor-expression projections.
+     * @param query The query
+     * @param <R> The type of the query result
+     * @return The query, for chaining
+     */
+    protected <R> Query<R> readOnly(Query<R> query) {
+        query.setReadOnly(true);
+        query.setHibernateFlushMode(FlushMode.MANUAL);
+        return query;
+    }
+
+    /**
+     * Apply a named entity graph to a query as a fetch graph, so the associations the graph names
+     * are loaded by the query's own joins instead of one select per row afterwards.
+     * A graph that includes a collection repeats the root entity for each element, so the query
+     * must select DISTINCT roots and must not be limited with setMaxResults.
+     * @param session The session the query was created in
+     * @param query The query
+     * @param graphName The name of an entity graph declared on the queried entity
+     * @param <R> The type of the query result
+     * @return The query, for chaining
+     */
+    protected <R> Query<R> withFetchGraph(Session session, Query<R> query, String graphName) {
+        query.setHint(GraphSemantic.FETCH.getJpaHintName(), session.getEntityGraph(graphName));
+        return query;
+    }
+
+    /**
+     * Run a grouped count query over a set of ids, chunking the ids to stay within the
+     * database's parameter limit, and collect the counts by group id.
+     * The query must select the group id and a count, filtered on the :ids parameter.
+     * @param session The session to run the query in
+     * @param hql The grouped count query
+     * @param ids The ids to count for
+     * @param cacheRegion The query cache region, or null to not cache the query
+     * @return The count for each id that has at least one row
+     */
+    protected Map<Integer, Long> countGroupedByIds(Session session, String hql, Collection<Integer> ids,
+                                                   String cacheRegion) {
+        Map<Integer, Long> counts = new HashMap<>();
+        List<Integer> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += MAX_IN_PARAMETERS) {
+            List<Integer> chunk = idList.subList(from, Math.min(from + MAX_IN_PARAMETERS, idList.size()));
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            query.setParameterList("ids", chunk);
+            if (cacheRegion != null) {
+                query.setCacheable(true);
+                query.setCacheRegion(cacheRegion);
+            }
+            for (Object[] row : query.getResultList()) {
+                counts.put((Integer) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
 }
\ No newline at end of file
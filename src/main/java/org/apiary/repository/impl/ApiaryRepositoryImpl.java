@@ -1,10 +1,12 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
 import org.apiary.model.Apiary;
 import org.apiary.model.Beekeeper;
+import org.apiary.model.ChangeLogEntry;
 import org.apiary.model.Hive;
 import org.apiary.repository.interfaces.ApiaryRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.utils.events.EntityChangeEvent;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 
@@ -22,10 +24,12 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public List<Apiary> findByBeekeeper(Beekeeper beekeeper) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Apiary> query = session.createQuery(
                     "FROM Apiary WHERE beekeeper.id = :beekeeperId", Apiary.class);
             query.setParameter("beekeeperId", beekeeper.getUserId());
+            query.setCacheable(true);
+            query.setCacheRegion("query.apiaries");
             return query.getResultList();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding apiaries by beekeeper: " + beekeeper.getUserId(), e);
@@ -35,7 +39,7 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public List<Apiary> findByNameContaining(String name) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Apiary> query = session.createQuery(
                     "FROM Apiary WHERE name LIKE :name", Apiary.class);
             query.setParameter("name", "%" + name + "%");
@@ -48,7 +52,7 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public List<Apiary> findByLocationContaining(String location) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Apiary> query = session.createQuery(
                     "FROM Apiary WHERE location LIKE :location", Apiary.class);
             query.setParameter("location", "%" + location + "%");
@@ -61,10 +65,12 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public List<Hive> findHivesByApiary(Apiary apiary) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Hive> query = session.createQuery(
                     "FROM Hive WHERE apiary.id = :apiaryId ORDER BY hiveNumber", Hive.class);
             query.setParameter("apiaryId", apiary.getApiaryId());
+            query.setCacheable(true);
+            query.setCacheRegion("query.hives");
             return query.getResultList();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding hives by apiary: " + apiary.getApiaryId(), e);
@@ -74,10 +80,12 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public List<Hive> findHivesByApiaryId(Integer apiaryId) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Hive> query = session.createQuery(
                     "FROM Hive WHERE apiary.id = :apiaryId ORDER BY hiveNumber", Hive.class);
             query.setParameter("apiaryId", apiaryId);
+            query.setCacheable(true);
+            query.setCacheRegion("query.hives");
             return query.getResultList();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding hives by apiary ID: " + apiaryId, e);
@@ -87,10 +95,12 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public long countHivesByApiary(Apiary apiary) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Long> query = session.createQuery(
                     "SELECT COUNT(*) FROM Hive WHERE apiary.id = :apiaryId", Long.class);
             query.setParameter("apiaryId", apiary.getApiaryId());
+            query.setCacheable(true);
+            query.setCacheRegion("query.hives");
             Long result = query.uniqueResult();
             return result != null ? result : 0L;
         } catch (Exception e) {
@@ -101,10 +111,12 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
 
     @Override
     public long countHivesByApiaryId(Integer apiaryId) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Long> query = session.createQuery(
                     "SELECT COUNT(*) FROM Hive WHERE apiary.id = :apiaryId", Long.class);
             query.setParameter("apiaryId", apiaryId);
+            query.setCacheable(true);
+            query.setCacheRegion("query.hives");
             Long result = query.uniqueResult();
             return result != null ? result : 0L;
         } catch (Exception e) {
@@ -112,4 +124,36 @@ public class ApiaryRepositoryImpl extends AbstractRepository<Integer, Apiary> im
             return 0L;
         }
     }
+
+    @Override
+    public List<String> findAllLocations() {
+        try (Session session = SessionScope.openSession()) {
+            Query<String> query = session.createQuery(
+                    "SELECT DISTINCT location FROM Apiary ORDER BY location", String.class);
+            query.setCacheable(true);
+            query.setCacheRegion("query.locations");
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding all apiary locations", e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public int deleteById(Session session, Integer apiaryId) {
+        if (isRecordingChanges()) {
+            Apiary apiary = session.get(Apiary.class, apiaryId);
+            if (apiary != null) {
+                recordChanges(session, List.of(apiary), EntityChangeEvent.Type.DELETED);
+            }
+        }
+        Query<?> query = session.createQuery("DELETE FROM Apiary WHERE id = :apiaryId");
+        query.setParameter("apiaryId", apiaryId);
+        return query.executeUpdate();
+    }
+
+    @Override
+    protected void describeOwners(Session session, Apiary apiary, ChangeLogEntry entry) {
+        entry.setOwningApiary(apiary);
+    }
 }
\ No newline at end of file
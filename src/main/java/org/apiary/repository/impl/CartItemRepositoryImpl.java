@@ -1,10 +1,11 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
+import org.apiary.model.Apiary;
 import org.apiary.model.CartItem;
 import org.apiary.model.HoneyProduct;
 import org.apiary.model.ShoppingCart;
 import org.apiary.repository.interfaces.CartItemRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
@@ -24,7 +25,7 @@ public class CartItemRepositoryImpl extends AbstractRepository<Integer, CartItem
 
     @Override
     public List<CartItem> findByCart(ShoppingCart cart) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<CartItem> query = session.createQuery(
                     "FROM CartItem WHERE cart.id = :cartId", CartItem.class);
             query.setParameter("cartId", cart.getCartId());
@@ -37,7 +38,7 @@ public class CartItemRepositoryImpl extends AbstractRepository<Integer, CartItem
 
     @Override
     public Optional<CartItem> findByCartAndProduct(ShoppingCart cart, HoneyProduct product) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<CartItem> query = session.createQuery(
                     "FROM CartItem WHERE cart.id = :cartId AND product.id = :productId", CartItem.class);
             query.setParameter("cartId", cart.getCartId());
@@ -53,14 +54,9 @@ public class CartItemRepositoryImpl extends AbstractRepository<Integer, CartItem
     @Override
     public void deleteByCart(ShoppingCart cart) {
         Transaction transaction = null;
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             transaction = session.beginTransaction();
-
-            Query query = session.createQuery(
-                    "DELETE FROM CartItem WHERE cart.id = :cartId");
-            query.setParameter("cartId", cart.getCartId());
-            query.executeUpdate();
-
+            deleteByCart(session, cart);
             transaction.commit();
         } catch (Exception e) {
             if (transaction != null) {
@@ -70,9 +66,17 @@ public class CartItemRepositoryImpl extends AbstractRepository<Integer, CartItem
         }
     }
 
+    @Override
+    public int deleteByCart(Session session, ShoppingCart cart) {
+        Query<?> query = session.createQuery(
+                "DELETE FROM CartItem WHERE cart.id = :cartId");
+        query.setParameter("cartId", cart.getCartId());
+        return query.executeUpdate();
+    }
+
     @Override
     public List<CartItem> findByProduct(HoneyProduct product) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<CartItem> query = session.createQuery(
                     "FROM CartItem WHERE product.id = :productId", CartItem.class);
             query.setParameter("productId", product.getProductId());
@@ -83,4 +87,12 @@ public class CartItemRepositoryImpl extends AbstractRepository<Integer, CartItem
         }
     }
 
+    @Override
+    public int deleteByApiary(Session session, Apiary apiary) {
+        Query<?> query = session.createQuery(
+                "DELETE FROM CartItem WHERE product.id IN " +
+                        "(SELECT p.id FROM HoneyProduct p WHERE p.apiary.id = :apiaryId)");
+        query.setParameter("apiaryId", apiary.getApiaryId());
+        return query.executeUpdate();
+    }
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
 import org.apiary.model.Apiary;
+import org.apiary.model.ChangeLogEntry;
 import org.apiary.model.Hive;
 import org.apiary.repository.interfaces.HiveRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.utils.events.EntityChangeEvent;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,10 +26,12 @@ public class HiveRepositoryImpl extends AbstractRepository<Integer, Hive> implem
 
     @Override
     public List<Hive> findByApiary(Apiary apiary) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Hive> query = session.createQuery(
                     "FROM Hive WHERE apiary.id = :apiaryId ORDER BY hiveNumber", Hive.class);
             query.setParameter("apiaryId", apiary.getApiaryId());
+            query.setCacheable(true);
+            query.setCacheRegion("query.hives");
             return query.getResultList();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding hives by apiary: " + apiary.getApiaryId(), e);
@@ -34,7 +41,7 @@ public class HiveRepositoryImpl extends AbstractRepository<Integer, Hive> implem
 
     @Override
     public List<Hive> findByApiaryAndHiveNumber(Apiary apiary, Integer hiveNumber) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Hive> query = session.createQuery(
                     "FROM Hive WHERE apiary.id = :apiaryId AND hiveNumber = :hiveNumber", Hive.class);
             query.setParameter("apiaryId", apiary.getApiaryId());
@@ -49,7 +56,7 @@ public class HiveRepositoryImpl extends AbstractRepository<Integer, Hive> implem
 
     @Override
     public List<Hive> findByQueenYear(Integer queenYear) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Hive> query = session.createQuery(
                     "FROM Hive WHERE queenYear = :queenYear", Hive.class);
             query.setParameter("queenYear", queenYear);
@@ -62,14 +69,49 @@ public class HiveRepositoryImpl extends AbstractRepository<Integer, Hive> implem
 
     @Override
     public long countByApiary(Apiary apiary) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Long> query = session.createQuery(
                     "SELECT COUNT(*) FROM Hive WHERE apiary.id = :apiaryId", Long.class);
             query.setParameter("apiaryId", apiary.getApiaryId());
+            query.setCacheable(true);
+            query.setCacheRegion("query.hives");
             return query.uniqueResult();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error counting hives by apiary: " + apiary.getApiaryId(), e);
             return 0;
         }
     }
+
+    @Override
+    public Map<Integer, Long> countByApiaries(Collection<Apiary> apiaries) {
+        if (apiaries.isEmpty()) {
+            return Map.of();
+        }
+        try (Session session = SessionScope.openSession()) {
+            return countGroupedByIds(session,
+                    "SELECT h.apiary.id, COUNT(h) FROM Hive h WHERE h.apiary.id IN (:ids) GROUP BY h.apiary.id",
+                    apiaries.stream().map(Apiary::getApiaryId).collect(Collectors.toSet()),
+                    "query.hives");
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting hives for " + apiaries.size() + " apiaries", e);
+            return Map.of();
+        }
+    }
+
+    @Override
+    public int deleteByApiary(Session session, Apiary apiary) {
+        if (isRecordingChanges()) {
+            recordChanges(session, session.createQuery("FROM Hive WHERE apiary.id = :apiaryId", Hive.class)
+                    .setParameter("apiaryId", apiary.getApiaryId())
+                    .getResultList(), EntityChangeEvent.Type.DELETED);
+        }
+        Query<?> query = session.createQuery("DELETE FROM Hive WHERE apiary.id = :apiaryId");
+        query.setParameter("apiaryId", apiary.getApiaryId());
+        return query.executeUpdate();
+    }
+
+    @Override
+    protected void describeOwners(Session session, Hive hive, ChangeLogEntry entry) {
+        entry.setOwningApiary(hive.getApiary());
+    }
 }
\ No newline at end of file
@@ -1,21 +1,33 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
 import org.apiary.model.Apiary;
+import org.apiary.model.ChangeLogEntry;
 import org.apiary.model.Hive;
 import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.model.projection.ProductCard;
 import org.apiary.repository.interfaces.HoneyProductRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.utils.events.EntityChangeEvent;
+import org.apiary.utils.pagination.Pageable;
 import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, HoneyProduct> implements HoneyProductRepository {
 
     private static final Logger LOGGER = Logger.getLogger(HoneyProductRepositoryImpl.class.getName());
+    private static final String CARD_SELECT = "SELECT new org.apiary.model.projection.ProductCard("
+            + "p.productId, p.name, p.price, p.quantity, a.name) FROM HoneyProduct p JOIN p.apiary a";
 
     public HoneyProductRepositoryImpl() {
         super(HoneyProduct.class);
@@ -23,7 +35,7 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
 
     @Override
     public List<HoneyProduct> findByApiary(Apiary apiary) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE apiary.id = :apiaryId", HoneyProduct.class);
             query.setParameter("apiaryId", apiary.getApiaryId());
@@ -34,9 +46,23 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
         }
     }
 
+    @Override
+    public Optional<HoneyProduct> findByIdWithApiary(Integer productId) {
+        try (Session session = SessionScope.openSession()) {
+            Query<HoneyProduct> query = session.createQuery(
+                    "FROM HoneyProduct WHERE id = :productId", HoneyProduct.class);
+            query.setParameter("productId", productId);
+            return Optional.ofNullable(
+                    withFetchGraph(session, query, HoneyProduct.WITH_APIARY_AND_BEEKEEPER).uniqueResult());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding honey product with apiary by ID: " + productId, e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public List<HoneyProduct> findByHive(Hive hive) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE hive.id = :hiveId", HoneyProduct.class);
             query.setParameter("hiveId", hive.getHiveId());
@@ -47,9 +73,67 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
         }
     }
 
+    @Override
+    public long countByApiaryId(Integer apiaryId) {
+        try (Session session = SessionScope.openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COUNT(*) FROM HoneyProduct WHERE apiary.id = :apiaryId", Long.class);
+            query.setParameter("apiaryId", apiaryId);
+            return query.uniqueResult();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting honey products by apiary: " + apiaryId, e);
+            return 0;
+        }
+    }
+
+    @Override
+    public long countByHiveId(Integer hiveId) {
+        try (Session session = SessionScope.openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COUNT(*) FROM HoneyProduct WHERE hive.id = :hiveId", Long.class);
+            query.setParameter("hiveId", hiveId);
+            return query.uniqueResult();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting honey products by hive: " + hiveId, e);
+            return 0;
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> countByApiaries(Collection<Apiary> apiaries) {
+        if (apiaries.isEmpty()) {
+            return Map.of();
+        }
+        try (Session session = SessionScope.openSession()) {
+            return countGroupedByIds(session,
+                    "SELECT p.apiary.id, COUNT(p) FROM HoneyProduct p WHERE p.apiary.id IN (:ids) GROUP BY p.apiary.id",
+                    apiaries.stream().map(Apiary::getApiaryId).collect(Collectors.toSet()),
+                    null);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting honey products for " + apiaries.size() + " apiaries", e);
+            return Map.of();
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> countByHives(Collection<Hive> hives) {
+        if (hives.isEmpty()) {
+            return Map.of();
+        }
+        try (Session session = SessionScope.openSession()) {
+            return countGroupedByIds(session,
+                    "SELECT p.hive.id, COUNT(p) FROM HoneyProduct p WHERE p.hive.id IN (:ids) GROUP BY p.hive.id",
+                    hives.stream().map(Hive::getHiveId).collect(Collectors.toSet()),
+                    null);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting honey products for " + hives.size() + " hives", e);
+            return Map.of();
+        }
+    }
+
     @Override
     public List<HoneyProduct> findByNameContaining(String name) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE name LIKE :name", HoneyProduct.class);
             query.setParameter("name", "%" + name + "%");
@@ -62,7 +146,7 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
 
     @Override
     public List<HoneyProduct> findByPriceLessThan(BigDecimal price) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE price < :price", HoneyProduct.class);
             query.setParameter("price", price);
@@ -75,7 +159,7 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
 
     @Override
     public List<HoneyProduct> findByPriceGreaterThan(BigDecimal price) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE price > :price", HoneyProduct.class);
             query.setParameter("price", price);
@@ -88,7 +172,7 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
 
     @Override
     public List<HoneyProduct> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE price BETWEEN :minPrice AND :maxPrice", HoneyProduct.class);
             query.setParameter("minPrice", minPrice);
@@ -103,12 +187,9 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
 
     @Override
     public List<HoneyProduct> findAvailableProducts() {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             LOGGER.info("=== REPOSITORY: FINDING AVAILABLE PRODUCTS ===");
 
-            // Clear the session cache to ensure fresh data
-            session.clear();
-
             Query<HoneyProduct> query = session.createQuery(
                     "FROM HoneyProduct WHERE quantity > 0 ORDER BY productId", HoneyProduct.class);
 
@@ -126,4 +207,223 @@ public class HoneyProductRepositoryImpl extends AbstractRepository<Integer, Hone
             return List.of();
         }
     }
+
+    @Override
+    public List<HoneyProduct> findPageByFilters(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                                boolean availableOnly, Pageable pageable) {
+        try (Session session = SessionScope.openSession()) {
+            String hql = "FROM HoneyProduct p" + buildFilterClause(name, category, minPrice, maxPrice, availableOnly)
+                    + buildOrderClause(pageable);
+            Query<HoneyProduct> query = session.createQuery(hql, HoneyProduct.class);
+            bindFilterParameters(query, name, category, minPrice, maxPrice);
+            query.setFirstResult(pageable.getOffset());
+            query.setMaxResults(pageable.getSize());
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding page of honey products by filters", e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<ProductCard> findCardPageByFilters(String name, String category, BigDecimal minPrice,
+                                                   BigDecimal maxPrice, boolean availableOnly, Pageable pageable) {
+        try (Session session = SessionScope.openSession()) {
+            String hql = CARD_SELECT
+                    + buildFilterClause(name, category, minPrice, maxPrice, availableOnly)
+                    + buildOrderClause(pageable);
+            Query<ProductCard> query = readOnly(session.createQuery(hql, ProductCard.class));
+            bindFilterParameters(query, name, category, minPrice, maxPrice);
+            query.setFirstResult(pageable.getOffset());
+            query.setMaxResults(pageable.getSize());
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding page of product cards by filters", e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<ProductCard> findAllCards(Session session) {
+        return readOnly(session.createQuery(CARD_SELECT + " ORDER BY p.productId", ProductCard.class))
+                .getResultList();
+    }
+
+    @Override
+    public List<ProductCard> findCardsByApiary(Apiary apiary) {
+        try (Session session = SessionScope.openSession()) {
+            Query<ProductCard> query = readOnly(session.createQuery(
+                    CARD_SELECT + " WHERE a.id = :apiaryId", ProductCard.class));
+            query.setParameter("apiaryId", apiary.getApiaryId());
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding product cards by apiary: " + apiary.getApiaryId(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<ProductCard> findCardsByOrder(Order order) {
+        try (Session session = SessionScope.openSession()) {
+            Query<ProductCard> query = readOnly(session.createQuery(
+                    CARD_SELECT + " WHERE p.productId IN "
+                            + "(SELECT i.product.id FROM OrderItem i WHERE i.order.id = :orderId)", ProductCard.class));
+            query.setParameter("orderId", order.getOrderId());
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding product cards by order: " + order.getOrderId(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public long countByFilters(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                               boolean availableOnly) {
+        try (Session session = SessionScope.openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COUNT(p) FROM HoneyProduct p"
+                            + buildFilterClause(name, category, minPrice, maxPrice, availableOnly), Long.class);
+            bindFilterParameters(query, name, category, minPrice, maxPrice);
+            Long result = query.uniqueResult();
+            return result != null ? result : 0L;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting honey products by filters", e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public int decrementQuantity(Integer productId, BigDecimal quantity) {
+        Transaction transaction = null;
+        try (Session session = SessionScope.openSession()) {
+            transaction = session.beginTransaction();
+            int updated = decrementQuantity(session, productId, quantity);
+            transaction.commit();
+            return updated;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            LOGGER.log(Level.SEVERE, "Error decrementing quantity for honey product: " + productId, e);
+            return 0;
+        }
+    }
+
+    @Override
+    public int decrementQuantity(Session session, Integer productId, BigDecimal quantity) {
+        // The stock check and the update happen in one statement, so concurrent checkouts cannot oversell
+        Query<?> query = session.createQuery(
+                "UPDATE HoneyProduct SET quantity = quantity - :quantity " +
+                "WHERE productId = :productId AND quantity >= :quantity");
+        query.setParameter("quantity", quantity);
+        query.setParameter("productId", productId);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int incrementQuantity(Integer productId, BigDecimal quantity) {
+        Transaction transaction = null;
+        try (Session session = SessionScope.openSession()) {
+            transaction = session.beginTransaction();
+            int updated = incrementQuantity(session, productId, quantity);
+            transaction.commit();
+            return updated;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            LOGGER.log(Level.SEVERE, "Error incrementing quantity for honey product: " + productId, e);
+            return 0;
+        }
+    }
+
+    @Override
+    public int incrementQuantity(Session session, Integer productId, BigDecimal quantity) {
+        Query<?> query = session.createQuery(
+                "UPDATE HoneyProduct SET quantity = quantity + :quantity WHERE productId = :productId");
+        query.setParameter("quantity", quantity);
+        query.setParameter("productId", productId);
+        return query.executeUpdate();
+    }
+
+    private String buildFilterClause(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                     boolean availableOnly) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (name != null) {
+            where.append(" AND LOWER(p.name) LIKE :name");
+        }
+        if (category != null) {
+            where.append(" AND LOWER(p.name) LIKE :category");
+        }
+        if (minPrice != null) {
+            where.append(" AND p.price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            where.append(" AND p.price <= :maxPrice");
+        }
+        if (availableOnly) {
+            where.append(" AND p.quantity > 0");
+        }
+        return where.toString();
+    }
+
+    private void bindFilterParameters(Query<?> query, String name, String category,
+                                      BigDecimal minPrice, BigDecimal maxPrice) {
+        if (name != null) {
+            query.setParameter("name", "%" + name.toLowerCase() + "%");
+        }
+        if (category != null) {
+            query.setParameter("category", "%" + category.toLowerCase() + "%");
+        }
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+    }
+
+    private String buildOrderClause(Pageable pageable) {
+        return " ORDER BY " + resolveSortProperty(pageable.getSortBy())
+                + (pageable.isSortAscending() ? " ASC" : " DESC")
+                + ", p.productId ASC";
+    }
+
+    // Whitelist the sort key so user-controlled input never reaches the HQL string
+    private String resolveSortProperty(String sortBy) {
+        if (sortBy == null) {
+            return "p.productId";
+        }
+        switch (sortBy) {
+            case "name":
+                return "p.name";
+            case "price":
+                return "p.price";
+            case "quantity":
+                return "p.quantity";
+            default:
+                return "p.productId";
+        }
+    }
+
+    @Override
+    public int deleteByApiary(Session session, Apiary apiary) {
+        if (isRecordingChanges()) {
+            recordChanges(session, session.createQuery("FROM HoneyProduct WHERE apiary.id = :apiaryId",
+                            HoneyProduct.class)
+                    .setParameter("apiaryId", apiary.getApiaryId())
+                    .getResultList(), EntityChangeEvent.Type.DELETED);
+        }
+        Query<?> query = session.createQuery("DELETE FROM HoneyProduct WHERE apiary.id = :apiaryId");
+        query.setParameter("apiaryId", apiary.getApiaryId());
+        return query.executeUpdate();
+    }
+
+    @Override
+    protected void describeOwners(Session session, HoneyProduct product, ChangeLogEntry entry) {
+        entry.setOwningApiary(product.getApiary());
+        if (product.getHive() != null) {
+            entry.setHiveId(product.getHive().getHiveId());
+        }
+    }
 }
\ No newline at end of file
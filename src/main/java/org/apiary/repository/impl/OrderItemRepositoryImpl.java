@@ -1,10 +1,11 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
+import org.apiary.model.Apiary;
 import org.apiary.model.HoneyProduct;
 import org.apiary.model.Order;
 import org.apiary.model.OrderItem;
 import org.apiary.repository.interfaces.OrderItemRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
@@ -23,7 +24,7 @@ public class OrderItemRepositoryImpl extends AbstractRepository<Integer, OrderIt
 
     @Override
     public List<OrderItem> findByOrder(Order order) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<OrderItem> query = session.createQuery(
                     "FROM OrderItem WHERE order.id = :orderId", OrderItem.class);
             query.setParameter("orderId", order.getOrderId());
@@ -34,9 +35,22 @@ public class OrderItemRepositoryImpl extends AbstractRepository<Integer, OrderIt
         }
     }
 
+    @Override
+    public List<OrderItem> findByOrderWithProducts(Order order) {
+        try (Session session = SessionScope.openSession()) {
+            Query<OrderItem> query = session.createQuery(
+                    "FROM OrderItem WHERE order.id = :orderId", OrderItem.class);
+            query.setParameter("orderId", order.getOrderId());
+            return withFetchGraph(session, query, OrderItem.WITH_PRODUCT).getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding order items with products by order: " + order.getOrderId(), e);
+            return List.of();
+        }
+    }
+
     @Override
     public List<OrderItem> findByProduct(HoneyProduct product) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<OrderItem> query = session.createQuery(
                     "FROM OrderItem WHERE product.id = :productId", OrderItem.class);
             query.setParameter("productId", product.getProductId());
@@ -50,10 +64,10 @@ public class OrderItemRepositoryImpl extends AbstractRepository<Integer, OrderIt
     @Override
     public void deleteByOrder(Order order) {
         Transaction transaction = null;
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             transaction = session.beginTransaction();
 
-            Query query = session.createQuery(
+            Query<?> query = session.createQuery(
                     "DELETE FROM OrderItem WHERE order.id = :orderId");
             query.setParameter("orderId", order.getOrderId());
             query.executeUpdate();
@@ -66,4 +80,13 @@ public class OrderItemRepositoryImpl extends AbstractRepository<Integer, OrderIt
             LOGGER.log(Level.SEVERE, "Error deleting order items by order: " + order.getOrderId(), e);
         }
     }
+
+    @Override
+    public int deleteByApiary(Session session, Apiary apiary) {
+        Query<?> query = session.createQuery(
+                "DELETE FROM OrderItem WHERE product.id IN " +
+                        "(SELECT p.id FROM HoneyProduct p WHERE p.apiary.id = :apiaryId)");
+        query.setParameter("apiaryId", apiary.getApiaryId());
+        return query.executeUpdate();
+    }
 }
\ No newline at end of file
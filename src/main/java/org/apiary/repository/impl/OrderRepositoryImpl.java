@@ -1,20 +1,29 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
+import org.apiary.model.Beekeeper;
+import org.apiary.model.ChangeLogEntry;
 import org.apiary.model.Client;
 import org.apiary.model.Order;
+import org.apiary.model.projection.OrderRow;
 import org.apiary.repository.interfaces.OrderRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.utils.pagination.KeysetPage;
+import org.apiary.utils.pagination.KeysetPageable;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> implements OrderRepository {
 
     private static final Logger LOGGER = Logger.getLogger(OrderRepositoryImpl.class.getName());
+    // Constructor expression for OrderRow; the query must alias the order as o and its client as c
+    private static final String ORDER_ROW = "new org.apiary.model.projection.OrderRow("
+            + "o.orderId, o.date, o.status, o.total, c.username, c.fullName, SIZE(o.items))";
 
     public OrderRepositoryImpl() {
         super(Order.class);
@@ -22,7 +31,7 @@ public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> impl
 
     @Override
     public List<Order> findByClient(Client client) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Order> query = session.createQuery(
                     "FROM Order WHERE client.id = :clientId ORDER BY date DESC", Order.class);
             query.setParameter("clientId", client.getUserId());
@@ -33,9 +42,58 @@ public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> impl
         }
     }
 
+    @Override
+    public List<Order> findByClientWithItems(Client client) {
+        try (Session session = SessionScope.openSession()) {
+            Query<Order> query = session.createQuery(
+                    "SELECT DISTINCT o FROM Order o WHERE o.client.id = :clientId ORDER BY o.date DESC", Order.class);
+            query.setParameter("clientId", client.getUserId());
+            return withFetchGraph(session, query, Order.WITH_ITEMS_AND_PRODUCTS).getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding orders with items by client: " + client.getUserId(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public KeysetPage<OrderRow> findRowsByClient(Client client, KeysetPageable pageable) {
+        try (Session session = SessionScope.openSession()) {
+            Query<OrderRow> query = seekRows(session,
+                    "SELECT " + ORDER_ROW + " FROM Order o JOIN o.client c WHERE c.id = :clientId", pageable);
+            query.setParameter("clientId", client.getUserId());
+            return toRowPage(query, pageable);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding order rows by client: " + client.getUserId(), e);
+            return KeysetPage.empty();
+        }
+    }
+
+    @Override
+    public Optional<Order> findByIdWithItems(Integer orderId) {
+        try (Session session = SessionScope.openSession()) {
+            Query<Order> query = session.createQuery(
+                    "SELECT DISTINCT o FROM Order o WHERE o.id = :orderId", Order.class);
+            query.setParameter("orderId", orderId);
+            return Optional.ofNullable(withFetchGraph(session, query, Order.WITH_ITEMS_AND_PRODUCTS).uniqueResult());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding order with items by ID: " + orderId, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<Integer> findBeekeeperIdsByOrder(Integer orderId) {
+        try (Session session = SessionScope.openSession()) {
+            return findBeekeeperIdsByOrder(session, orderId);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding beekeepers of order: " + orderId, e);
+            return List.of();
+        }
+    }
+
     @Override
     public List<Order> findByStatus(String status) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Order> query = session.createQuery(
                     "FROM Order WHERE status = :status ORDER BY date DESC", Order.class);
             query.setParameter("status", status);
@@ -48,7 +106,7 @@ public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> impl
 
     @Override
     public List<Order> findByDateAfter(LocalDateTime date) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Order> query = session.createQuery(
                     "FROM Order WHERE date > :date ORDER BY date DESC", Order.class);
             query.setParameter("date", date);
@@ -61,7 +119,7 @@ public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> impl
 
     @Override
     public List<Order> findByDateBefore(LocalDateTime date) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Order> query = session.createQuery(
                     "FROM Order WHERE date < :date ORDER BY date DESC", Order.class);
             query.setParameter("date", date);
@@ -74,7 +132,7 @@ public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> impl
 
     @Override
     public List<Order> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Order> query = session.createQuery(
                     "FROM Order WHERE date BETWEEN :startDate AND :endDate ORDER BY date DESC", Order.class);
             query.setParameter("startDate", startDate);
@@ -86,4 +144,138 @@ public class OrderRepositoryImpl extends AbstractRepository<Integer, Order> impl
             return List.of();
         }
     }
+
+    @Override
+    public List<Order> findByBeekeeper(Beekeeper beekeeper) {
+        return findByBeekeeperWithFilters(beekeeper, null, null, null);
+    }
+
+    @Override
+    public List<Order> findByBeekeeperWithFilters(Beekeeper beekeeper, String status,
+                                                  LocalDateTime startDate, LocalDateTime endDate) {
+        return findByBeekeeper(beekeeper, status, startDate, endDate, null);
+    }
+
+    @Override
+    public List<Order> findByBeekeeperWithItems(Beekeeper beekeeper, String status,
+                                                LocalDateTime startDate, LocalDateTime endDate) {
+        return findByBeekeeper(beekeeper, status, startDate, endDate, Order.WITH_ITEMS_AND_PRODUCTS);
+    }
+
+    @Override
+    public KeysetPage<OrderRow> findRowsByBeekeeper(Beekeeper beekeeper, String status,
+                                                    LocalDateTime startDate, LocalDateTime endDate,
+                                                    KeysetPageable pageable) {
+        try (Session session = SessionScope.openSession()) {
+            Query<OrderRow> query = seekRows(session, "SELECT DISTINCT " + ORDER_ROW
+                    + " FROM Order o JOIN o.client c JOIN o.items i JOIN i.product p JOIN p.apiary a"
+                    + buildBeekeeperFilterClause(status, startDate, endDate), pageable);
+            bindBeekeeperFilterParameters(query, beekeeper, status, startDate, endDate);
+            return toRowPage(query, pageable);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding order rows for beekeeper: " + beekeeper.getUserId(), e);
+            return KeysetPage.empty();
+        }
+    }
+
+    /**
+     * Create a row query that seeks past the cursor of a keyset pageable, ordered by (date, orderId)
+     * @param session The session
+     * @param selectWhere The select, from and where clauses; the order must be aliased as o
+     * @param pageable The page size, sort direction and cursor
+     * @return The read-only query, with the cursor bound and one row more than the page size requested
+     */
+    private Query<OrderRow> seekRows(Session session, String selectWhere, KeysetPageable pageable) {
+        String direction = pageable.isSortAscending() ? "ASC" : "DESC";
+        String comparator = pageable.isSortAscending() ? ">" : "<";
+        StringBuilder hql = new StringBuilder(selectWhere);
+        if (!pageable.isFirst()) {
+            hql.append(" AND (o.date ").append(comparator).append(" :lastDate")
+                    .append(" OR (o.date = :lastDate AND o.orderId ").append(comparator).append(" :lastId))");
+        }
+        hql.append(" ORDER BY o.date ").append(direction).append(", o.orderId ").append(direction);
+
+        Query<OrderRow> query = readOnly(session.createQuery(hql.toString(), OrderRow.class));
+        if (!pageable.isFirst()) {
+            query.setParameter("lastDate", pageable.getLastSortValue());
+            query.setParameter("lastId", pageable.getLastId());
+        }
+        // Fetch one extra row to find out whether another page follows
+        query.setMaxResults(pageable.getSize() + 1);
+        return query;
+    }
+
+    private KeysetPage<OrderRow> toRowPage(Query<OrderRow> query, KeysetPageable pageable) {
+        List<OrderRow> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getSize();
+        List<OrderRow> content = hasNext ? rows.subList(0, pageable.getSize()) : rows;
+        if (!hasNext || content.isEmpty()) {
+            return new KeysetPage<>(content, false, null);
+        }
+        OrderRow last = content.get(content.size() - 1);
+        return new KeysetPage<>(content, true, pageable.after(last.getDate(), last.getOrderId()));
+    }
+
+    private List<Order> findByBeekeeper(Beekeeper beekeeper, String status, LocalDateTime startDate,
+                                        LocalDateTime endDate, String graphName) {
+        try (Session session = SessionScope.openSession()) {
+            Query<Order> query = session.createQuery(
+                    "SELECT DISTINCT o FROM Order o JOIN o.items i JOIN i.product p JOIN p.apiary a"
+                            + buildBeekeeperFilterClause(status, startDate, endDate)
+                            + " ORDER BY o.date DESC", Order.class);
+            bindBeekeeperFilterParameters(query, beekeeper, status, startDate, endDate);
+            if (graphName != null) {
+                withFetchGraph(session, query, graphName);
+            }
+            return query.getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding orders for beekeeper: " + beekeeper.getUserId(), e);
+            return List.of();
+        }
+    }
+
+    private String buildBeekeeperFilterClause(String status, LocalDateTime startDate, LocalDateTime endDate) {
+        StringBuilder where = new StringBuilder(" WHERE a.beekeeper.id = :beekeeperId");
+        if (status != null) {
+            where.append(" AND o.status = :status");
+        }
+        if (startDate != null) {
+            where.append(" AND o.date >= :startDate");
+        }
+        if (endDate != null) {
+            where.append(" AND o.date <= :endDate");
+        }
+        return where.toString();
+    }
+
+    private void bindBeekeeperFilterParameters(Query<?> query, Beekeeper beekeeper, String status,
+                                               LocalDateTime startDate, LocalDateTime endDate) {
+        query.setParameter("beekeeperId", beekeeper.getUserId());
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (startDate != null) {
+            query.setParameter("startDate", startDate);
+        }
+        if (endDate != null) {
+            query.setParameter("endDate", endDate);
+        }
+    }
+
+    @Override
+    protected void describeOwners(Session session, Order order, ChangeLogEntry entry) {
+        if (order.getClient() != null) {
+            entry.setClientId(order.getClient().getUserId());
+        }
+        // Queried rather than read from the items, which a detached order may not have loaded
+        entry.setBeekeeperIdSet(findBeekeeperIdsByOrder(session, order.getOrderId()));
+    }
+
+    private List<Integer> findBeekeeperIdsByOrder(Session session, Integer orderId) {
+        Query<Integer> query = session.createQuery(
+                "SELECT DISTINCT a.beekeeper.id FROM OrderItem i JOIN i.product p JOIN p.apiary a"
+                        + " WHERE i.order.id = :orderId", Integer.class);
+        query.setParameter("orderId", orderId);
+        return query.getResultList();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package org.apiary.repository.impl;
+
+import org.apiary.model.OutboxEvent;
+import org.apiary.repository.interfaces.OutboxRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class OutboxRepositoryImpl extends AbstractRepository<Long, OutboxEvent> implements OutboxRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(OutboxRepositoryImpl.class.getName());
+
+    public OutboxRepositoryImpl() {
+        super(OutboxEvent.class);
+    }
+
+    @Override
+    public List<OutboxEvent> findUnpublished(String origin, int limit) {
+        try (Session session = SessionScope.openSession()) {
+            Query<OutboxEvent> query = session.createQuery(
+                    "FROM OutboxEvent WHERE origin = :origin AND publishedDate IS NULL ORDER BY outboxId",
+                    OutboxEvent.class);
+            query.setParameter("origin", origin);
+            query.setMaxResults(limit);
+            return readOnly(query).getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding unpublished outbox events of: " + origin, e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public int markPublished(Collection<Long> outboxIds) {
+        if (outboxIds.isEmpty()) {
+            return 0;
+        }
+        Transaction transaction = null;
+        try (Session session = SessionScope.openSession()) {
+            transaction = session.beginTransaction();
+            int marked = session.createQuery(
+                            "UPDATE OutboxEvent SET publishedDate = :now WHERE outboxId IN (:ids)")
+                    .setParameter("now", LocalDateTime.now())
+                    .setParameterList("ids", outboxIds)
+                    .executeUpdate();
+            transaction.commit();
+            return marked;
+        } catch (Exception e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            LOGGER.log(Level.SEVERE, "Error marking " + outboxIds.size() + " outbox events published", e);
+            return 0;
+        }
+    }
+
+    @Override
+    public int deleteBefore(LocalDateTime cutoff) {
+        Transaction transaction = null;
+        try (Session session = SessionScope.openSession()) {
+            transaction = session.beginTransaction();
+            int deleted = session.createQuery("DELETE FROM OutboxEvent WHERE date < :cutoff")
+                    .setParameter("cutoff", cutoff)
+                    .executeUpdate();
+            transaction.commit();
+            return deleted;
+        } catch (Exception e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            LOGGER.log(Level.SEVERE, "Error deleting outbox events before: " + cutoff, e);
+            return 0;
+        }
+    }
+}
\ No newline at end of file
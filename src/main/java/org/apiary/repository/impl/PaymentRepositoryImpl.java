@@ -1,9 +1,9 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
 import org.apiary.model.Order;
 import org.apiary.model.Payment;
 import org.apiary.repository.interfaces.PaymentRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 
@@ -22,7 +22,7 @@ public class PaymentRepositoryImpl extends AbstractRepository<Integer, Payment>
 
     @Override
     public Payment findByOrder(Order order) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Payment> query = session.createQuery(
                     "FROM Payment WHERE order.id = :orderId", Payment.class);
             query.setParameter("orderId", order.getOrderId());
@@ -35,7 +35,7 @@ public class PaymentRepositoryImpl extends AbstractRepository<Integer, Payment>
 
     @Override
     public List<Payment> findByStatus(String status) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Payment> query = session.createQuery(
                     "FROM Payment WHERE status = :status ORDER BY date DESC", Payment.class);
             query.setParameter("status", status);
@@ -48,7 +48,7 @@ public class PaymentRepositoryImpl extends AbstractRepository<Integer, Payment>
 
     @Override
     public List<Payment> findByDateAfter(LocalDateTime date) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Payment> query = session.createQuery(
                     "FROM Payment WHERE date > :date ORDER BY date DESC", Payment.class);
             query.setParameter("date", date);
@@ -61,7 +61,7 @@ public class PaymentRepositoryImpl extends AbstractRepository<Integer, Payment>
 
     @Override
     public List<Payment> findByDateBefore(LocalDateTime date) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Payment> query = session.createQuery(
                     "FROM Payment WHERE date < :date ORDER BY date DESC", Payment.class);
             query.setParameter("date", date);
@@ -74,7 +74,7 @@ public class PaymentRepositoryImpl extends AbstractRepository<Integer, Payment>
 
     @Override
     public List<Payment> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Payment> query = session.createQuery(
                     "FROM Payment WHERE date BETWEEN :startDate AND :endDate ORDER BY date DESC", Payment.class);
             query.setParameter("startDate", startDate);
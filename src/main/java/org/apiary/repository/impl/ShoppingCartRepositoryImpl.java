@@ -1,9 +1,9 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
 import org.apiary.model.Client;
 import org.apiary.model.ShoppingCart;
 import org.apiary.repository.interfaces.ShoppingCartRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
@@ -22,7 +22,7 @@ public class ShoppingCartRepositoryImpl extends AbstractRepository<Integer, Shop
 
     @Override
     public Optional<ShoppingCart> findByClient(Client client) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<ShoppingCart> query = session.createQuery(
                     "FROM ShoppingCart WHERE client.id = :clientId", ShoppingCart.class);
             query.setParameter("clientId", client.getUserId());
@@ -33,13 +33,27 @@ public class ShoppingCartRepositoryImpl extends AbstractRepository<Integer, Shop
         }
     }
 
+    @Override
+    public Optional<ShoppingCart> findByClientWithItems(Client client) {
+        try (Session session = SessionScope.openSession()) {
+            Query<ShoppingCart> query = session.createQuery(
+                    "SELECT DISTINCT c FROM ShoppingCart c WHERE c.client.id = :clientId", ShoppingCart.class);
+            query.setParameter("clientId", client.getUserId());
+            return Optional.ofNullable(
+                    withFetchGraph(session, query, ShoppingCart.WITH_ITEMS_AND_PRODUCTS).uniqueResult());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding shopping cart with items by client: " + client.getUserId(), e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public void deleteByClient(Client client) {
         Transaction transaction = null;
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             transaction = session.beginTransaction();
 
-            Query query = session.createQuery(
+            Query<?> query = session.createQuery(
                     "DELETE FROM ShoppingCart WHERE client.id = :clientId");
             query.setParameter("clientId", client.getUserId());
             query.executeUpdate();
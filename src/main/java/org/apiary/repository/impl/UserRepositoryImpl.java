@@ -1,8 +1,8 @@
 package org.apiary.repository.impl;
 
-import org.apiary.config.HibernateConfig;
 import org.apiary.model.User;
 import org.apiary.repository.interfaces.UserRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 
@@ -20,7 +20,7 @@ public class UserRepositoryImpl extends AbstractRepository<Integer, User> implem
 
     @Override
     public Optional<User> findByUsername(String username) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<User> query = session.createQuery(
                     "FROM User WHERE username = :username", User.class);
             query.setParameter("username", username);
@@ -33,7 +33,7 @@ public class UserRepositoryImpl extends AbstractRepository<Integer, User> implem
 
     @Override
     public boolean usernameExists(String username) {
-        try (Session session = HibernateConfig.getSessionFactory().openSession()) {
+        try (Session session = SessionScope.openSession()) {
             Query<Long> query = session.createQuery(
                     "SELECT COUNT(*) FROM User WHERE username = :username", Long.class);
             query.setParameter("username", username);
@@ -3,6 +3,7 @@ package org.apiary.repository.interfaces;
 import org.apiary.model.Apiary;
 import org.apiary.model.Beekeeper;
 import org.apiary.model.Hive;
+import org.hibernate.Session;
 
 import java.util.List;
 
@@ -55,4 +56,19 @@ public interface ApiaryRepository extends Repository<Integer, Apiary> {
      * @return The number of hives in the apiary
      */
     long countHivesByApiaryId(Integer apiaryId);
+
+    /**
+     * Find the distinct locations of all apiaries
+     * @return A sorted list of distinct apiary locations
+     */
+    List<String> findAllLocations();
+
+    /**
+     * Delete an apiary by ID within an existing unit of work.
+     * Its hives and products must be deleted first.
+     * @param session The session of the unit of work
+     * @param apiaryId The apiary ID
+     * @return The number of apiaries deleted (1 on success, 0 if the apiary is missing)
+     */
+    int deleteById(Session session, Integer apiaryId);
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package org.apiary.repository.interfaces;
 
+import org.apiary.model.Apiary;
 import org.apiary.model.CartItem;
 import org.apiary.model.HoneyProduct;
 import org.apiary.model.ShoppingCart;
+import org.hibernate.Session;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,10 +31,26 @@ public interface CartItemRepository extends Repository<Integer, CartItem> {
      */
     void deleteByCart(ShoppingCart cart);
 
+    /**
+     * Delete all cart items in a specific shopping cart within an existing unit of work
+     * @param session The session of the unit of work
+     * @param cart The shopping cart
+     * @return The number of cart items deleted
+     */
+    int deleteByCart(Session session, ShoppingCart cart);
+
     /**
      * Find all cart items for a specific product
      * @param product The product
      * @return A list of cart items for the product
      */
     List<CartItem> findByProduct(HoneyProduct product);
+
+    /**
+     * Delete every cart item that references a product of an apiary, within an existing unit of work
+     * @param session The session of the unit of work
+     * @param apiary The apiary
+     * @return The number of cart items deleted
+     */
+    int deleteByApiary(Session session, Apiary apiary);
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package org.apiary.repository.interfaces;
 
 import org.apiary.model.Apiary;
 import org.apiary.model.Hive;
+import org.hibernate.Session;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface HiveRepository extends Repository<Integer, Hive> {
     /**
@@ -34,4 +37,20 @@ public interface HiveRepository extends Repository<Integer, Hive> {
      * @return The number of hives
      */
     long countByApiary(Apiary apiary);
+
+    /**
+     * Count the hives of several apiaries in a single query
+     * @param apiaries The apiaries
+     * @return The number of hives by apiary ID; apiaries without hives are absent
+     */
+    Map<Integer, Long> countByApiaries(Collection<Apiary> apiaries);
+
+    /**
+     * Delete every hive of an apiary within an existing unit of work.
+     * Products made from the hives must be deleted first.
+     * @param session The session of the unit of work
+     * @param apiary The apiary
+     * @return The number of hives deleted
+     */
+    int deleteByApiary(Session session, Apiary apiary);
 }
\ No newline at end of file
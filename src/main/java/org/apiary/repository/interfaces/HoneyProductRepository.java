@@ -3,9 +3,16 @@ package org.apiary.repository.interfaces;
 import org.apiary.model.Apiary;
 import org.apiary.model.Hive;
 import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.model.projection.ProductCard;
+import org.apiary.utils.pagination.Pageable;
+import org.hibernate.Session;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface HoneyProductRepository extends Repository<Integer, HoneyProduct> {
     /**
@@ -15,6 +22,14 @@ public interface HoneyProductRepository extends Repository<Integer, HoneyProduct
      */
     List<HoneyProduct> findByApiary(Apiary apiary);
 
+    /**
+     * Find a honey product by ID, loading its apiary, the apiary's beekeeper and its hive with the
+     * {@link HoneyProduct#WITH_APIARY_AND_BEEKEEPER} graph
+     * @param productId The product ID
+     * @return An Optional containing the product, or empty if not found
+     */
+    Optional<HoneyProduct> findByIdWithApiary(Integer productId);
+
     /**
      * Find all honey products from a specific hive
      * @param hive The hive
@@ -22,6 +37,34 @@ public interface HoneyProductRepository extends Repository<Integer, HoneyProduct
      */
     List<HoneyProduct> findByHive(Hive hive);
 
+    /**
+     * Count the honey products of an apiary
+     * @param apiaryId The apiary ID
+     * @return The number of products
+     */
+    long countByApiaryId(Integer apiaryId);
+
+    /**
+     * Count the honey products of a hive
+     * @param hiveId The hive ID
+     * @return The number of products
+     */
+    long countByHiveId(Integer hiveId);
+
+    /**
+     * Count the honey products of several apiaries in a single query
+     * @param apiaries The apiaries
+     * @return The number of products by apiary ID; apiaries without products are absent
+     */
+    Map<Integer, Long> countByApiaries(Collection<Apiary> apiaries);
+
+    /**
+     * Count the honey products of several hives in a single query
+     * @param hives The hives
+     * @return The number of products by hive ID; hives without products are absent
+     */
+    Map<Integer, Long> countByHives(Collection<Hive> hives);
+
     /**
      * Find honey products by name (partial match)
      * @param name The name to search for
@@ -56,4 +99,110 @@ public interface HoneyProductRepository extends Repository<Integer, HoneyProduct
      * @return A list of honey products with available quantity
      */
     List<HoneyProduct> findAvailableProducts();
+
+    /**
+     * Find one page of honey products matching the given filters, sorted and sliced by the database
+     * @param name Partial name to match, or null for any name
+     * @param category Additional partial name to match, or null for any category
+     * @param minPrice The minimum price (inclusive), or null for no lower bound
+     * @param maxPrice The maximum price (inclusive), or null for no upper bound
+     * @param availableOnly Whether to only include products with quantity greater than zero
+     * @param pageable The page, size and sort to apply
+     * @return The honey products on the requested page
+     */
+    List<HoneyProduct> findPageByFilters(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                         boolean availableOnly, Pageable pageable);
+
+    /**
+     * Find one page of catalog cards matching the given filters, sorted and sliced by the database.
+     * Matches the same products as {@link #findPageByFilters(String, String, BigDecimal, BigDecimal, boolean, Pageable)}
+     * but reads only the columns a card shows.
+     * @param name Partial name to match, or null for any name
+     * @param category Additional partial name to match, or null for any category
+     * @param minPrice The minimum price (inclusive), or null for no lower bound
+     * @param maxPrice The maximum price (inclusive), or null for no upper bound
+     * @param availableOnly Whether to only include products with quantity greater than zero
+     * @param pageable The page, size and sort to apply
+     * @return The product cards on the requested page
+     */
+    List<ProductCard> findCardPageByFilters(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                            boolean availableOnly, Pageable pageable);
+
+    /**
+     * Find the catalog cards of every product, in stock or not, within an existing unit of work.
+     * Unlike the other finders a failed read is not reported as an empty result.
+     * @param session The session of the unit of work
+     * @return The product cards ordered by product ID
+     * @throws org.hibernate.HibernateException If the products could not be read
+     */
+    List<ProductCard> findAllCards(Session session);
+
+    /**
+     * Find the catalog cards of the products of an apiary
+     * @param apiary The apiary
+     * @return The product cards of the apiary
+     */
+    List<ProductCard> findCardsByApiary(Apiary apiary);
+
+    /**
+     * Find the catalog cards of the products ordered in an order
+     * @param order The order
+     * @return The product cards of the ordered products, with their current stock
+     */
+    List<ProductCard> findCardsByOrder(Order order);
+
+    /**
+     * Count the honey products matching the given filters
+     * @param name Partial name to match, or null for any name
+     * @param category Additional partial name to match, or null for any category
+     * @param minPrice The minimum price (inclusive), or null for no lower bound
+     * @param maxPrice The maximum price (inclusive), or null for no upper bound
+     * @param availableOnly Whether to only include products with quantity greater than zero
+     * @return The number of matching honey products
+     */
+    long countByFilters(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                        boolean availableOnly);
+
+    /**
+     * Atomically subtract a quantity from a product's stock, only if enough stock is available
+     * @param productId The product ID
+     * @param quantity The quantity to subtract
+     * @return The number of rows updated (1 on success, 0 if the product is missing or stock is insufficient)
+     */
+    int decrementQuantity(Integer productId, BigDecimal quantity);
+
+    /**
+     * Atomically subtract a quantity from a product's stock within an existing unit of work
+     * @param session The session of the unit of work
+     * @param productId The product ID
+     * @param quantity The quantity to subtract
+     * @return The number of rows updated (1 on success, 0 if the product is missing or stock is insufficient)
+     */
+    int decrementQuantity(Session session, Integer productId, BigDecimal quantity);
+
+    /**
+     * Atomically add a quantity back to a product's stock
+     * @param productId The product ID
+     * @param quantity The quantity to add
+     * @return The number of rows updated (1 on success, 0 if the product is missing)
+     */
+    int incrementQuantity(Integer productId, BigDecimal quantity);
+
+    /**
+     * Atomically add a quantity back to a product's stock within an existing unit of work
+     * @param session The session of the unit of work
+     * @param productId The product ID
+     * @param quantity The quantity to add
+     * @return The number of rows updated (1 on success, 0 if the product is missing)
+     */
+    int incrementQuantity(Session session, Integer productId, BigDecimal quantity);
+
+    /**
+     * Delete every product of an apiary within an existing unit of work.
+     * Cart and order items referencing the products must be deleted first.
+     * @param session The session of the unit of work
+     * @param apiary The apiary
+     * @return The number of products deleted
+     */
+    int deleteByApiary(Session session, Apiary apiary);
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package org.apiary.repository.interfaces;
 
+import org.apiary.model.Apiary;
 import org.apiary.model.HoneyProduct;
 import org.apiary.model.Order;
 import org.apiary.model.OrderItem;
+import org.hibernate.Session;
 
 import java.util.List;
 
@@ -14,6 +16,14 @@ public interface OrderItemRepository extends Repository<Integer, OrderItem> {
      */
     List<OrderItem> findByOrder(Order order);
 
+    /**
+     * Find all order items for a specific order, loading each item's product with the
+     * {@link OrderItem#WITH_PRODUCT} graph
+     * @param order The order
+     * @return A list of order items for the order
+     */
+    List<OrderItem> findByOrderWithProducts(Order order);
+
     /**
      * Find all order items for a specific product
      * @param product The product
@@ -26,4 +36,12 @@ public interface OrderItemRepository extends Repository<Integer, OrderItem> {
      * @param order The order
      */
     void deleteByOrder(Order order);
+
+    /**
+     * Delete every order item that references a product of an apiary, within an existing unit of work
+     * @param session The session of the unit of work
+     * @param apiary The apiary
+     * @return The number of order items deleted
+     */
+    int deleteByApiary(Session session, Apiary apiary);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package org.apiary.repository.interfaces;
 
+import org.apiary.model.Beekeeper;
 import org.apiary.model.Client;
 import org.apiary.model.Order;
+import org.apiary.model.projection.OrderRow;
+import org.apiary.utils.pagination.KeysetPage;
+import org.apiary.utils.pagination.KeysetPageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends Repository<Integer, Order> {
     /**
@@ -14,6 +19,38 @@ public interface OrderRepository extends Repository<Integer, Order> {
      */
     List<Order> findByClient(Client client);
 
+    /**
+     * Find all orders for a specific client, loading each order's items and their products
+     * with the {@link Order#WITH_ITEMS_AND_PRODUCTS} graph
+     * @param client The client
+     * @return A list of orders for the client, newest first
+     */
+    List<Order> findByClientWithItems(Client client);
+
+    /**
+     * Find one keyset page of the table rows of a client's orders, seeking past the (date, orderId)
+     * of the last row seen
+     * @param client The client
+     * @param pageable The page size, sort direction and cursor
+     * @return The order rows on the requested page
+     */
+    KeysetPage<OrderRow> findRowsByClient(Client client, KeysetPageable pageable);
+
+    /**
+     * Find an order by ID, loading its items and their products with the
+     * {@link Order#WITH_ITEMS_AND_PRODUCTS} graph
+     * @param orderId The order ID
+     * @return An Optional containing the order, or empty if not found
+     */
+    Optional<Order> findByIdWithItems(Integer orderId);
+
+    /**
+     * Find the IDs of the beekeepers whose products are in an order
+     * @param orderId The order ID
+     * @return The distinct beekeeper IDs
+     */
+    List<Integer> findBeekeeperIdsByOrder(Integer orderId);
+
     /**
      * Find orders with a specific status
      * @param status The status to search for
@@ -42,4 +79,49 @@ public interface OrderRepository extends Repository<Integer, Order> {
      * @return A list of orders created between the specified dates
      */
     List<Order> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Find all orders containing at least one product from an apiary owned by a beekeeper
+     * @param beekeeper The beekeeper
+     * @return A list of distinct orders for the beekeeper, newest first
+     */
+    List<Order> findByBeekeeper(Beekeeper beekeeper);
+
+    /**
+     * Find orders for a beekeeper, applying the optional status and date filters in the query
+     * @param beekeeper The beekeeper
+     * @param status The status to match, or null for any status
+     * @param startDate The earliest order date (inclusive), or null for no lower bound
+     * @param endDate The latest order date (inclusive), or null for no upper bound
+     * @return A list of distinct matching orders for the beekeeper, newest first
+     */
+    List<Order> findByBeekeeperWithFilters(Beekeeper beekeeper, String status,
+                                           LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Find orders for a beekeeper like {@link #findByBeekeeperWithFilters(Beekeeper, String, LocalDateTime, LocalDateTime)},
+     * loading each order's items and their products with the {@link Order#WITH_ITEMS_AND_PRODUCTS} graph
+     * @param beekeeper The beekeeper
+     * @param status The status to match, or null for any status
+     * @param startDate The earliest order date (inclusive), or null for no lower bound
+     * @param endDate The latest order date (inclusive), or null for no upper bound
+     * @return A list of distinct matching orders for the beekeeper, newest first
+     */
+    List<Order> findByBeekeeperWithItems(Beekeeper beekeeper, String status,
+                                         LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Find one keyset page of the table rows of the orders matched by
+     * {@link #findByBeekeeperWithFilters(Beekeeper, String, LocalDateTime, LocalDateTime)},
+     * seeking past the (date, orderId) of the last row seen
+     * @param beekeeper The beekeeper
+     * @param status The status to match, or null for any status
+     * @param startDate The earliest order date (inclusive), or null for no lower bound
+     * @param endDate The latest order date (inclusive), or null for no upper bound
+     * @param pageable The page size, sort direction and cursor
+     * @return The distinct matching order rows on the requested page
+     */
+    KeysetPage<OrderRow> findRowsByBeekeeper(Beekeeper beekeeper, String status,
+                                             LocalDateTime startDate, LocalDateTime endDate,
+                                             KeysetPageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package org.apiary.repository.interfaces;
+
+import org.apiary.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxRepository extends Repository<Long, OutboxEvent> {
+    /**
+     * Find the oldest events an application instance has not published yet
+     * @param origin The instance that wrote the events
+     * @param limit The maximum number of events to return
+     * @return The unpublished events, in the order they were written
+     */
+    List<OutboxEvent> findUnpublished(String origin, int limit);
+
+    /**
+     * Mark events as published
+     * @param outboxIds The IDs of the events
+     * @return The number of events marked
+     */
+    int markPublished(Collection<Long> outboxIds);
+
+    /**
+     * Delete events written before a given time, published or not
+     * @param cutoff Events written before this time are deleted
+     * @return The number of events deleted
+     */
+    int deleteBefore(LocalDateTime cutoff);
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package org.apiary.repository.interfaces;
 
+import org.hibernate.Session;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +19,28 @@ public interface Repository<ID, T> {
      */
     Optional<T> findById(ID id);
 
+    /**
+     * Find an entity by its ID within an existing unit of work
+     * @param session The session of the unit of work
+     * @param id The entity's ID
+     * @return An Optional containing the entity, or empty if not found
+     */
+    Optional<T> findById(Session session, ID id);
+
     /**
      * Find all entities
      * @return A list of all entities
      */
     List<T> findAll();
 
+    /**
+     * Find all entities within an existing unit of work
+     * @param session The session of the unit of work
+     * @return A list of all entities
+     * @throws org.hibernate.HibernateException If the entities could not be read
+     */
+    List<T> findAll(Session session);
+
     /**
      * Save an entity (create or update)
      * @param entity The entity to save
@@ -29,6 +48,32 @@ public interface Repository<ID, T> {
      */
     T save(T entity);
 
+    /**
+     * Save an entity (create or update) within an existing unit of work.
+     * Errors are propagated so that the unit of work is rolled back.
+     * @param session The session of the unit of work
+     * @param entity The entity to save
+     * @return The saved entity
+     */
+    T save(Session session, T entity);
+
+    /**
+     * Save many entities (create or update) in one transaction, flushing in JDBC-sized batches
+     * @param entities The entities to save
+     * @return The saved entities, or an empty list if the transaction was rolled back
+     */
+    List<T> saveAll(Collection<T> entities);
+
+    /**
+     * Save many entities within an existing unit of work, flushing and clearing the session in batches.
+     * Entities loaded earlier in the session are detached by the periodic clear.
+     * Errors are propagated so that the unit of work is rolled back.
+     * @param session The session of the unit of work
+     * @param entities The entities to save
+     * @return The saved entities
+     */
+    List<T> saveAll(Session session, Collection<T> entities);
+
     /**
      * Delete an entity
      * @param entity The entity to delete
@@ -40,4 +85,11 @@ public interface Repository<ID, T> {
      * @param id The ID of the entity to delete
      */
     void deleteById(ID id);
+
+    /**
+     * Drop an entity that was changed outside this application instance from the second-level cache,
+     * along with the cached query results, any of which may include it
+     * @param id The ID of the entity
+     */
+    void evictCached(ID id);
 }
\ No newline at end of file
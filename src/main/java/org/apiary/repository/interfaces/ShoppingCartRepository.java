@@ -13,6 +13,14 @@ public interface ShoppingCartRepository extends Repository<Integer, ShoppingCart
      */
     Optional<ShoppingCart> findByClient(Client client);
 
+    /**
+     * Find the shopping cart for a specific client, loading its items and their products with the
+     * {@link ShoppingCart#WITH_ITEMS_AND_PRODUCTS} graph
+     * @param client The client
+     * @return An Optional containing the shopping cart, or empty if not found
+     */
+    Optional<ShoppingCart> findByClientWithItems(Client client);
+
     /**
      * Delete the shopping cart for a specific client
      * @param client The client
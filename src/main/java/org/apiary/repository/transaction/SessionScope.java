@@ -0,0 +1,174 @@
+package org.apiary.repository.transaction;
+
+import org.apiary.config.HibernateConfig;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * Binds one session to the current thread for the length of a multi-step operation.
+ * While a scope is open, repositories join its session instead of opening their own, so the
+ * whole operation uses a single connection checkout and a shared first-level cache.
+ * Scopes nest: opening a scope inside another joins the outer one, and only the outermost
+ * scope closes the session.
+ * <pre>
+ * try (SessionScope scope = SessionScope.open()) {
+ *     // every repository call here shares one session
+ * }
+ * </pre>
+ * When the work only goes through repositories and never needs the session itself, use
+ * {@link #call} instead.
+ */
+public final class SessionScope implements AutoCloseable {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private final Session session;
+    private final boolean owner;
+
+    private SessionScope(Session session, boolean owner) {
+        this.session = session;
+        this.owner = owner;
+    }
+
+    /**
+     * Open a scope on the current thread, or join the scope that is already open
+     * @return The scope; close it when the operation ends
+     */
+    public static SessionScope open() {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return new SessionScope(current, false);
+        }
+        Session session = HibernateConfig.getSessionFactory().openSession();
+        CURRENT.set(session);
+        return new SessionScope(session, true);
+    }
+
+    /**
+     * Run work in a scope on the current thread, joining the scope that is already open
+     * @param work The work; every repository call it makes shares one session
+     * @param <T> The type of the result
+     * @return The result of the work
+     */
+    public static <T> T call(Supplier<T> work) {
+        SessionScope scope = open();
+        try {
+            return work.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Check whether a scope is open on the current thread
+     * @return true if a scope is open, false otherwise
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Open a session for a single repository call.
+     * Inside a scope this returns the scope's session, wrapped so that closing it leaves the
+     * session open and beginning a transaction joins the one already running. Outside a scope
+     * it opens a new session, as repositories always did.
+     * @return A session the caller must close
+     */
+    public static Session openSession() {
+        Session current = CURRENT.get();
+        if (current == null) {
+            return HibernateConfig.getSessionFactory().openSession();
+        }
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(),
+                new Class<?>[]{Session.class}, new JoinedSessionHandler(current));
+    }
+
+    /**
+     * Get the session of this scope
+     * @return The session bound to the current thread
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    @Override
+    public void close() {
+        if (owner) {
+            CURRENT.remove();
+            session.close();
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Session seen by a repository call that joins a scope
+     */
+    private static class JoinedSessionHandler implements InvocationHandler {
+        private final Session session;
+
+        private JoinedSessionHandler(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    // The scope owns the session
+                    return null;
+                case "beginTransaction":
+                    Transaction current = session.getTransaction();
+                    if (current.isActive()) {
+                        return joinedTransaction(current, true);
+                    }
+                    return joinedTransaction(session.beginTransaction(), false);
+                default:
+                    return SessionScope.invoke(session, method, args);
+            }
+        }
+
+        /**
+         * A transaction begun by a repository call inside a scope.
+         * If the scope already runs a transaction the call takes part in it: commit is left to
+         * the scope and rollback marks the whole unit of work rollback-only.
+         * Otherwise the call owns the transaction; rolling it back also clears the shared
+         * session, whose first-level cache may hold state the database never accepted.
+         */
+        private Transaction joinedTransaction(Transaction transaction, boolean participating) {
+            return (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(),
+                    new Class<?>[]{Transaction.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "commit":
+                                if (participating) {
+                                    return null;
+                                }
+                                break;
+                            case "rollback":
+                                if (participating) {
+                                    transaction.setRollbackOnly();
+                                    return null;
+                                }
+                                Object result = SessionScope.invoke(transaction, method, args);
+                                session.clear();
+                                return result;
+                            default:
+                                break;
+                        }
+                        return SessionScope.invoke(transaction, method, args);
+                    });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.apiary.repository.transaction;
+
+import org.hibernate.Session;
+
+/**
+ * A unit of work executed by a {@link TransactionTemplate} inside a single session and transaction
+ * @param <T> The type of the result
+ */
+@FunctionalInterface
+public interface TransactionCallback<T> {
+    /**
+     * Perform the unit of work
+     * @param session The session shared by every step of the unit of work
+     * @return The result of the unit of work
+     */
+    T doInTransaction(Session session);
+}
\ No newline at end of file
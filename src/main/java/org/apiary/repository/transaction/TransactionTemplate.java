@@ -0,0 +1,86 @@
+package org.apiary.repository.transaction;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a multi-step unit of work in one session and one transaction, so that it either commits
+ * as a whole or leaves no partial state behind.
+ * A callback can abort the unit of work without throwing by marking the transaction rollback-only.
+ */
+public class TransactionTemplate {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionTemplate.class.getName());
+
+    /**
+     * Execute a unit of work in one session and transaction.
+     * The session is bound to a {@link SessionScope}, so repository calls made by the unit of work
+     * join its transaction. Inside an existing scope the unit of work reuses that scope's session,
+     * and if a transaction is already running it takes part in it instead of committing on its own.
+     * @param callback The unit of work
+     * @param <T> The type of the result
+     * @return The result of the unit of work, or null if it was rolled back
+     */
+    public <T> T execute(TransactionCallback<T> callback) {
+        try (SessionScope scope = SessionScope.open()) {
+            Session session = scope.getSession();
+            if (session.getTransaction().isActive()) {
+                return joinTransaction(session, callback);
+            }
+
+            Transaction transaction = session.beginTransaction();
+            try {
+                T result = callback.doInTransaction(session);
+
+                if (transaction.getRollbackOnly()) {
+                    LOGGER.info("Unit of work marked rollback-only, rolling back");
+                    rollback(session, transaction);
+                    return null;
+                }
+                transaction.commit();
+                return result;
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error in unit of work, rolling back", e);
+                rollback(session, transaction);
+                return null;
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error opening unit of work", e);
+            return null;
+        }
+    }
+
+    /**
+     * Mark the transaction of the given session so that the surrounding unit of work is rolled back
+     * @param session The session passed to the callback
+     */
+    public static void setRollbackOnly(Session session) {
+        session.getTransaction().setRollbackOnly();
+    }
+
+    private <T> T joinTransaction(Session session, TransactionCallback<T> callback) {
+        try {
+            T result = callback.doInTransaction(session);
+            return session.getTransaction().getRollbackOnly() ? null : result;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error in nested unit of work, marking rollback-only", e);
+            setRollbackOnly(session);
+            return null;
+        }
+    }
+
+    private void rollback(Session session, Transaction transaction) {
+        try {
+            if (transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+        } catch (Exception rollbackEx) {
+            LOGGER.log(Level.SEVERE, "Error rolling back transaction", rollbackEx);
+        }
+        // Entities touched by the failed unit of work must not leak into a surrounding scope
+        session.clear();
+    }
+}
\ No newline at end of file
@@ -10,6 +10,7 @@ public class AllServices {
     private final ShoppingCartService shoppingCartService;
     private final OrderService orderService;
     private final PaymentService paymentService;
+    private final ProductCatalogService productCatalogService;
 
     public AllServices(UserService userService,
                        ApiaryService apiaryService,
@@ -17,7 +18,8 @@ public class AllServices {
                        HoneyProductService honeyProductService,
                        ShoppingCartService shoppingCartService,
                        OrderService orderService,
-                       PaymentService paymentService) {
+                       PaymentService paymentService,
+                       ProductCatalogService productCatalogService) {
         this.userService = userService;
         this.apiaryService = apiaryService;
         this.hiveService = hiveService;
@@ -25,6 +27,7 @@ public class AllServices {
         this.shoppingCartService = shoppingCartService;
         this.orderService = orderService;
         this.paymentService = paymentService;
+        this.productCatalogService = productCatalogService;
     }
 
     public UserService getUserService() {
@@ -54,4 +57,8 @@ public class AllServices {
     public PaymentService getPaymentService() {
         return paymentService;
     }
+
+    public ProductCatalogService getProductCatalogService() {
+        return productCatalogService;
+    }
 }
\ No newline at end of file
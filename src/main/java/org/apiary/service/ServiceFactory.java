@@ -88,6 +88,13 @@ public class ServiceFactory {
         return allServices.getPaymentService();
     }
 
+    public static ProductCatalogService getProductCatalogService() {
+        if (allServices == null) {
+            throw new RuntimeException("Spring context not initialized");
+        }
+        return allServices.getProductCatalogService();
+    }
+
     /**
      * Get the Spring ApplicationContext for advanced usage
      */
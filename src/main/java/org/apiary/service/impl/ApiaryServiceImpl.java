@@ -3,8 +3,11 @@ package org.apiary.service.impl;
 import org.apiary.model.*;
 import org.apiary.repository.interfaces.ApiaryRepository;
 import org.apiary.repository.interfaces.CartItemRepository;
+import org.apiary.repository.interfaces.HiveRepository;
 import org.apiary.repository.interfaces.HoneyProductRepository;
 import org.apiary.repository.interfaces.OrderItemRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.repository.transaction.TransactionTemplate;
 import org.apiary.service.interfaces.ApiaryService;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.EventManager;
@@ -13,24 +16,29 @@ import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class ApiaryServiceImpl extends EventManager<EntityChangeEvent<?>> implements ApiaryService {
 
     private static final Logger LOGGER = Logger.getLogger(ApiaryServiceImpl.class.getName());
     private final ApiaryRepository apiaryRepository;
+    private final HiveRepository hiveRepository;
     private final HoneyProductRepository honeyProductRepository;
     private final OrderItemRepository orderItemRepository;
     private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
 
     public ApiaryServiceImpl(ApiaryRepository apiaryRepository,
+                             HiveRepository hiveRepository,
                              HoneyProductRepository honeyProductRepository,
                              OrderItemRepository orderItemRepository,
-                             CartItemRepository cartItemRepository) {
+                             CartItemRepository cartItemRepository,
+                             TransactionTemplate transactionTemplate) {
         this.apiaryRepository = apiaryRepository;
+        this.hiveRepository = hiveRepository;
         this.honeyProductRepository = honeyProductRepository;
         this.orderItemRepository = orderItemRepository;
         this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -40,7 +48,7 @@ public class ApiaryServiceImpl extends EventManager<EntityChangeEvent<?>> implem
             Apiary savedApiary = apiaryRepository.save(apiary);
 
             // Notify observers
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.CREATED, savedApiary));
+            notifyObservers(EntityEvents.of(EntityChangeEvent.Type.CREATED, savedApiary, null));
 
             LOGGER.info("Created new apiary: " + name + " for beekeeper: " + beekeeper.getUsername());
             return savedApiary;
@@ -54,32 +62,34 @@ public class ApiaryServiceImpl extends EventManager<EntityChangeEvent<?>> implem
     @Override
     public Apiary updateApiary(Integer apiaryId, String name, String location, Beekeeper beekeeper) {
         try {
-            Optional<Apiary> apiaryOpt = apiaryRepository.findById(apiaryId);
-            if (apiaryOpt.isEmpty()) {
-                LOGGER.warning("Apiary not found: " + apiaryId);
-                return null;
-            }
+            return SessionScope.call(() -> {
+                Optional<Apiary> apiaryOpt = apiaryRepository.findById(apiaryId);
+                if (apiaryOpt.isEmpty()) {
+                    LOGGER.warning("Apiary not found: " + apiaryId);
+                    return null;
+                }
 
-            Apiary apiary = apiaryOpt.get();
-            Apiary oldApiary = new Apiary(apiary.getName(), apiary.getLocation(), apiary.getBeekeeper());
-            oldApiary.setApiaryId(apiary.getApiaryId());
+                Apiary apiary = apiaryOpt.get();
+                Apiary oldApiary = new Apiary(apiary.getName(), apiary.getLocation(), apiary.getBeekeeper());
+                oldApiary.setApiaryId(apiary.getApiaryId());
 
-            // Check if the apiary belongs to the beekeeper
-            if (!apiary.getBeekeeper().equals(beekeeper)) {
-                LOGGER.warning("Apiary does not belong to beekeeper: " + beekeeper.getUsername());
-                return null;
-            }
+                // Check if the apiary belongs to the beekeeper
+                if (!apiary.getBeekeeper().equals(beekeeper)) {
+                    LOGGER.warning("Apiary does not belong to beekeeper: " + beekeeper.getUsername());
+                    return null;
+                }
 
-            apiary.setName(name);
-            apiary.setLocation(location);
+                apiary.setName(name);
+                apiary.setLocation(location);
 
-            Apiary updatedApiary = apiaryRepository.save(apiary);
+                Apiary updatedApiary = apiaryRepository.save(apiary);
 
-            // Notify observers
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, updatedApiary, oldApiary));
+                // Notify observers
+                notifyObservers(EntityEvents.of(EntityChangeEvent.Type.UPDATED, updatedApiary, oldApiary));
 
-            LOGGER.info("Updated apiary: " + apiaryId);
-            return updatedApiary;
+                LOGGER.info("Updated apiary: " + apiaryId);
+                return updatedApiary;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error updating apiary: " + apiaryId, e);
             return null;
@@ -87,51 +97,52 @@ public class ApiaryServiceImpl extends EventManager<EntityChangeEvent<?>> implem
     }
 
     @Override
-    public boolean deleteApiary(Integer apiaryId) {
+    public ApiaryDeletionResult deleteApiary(Integer apiaryId) {
         try {
-            Optional<Apiary> apiaryOpt = apiaryRepository.findById(apiaryId);
-            if (apiaryOpt.isEmpty()) {
-                LOGGER.warning("Apiary not found: " + apiaryId);
-                return false;
-            }
-            Apiary apiary = apiaryOpt.get();
-            List<Hive> hivesToDelete = apiaryRepository.findHivesByApiary(apiary);
-            List<HoneyProduct> productsToDelete = honeyProductRepository.findByApiary(apiary);
-
-            LOGGER.info("Deleting apiary " + apiaryId + " with " + hivesToDelete.size() +
-                    " hives and " + productsToDelete.size() + " products");
-            for (HoneyProduct product : productsToDelete) {
-                try {
-                    List<CartItem> cartItems = cartItemRepository.findByProduct(product);
-                    for (CartItem cartItem : cartItems) {
-                        cartItemRepository.delete(cartItem);
-                        LOGGER.info("Deleted CartItem ID: " + cartItem.getItemId() + " for product: " + product.getName());
-                    }
-                    List<OrderItem> orderItems = orderItemRepository.findByProduct(product);
-                    for (OrderItem orderItem : orderItems) {
-                        orderItemRepository.delete(orderItem);
-                        LOGGER.info("Deleted OrderItem ID: " + orderItem.getOrderItemId() + " for product: " + product.getName());
+            return SessionScope.call(() -> {
+                Optional<Apiary> apiaryOpt = apiaryRepository.findById(apiaryId);
+                if (apiaryOpt.isEmpty()) {
+                    LOGGER.warning("Apiary not found: " + apiaryId);
+                    return null;
+                }
+                Apiary apiary = apiaryOpt.get();
+                List<Hive> hivesToDelete = apiaryRepository.findHivesByApiary(apiary);
+                List<HoneyProduct> productsToDelete = honeyProductRepository.findByApiary(apiary);
+
+                LOGGER.info("Deleting apiary " + apiaryId + " with " + hivesToDelete.size() +
+                        " hives and " + productsToDelete.size() + " products");
+
+                // Children first, one set-based delete per table, all in the same commit
+                ApiaryDeletionResult result = transactionTemplate.execute(session -> {
+                    int cartItems = cartItemRepository.deleteByApiary(session, apiary);
+                    int orderItems = orderItemRepository.deleteByApiary(session, apiary);
+                    int products = honeyProductRepository.deleteByApiary(session, apiary);
+                    int hives = hiveRepository.deleteByApiary(session, apiary);
+                    if (apiaryRepository.deleteById(session, apiaryId) == 0) {
+                        LOGGER.warning("Apiary was deleted concurrently: " + apiaryId);
+                        TransactionTemplate.setRollbackOnly(session);
+                        return null;
                     }
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error deleting references for product: " + product.getName(), e);
+                    return new ApiaryDeletionResult(apiaryId, cartItems, orderItems, products, hives);
+                });
+                if (result == null) {
+                    LOGGER.warning("Apiary deletion rolled back: " + apiaryId);
+                    return null;
+                }
+
+                for (HoneyProduct product : productsToDelete) {
+                    notifyObservers(EntityEvents.of(EntityChangeEvent.Type.DELETED, product, null));
                 }
-            }
-
-            apiaryRepository.deleteById(apiaryId);
-            for (HoneyProduct product : productsToDelete) {
-                LOGGER.info("Notifying observers about cascade-deleted product: " + product.getName());
-                notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.DELETED, product));
-            }
-            for (Hive hive : hivesToDelete) {
-                LOGGER.info("Notifying observers about cascade-deleted hive: " + hive.getHiveNumber());
-                notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.DELETED, hive));
-            }
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.DELETED, apiary));
-            LOGGER.info("Successfully deleted apiary: " + apiaryId + " and all related entities");
-            return true;
+                for (Hive hive : hivesToDelete) {
+                    notifyObservers(EntityEvents.of(EntityChangeEvent.Type.DELETED, hive, null));
+                }
+                notifyObservers(EntityEvents.of(EntityChangeEvent.Type.DELETED, apiary, null));
+                LOGGER.info("Successfully deleted apiary: " + result);
+                return result;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error deleting apiary: " + apiaryId, e);
-            return false;
+            return null;
         }
     }
 
@@ -201,11 +212,7 @@ public class ApiaryServiceImpl extends EventManager<EntityChangeEvent<?>> implem
     @Override
     public List<String> findAllLocations() {
         try {
-            return apiaryRepository.findAll().stream()
-                    .map(Apiary::getLocation)
-                    .distinct()
-                    .sorted()
-                    .collect(Collectors.toList());
+            return apiaryRepository.findAllLocations();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding all locations", e);
             return List.of();
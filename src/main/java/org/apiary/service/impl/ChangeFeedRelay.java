@@ -0,0 +1,161 @@
+package org.apiary.service.impl;
+
+import org.apiary.model.Apiary;
+import org.apiary.model.ChangeLogEntry;
+import org.apiary.model.Hive;
+import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.repository.changefeed.ChangeFeed;
+import org.apiary.repository.interfaces.ApiaryRepository;
+import org.apiary.repository.interfaces.HiveRepository;
+import org.apiary.repository.interfaces.HoneyProductRepository;
+import org.apiary.repository.interfaces.OrderRepository;
+import org.apiary.repository.interfaces.Repository;
+import org.apiary.service.interfaces.ApiaryService;
+import org.apiary.service.interfaces.HiveService;
+import org.apiary.service.interfaces.HoneyProductService;
+import org.apiary.service.interfaces.OrderService;
+import org.apiary.utils.events.EntityChangeEvent;
+import org.apiary.utils.observer.Observable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes the changes other application instances record in the change feed as entity change
+ * events of this instance's services, so observers follow remote changes the same way as local ones.
+ * Created and updated entities are read back from the database after being evicted from the
+ * second-level cache, which only this instance's own writes keep current. Deleted entities are
+ * described by their IDs and parents alone.
+ */
+public class ChangeFeedRelay {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeFeedRelay.class.getName());
+
+    private final ApiaryRepository apiaryRepository;
+    private final HiveRepository hiveRepository;
+    private final HoneyProductRepository honeyProductRepository;
+    private final OrderRepository orderRepository;
+    private final ApiaryService apiaryService;
+    private final HiveService hiveService;
+    private final HoneyProductService honeyProductService;
+    private final OrderService orderService;
+
+    public ChangeFeedRelay(ChangeFeed changeFeed,
+                           ApiaryRepository apiaryRepository,
+                           HiveRepository hiveRepository,
+                           HoneyProductRepository honeyProductRepository,
+                           OrderRepository orderRepository,
+                           ApiaryService apiaryService,
+                           HiveService hiveService,
+                           HoneyProductService honeyProductService,
+                           OrderService orderService) {
+        this.apiaryRepository = apiaryRepository;
+        this.hiveRepository = hiveRepository;
+        this.honeyProductRepository = honeyProductRepository;
+        this.orderRepository = orderRepository;
+        this.apiaryService = apiaryService;
+        this.hiveService = hiveService;
+        this.honeyProductService = honeyProductService;
+        this.orderService = orderService;
+
+        changeFeed.start(this::relay);
+    }
+
+    /**
+     * Publish a batch of remote changes, in the order they were recorded
+     * @param entries The changes
+     */
+    void relay(List<ChangeLogEntry> entries) {
+        LOGGER.fine("Relaying " + entries.size() + " remote changes");
+        // An entity changed several times in one batch is read once, in its latest state
+        Map<String, Optional<?>> loaded = new HashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            try {
+                EntityChangeEvent.Type type = EntityChangeEvent.Type.valueOf(entry.getChangeType());
+                Integer id = entry.getEntityId();
+                String key = entry.getEntityType() + ":" + id;
+
+                switch (entry.getEntityType()) {
+                    case "Apiary":
+                        publish(apiaryService, type, entry, type == EntityChangeEvent.Type.DELETED
+                                ? apiaryStub(id) : load(loaded, key, apiaryRepository, id));
+                        break;
+                    case "Hive":
+                        publish(hiveService, type, entry, type == EntityChangeEvent.Type.DELETED
+                                ? hiveStub(id, entry.getApiaryId()) : load(loaded, key, hiveRepository, id));
+                        break;
+                    case "HoneyProduct":
+                        publish(honeyProductService, type, entry, type == EntityChangeEvent.Type.DELETED
+                                ? productStub(entry) : load(loaded, key, honeyProductRepository, id));
+                        break;
+                    case "Order":
+                        publish(orderService, type, entry, type == EntityChangeEvent.Type.DELETED
+                                ? orderStub(id) : load(loaded, key, orderRepository, id));
+                        break;
+                    default:
+                        LOGGER.warning("Ignoring remote change of unknown entity type: " + entry);
+                        break;
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error relaying remote change: " + entry, e);
+            }
+        }
+    }
+
+    private <T> void publish(Observable<EntityChangeEvent<?>> service, EntityChangeEvent.Type type,
+                             ChangeLogEntry entry, T entity) {
+        if (entity == null) {
+            // Deleted again since; its deletion follows in the feed
+            LOGGER.fine("Remote change no longer applies: " + entry);
+            return;
+        }
+        service.notifyObservers(new EntityChangeEvent<>(type, entity, null,
+                entry.getClientId(), entry.getBeekeeperIdSet()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Map<String, Optional<?>> loaded, String key, Repository<Integer, T> repository, Integer id) {
+        return (T) loaded.computeIfAbsent(key, k -> {
+            repository.evictCached(id);
+            return repository.findById(id);
+        }).orElse(null);
+    }
+
+    private static Apiary apiaryStub(Integer apiaryId) {
+        if (apiaryId == null) {
+            return null;
+        }
+        Apiary apiary = new Apiary();
+        apiary.setApiaryId(apiaryId);
+        return apiary;
+    }
+
+    private static Hive hiveStub(Integer hiveId, Integer apiaryId) {
+        if (hiveId == null) {
+            return null;
+        }
+        Hive hive = new Hive();
+        hive.setHiveId(hiveId);
+        hive.setApiary(apiaryStub(apiaryId));
+        return hive;
+    }
+
+    private static HoneyProduct productStub(ChangeLogEntry entry) {
+        HoneyProduct product = new HoneyProduct();
+        product.setProductId(entry.getEntityId());
+        product.setApiary(apiaryStub(entry.getApiaryId()));
+        product.setHive(hiveStub(entry.getHiveId(), entry.getApiaryId()));
+        return product;
+    }
+
+    private static Order orderStub(Integer orderId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        return order;
+    }
+}
\ No newline at end of file
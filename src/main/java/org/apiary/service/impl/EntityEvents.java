@@ -0,0 +1,58 @@
+package org.apiary.service.impl;
+
+import org.apiary.model.Apiary;
+import org.apiary.model.Hive;
+import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.utils.events.EntityChangeEvent;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Factory for the change events the services publish, stamped with the owners of the entity
+ * so that observers subscribed for one client or beekeeper only receive what concerns them
+ */
+final class EntityEvents {
+
+    // Prevent instantiation
+    private EntityEvents() {
+    }
+
+    static EntityChangeEvent<Apiary> of(EntityChangeEvent.Type type, Apiary apiary, Apiary oldApiary) {
+        return new EntityChangeEvent<>(type, apiary, oldApiary, null, owners(apiary, oldApiary));
+    }
+
+    static EntityChangeEvent<Hive> of(EntityChangeEvent.Type type, Hive hive, Hive oldHive) {
+        return new EntityChangeEvent<>(type, hive, oldHive, null,
+                owners(hive.getApiary(), oldHive != null ? oldHive.getApiary() : null));
+    }
+
+    static EntityChangeEvent<HoneyProduct> of(EntityChangeEvent.Type type, HoneyProduct product,
+                                              HoneyProduct oldProduct) {
+        return new EntityChangeEvent<>(type, product, oldProduct, null,
+                owners(product.getApiary(), oldProduct != null ? oldProduct.getApiary() : null));
+    }
+
+    /**
+     * Create an order event; the order's items are usually not loaded once its session has
+     * closed, so the beekeepers whose products it contains are passed in
+     */
+    static EntityChangeEvent<Order> of(EntityChangeEvent.Type type, Order order, Order oldOrder,
+                                       Collection<Integer> beekeeperIds) {
+        Integer clientId = order.getClient() != null ? order.getClient().getUserId() : null;
+        return new EntityChangeEvent<>(type, order, oldOrder, clientId, beekeeperIds);
+    }
+
+    // An update may move an entity to another apiary, so both the old and new owners are notified
+    private static Set<Integer> owners(Apiary apiary, Apiary oldApiary) {
+        Set<Integer> beekeeperIds = new LinkedHashSet<>();
+        for (Apiary owner : new Apiary[] {apiary, oldApiary}) {
+            if (owner != null && owner.getBeekeeper() != null && owner.getBeekeeper().getUserId() != null) {
+                beekeeperIds.add(owner.getBeekeeper().getUserId());
+            }
+        }
+        return beekeeperIds;
+    }
+}
\ No newline at end of file
@@ -4,12 +4,15 @@ import org.apiary.model.Apiary;
 import org.apiary.model.Beekeeper;
 import org.apiary.model.Hive;
 import org.apiary.repository.interfaces.HiveRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.apiary.service.interfaces.ApiaryService;
 import org.apiary.service.interfaces.HiveService;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.EventManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,7 +47,7 @@ public class HiveServiceImpl extends EventManager<EntityChangeEvent<?>> implemen
             Hive hive = new Hive(hiveNumber, queenYear, apiary);
             Hive savedHive = hiveRepository.save(hive);
 
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.CREATED, savedHive));
+            notifyObservers(EntityEvents.of(EntityChangeEvent.Type.CREATED, savedHive, null));
 
             LOGGER.info("Created new hive: " + hiveNumber + " in apiary: " + apiary.getName());
             return savedHive;
@@ -57,40 +60,42 @@ public class HiveServiceImpl extends EventManager<EntityChangeEvent<?>> implemen
     @Override
     public Hive updateHive(Integer hiveId, Integer hiveNumber, Integer queenYear, Beekeeper beekeeper) {
         try {
-            Optional<Hive> hiveOpt = hiveRepository.findById(hiveId);
-            if (hiveOpt.isEmpty()) {
-                LOGGER.warning("Hive not found: " + hiveId);
-                return null;
-            }
-
-            Hive hive = hiveOpt.get();
-            Hive oldHive = new Hive(hive.getHiveNumber(), hive.getQueenYear(), hive.getApiary());
-            oldHive.setHiveId(hive.getHiveId());
+            return SessionScope.call(() -> {
+                Optional<Hive> hiveOpt = hiveRepository.findById(hiveId);
+                if (hiveOpt.isEmpty()) {
+                    LOGGER.warning("Hive not found: " + hiveId);
+                    return null;
+                }
 
-            if (!isHiveOwnedByBeekeeper(hiveId, beekeeper)) {
-                LOGGER.warning("Hive does not belong to beekeeper: " +
-                        hiveId + ", " + beekeeper.getUsername());
-                return null;
-            }
+                Hive hive = hiveOpt.get();
+                Hive oldHive = new Hive(hive.getHiveNumber(), hive.getQueenYear(), hive.getApiary());
+                oldHive.setHiveId(hive.getHiveId());
 
-            if (!hive.getHiveNumber().equals(hiveNumber)) {
-                List<Hive> existingHives = findByApiaryAndHiveNumber(hive.getApiary(), hiveNumber);
-                if (!existingHives.isEmpty()) {
-                    LOGGER.warning("Hive number already exists in apiary: " +
-                            hiveNumber + ", " + hive.getApiary().getApiaryId());
+                if (!isHiveOwnedByBeekeeper(hiveId, beekeeper)) {
+                    LOGGER.warning("Hive does not belong to beekeeper: " +
+                            hiveId + ", " + beekeeper.getUsername());
                     return null;
                 }
-            }
 
-            hive.setHiveNumber(hiveNumber);
-            hive.setQueenYear(queenYear);
+                if (!hive.getHiveNumber().equals(hiveNumber)) {
+                    List<Hive> existingHives = findByApiaryAndHiveNumber(hive.getApiary(), hiveNumber);
+                    if (!existingHives.isEmpty()) {
+                        LOGGER.warning("Hive number already exists in apiary: " +
+                                hiveNumber + ", " + hive.getApiary().getApiaryId());
+                        return null;
+                    }
+                }
+
+                hive.setHiveNumber(hiveNumber);
+                hive.setQueenYear(queenYear);
 
-            Hive updatedHive = hiveRepository.save(hive);
+                Hive updatedHive = hiveRepository.save(hive);
 
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, updatedHive, oldHive));
+                notifyObservers(EntityEvents.of(EntityChangeEvent.Type.UPDATED, updatedHive, oldHive));
 
-            LOGGER.info("Updated hive: " + hiveId);
-            return updatedHive;
+                LOGGER.info("Updated hive: " + hiveId);
+                return updatedHive;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error updating hive: " + hiveId, e);
             return null;
@@ -100,26 +105,28 @@ public class HiveServiceImpl extends EventManager<EntityChangeEvent<?>> implemen
     @Override
     public boolean deleteHive(Integer hiveId, Beekeeper beekeeper) {
         try {
-            Optional<Hive> hiveOpt = hiveRepository.findById(hiveId);
-            if (hiveOpt.isEmpty()) {
-                LOGGER.warning("Hive not found: " + hiveId);
-                return false;
-            }
+            return SessionScope.call(() -> {
+                Optional<Hive> hiveOpt = hiveRepository.findById(hiveId);
+                if (hiveOpt.isEmpty()) {
+                    LOGGER.warning("Hive not found: " + hiveId);
+                    return false;
+                }
 
-            Hive hive = hiveOpt.get();
+                Hive hive = hiveOpt.get();
 
-            if (!isHiveOwnedByBeekeeper(hiveId, beekeeper)) {
-                LOGGER.warning("Hive does not belong to beekeeper: " +
-                        hiveId + ", " + beekeeper.getUsername());
-                return false;
-            }
+                if (!isHiveOwnedByBeekeeper(hiveId, beekeeper)) {
+                    LOGGER.warning("Hive does not belong to beekeeper: " +
+                            hiveId + ", " + beekeeper.getUsername());
+                    return false;
+                }
 
-            hiveRepository.deleteById(hiveId);
+                hiveRepository.deleteById(hiveId);
 
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.DELETED, hive));
+                notifyObservers(EntityEvents.of(EntityChangeEvent.Type.DELETED, hive, null));
 
-            LOGGER.info("Deleted hive: " + hiveId);
-            return true;
+                LOGGER.info("Deleted hive: " + hiveId);
+                return true;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error deleting hive: " + hiveId, e);
             return false;
@@ -177,6 +184,16 @@ public class HiveServiceImpl extends EventManager<EntityChangeEvent<?>> implemen
         }
     }
 
+    @Override
+    public Map<Integer, Long> countByApiaries(Collection<Apiary> apiaries) {
+        try {
+            return hiveRepository.countByApiaries(apiaries);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting hives for " + apiaries.size() + " apiaries", e);
+            return Map.of();
+        }
+    }
+
     @Override
     public boolean isHiveOwnedByBeekeeper(Integer hiveId, Beekeeper beekeeper) {
         try {
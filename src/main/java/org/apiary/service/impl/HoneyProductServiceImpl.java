@@ -4,19 +4,29 @@ import org.apiary.model.Apiary;
 import org.apiary.model.Beekeeper;
 import org.apiary.model.Hive;
 import org.apiary.model.HoneyProduct;
+import org.apiary.model.projection.ProductCard;
 import org.apiary.repository.interfaces.HoneyProductRepository;
+import org.apiary.repository.transaction.SessionScope;
 import org.apiary.service.interfaces.ApiaryService;
 import org.apiary.service.interfaces.HiveService;
 import org.apiary.service.interfaces.HoneyProductService;
 import org.apiary.utils.events.EntityChangeEvent;
+import org.apiary.utils.events.EntityChangeFilter;
 import org.apiary.utils.observer.EventManager;
 import org.apiary.utils.pagination.Page;
 import org.apiary.utils.pagination.Pageable;
-import org.apiary.utils.pagination.PaginationUtils;
+import org.apiary.utils.search.InvertedIndex;
+import org.hibernate.Session;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -24,16 +34,49 @@ import java.util.stream.Collectors;
 public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>> implements HoneyProductService {
 
     private static final Logger LOGGER = Logger.getLogger(HoneyProductServiceImpl.class.getName());
+    // A word in the name says more about a product than the same word in its description
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
     private final HoneyProductRepository honeyProductRepository;
     private final ApiaryService apiaryService;
     private final HiveService hiveService;
+    private final InvertedIndex<Integer> searchIndex = new InvertedIndex<>(NAME_WEIGHT, DESCRIPTION_WEIGHT);
+    private final ScheduledExecutorService searchReconciler;
+    private volatile boolean searchIndexLoaded;
 
     public HoneyProductServiceImpl(HoneyProductRepository honeyProductRepository,
                                    ApiaryService apiaryService,
-                                   HiveService hiveService) {
+                                   HiveService hiveService,
+                                   long searchReconcileSeconds) {
         this.honeyProductRepository = honeyProductRepository;
         this.apiaryService = apiaryService;
         this.hiveService = hiveService;
+
+        // Indexed from this service's own events, so products changed by other instances are searchable too
+        addSynchronousObserver(event -> {
+            HoneyProduct product = (HoneyProduct) event.getEntity();
+            if (event.getType() == EntityChangeEvent.Type.DELETED) {
+                unindexProduct(product.getProductId());
+            } else {
+                indexProduct(product);
+            }
+        }, EntityChangeFilter.forEntities(HoneyProduct.class));
+        // Deleting an apiary deletes its products through the apiary service
+        apiaryService.addSynchronousObserver(
+                event -> unindexProduct(((HoneyProduct) event.getEntity()).getProductId()),
+                EntityChangeFilter.forEntities(HoneyProduct.class).ofTypes(EntityChangeEvent.Type.DELETED));
+
+        // Repairs whatever the events missed, such as changes made while an instance was unreachable
+        this.searchReconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (searchReconcileSeconds > 0) {
+            searchReconciler.scheduleWithFixedDelay(this::reconcileSearchIndex,
+                    searchReconcileSeconds, searchReconcileSeconds, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -67,7 +110,7 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
 
             // Notify observers with detailed logging
             LOGGER.info("Notifying " + countObservers() + " observers about new product creation");
-            EntityChangeEvent<HoneyProduct> event = new EntityChangeEvent<>(EntityChangeEvent.Type.CREATED, savedProduct);
+            EntityChangeEvent<HoneyProduct> event = EntityEvents.of(EntityChangeEvent.Type.CREATED, savedProduct, null);
             notifyObservers(event);
             LOGGER.info("Observer notification completed for product creation");
 
@@ -84,51 +127,53 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
                                            BigDecimal price, BigDecimal quantity,
                                            Beekeeper beekeeper) {
         try {
-            LOGGER.info("=== UPDATING HONEY PRODUCT ===");
-            LOGGER.info("Product ID: " + productId + " | New Price: " + price + " | New Quantity: " + quantity);
-            LOGGER.info("Beekeeper: " + beekeeper.getUsername());
+            return SessionScope.call(() -> {
+                LOGGER.info("=== UPDATING HONEY PRODUCT ===");
+                LOGGER.info("Product ID: " + productId + " | New Price: " + price + " | New Quantity: " + quantity);
+                LOGGER.info("Beekeeper: " + beekeeper.getUsername());
 
-            Optional<HoneyProduct> productOpt = honeyProductRepository.findById(productId);
-            if (productOpt.isEmpty()) {
-                LOGGER.warning("Honey product not found: " + productId);
-                return null;
-            }
+                Optional<HoneyProduct> productOpt = honeyProductRepository.findById(productId);
+                if (productOpt.isEmpty()) {
+                    LOGGER.warning("Honey product not found: " + productId);
+                    return null;
+                }
 
-            HoneyProduct product = productOpt.get();
-            HoneyProduct oldProduct = new HoneyProduct(product.getName(), product.getDescription(),
-                    product.getPrice(), product.getQuantity(), product.getApiary());
-            oldProduct.setProductId(product.getProductId());
-            oldProduct.setHive(product.getHive());
-
-            if (!isProductOwnedByBeekeeper(productId, beekeeper)) {
-                LOGGER.warning("Honey product does not belong to beekeeper: " +
-                        productId + ", " + beekeeper.getUsername());
-                return null;
-            }
+                HoneyProduct product = productOpt.get();
+                HoneyProduct oldProduct = new HoneyProduct(product.getName(), product.getDescription(),
+                        product.getPrice(), product.getQuantity(), product.getApiary());
+                oldProduct.setProductId(product.getProductId());
+                oldProduct.setHive(product.getHive());
 
-            product.setName(name);
-            product.setDescription(description);
-            product.setPrice(price);
-            product.setQuantity(quantity);
-            HoneyProduct updatedProduct = honeyProductRepository.save(product);
+                if (!isProductOwnedByBeekeeper(productId, beekeeper)) {
+                    LOGGER.warning("Honey product does not belong to beekeeper: " +
+                            productId + ", " + beekeeper.getUsername());
+                    return null;
+                }
 
-            LOGGER.info("=== ABOUT TO NOTIFY OBSERVERS ===");
-            LOGGER.info("Current observer count: " + countObservers());
-            LOGGER.info("Has observers: " + hasObservers());
+                product.setName(name);
+                product.setDescription(description);
+                product.setPrice(price);
+                product.setQuantity(quantity);
+                HoneyProduct updatedProduct = honeyProductRepository.save(product);
 
-            LOGGER.info("This HoneyProductService instance: " + this.getClass().getSimpleName() + "@" +
-                    Integer.toHexString(this.hashCode()));
+                LOGGER.info("=== ABOUT TO NOTIFY OBSERVERS ===");
+                LOGGER.info("Current observer count: " + countObservers());
+                LOGGER.info("Has observers: " + hasObservers());
 
-            EntityChangeEvent<HoneyProduct> event = new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, updatedProduct, oldProduct);
+                LOGGER.info("This HoneyProductService instance: " + this.getClass().getSimpleName() + "@" +
+                        Integer.toHexString(this.hashCode()));
 
-            LOGGER.info("=== NOTIFYING " + countObservers() + " OBSERVERS ===");
-            LOGGER.info("Event details: " + event.getType() + " | Entity: " + event.getEntityType());
+                EntityChangeEvent<HoneyProduct> event = EntityEvents.of(EntityChangeEvent.Type.UPDATED, updatedProduct, oldProduct);
 
-            notifyObservers(event);
+                LOGGER.info("=== NOTIFYING " + countObservers() + " OBSERVERS ===");
+                LOGGER.info("Event details: " + event.getType() + " | Entity: " + event.getEntityType());
+
+                notifyObservers(event);
 
-            LOGGER.info("=== OBSERVER NOTIFICATION COMPLETED ===");
+                LOGGER.info("=== OBSERVER NOTIFICATION COMPLETED ===");
 
-            return updatedProduct;
+                return updatedProduct;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error updating honey product: " + productId, e);
             return null;
@@ -138,28 +183,30 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
     @Override
     public boolean deleteHoneyProduct(Integer productId, Beekeeper beekeeper) {
         try {
-            Optional<HoneyProduct> productOpt = honeyProductRepository.findById(productId);
-            if (productOpt.isEmpty()) {
-                LOGGER.warning("Honey product not found: " + productId);
-                return false;
-            }
-
-            HoneyProduct product = productOpt.get();
-
-            // Check if product belongs to beekeeper
-            if (!isProductOwnedByBeekeeper(productId, beekeeper)) {
-                LOGGER.warning("Honey product does not belong to beekeeper: " +
-                        productId + ", " + beekeeper.getUsername());
-                return false;
-            }
-
-            honeyProductRepository.deleteById(productId);
-
-            // Notify observers
-            notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.DELETED, product));
-
-            LOGGER.info("Deleted honey product: " + productId);
-            return true;
+            return SessionScope.call(() -> {
+                Optional<HoneyProduct> productOpt = honeyProductRepository.findById(productId);
+                if (productOpt.isEmpty()) {
+                    LOGGER.warning("Honey product not found: " + productId);
+                    return false;
+                }
+
+                HoneyProduct product = productOpt.get();
+
+                // Check if product belongs to beekeeper
+                if (!isProductOwnedByBeekeeper(productId, beekeeper)) {
+                    LOGGER.warning("Honey product does not belong to beekeeper: " +
+                            productId + ", " + beekeeper.getUsername());
+                    return false;
+                }
+
+                honeyProductRepository.deleteById(productId);
+
+                // Notify observers
+                notifyObservers(EntityEvents.of(EntityChangeEvent.Type.DELETED, product, null));
+
+                LOGGER.info("Deleted honey product: " + productId);
+                return true;
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error deleting honey product: " + productId, e);
             return false;
@@ -282,30 +329,13 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
         try {
             LOGGER.info("Updating quantity for product " + productId + " - subtracting " + quantityToSubtract);
 
-            Optional<HoneyProduct> productOpt = honeyProductRepository.findById(productId);
-            if (productOpt.isEmpty()) {
-                LOGGER.warning("Honey product not found: " + productId);
-                return false;
-            }
-
-            HoneyProduct product = productOpt.get();
-            LOGGER.info("Current stock: " + product.getQuantity());
-
-            // Check if there is enough quantity
-            if (product.getQuantity().compareTo(quantityToSubtract) < 0) {
-                LOGGER.warning("Not enough quantity available for honey product: " + productId +
-                        " (Available: " + product.getQuantity() + ", Requested: " + quantityToSubtract + ")");
+            if (honeyProductRepository.decrementQuantity(productId, quantityToSubtract) == 0) {
+                LOGGER.warning("Not enough quantity available (or product not found) for honey product: " +
+                        productId + " (Requested: " + quantityToSubtract + ")");
                 return false;
             }
 
-            // Update quantity
-            BigDecimal newQuantity = product.getQuantity().subtract(quantityToSubtract);
-            product.setQuantity(newQuantity);
-            honeyProductRepository.save(product);
-
-            LOGGER.info("Updated quantity for honey product " + productId +
-                    " from " + product.getQuantity().add(quantityToSubtract) +
-                    " to " + newQuantity);
+            LOGGER.info("Subtracted " + quantityToSubtract + " from honey product " + productId);
             return true;
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error updating quantity for honey product: " + productId, e);
@@ -316,11 +346,7 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
     @Override
     public long countProductsByApiary(Integer apiaryId) {
         try {
-            Optional<Apiary> apiaryOpt = apiaryService.findById(apiaryId);
-            if (apiaryOpt.isEmpty()) {
-                return 0;
-            }
-            return honeyProductRepository.findByApiary(apiaryOpt.get()).size();
+            return honeyProductRepository.countByApiaryId(apiaryId);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error counting products by apiary: " + apiaryId, e);
             return 0;
@@ -330,17 +356,33 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
     @Override
     public long countProductsByHive(Integer hiveId) {
         try {
-            Optional<Hive> hiveOpt = hiveService.findById(hiveId);
-            if (hiveOpt.isEmpty()) {
-                return 0;
-            }
-            return honeyProductRepository.findByHive(hiveOpt.get()).size();
+            return honeyProductRepository.countByHiveId(hiveId);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error counting products by hive: " + hiveId, e);
             return 0;
         }
     }
 
+    @Override
+    public Map<Integer, Long> countProductsByApiaries(Collection<Apiary> apiaries) {
+        try {
+            return honeyProductRepository.countByApiaries(apiaries);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting products for " + apiaries.size() + " apiaries", e);
+            return Map.of();
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> countProductsByHives(Collection<Hive> hives) {
+        try {
+            return honeyProductRepository.countByHives(hives);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error counting products for " + hives.size() + " hives", e);
+            return Map.of();
+        }
+    }
+
     @Override
     public List<HoneyProduct> findByBeekeeper(Beekeeper beekeeper) {
         try {
@@ -357,25 +399,7 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
     @Override
     public Page<HoneyProduct> findByFilters(String category, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         try {
-            List<HoneyProduct> allProducts = honeyProductRepository.findAll();
-
-            // Apply filters
-            List<HoneyProduct> filteredProducts = allProducts.stream()
-                    .filter(product -> {
-                        if (category != null && !product.getName().toLowerCase().contains(category.toLowerCase())) {
-                            return false;
-                        }
-                        if (minPrice != null && product.getPrice().compareTo(minPrice) < 0) {
-                            return false;
-                        }
-                        if (maxPrice != null && product.getPrice().compareTo(maxPrice) > 0) {
-                            return false;
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            return PaginationUtils.createPage(filteredProducts, pageable);
+            return findPage(null, category, minPrice, maxPrice, false, pageable);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding products by filters", e);
             return new Page<>(List.of(), pageable.getPage(), pageable.getSize(), 0);
@@ -385,24 +409,8 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
     @Override
     public Page<HoneyProduct> findAvailableProducts(Pageable pageable) {
         try {
-            LOGGER.info("=== FINDING AVAILABLE PRODUCTS (WITH FRESH DATA) ===");
-            LOGGER.info("Page: " + pageable.getPage() + " | Size: " + pageable.getSize());
-
-            // Get fresh data from repository (not cached)
-            List<HoneyProduct> availableProducts = honeyProductRepository.findAvailableProducts();
-
-            LOGGER.info("Found " + availableProducts.size() + " available products from database");
-
-            // Log each product for debugging
-            for (HoneyProduct product : availableProducts) {
-                LOGGER.info("Product: " + product.getName() + " | Price: " + product.getPrice() +
-                        " | Quantity: " + product.getQuantity() + " | ID: " + product.getProductId());
-            }
-
-            Page<HoneyProduct> result = PaginationUtils.createPage(availableProducts, pageable);
-            LOGGER.info("Created page with " + result.getContent().size() + " products");
-
-            return result;
+            LOGGER.info("Finding available products - Page: " + pageable.getPage() + " | Size: " + pageable.getSize());
+            return findPage(null, null, null, null, true, pageable);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding available products", e);
             return new Page<>(List.of(), pageable.getPage(), pageable.getSize(), 0);
@@ -412,28 +420,107 @@ public class HoneyProductServiceImpl extends EventManager<EntityChangeEvent<?>>
     @Override
     public Page<HoneyProduct> findByNameContaining(String name, String category, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         try {
-            List<HoneyProduct> allProducts = honeyProductRepository.findByNameContaining(name);
-
-            // Apply additional filters
-            List<HoneyProduct> filteredProducts = allProducts.stream()
-                    .filter(product -> {
-                        if (category != null && !product.getName().toLowerCase().contains(category.toLowerCase())) {
-                            return false;
-                        }
-                        if (minPrice != null && product.getPrice().compareTo(minPrice) < 0) {
-                            return false;
-                        }
-                        if (maxPrice != null && product.getPrice().compareTo(maxPrice) > 0) {
-                            return false;
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            return PaginationUtils.createPage(filteredProducts, pageable);
+            return findPage(name, category, minPrice, maxPrice, false, pageable);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding products by name containing: " + name, e);
             return new Page<>(List.of(), pageable.getPage(), pageable.getSize(), 0);
         }
     }
+
+    @Override
+    public Page<ProductCard> findProductCards(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                              boolean availableOnly, Pageable pageable) {
+        try {
+            long totalElements = honeyProductRepository.countByFilters(name, category, minPrice, maxPrice, availableOnly);
+            if (totalElements == 0 || pageable.getOffset() >= totalElements) {
+                return new Page<>(List.of(), pageable.getPage(), pageable.getSize(), totalElements);
+            }
+            List<ProductCard> content = honeyProductRepository.findCardPageByFilters(
+                    name, category, minPrice, maxPrice, availableOnly, pageable);
+            return new Page<>(content, pageable.getPage(), pageable.getSize(), totalElements);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding product cards", e);
+            return new Page<>(List.of(), pageable.getPage(), pageable.getSize(), 0);
+        }
+    }
+
+    @Override
+    public List<Integer> searchProductIds(String query, int limit) {
+        try {
+            if (!searchIndexLoaded) {
+                synchronized (searchIndex) {
+                    if (!searchIndexLoaded) {
+                        loadSearchIndex();
+                    }
+                }
+            }
+            return searchIndex.search(query, limit);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error searching products: " + query, e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        searchReconciler.shutdownNow();
+        LOGGER.info("Search index reconciliation stopped");
+    }
+
+    /**
+     * Bring the search index in line with the database: every product is indexed again and
+     * products that no longer exist are dropped. A failed read throws and leaves the index,
+     * and whether it counts as loaded, as they were.
+     */
+    private void loadSearchIndex() {
+        synchronized (searchIndex) {
+            List<HoneyProduct> products;
+            try (Session session = SessionScope.openSession()) {
+                products = honeyProductRepository.findAll(session);
+            }
+            Set<Integer> removed = searchIndex.keys();
+            for (HoneyProduct product : products) {
+                removed.remove(product.getProductId());
+                searchIndex.put(product.getProductId(), product.getName(), product.getDescription());
+            }
+            removed.forEach(searchIndex::remove);
+            if (searchIndexLoaded && !removed.isEmpty()) {
+                LOGGER.warning("Search index reconciliation dropped " + removed.size() + " deleted products");
+            }
+            searchIndexLoaded = true;
+            LOGGER.fine("Search index holds " + products.size() + " products");
+        }
+    }
+
+    private void reconcileSearchIndex() {
+        try {
+            loadSearchIndex();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error reconciling the search index", e);
+        }
+    }
+
+    // Index changes take the same lock as loading, so none is lost while it runs
+    private void indexProduct(HoneyProduct product) {
+        synchronized (searchIndex) {
+            searchIndex.put(product.getProductId(), product.getName(), product.getDescription());
+        }
+    }
+
+    private void unindexProduct(Integer productId) {
+        synchronized (searchIndex) {
+            searchIndex.remove(productId);
+        }
+    }
+
+    private Page<HoneyProduct> findPage(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                        boolean availableOnly, Pageable pageable) {
+        long totalElements = honeyProductRepository.countByFilters(name, category, minPrice, maxPrice, availableOnly);
+        if (totalElements == 0 || pageable.getOffset() >= totalElements) {
+            return new Page<>(List.of(), pageable.getPage(), pageable.getSize(), totalElements);
+        }
+        List<HoneyProduct> content = honeyProductRepository.findPageByFilters(
+                name, category, minPrice, maxPrice, availableOnly, pageable);
+        return new Page<>(content, pageable.getPage(), pageable.getSize(), totalElements);
+    }
 }
\ No newline at end of file
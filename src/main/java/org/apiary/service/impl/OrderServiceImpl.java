@@ -1,186 +1,490 @@
 package org.apiary.service.impl;
 
 import org.apiary.model.*;
+import org.apiary.model.projection.OrderRow;
+import org.apiary.repository.interfaces.CartItemRepository;
 import org.apiary.repository.interfaces.OrderItemRepository;
 import org.apiary.repository.interfaces.OrderRepository;
 import org.apiary.repository.interfaces.HoneyProductRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.repository.transaction.TransactionTemplate;
 import org.apiary.service.interfaces.HoneyProductService;
 import org.apiary.service.interfaces.OrderService;
 import org.apiary.service.interfaces.PaymentService;
 import org.apiary.service.interfaces.ShoppingCartService;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.EventManager;
+import org.apiary.utils.pagination.KeysetPage;
+import org.apiary.utils.pagination.KeysetPageable;
+import org.hibernate.Session;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> implements OrderService {
 
     private static final Logger LOGGER = Logger.getLogger(OrderServiceImpl.class.getName());
+    private static final int PLACEMENT_THREADS = 4;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final int PAYMENT_RECORD_ATTEMPTS = 3;
+    private static final long PAYMENT_RECORD_RETRY_MILLIS = 500;
+    // Orders holding reserved stock that have not been paid for yet
+    private static final Set<String> UNPAID_STATUSES = Set.of("PENDING", "PAYMENT_REVIEW");
+    // Orders whose stock can be given back by canceling them
+    private static final Set<String> CANCELABLE_STATUSES = Set.of("PENDING", "PAYMENT_REVIEW", "PAID");
+    // Orders under payment review may already be charged, so only a beekeeper can cancel them
+    private static final Set<String> CLIENT_CANCELABLE_STATUSES = Set.of("PENDING", "PAID");
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ShoppingCartService shoppingCartService;
     private final PaymentService paymentService;
     private final HoneyProductService honeyProductService;
     private final HoneyProductRepository honeyProductRepository;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxRelay outboxRelay;
+    private final ExecutorService placementExecutor;
+    private final ScheduledExecutorService pendingOrderReviewer;
+    private final long pendingReviewMinutes;
 
+    /**
+     * Create the order service
+     * @param pendingReviewMinutes How long an order may stay PENDING before it is moved to PAYMENT_REVIEW
+     *                             for a beekeeper to settle; 0 disables the check
+     */
     public OrderServiceImpl(OrderRepository orderRepository,
                             OrderItemRepository orderItemRepository,
                             ShoppingCartService shoppingCartService,
                             PaymentService paymentService,
                             HoneyProductService honeyProductService,
-                            HoneyProductRepository honeyProductRepository) {
+                            HoneyProductRepository honeyProductRepository,
+                            CartItemRepository cartItemRepository,
+                            TransactionTemplate transactionTemplate,
+                            OutboxRelay outboxRelay,
+                            long pendingReviewMinutes) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.shoppingCartService = shoppingCartService;
         this.paymentService = paymentService;
         this.honeyProductService = honeyProductService;
         this.honeyProductRepository = honeyProductRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxRelay = outboxRelay;
+        this.pendingReviewMinutes = pendingReviewMinutes;
+
+        // Placement reads the cart and runs a transaction, so it never runs on the caller's thread
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.placementExecutor = Executors.newFixedThreadPool(PLACEMENT_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "order-placement-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // An order whose payment outcome was never recorded, e.g. because the instance stopped, still
+        // holds its stock; hand it to a beekeeper instead of leaving the reservation without an owner
+        this.pendingOrderReviewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pending-order-review");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (pendingReviewMinutes > 0) {
+            pendingOrderReviewer.scheduleWithFixedDelay(this::reviewStalePendingOrders,
+                    pendingReviewMinutes, pendingReviewMinutes, TimeUnit.MINUTES);
+        }
+
+        outboxRelay.start(this::publishOutboxEvent);
     }
 
     @Override
     public Order createOrderFromCart(Client client) {
+        Order order = createOrderFromCartAsync(client).join();
+        return order != null && "PAID".equals(order.getStatus()) ? order : null;
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrderFromCartAsync(Client client) {
+        return CompletableFuture.supplyAsync(() -> placeOrderFromCart(client), placementExecutor)
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Reserve stock and save the order for the client's cart, then start its payment
+     * @param client The client placing the order
+     * @return A future completed with the paid or canceled order, or null if the order could not be placed
+     */
+    private CompletableFuture<Order> placeOrderFromCart(Client client) {
         try {
-            LOGGER.info("=== STARTING ORDER CREATION WITH DIRECT PAYMENT ===");
+            LOGGER.info("=== STARTING ORDER CREATION WITH ASYNC PAYMENT ===");
             LOGGER.info("Client: " + client.getUsername() + " (ID: " + client.getUserId() + ")");
+            Optional<ShoppingCart> cartOpt = shoppingCartService.findByClient(client);
             List<CartItem> cartItems = shoppingCartService.getCartItems(client);
             LOGGER.info("Found " + cartItems.size() + " cart items");
 
-            if (cartItems.isEmpty()) {
+            if (cartOpt.isEmpty() || cartItems.isEmpty()) {
                 LOGGER.warning("Cannot create order from empty cart for client: " + client.getUsername());
-                return null;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (client.getUserId() == null) {
+                LOGGER.severe("Client is not properly attached to order");
+                return CompletableFuture.completedFuture(null);
             }
 
-            for (int i = 0; i < cartItems.size(); i++) {
-                CartItem item = cartItems.get(i);
-                LOGGER.info("Cart Item " + (i+1) + ": " + item.getProduct().getName() +
-                        " | Quantity: " + item.getQuantity() +
-                        " | Price: " + item.getPrice() +
-                        " | Product ID: " + item.getProduct().getProductId());
-
-                Optional<HoneyProduct> productOpt = honeyProductService.findById(item.getProduct().getProductId());
-                if (productOpt.isEmpty()) {
-                    LOGGER.severe("Product not found in database: " + item.getProduct().getProductId());
-                    return null;
-                }
+            // Reserve stock for every item and save the order in a single transaction
+            Order placedOrder = transactionTemplate.execute(session -> placeOrder(session, client, cartItems));
+            if (placedOrder == null) {
+                LOGGER.severe("Order placement was rolled back for client: " + client.getUsername());
+                return CompletableFuture.completedFuture(null);
+            }
+            LOGGER.info("Order placed with ID: " + placedOrder.getOrderId() + ", processing payment");
+
+            // The gateway is called outside the transaction so no product rows stay locked while it runs.
+            // The result may arrive on the payment timeout thread, so finish the order back on the placement pool.
+            ShoppingCart cart = cartOpt.get();
+            return paymentService.processPaymentAsync(placedOrder)
+                    .thenApplyAsync(result -> finishOrder(placedOrder, cart, result), placementExecutor)
+                    .exceptionally(e -> abandonOrder(placedOrder.getOrderId(), e));
+
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error creating order from cart for client: " + client.getUsername(), e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
 
-                HoneyProduct product = productOpt.get();
-                LOGGER.info("Product current stock: " + product.getQuantity());
+    /**
+     * Move a placed order out of PENDING once its payment has finished.
+     * A successful payment marks the order paid and clears the cart; a failed payment cancels the
+     * order and gives its reserved stock back. A timed out payment may still have been charged, so the
+     * order is moved to PAYMENT_REVIEW instead of being canceled.
+     * If the order was canceled while the payment ran, a successful payment is recorded on the
+     * canceled order as due for a refund. If the paid order cannot be written, the write is retried
+     * and the order finally moved to PAYMENT_REVIEW, keeping its stock until a beekeeper settles it.
+     * @param placedOrder The pending order
+     * @param cart The cart the order was placed from
+     * @param result The payment result
+     * @return The order as it was left, or null if its status could not be updated
+     */
+    private Order finishOrder(Order placedOrder, ShoppingCart cart, PaymentResult result) {
+        Integer orderId = placedOrder.getOrderId();
+        if (result.isTimedOut()) {
+            LOGGER.severe("Payment outcome unknown for order: " + orderId + " (" + result.getMessage() + ")");
+            Order heldOrder = holdForReview(orderId, result.getPayment());
+            return heldOrder != null ? heldOrder : orderRepository.findById(orderId).orElse(null);
+        }
+        if (!result.isSuccessful()) {
+            LOGGER.severe("Payment failed for order: " + orderId + " (" + result.getMessage() + ")");
+            Order canceledOrder = transactionTemplate.execute(session -> announce(session,
+                    EntityChangeEvent.Type.UPDATED,
+                    cancelAndRestoreStock(session, orderId, result.getPayment(), UNPAID_STATUSES)));
+            return canceledOrder != null ? canceledOrder : orderRepository.findById(orderId).orElse(null);
+        }
 
-                if (product.getQuantity().compareTo(BigDecimal.valueOf(item.getQuantity())) < 0) {
-                    LOGGER.severe("Insufficient stock for product: " + product.getName() +
-                            " (Available: " + product.getQuantity() + ", Requested: " + item.getQuantity() + ")");
-                    return null;
+        for (int attempt = 1; attempt <= PAYMENT_RECORD_ATTEMPTS; attempt++) {
+            // Mark the order paid, record the payment and clear the cart in one commit
+            Order paidOrder = transactionTemplate.execute(session -> {
+                Order order = completePayment(session, orderId, result.getPayment());
+                if (order != null) {
+                    cartItemRepository.deleteByCart(session, cart);
                 }
+                return announce(session, EntityChangeEvent.Type.CREATED, order);
+            });
+            if (paidOrder != null) {
+                LOGGER.info("Order " + orderId + " paid");
+                return paidOrder;
             }
 
-            Order order = new Order(client);
-            order.setStatus("PAID");
-            if (order.getClient() == null || order.getClient().getUserId() == null) {
-                LOGGER.severe("Client is not properly attached to order");
-                return null;
+            Optional<Order> current = orderRepository.findById(orderId);
+            if (current.isPresent() && !UNPAID_STATUSES.contains(current.get().getStatus())) {
+                // Canceled while the gateway was charging; the stock is already back, the charge is not
+                LOGGER.severe("Order " + orderId + " was " + current.get().getStatus() +
+                        " before its payment succeeded; the payment must be refunded");
+                return recordRefundDue(orderId, result.getPayment());
             }
-            LOGGER.info("Client properly attached to order");
-
-            for (CartItem cartItem : cartItems) {
-                try {
-                    OrderItem orderItem = new OrderItem(
-                            order,
-                            cartItem.getProduct(),
-                            cartItem.getQuantity(),
-                            cartItem.getPrice());
-
-                    order.addItem(orderItem);
-                } catch (Exception e) {
-                    LOGGER.log(Level.SEVERE, "Error creating order item for product: " +
-                            cartItem.getProduct().getName(), e);
-                    return null;
-                }
+            LOGGER.warning("Failed to record payment for order: " + orderId + " (attempt " + attempt + " of " +
+                    PAYMENT_RECORD_ATTEMPTS + ")");
+            if (attempt < PAYMENT_RECORD_ATTEMPTS && !pause(PAYMENT_RECORD_RETRY_MILLIS * attempt)) {
+                break;
             }
+        }
+        return holdForReview(orderId, result.getPayment());
+    }
 
-            try {
-                Order savedOrder = orderRepository.save(order);
-                if (savedOrder == null) {
-                    LOGGER.severe("Repository returned null after save attempt");
-                    return null;
-                }
-                if (savedOrder.getOrderId() == null) {
-                    LOGGER.severe("Saved order has null ID");
-                    return null;
-                }
-                LOGGER.info("Order saved successfully with ID: " + savedOrder.getOrderId());
-                LOGGER.info("Processing payment automatically for order: " + savedOrder.getOrderId());
-                boolean paymentSuccess = paymentService.processPayment(savedOrder);
-
-                if (paymentSuccess) {
-                    LOGGER.info("Payment successful, updating product quantities");
-                    List<OrderItem> orderItems = orderItemRepository.findByOrder(savedOrder);
-                    boolean allStockUpdated = true;
-
-                    for (OrderItem item : orderItems) {
-                        BigDecimal quantityToSubtract = BigDecimal.valueOf(item.getQuantity());
-
-                        LOGGER.info("Updating stock for product " + item.getProduct().getProductId() +
-                                " - subtracting " + quantityToSubtract + " units");
-
-                        boolean stockUpdated = honeyProductService.updateQuantityAfterPurchase(
-                                item.getProduct().getProductId(),
-                                quantityToSubtract);
-
-                        if (!stockUpdated) {
-                            LOGGER.severe("Failed to update stock for product: " + item.getProduct().getProductId());
-                            allStockUpdated = false;
-                            break;
-                        } else {
-                            LOGGER.info("Successfully updated stock for product: " + item.getProduct().getProductId());
-                        }
-                    }
-
-                    if (!allStockUpdated) {
-                        LOGGER.severe("Stock update failed, canceling order");
-                        savedOrder.setStatus("CANCELED");
-                        orderRepository.save(savedOrder);
-                        notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, savedOrder));
-                        return null;
-                    }
-
-                    LOGGER.info("Clearing shopping cart for client: " + client.getUsername());
-                    boolean cartCleared = shoppingCartService.clearCart(client);
-                    if (!cartCleared) {
-                        LOGGER.warning("Failed to clear cart for client: " + client.getUsername());
-                    }
-
-                    notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.CREATED, savedOrder));
-
-                    LOGGER.info("=== ORDER CREATION WITH PAYMENT COMPLETED SUCCESSFULLY ===");
-                    return savedOrder;
+    /**
+     * Release a placed order whose payment could not be finished.
+     * If the order could not even be handed back to the placement pool the payment outcome is unknown,
+     * so it is held for review; otherwise it is canceled and its reserved stock given back.
+     * @param orderId The order ID
+     * @param error The error that stopped the order from being finished
+     * @return The order as it was left, or null if it could not be read back
+     */
+    private Order abandonOrder(Integer orderId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        LOGGER.log(Level.SEVERE, "Error finishing order: " + orderId, cause);
+        Order order = cause instanceof RejectedExecutionException
+                ? holdForReview(orderId, null)
+                : transactionTemplate.execute(session -> announce(session, EntityChangeEvent.Type.UPDATED,
+                        cancelAndRestoreStock(session, orderId, null, UNPAID_STATUSES)));
+        return order != null ? order : orderRepository.findById(orderId).orElse(null);
+    }
 
-                } else {
-                    LOGGER.severe("Payment failed for order: " + savedOrder.getOrderId());
-                    savedOrder.setStatus("CANCELED");
-                    orderRepository.save(savedOrder);
+    /**
+     * Record a successful payment on an order that was canceled while it ran, as due for a refund
+     * @param orderId The order ID
+     * @param payment The successful payment
+     * @return The canceled order, or null if the payment could not be recorded
+     */
+    private Order recordRefundDue(Integer orderId, Payment payment) {
+        Order order = transactionTemplate.execute(session -> {
+            Order canceled = orderRepository.findById(session, orderId)
+                    .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId));
+            recordPayment(canceled, payment, "REFUND_DUE");
+            return announce(session, EntityChangeEvent.Type.UPDATED, orderRepository.save(session, canceled));
+        });
+        if (order == null) {
+            LOGGER.severe("Failed to record refund due for order: " + orderId);
+        }
+        return order;
+    }
 
-                    notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, savedOrder));
+    /**
+     * Move an unpaid order to PAYMENT_REVIEW, where it keeps its reserved stock until a beekeeper
+     * marks it PAID or CANCELED
+     * @param orderId The order ID
+     * @param payment The payment to record, or null if its outcome is unknown
+     * @return The order under review, or null if it could not be moved
+     */
+    private Order holdForReview(Integer orderId, Payment payment) {
+        Order order = transactionTemplate.execute(session -> {
+            Order unpaid = orderRepository.findById(session, orderId)
+                    .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId));
+            if (!UNPAID_STATUSES.contains(unpaid.getStatus())) {
+                TransactionTemplate.setRollbackOnly(session);
+                return null;
+            }
+            unpaid.setStatus("PAYMENT_REVIEW");
+            if (payment != null) {
+                recordPayment(unpaid, payment, payment.getStatus());
+            }
+            return announce(session, EntityChangeEvent.Type.UPDATED, orderRepository.save(session, unpaid));
+        });
+        if (order != null) {
+            LOGGER.severe("Order " + orderId + " needs a beekeeper to review its payment");
+        } else {
+            LOGGER.severe("Failed to move order " + orderId + " to payment review; it stays PENDING until " +
+                    "the pending order review picks it up");
+        }
+        return order;
+    }
 
-                    return null;
+    /**
+     * Move the orders that have been PENDING for longer than a placement can take to PAYMENT_REVIEW
+     * @return The number of orders moved
+     */
+    int reviewStalePendingOrders() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(pendingReviewMinutes);
+            int moved = 0;
+            for (Order order : orderRepository.findByStatus("PENDING")) {
+                if (order.getDate().isBefore(cutoff) && holdForReview(order.getOrderId(), null) != null) {
+                    moved++;
                 }
+            }
+            return moved;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error reviewing stale pending orders", e);
+            return 0;
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Database error while saving order", e);
+    /**
+     * Reserve stock for the cart items and save a pending order, within an existing unit of work.
+     * Marks the unit of work rollback-only if any product does not have enough stock.
+     * @param session The session of the unit of work
+     * @param client The client placing the order
+     * @param cartItems The items in the client's cart
+     * @return The saved order, or null if stock was insufficient
+     */
+    private Order placeOrder(Session session, Client client, List<CartItem> cartItems) {
+        Order order = new Order(client);
+
+        // Decrement in product ID order so concurrent checkouts lock rows in the same order
+        List<CartItem> sortedItems = new ArrayList<>(cartItems);
+        sortedItems.sort(Comparator.comparing(item -> item.getProduct().getProductId()));
+
+        for (CartItem cartItem : sortedItems) {
+            Integer productId = cartItem.getProduct().getProductId();
+            BigDecimal quantity = BigDecimal.valueOf(cartItem.getQuantity());
+            if (honeyProductRepository.decrementQuantity(session, productId, quantity) == 0) {
+                LOGGER.severe("Insufficient stock for product: " + cartItem.getProduct().getName() +
+                        " (Requested: " + quantity + ")");
+                TransactionTemplate.setRollbackOnly(session);
                 return null;
             }
+            order.addItem(new OrderItem(order, cartItem.getProduct(), cartItem.getQuantity(), cartItem.getPrice()));
+            outboxRelay.enqueue(session, EntityChangeEvent.Type.UPDATED, "HoneyProduct", productId);
+        }
 
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Unexpected error creating order from cart for client: " + client.getUsername(), e);
-            e.printStackTrace();
+        return orderRepository.save(session, order);
+    }
+
+    /**
+     * Mark an order as paid and record its payment, within an existing unit of work.
+     * Marks the unit of work rollback-only if the order is no longer waiting for payment, e.g.
+     * because it was canceled while the gateway ran and its stock is already back on sale.
+     * @param session The session of the unit of work
+     * @param orderId The order ID
+     * @param payment The payment returned by the payment system, or null if none was recorded
+     * @return The paid order, or null if the order is no longer waiting for payment
+     */
+    private Order completePayment(Session session, Integer orderId, Payment payment) {
+        Order order = orderRepository.findById(session, orderId)
+                .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId));
+        if (!UNPAID_STATUSES.contains(order.getStatus())) {
+            LOGGER.warning("Cannot mark order paid with status: " + order.getStatus() + " for order: " + orderId);
+            TransactionTemplate.setRollbackOnly(session);
             return null;
         }
+        order.setStatus("PAID");
+        recordPayment(order, payment, "SUCCESS");
+        return orderRepository.save(session, order);
+    }
+
+    /**
+     * Record a payment outcome on a managed order, updating the payment it already has if any.
+     * The payment passed in is copied, so a retried unit of work never reuses one a rolled-back
+     * attempt has touched.
+     * @param order The managed order
+     * @param payment The payment returned by the payment system, or null if none was returned
+     * @param status The payment status to record
+     */
+    private static void recordPayment(Order order, Payment payment, String status) {
+        Payment recorded = order.getPayment();
+        if (recorded == null) {
+            recorded = new Payment(order, order.getTotal(), status);
+            order.setPayment(recorded);
+        }
+        recorded.setStatus(status);
+        if (payment != null) {
+            recorded.setAmount(payment.getAmount());
+            recorded.setDate(payment.getDate());
+        }
+    }
+
+    /**
+     * Create an order event addressed to the order's client and to the beekeepers whose products it contains
+     * @param type The type of change
+     * @param order The order
+     * @return The event
+     */
+    private EntityChangeEvent<Order> orderEvent(EntityChangeEvent.Type type, Order order) {
+        return EntityEvents.of(type, order, null, orderRepository.findBeekeeperIdsByOrder(order.getOrderId()));
+    }
+
+    /**
+     * Write an order event to the outbox, within the unit of work that changed the order
+     * @param session The session of the unit of work
+     * @param type The type of change
+     * @param order The changed order, or null if the unit of work is being rolled back
+     * @return The order
+     */
+    private Order announce(Session session, EntityChangeEvent.Type type, Order order) {
+        if (order != null) {
+            outboxRelay.enqueue(session, type, "Order", order.getOrderId());
+        }
+        return order;
+    }
+
+    /**
+     * Publish an order or stock event from the outbox, with the entity as it is now.
+     * An entity deleted since is skipped; a failure to read it is thrown so the event is retried.
+     * @param event The outbox event
+     */
+    private void publishOutboxEvent(OutboxEvent event) {
+        EntityChangeEvent.Type type = EntityChangeEvent.Type.valueOf(event.getEventType());
+        Integer id = event.getEntityId();
+        switch (event.getEntityType()) {
+            case "Order": {
+                EntityChangeEvent<Order> orderEvent;
+                try (SessionScope scope = SessionScope.open()) {
+                    Optional<Order> order = orderRepository.findById(scope.getSession(), id);
+                    orderEvent = order.map(o -> orderEvent(type, o)).orElse(null);
+                }
+                if (orderEvent != null) {
+                    notifyObservers(orderEvent);
+                } else {
+                    LOGGER.fine("Order no longer exists for outbox event: " + event);
+                }
+                break;
+            }
+            case "HoneyProduct": {
+                EntityChangeEvent<HoneyProduct> productEvent;
+                try (SessionScope scope = SessionScope.open()) {
+                    Optional<HoneyProduct> product = honeyProductRepository.findById(scope.getSession(), id);
+                    productEvent = product.map(p -> EntityEvents.of(type, p, null)).orElse(null);
+                }
+                if (productEvent != null) {
+                    honeyProductService.notifyObservers(productEvent);
+                } else {
+                    LOGGER.fine("Product no longer exists for outbox event: " + event);
+                }
+                break;
+            }
+            default:
+                LOGGER.warning("Ignoring outbox event of unknown entity type: " + event);
+                break;
+        }
+    }
+
+    /**
+     * Cancel an order and give its reserved stock back, within an existing unit of work
+     * @param session The session of the unit of work
+     * @param orderId The order ID
+     * @param payment The failed payment to record, or null if none
+     * @param cancelableStatuses The statuses the order may be canceled from
+     * @return The canceled order, or null if the order can no longer be canceled
+     */
+    private Order cancelAndRestoreStock(Session session, Integer orderId, Payment payment,
+                                        Set<String> cancelableStatuses) {
+        Order order = orderRepository.findById(session, orderId)
+                .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId));
+        if (!cancelableStatuses.contains(order.getStatus())) {
+            // Already canceled, paid or delivered by a concurrent request; its stock must not be restored twice
+            LOGGER.warning("Cannot cancel order with status: " + order.getStatus() + " for order: " + orderId);
+            TransactionTemplate.setRollbackOnly(session);
+            return null;
+        }
+        restoreStockForOrder(session, order);
+        order.setStatus("CANCELED");
+        if (payment != null) {
+            recordPayment(order, payment, payment.getStatus());
+        }
+        return orderRepository.save(session, order);
     }
 
     @Override
@@ -196,13 +500,23 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
     @Override
     public List<Order> findByClient(Client client) {
         try {
-            return orderRepository.findByClient(client);
+            return orderRepository.findByClientWithItems(client);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding orders by client: " + client.getUsername(), e);
             return List.of();
         }
     }
 
+    @Override
+    public KeysetPage<OrderRow> findOrderRowsByClient(Client client, KeysetPageable pageable) {
+        try {
+            return orderRepository.findRowsByClient(client, pageable);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding order rows by client: " + client.getUsername(), e);
+            return KeysetPage.empty();
+        }
+    }
+
     @Override
     public List<Order> findByStatus(String status) {
         try {
@@ -247,14 +561,13 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
     @Override
     public List<OrderItem> getOrderItems(Integer orderId) {
         try {
-            Optional<Order> orderOpt = orderRepository.findById(orderId);
+            Optional<Order> orderOpt = orderRepository.findByIdWithItems(orderId);
             if (orderOpt.isEmpty()) {
                 LOGGER.warning("Order not found: " + orderId);
                 return List.of();
             }
 
-            Order order = orderOpt.get();
-            return orderItemRepository.findByOrder(order);
+            return new ArrayList<>(orderOpt.get().getItems());
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error getting order items for order: " + orderId, e);
             return List.of();
@@ -273,11 +586,6 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
             }
 
             Order order = orderOpt.get();
-            Order oldOrder = new Order(order.getClient());
-            oldOrder.setOrderId(order.getOrderId());
-            oldOrder.setDate(order.getDate());
-            oldOrder.setTotal(order.getTotal());
-            oldOrder.setStatus(order.getStatus());
 
             if ("PAID".equals(order.getStatus())) {
                 LOGGER.warning("Order is already paid: " + orderId);
@@ -291,29 +599,13 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
             LOGGER.info("Processing payment for order: " + orderId);
             boolean paymentSuccess = paymentService.processPayment(order);
             if (paymentSuccess) {
-                LOGGER.info("Payment successful, updating order status and product quantities");
-                order.setStatus("PAID");
-                Order updatedOrder = orderRepository.save(order);
+                LOGGER.info("Payment successful, updating order status");
+                // Stock was already reserved when the order was placed
+                Order updatedOrder = transactionTemplate.execute(session -> announce(session,
+                        EntityChangeEvent.Type.UPDATED, completePayment(session, orderId, order.getPayment())));
 
                 if (updatedOrder != null) {
-                    List<OrderItem> orderItems = orderItemRepository.findByOrder(order);
-                    for (OrderItem item : orderItems) {
-                        BigDecimal quantityToSubtract = BigDecimal.valueOf(item.getQuantity());
-                        LOGGER.info("Updating stock for product " + item.getProduct().getProductId() +
-                                " - subtracting " + quantityToSubtract + " units");
-                        boolean stockUpdated = honeyProductService.updateQuantityAfterPurchase(
-                                item.getProduct().getProductId(),
-                                quantityToSubtract);
-
-                        if (!stockUpdated) {
-                            LOGGER.warning("Failed to update stock for product: " + item.getProduct().getProductId());
-                        } else {
-                            LOGGER.info("Successfully updated stock for product: " + item.getProduct().getProductId());
-                        }
-                    }
-                    notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, updatedOrder, oldOrder));
-
-                    LOGGER.info("Payment processed successfully for order: " + orderId + " and notified observers");
+                    LOGGER.info("Payment processed successfully for order: " + orderId);
                 } else {
                     LOGGER.warning("Failed to save paid order: " + orderId);
                     return false;
@@ -332,35 +624,44 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
     @Override
     public boolean updateOrderStatus(Integer orderId, String status) {
         try {
-            Optional<Order> orderOpt = orderRepository.findById(orderId);
-            if (orderOpt.isEmpty()) {
-                LOGGER.warning("Order not found: " + orderId);
-                return false;
-            }
-
-            Order order = orderOpt.get();
-            Order oldOrder = new Order(order.getClient());
-            oldOrder.setOrderId(order.getOrderId());
-            oldOrder.setDate(order.getDate());
-            oldOrder.setTotal(order.getTotal());
-            oldOrder.setStatus(order.getStatus());
-            if (!isValidStatusTransition(order.getStatus(), status)) {
-                LOGGER.warning("Invalid status transition from " + order.getStatus() +
-                        " to " + status + " for order: " + orderId);
-                return false;
-            }
+            return SessionScope.call(() -> {
+                Optional<Order> orderOpt = orderRepository.findById(orderId);
+                if (orderOpt.isEmpty()) {
+                    LOGGER.warning("Order not found: " + orderId);
+                    return false;
+                }
 
-            order.setStatus(status);
-            Order updatedOrder = orderRepository.save(order);
-            if (updatedOrder != null) {
-                notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, updatedOrder, oldOrder));
+                Order order = orderOpt.get();
+                if (!isValidStatusTransition(order.getStatus(), status)) {
+                    LOGGER.warning("Invalid status transition from " + order.getStatus() +
+                            " to " + status + " for order: " + orderId);
+                    return false;
+                }
 
-                LOGGER.info("Updated status to " + status + " for order: " + orderId + " and notified observers");
-                return true;
-            } else {
-                LOGGER.warning("Failed to save order status update for order: " + orderId);
-                return false;
-            }
+                Order updatedOrder;
+                if (status.equals(order.getStatus())) {
+                    updatedOrder = order;
+                } else if ("CANCELED".equals(status)) {
+                    // Canceling gives the reserved stock back, as when the client cancels
+                    updatedOrder = transactionTemplate.execute(session -> announce(session,
+                            EntityChangeEvent.Type.UPDATED,
+                            cancelAndRestoreStock(session, orderId, null, CANCELABLE_STATUSES)));
+                } else if ("PAID".equals(status)) {
+                    updatedOrder = transactionTemplate.execute(session -> announce(session,
+                            EntityChangeEvent.Type.UPDATED, completePayment(session, orderId, null)));
+                } else {
+                    order.setStatus(status);
+                    updatedOrder = transactionTemplate.execute(session ->
+                            announce(session, EntityChangeEvent.Type.UPDATED, orderRepository.save(session, order)));
+                }
+                if (updatedOrder != null) {
+                    LOGGER.info("Updated status to " + status + " for order: " + orderId);
+                    return true;
+                } else {
+                    LOGGER.warning("Failed to save order status update for order: " + orderId);
+                    return false;
+                }
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error updating status for order: " + orderId, e);
             return false;
@@ -376,55 +677,23 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
                 return false;
             }
             Order order = orderOpt.get();
-            Order oldOrder = new Order(order.getClient());
-            oldOrder.setOrderId(order.getOrderId());
-            oldOrder.setDate(order.getDate());
-            oldOrder.setTotal(order.getTotal());
-            oldOrder.setStatus(order.getStatus());
             if (!order.getClient().equals(client)) {
                 LOGGER.warning("Order does not belong to client: " +
                         orderId + ", " + client.getUsername());
                 return false;
             }
-            if (!"PENDING".equals(order.getStatus()) && !"PAID".equals(order.getStatus())) {
+            if (!CLIENT_CANCELABLE_STATUSES.contains(order.getStatus())) {
                 LOGGER.warning("Cannot cancel order with status: " + order.getStatus() +
                         " for order: " + orderId);
                 return false;
             }
-            if ("PAID".equals(order.getStatus())) {
-                LOGGER.info("Restoring stock quantities for canceled order: " + orderId);
-
-                List<OrderItem> orderItems = orderItemRepository.findByOrder(order);
-                for (OrderItem item : orderItems) {
-                    try {
-                        Optional<HoneyProduct> productOpt = honeyProductRepository.findById(item.getProduct().getProductId());
-                        if (productOpt.isPresent()) {
-                            HoneyProduct product = productOpt.get();
-                            BigDecimal currentQuantity = product.getQuantity();
-                            BigDecimal restoredQuantity = currentQuantity.add(BigDecimal.valueOf(item.getQuantity()));
-                            product.setQuantity(restoredQuantity);
-                            HoneyProduct savedProduct = honeyProductRepository.save(product);
-                            if (savedProduct != null) {
-                                LOGGER.info("Restored " + item.getQuantity() + " units to product: " +
-                                        product.getName() + " (new quantity: " + restoredQuantity + ")");
-                            } else {
-                                LOGGER.warning("Failed to restore stock for product: " + product.getName());
-                            }
-                        } else {
-                            LOGGER.warning("Product not found when restoring stock: " + item.getProduct().getProductId());
-                        }
-                    } catch (Exception e) {
-                        LOGGER.log(Level.WARNING, "Error restoring stock for product: " +
-                                item.getProduct().getProductId(), e);
-                    }
-                }
-            }
-            order.setStatus("CANCELED");
-            Order updatedOrder = orderRepository.save(order);
+            // Pending and paid orders both hold reserved stock; give it back in the same commit as the status change
+            LOGGER.info("Restoring stock quantities for canceled order: " + orderId);
+            Order updatedOrder = transactionTemplate.execute(session ->
+                    announce(session, EntityChangeEvent.Type.UPDATED,
+                            cancelAndRestoreStock(session, orderId, null, CLIENT_CANCELABLE_STATUSES)));
             if (updatedOrder != null) {
-                notifyObservers(new EntityChangeEvent<>(EntityChangeEvent.Type.UPDATED, updatedOrder, oldOrder));
-                LOGGER.info("Canceled order: " + orderId + " and notified observers" +
-                        ("PAID".equals(oldOrder.getStatus()) ? " (restored stock quantities)" : ""));
+                LOGGER.info("Canceled order: " + orderId + " (restored stock quantities)");
                 return true;
             } else {
                 LOGGER.warning("Failed to save order cancellation for order: " + orderId);
@@ -437,58 +706,26 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
     }
 
     /**
-     * Restore stock quantities for a canceled order
-     * @param order The order to restore stock for
-     * @return true if stock was restored successfully, false otherwise
+     * Restore stock quantities for a canceled order, within an existing unit of work
+     * @param session The session of the unit of work
+     * @param order The managed order to restore stock for
      */
-    private boolean restoreStockForOrder(Order order) {
-        try {
-            LOGGER.info("Restoring stock for order: " + order.getOrderId());
-
-            List<OrderItem> orderItems = orderItemRepository.findByOrder(order);
-            boolean allRestored = true;
-
-            for (OrderItem item : orderItems) {
-                try {
-                    Optional<HoneyProduct> productOpt = honeyProductService.findById(item.getProduct().getProductId());
-                    if (productOpt.isPresent()) {
-                        HoneyProduct product = productOpt.get();
-                        Beekeeper productOwner = product.getApiary().getBeekeeper();
-
-                        BigDecimal currentQuantity = product.getQuantity();
-                        BigDecimal quantityToRestore = BigDecimal.valueOf(item.getQuantity());
-                        BigDecimal newQuantity = currentQuantity.add(quantityToRestore);
-                        HoneyProduct updatedProduct = honeyProductService.updateHoneyProduct(
-                                product.getProductId(),
-                                product.getName(),
-                                product.getDescription(),
-                                product.getPrice(),
-                                newQuantity,
-                                productOwner
-                        );
-
-                        if (updatedProduct != null) {
-                            LOGGER.info("Restored " + quantityToRestore + " units to product: " +
-                                    product.getName() + " (new total: " + newQuantity + ")");
-                        } else {
-                            LOGGER.warning("Failed to restore stock for product: " + product.getName());
-                            allRestored = false;
-                        }
-                    } else {
-                        LOGGER.warning("Product not found when restoring stock: " + item.getProduct().getProductId());
-                        allRestored = false;
-                    }
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error restoring stock for item in order " +
-                            order.getOrderId(), e);
-                    allRestored = false;
-                }
+    private void restoreStockForOrder(Session session, Order order) {
+        LOGGER.info("Restoring stock for order: " + order.getOrderId());
+
+        List<OrderItem> orderItems = new ArrayList<>(order.getItems());
+        orderItems.sort(Comparator.comparing(item -> item.getProduct().getProductId()));
+
+        for (OrderItem item : orderItems) {
+            int restored = honeyProductRepository.incrementQuantity(
+                    session, item.getProduct().getProductId(), BigDecimal.valueOf(item.getQuantity()));
+            if (restored > 0) {
+                outboxRelay.enqueue(session, EntityChangeEvent.Type.UPDATED, "HoneyProduct",
+                        item.getProduct().getProductId());
+                LOGGER.info("Restored " + item.getQuantity() + " units to product: " + item.getProduct().getName());
+            } else {
+                LOGGER.warning("Product not found when restoring stock: " + item.getProduct().getProductId());
             }
-
-            return allRestored;
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error restoring stock for order: " + order.getOrderId(), e);
-            return false;
         }
     }
 
@@ -506,6 +743,9 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
         switch (currentStatus) {
             case "PENDING":
                 return "PAID".equals(newStatus) || "CANCELED".equals(newStatus);
+            case "PAYMENT_REVIEW":
+                // Settled by a beekeeper once the payment provider says whether the charge went through
+                return "PAID".equals(newStatus) || "CANCELED".equals(newStatus);
             case "PAID":
                 return "DELIVERED".equals(newStatus) || "CANCELED".equals(newStatus);
             case "CANCELED":
@@ -521,44 +761,9 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
     public List<Order> findOrdersForBeekeeper(Beekeeper beekeeper) {
         try {
             LOGGER.info("Finding orders for beekeeper: " + beekeeper.getUsername());
-
-            // Get all orders
-            List<Order> allOrders = orderRepository.findAll();
-            LOGGER.info("Found " + allOrders.size() + " total orders in system");
-
-            List<Order> beekeeperOrders = new ArrayList<>();
-            for (Order order : allOrders) {
-                try {
-                    List<OrderItem> orderItems = orderItemRepository.findByOrder(order);
-                    LOGGER.info("Order " + order.getOrderId() + " has " + orderItems.size() + " items");
-                    boolean belongsToBeekeeper = orderItems.stream()
-                            .anyMatch(item -> {
-                                try {
-                                    Apiary apiary = item.getProduct().getApiary();
-                                    boolean matches = apiary.getBeekeeper().getUserId().equals(beekeeper.getUserId());
-                                    LOGGER.info("Order item product: " + item.getProduct().getName() +
-                                            ", Apiary: " + apiary.getName() +
-                                            ", Beekeeper: " + apiary.getBeekeeper().getUsername() +
-                                            ", Matches: " + matches);
-                                    return matches;
-                                } catch (Exception e) {
-                                    LOGGER.log(Level.WARNING, "Error checking order item for beekeeper match", e);
-                                    return false;
-                                }
-                            });
-
-                    if (belongsToBeekeeper) {
-                        beekeeperOrders.add(order);
-                        LOGGER.info("Order " + order.getOrderId() + " belongs to beekeeper " + beekeeper.getUsername());
-                    }
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error processing order " + order.getOrderId() + " for beekeeper", e);
-                }
-            }
-
+            List<Order> beekeeperOrders = orderRepository.findByBeekeeperWithItems(beekeeper, null, null, null);
             LOGGER.info("Found " + beekeeperOrders.size() + " orders for beekeeper: " + beekeeper.getUsername());
             return beekeeperOrders;
-
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding orders for beekeeper: " + beekeeper.getUsername(), e);
             return List.of();
@@ -568,31 +773,40 @@ public class OrderServiceImpl extends EventManager<EntityChangeEvent<?>> impleme
     @Override
     public List<Order> findOrdersWithFilters(Beekeeper beekeeper, String status, LocalDateTime startDate, LocalDateTime endDate) {
         try {
-            List<Order> beekeeperOrders = findOrdersForBeekeeper(beekeeper);
-            LOGGER.info("Applying filters to " + beekeeperOrders.size() + " orders");
             LOGGER.info("Filters - Status: " + status + ", Start Date: " + startDate + ", End Date: " + endDate);
-
-            List<Order> filteredOrders = beekeeperOrders.stream()
-                    .filter(order -> {
-                        if (status != null && !order.getStatus().equals(status)) {
-                            return false;
-                        }
-                        if (startDate != null && order.getDate().isBefore(startDate)) {
-                            return false;
-                        }
-                        if (endDate != null && order.getDate().isAfter(endDate)) {
-                            return false;
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            LOGGER.info("After filtering: " + filteredOrders.size() + " orders remain");
+            List<Order> filteredOrders = orderRepository.findByBeekeeperWithItems(
+                    beekeeper, status, startDate, endDate);
+            LOGGER.info("Found " + filteredOrders.size() + " filtered orders for beekeeper: " + beekeeper.getUsername());
             return filteredOrders;
-
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error finding orders with filters for beekeeper: " + beekeeper.getUsername(), e);
             return List.of();
         }
     }
+
+    @Override
+    public void shutdown() {
+        pendingOrderReviewer.shutdownNow();
+        placementExecutor.shutdown();
+        try {
+            if (!placementExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                placementExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            placementExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Order placement executor shut down");
+    }
+
+    @Override
+    public KeysetPage<OrderRow> findOrderRowsForBeekeeper(Beekeeper beekeeper, String status, LocalDateTime startDate,
+                                                          LocalDateTime endDate, KeysetPageable pageable) {
+        try {
+            return orderRepository.findRowsByBeekeeper(beekeeper, status, startDate, endDate, pageable);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error finding order rows for beekeeper: " + beekeeper.getUsername(), e);
+            return KeysetPage.empty();
+        }
+    }
 }
\ No newline at end of file
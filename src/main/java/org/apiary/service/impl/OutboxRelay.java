@@ -0,0 +1,203 @@
+package org.apiary.service.impl;
+
+import org.apiary.model.OutboxEvent;
+import org.apiary.repository.interfaces.OutboxRepository;
+import org.apiary.utils.events.EntityChangeEvent;
+import org.hibernate.Session;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes the events services write to the outbox in the same unit of work as their changes.
+ * A single relay thread drains the outbox in the order the events were written, shortly after
+ * each commit and on a fixed delay in case a wake-up was missed, and marks what it published.
+ * Delivery is at least once while the relay runs: an event whose publisher throws, or whose mark
+ * is not written, is published again by the next drain. Each run reads only the events written
+ * under its own origin, so whatever is left unpublished when the process stops is not delivered
+ * by the next run (see {@link #start}). Events of a rolled back unit of work are never written.
+ */
+public class OutboxRelay {
+
+    private static final Logger LOGGER = Logger.getLogger(OutboxRelay.class.getName());
+    // A drain woken by a commit reads this many batches at most; the next drain continues
+    private static final int MAX_BATCHES_PER_DRAIN = 10;
+
+    private final OutboxRepository outboxRepository;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long retentionMinutes;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private volatile ScheduledExecutorService relay;
+    private volatile Consumer<OutboxEvent> publisher;
+    private LocalDateTime lastPurge = LocalDateTime.now();
+
+    /**
+     * Create an outbox relay
+     * @param outboxRepository The repository of the outbox
+     * @param pollIntervalMillis The delay between drains when no commit wakes the relay
+     * @param batchSize The maximum number of events read at once
+     * @param retentionMinutes How long events are kept before the relay purges them
+     */
+    public OutboxRelay(OutboxRepository outboxRepository, long pollIntervalMillis, int batchSize,
+                       long retentionMinutes) {
+        if (pollIntervalMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Poll interval and batch size must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * Write an event to the outbox as part of the unit of work that made the change.
+     * The relay is woken to publish it once the unit of work commits.
+     * @param session The session of the unit of work
+     * @param type The type of change
+     * @param entityType The simple class name of the changed entity
+     * @param entityId The ID of the changed entity
+     */
+    public void enqueue(Session session, EntityChangeEvent.Type type, String entityType, Integer entityId) {
+        outboxRepository.save(session, new OutboxEvent(entityType, entityId, type.name(), origin));
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    drainSoon();
+                }
+            }
+        });
+    }
+
+    /**
+     * Start relaying. Events left unpublished by an earlier run carry its origin and are left to the
+     * retention purge: the observers they were meant for stopped with it, and other instances learn
+     * of the changes through the change feed.
+     * @param publisher Called on the relay thread with each event, in the order events were written;
+     *                  throwing stops the drain so the event is retried by the next one
+     */
+    public synchronized void start(Consumer<OutboxEvent> publisher) {
+        if (relay != null) {
+            LOGGER.warning("Outbox relay already started");
+            return;
+        }
+        this.publisher = publisher;
+        relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relay.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        LOGGER.info("Outbox relay " + origin + " draining every " + pollIntervalMillis + " ms");
+    }
+
+    private void drainSoon() {
+        ScheduledExecutorService executor = relay;
+        // Commits in a burst share one drain
+        if (executor == null || !drainRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drainRequested.set(false);
+        }
+    }
+
+    /**
+     * Publish the unpublished events of this instance, oldest first
+     */
+    void drain() {
+        drainRequested.set(false);
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_DRAIN; batch++) {
+                List<OutboxEvent> events = outboxRepository.findUnpublished(origin, batchSize);
+                if (events.isEmpty()) {
+                    break;
+                }
+                if (!publishBatch(events) || events.size() < batchSize) {
+                    break;
+                }
+            }
+            purgeIfDue();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error draining outbox " + origin, e);
+        }
+    }
+
+    /**
+     * Publish a batch of events and mark those that were published
+     * @param events The events, oldest first
+     * @return true if the whole batch was published and marked
+     */
+    private boolean publishBatch(List<OutboxEvent> events) {
+        List<Long> published = new ArrayList<>(events.size());
+        boolean complete = true;
+        for (OutboxEvent event : events) {
+            try {
+                publisher.accept(event);
+                published.add(event.getOutboxId());
+            } catch (Exception e) {
+                // Later events must not overtake this one, so the rest of the batch waits for the retry
+                LOGGER.log(Level.SEVERE, "Error publishing outbox event: " + event, e);
+                complete = false;
+                break;
+            }
+        }
+        if (!published.isEmpty() && outboxRepository.markPublished(published) != published.size()) {
+            LOGGER.warning("Could not mark " + published.size() + " outbox events published; they will be published again");
+            return false;
+        }
+        return complete;
+    }
+
+    private void purgeIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.plusMinutes(retentionMinutes).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+        int purged = outboxRepository.deleteBefore(now.minusMinutes(retentionMinutes));
+        if (purged > 0) {
+            LOGGER.info("Purged " + purged + " outbox events older than " + retentionMinutes + " minutes");
+        }
+    }
+
+    /**
+     * Stop relaying after a last drain, so events committed just before shutdown are not left behind
+     */
+    public synchronized void shutdown() {
+        if (relay == null) {
+            return;
+        }
+        relay.execute(this::drain);
+        relay.shutdown();
+        try {
+            if (!relay.awaitTermination(5, TimeUnit.SECONDS)) {
+                relay.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            relay.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Outbox relay " + origin + " stopped");
+    }
+}
\ No newline at end of file
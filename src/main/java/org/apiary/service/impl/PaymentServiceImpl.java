@@ -2,32 +2,61 @@ package org.apiary.service.impl;
 
 import org.apiary.model.Order;
 import org.apiary.model.Payment;
+import org.apiary.model.PaymentGateway;
+import org.apiary.model.PaymentResult;
 import org.apiary.model.PaymentSystem;
 import org.apiary.repository.interfaces.PaymentRepository;
 import org.apiary.service.interfaces.PaymentService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class PaymentServiceImpl implements PaymentService {
 
     private static final Logger LOGGER = Logger.getLogger(PaymentServiceImpl.class.getName());
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+
     private final PaymentRepository paymentRepository;
-    private final PaymentSystem paymentSystem;
+    private final PaymentGateway paymentGateway;
+    private final ThreadPoolExecutor paymentExecutor;
+    private final long timeoutMillis;
 
     public PaymentServiceImpl(PaymentRepository paymentRepository) {
+        // Initialize payment system (could be injected or configured elsewhere)
+        this(paymentRepository, new PaymentSystem("Stripe", "stripe_api_key"),
+                DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    public PaymentServiceImpl(PaymentRepository paymentRepository, PaymentGateway paymentGateway,
+                              int threads, int queueCapacity, long timeoutMillis) {
         this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.timeoutMillis = timeoutMillis;
 
-        // Initialize payment system (could be injected or configured elsewhere)
-        this.paymentSystem = new PaymentSystem("Stripe", "stripe_api_key");
+        // Fixed pool with a bounded queue, so a slow gateway cannot pile up unbounded work
+        this.paymentExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new PaymentThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
     @Override
     public boolean processPayment(Order order) {
         try {
-            boolean paymentSuccessful = paymentSystem.processPayment(order);
+            boolean paymentSuccessful = paymentGateway.processPayment(order);
             LOGGER.info("Processed payment for order: " + order.getOrderId() +
                     " with result: " + paymentSuccessful);
             return paymentSuccessful;
@@ -37,6 +66,37 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
+    @Override
+    public CompletableFuture<PaymentResult> processPaymentAsync(Order order) {
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = paymentExecutor.submit(() -> {
+                boolean paymentSuccessful = processPayment(order);
+                result.complete(paymentSuccessful
+                        ? PaymentResult.success(order)
+                        : PaymentResult.failure(order, "Payment was declined"));
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Payment queue is full, rejecting payment for order: " + order.getOrderId());
+            return CompletableFuture.completedFuture(PaymentResult.failure(order, "Payment service is busy"));
+        }
+
+        return result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    // Interrupt the gateway call so a timed out payment does not keep a worker busy
+                    task.cancel(true);
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        LOGGER.warning("Payment timed out after " + timeoutMillis + " ms for order: " +
+                                order.getOrderId());
+                        return PaymentResult.timedOut(order);
+                    }
+                    LOGGER.log(Level.SEVERE, "Error processing payment for order: " + order.getOrderId(), cause);
+                    return PaymentResult.failure(order, "Payment failed: " + cause.getMessage());
+                });
+    }
+
     @Override
     public Payment findByOrder(Order order) {
         try {
@@ -87,4 +147,32 @@ public class PaymentServiceImpl implements PaymentService {
             return List.of();
         }
     }
+
+    @Override
+    public void shutdown() {
+        paymentExecutor.shutdown();
+        try {
+            if (!paymentExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                paymentExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            paymentExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Payment executor shut down");
+    }
+
+    /**
+     * Creates named daemon threads, so pending payments never keep the JVM alive on exit
+     */
+    private static class PaymentThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "payment-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
\ No newline at end of file
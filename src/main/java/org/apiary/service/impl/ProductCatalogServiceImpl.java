@@ -0,0 +1,360 @@
+package org.apiary.service.impl;
+
+import org.apiary.model.Apiary;
+import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.model.projection.ProductCard;
+import org.apiary.repository.interfaces.HoneyProductRepository;
+import org.apiary.repository.transaction.SessionScope;
+import org.apiary.service.interfaces.ApiaryService;
+import org.apiary.service.interfaces.HoneyProductService;
+import org.apiary.service.interfaces.OrderService;
+import org.apiary.service.interfaces.ProductCatalogService;
+import org.apiary.utils.events.EntityChangeEvent;
+import org.apiary.utils.events.EntityChangeFilter;
+import org.apiary.utils.observer.Observer;
+import org.apiary.utils.pagination.Page;
+import org.apiary.utils.pagination.Pageable;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ProductCatalogServiceImpl implements ProductCatalogService, Observer<EntityChangeEvent<?>> {
+
+    private static final Logger LOGGER = Logger.getLogger(ProductCatalogServiceImpl.class.getName());
+
+    private static final String RELEVANCE = "relevance";
+
+    private static final Comparator<ProductCard> BY_PRICE = Comparator
+            .comparing(ProductCard::getPrice, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(ProductCard::getProductId);
+    private static final Comparator<ProductCard> BY_NAME = Comparator
+            .comparing(ProductCard::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(ProductCard::getProductId);
+
+    private final HoneyProductRepository honeyProductRepository;
+    private final HoneyProductService honeyProductService;
+    private final ScheduledExecutorService consistencyChecker;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, ProductCard> cards = new HashMap<>();
+    private final NavigableSet<ProductCard> byPrice = new TreeSet<>(BY_PRICE);
+    private final NavigableSet<ProductCard> byName = new TreeSet<>(BY_NAME);
+    // Version of the last event that touched each product, so a consistency check never
+    // overwrites a change newer than the database snapshot it is comparing against
+    private final Map<Integer, Long> changedAt = new HashMap<>();
+    private long version;
+    private volatile boolean loaded;
+
+    public ProductCatalogServiceImpl(HoneyProductRepository honeyProductRepository,
+                                     HoneyProductService honeyProductService,
+                                     OrderService orderService,
+                                     ApiaryService apiaryService,
+                                     long checkIntervalSeconds) {
+        this.honeyProductRepository = honeyProductRepository;
+        this.honeyProductService = honeyProductService;
+
+        // Notified on the publishing thread, so the index is current before any dashboard reloads
+        honeyProductService.addSynchronousObserver(this);
+        orderService.addSynchronousObserver(this);
+        apiaryService.addSynchronousObserver(this,
+                EntityChangeFilter.forEntities(HoneyProduct.class, Apiary.class));
+
+        this.consistencyChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-consistency-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (checkIntervalSeconds > 0) {
+            consistencyChecker.scheduleWithFixedDelay(this::checkConsistency,
+                    checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public Page<ProductCard> findProductCards(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                              boolean availableOnly, Pageable pageable) {
+        if (!loaded) {
+            checkConsistency();
+        }
+
+        String nameTerm = name != null ? name.toLowerCase() : null;
+        String categoryTerm = category != null ? category.toLowerCase() : null;
+        List<ProductCard> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            // Walk the price range when there is one, otherwise whichever order is closest to the requested sort
+            boolean priceRange = minPrice != null || maxPrice != null;
+            NavigableSet<ProductCard> candidates = priceRange || !"name".equals(pageable.getSortBy())
+                    ? priceRange(minPrice, maxPrice)
+                    : byName;
+            for (ProductCard card : candidates) {
+                if (matches(card, nameTerm, categoryTerm, availableOnly)) {
+                    matches.add(card);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Usually already in order, in which case the sort is a single linear pass
+        matches.sort(sortOrder(pageable));
+        return page(matches, pageable);
+    }
+
+    @Override
+    public Page<ProductCard> searchProductCards(String query, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                                boolean availableOnly, Pageable pageable) {
+        if (!loaded) {
+            checkConsistency();
+        }
+
+        List<Integer> rankedIds = honeyProductService.searchProductIds(query, Integer.MAX_VALUE);
+        String categoryTerm = category != null ? category.toLowerCase() : null;
+        List<ProductCard> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Integer productId : rankedIds) {
+                ProductCard card = cards.get(productId);
+                if (card != null && matches(card, null, categoryTerm, availableOnly) && inPriceRange(card, minPrice, maxPrice)) {
+                    matches.add(card);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (!RELEVANCE.equals(pageable.getSortBy())) {
+            matches.sort(sortOrder(pageable));
+        }
+        return page(matches, pageable);
+    }
+
+    @Override
+    public void update(EntityChangeEvent<?> event) {
+        try {
+            Object entity = event.getEntity();
+            if (entity instanceof HoneyProduct) {
+                HoneyProduct product = (HoneyProduct) entity;
+                if (event.getType() == EntityChangeEvent.Type.DELETED) {
+                    remove(product.getProductId());
+                } else {
+                    put(new ProductCard(product.getProductId(), product.getName(), product.getPrice(),
+                            product.getQuantity(), product.getApiary().getName()));
+                }
+            } else if (entity instanceof Order) {
+                // Placing or canceling an order moves stock; re-read the quantities it touched
+                honeyProductRepository.findCardsByOrder((Order) entity).forEach(this::put);
+            } else if (entity instanceof Apiary && event.getType() == EntityChangeEvent.Type.UPDATED) {
+                // Cards show the apiary name; deleted apiaries arrive as product deletions
+                honeyProductRepository.findCardsByApiary((Apiary) entity).forEach(this::put);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Could not apply " + event.getType() + " " + event.getEntityType() +
+                    " to the catalog index, reloading it on next use", e);
+            loaded = false;
+        }
+    }
+
+    @Override
+    public int checkConsistency() {
+        try {
+            long startVersion;
+            lock.readLock().lock();
+            try {
+                startVersion = version;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // A failed read throws, leaving the index as it is and still unloaded
+            List<ProductCard> snapshot;
+            try (Session session = SessionScope.openSession()) {
+                snapshot = honeyProductRepository.findAllCards(session);
+            }
+
+            lock.writeLock().lock();
+            try {
+                Map<Integer, ProductCard> expected = new HashMap<>();
+                for (ProductCard card : snapshot) {
+                    expected.put(card.getProductId(), card);
+                }
+                Set<Integer> productIds = new HashSet<>(cards.keySet());
+                productIds.addAll(expected.keySet());
+
+                int repaired = 0;
+                for (Integer productId : productIds) {
+                    if (changedAt.getOrDefault(productId, 0L) > startVersion) {
+                        continue;
+                    }
+                    ProductCard indexed = cards.get(productId);
+                    ProductCard actual = expected.get(productId);
+                    if (!sameCard(indexed, actual)) {
+                        unindex(productId);
+                        if (actual != null) {
+                            index(actual);
+                        }
+                        repaired++;
+                    }
+                }
+                changedAt.values().removeIf(changed -> changed <= startVersion);
+
+                if (loaded && repaired > 0) {
+                    LOGGER.warning("Catalog consistency check repaired " + repaired + " of " +
+                            cards.size() + " products");
+                } else {
+                    LOGGER.fine("Catalog index holds " + cards.size() + " products");
+                }
+                loaded = true;
+                return repaired;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error checking catalog index consistency", e);
+            return -1;
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cards.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        consistencyChecker.shutdownNow();
+        LOGGER.info("Catalog consistency check stopped");
+    }
+
+    private void put(ProductCard card) {
+        lock.writeLock().lock();
+        try {
+            unindex(card.getProductId());
+            index(card);
+            changedAt.put(card.getProductId(), ++version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Integer productId) {
+        lock.writeLock().lock();
+        try {
+            unindex(productId);
+            changedAt.put(productId, ++version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(ProductCard card) {
+        cards.put(card.getProductId(), card);
+        byPrice.add(card);
+        byName.add(card);
+    }
+
+    private void unindex(Integer productId) {
+        ProductCard previous = cards.remove(productId);
+        if (previous != null) {
+            byPrice.remove(previous);
+            byName.remove(previous);
+        }
+    }
+
+    // Cards built from an event carry the scale the user typed, cards read back carry the column's
+    private static boolean sameCard(ProductCard indexed, ProductCard actual) {
+        if (indexed == null || actual == null) {
+            return indexed == actual;
+        }
+        return Objects.equals(indexed.getName(), actual.getName())
+                && Objects.equals(indexed.getApiaryName(), actual.getApiaryName())
+                && sameAmount(indexed.getPrice(), actual.getPrice())
+                && sameAmount(indexed.getQuantity(), actual.getQuantity());
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private NavigableSet<ProductCard> priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        NavigableSet<ProductCard> range = byPrice;
+        if (minPrice != null) {
+            range = range.tailSet(priceBound(minPrice, Integer.MIN_VALUE), true);
+        }
+        if (maxPrice != null) {
+            range = range.headSet(priceBound(maxPrice, Integer.MAX_VALUE), true);
+        }
+        return range;
+    }
+
+    private static boolean inPriceRange(ProductCard card, BigDecimal minPrice, BigDecimal maxPrice) {
+        return (minPrice == null || card.getPrice().compareTo(minPrice) >= 0)
+                && (maxPrice == null || card.getPrice().compareTo(maxPrice) <= 0);
+    }
+
+    private static Page<ProductCard> page(List<ProductCard> matches, Pageable pageable) {
+        int total = matches.size();
+        int from = Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getSize(), total);
+        return new Page<>(new ArrayList<>(matches.subList(from, to)), pageable.getPage(), pageable.getSize(), total);
+    }
+
+    private static ProductCard priceBound(BigDecimal price, int productId) {
+        return new ProductCard(productId, null, price, null, null);
+    }
+
+    // Same predicates as the repository's filter clause
+    private static boolean matches(ProductCard card, String nameTerm, String categoryTerm, boolean availableOnly) {
+        String cardName = card.getName() != null ? card.getName().toLowerCase() : "";
+        if (nameTerm != null && !cardName.contains(nameTerm)) {
+            return false;
+        }
+        if (categoryTerm != null && !cardName.contains(categoryTerm)) {
+            return false;
+        }
+        return !availableOnly || (card.getQuantity() != null && card.getQuantity().signum() > 0);
+    }
+
+    // Same order as the repository's order clause: the sort key, then product ID ascending
+    private static Comparator<ProductCard> sortOrder(Pageable pageable) {
+        String sortBy = pageable.getSortBy();
+        Comparator<ProductCard> key;
+        if ("name".equals(sortBy)) {
+            key = Comparator.comparing(ProductCard::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+        } else if ("price".equals(sortBy)) {
+            key = Comparator.comparing(ProductCard::getPrice, Comparator.nullsFirst(Comparator.naturalOrder()));
+        } else if ("quantity".equals(sortBy)) {
+            key = Comparator.comparing(ProductCard::getQuantity, Comparator.nullsFirst(Comparator.naturalOrder()));
+        } else {
+            key = Comparator.comparing(ProductCard::getProductId);
+        }
+        if (!pageable.isSortAscending()) {
+            key = key.reversed();
+        }
+        return key.thenComparing(ProductCard::getProductId);
+    }
+}
\ No newline at end of file
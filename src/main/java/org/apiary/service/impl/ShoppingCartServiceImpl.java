@@ -10,6 +10,7 @@ import org.apiary.repository.interfaces.ShoppingCartRepository;
 import org.apiary.service.interfaces.ShoppingCartService;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -49,14 +50,17 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     @Override
     public List<CartItem> getCartItems(Client client) {
         try {
-            Optional<ShoppingCart> cartOpt = findByClient(client);
+            Optional<ShoppingCart> cartOpt = shoppingCartRepository.findByClientWithItems(client);
+            if (cartOpt.isEmpty()) {
+                // First visit: findByClient creates the cart
+                cartOpt = findByClient(client);
+            }
             if (cartOpt.isEmpty()) {
                 LOGGER.info("No shopping cart found for client: " + client.getUsername());
                 return List.of();
             }
 
-            ShoppingCart cart = cartOpt.get();
-            List<CartItem> items = cartItemRepository.findByCart(cart);
+            List<CartItem> items = new ArrayList<>(cartOpt.get().getItems());
 
             LOGGER.info("Found " + items.size() + " items in cart for client: " + client.getUsername());
             for (CartItem item : items) {
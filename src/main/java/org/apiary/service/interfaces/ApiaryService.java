@@ -1,6 +1,7 @@
 package org.apiary.service.interfaces;
 
 import org.apiary.model.Apiary;
+import org.apiary.model.ApiaryDeletionResult;
 import org.apiary.model.Beekeeper;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.Observable;
@@ -57,11 +58,12 @@ public interface ApiaryService extends Observable<EntityChangeEvent<?>> {
     Apiary updateApiary(Integer apiaryId, String name, String location, Beekeeper beekeeper);
 
     /**
-     * Delete an apiary
+     * Delete an apiary together with its hives, its products and every cart and order item
+     * referencing those products, in a single transaction
      * @param apiaryId The ID of the apiary to delete
-     * @return true if the apiary was deleted successfully, false otherwise
+     * @return The number of rows deleted from each table, or null if deletion failed
      */
-    boolean deleteApiary(Integer apiaryId);
+    ApiaryDeletionResult deleteApiary(Integer apiaryId);
 
     /**
      * Check if a beekeeper owns an apiary
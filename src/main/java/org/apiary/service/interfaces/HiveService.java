@@ -6,7 +6,9 @@ import org.apiary.model.Hive;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.Observable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface HiveService extends Observable<EntityChangeEvent<?>> {
@@ -56,6 +58,13 @@ public interface HiveService extends Observable<EntityChangeEvent<?>> {
      */
     long countByApiary(Apiary apiary);
 
+    /**
+     * Count the hives of several apiaries in a single query
+     * @param apiaries The apiaries
+     * @return The number of hives by apiary ID; apiaries without hives are absent
+     */
+    Map<Integer, Long> countByApiaries(Collection<Apiary> apiaries);
+
     /**
      * Update a hive
      * @param hiveId The ID of the hive to update
@@ -4,13 +4,16 @@ import org.apiary.model.Apiary;
 import org.apiary.model.Beekeeper;
 import org.apiary.model.Hive;
 import org.apiary.model.HoneyProduct;
+import org.apiary.model.projection.ProductCard;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.Observable;
 import org.apiary.utils.pagination.Page;
 import org.apiary.utils.pagination.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface HoneyProductService extends Observable<EntityChangeEvent<?>> {
@@ -142,6 +145,20 @@ public interface HoneyProductService extends Observable<EntityChangeEvent<?>> {
      */
     long countProductsByHive(Integer hiveId);
 
+    /**
+     * Count honey products for several apiaries in a single query
+     * @param apiaries The apiaries
+     * @return The count of products by apiary ID; apiaries without products are absent
+     */
+    Map<Integer, Long> countProductsByApiaries(Collection<Apiary> apiaries);
+
+    /**
+     * Count honey products for several hives in a single query
+     * @param hives The hives
+     * @return The count of products by hive ID; hives without products are absent
+     */
+    Map<Integer, Long> countProductsByHives(Collection<Hive> hives);
+
     /**
      * Find honey products by beekeeper
      * @param beekeeper The beekeeper
@@ -177,4 +194,32 @@ public interface HoneyProductService extends Observable<EntityChangeEvent<?>> {
      */
     Page<HoneyProduct> findByNameContaining(String name, String category, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
+    /**
+     * Find a page of catalog cards with filters
+     * @param name The name to search for, or null for any name
+     * @param category The category filter, or null for any category
+     * @param minPrice The minimum price, or null for no lower bound
+     * @param maxPrice The maximum price, or null for no upper bound
+     * @param availableOnly Whether to only include products in stock
+     * @param pageable The pagination information
+     * @return A page of product cards
+     */
+    Page<ProductCard> findProductCards(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                       boolean availableOnly, Pageable pageable);
+
+    /**
+     * Search product names and descriptions through the in-memory full-text index.
+     * Matching ignores case and accents, every word of the query must match, and a partial
+     * word matches any word it begins, so the search can run on every keystroke.
+     * @param query The words to search for
+     * @param limit The maximum number of results
+     * @return The IDs of the matching products, best match first
+     */
+    List<Integer> searchProductIds(String query, int limit);
+
+    /**
+     * Stop the periodic reconciliation of the search index
+     */
+    void shutdown();
+
 }
\ No newline at end of file
@@ -7,12 +7,16 @@ import org.apiary.model.Beekeeper;
 import org.apiary.model.Client;
 import org.apiary.model.Order;
 import org.apiary.model.OrderItem;
+import org.apiary.model.projection.OrderRow;
+import org.apiary.utils.pagination.KeysetPage;
+import org.apiary.utils.pagination.KeysetPageable;
 import org.apiary.utils.events.EntityChangeEvent;
 import org.apiary.utils.observer.Observable;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrderService extends Observable<EntityChangeEvent<?>> {
     /**
@@ -22,6 +26,16 @@ public interface OrderService extends Observable<EntityChangeEvent<?>> {
      */
     Order createOrderFromCart(Client client);
 
+    /**
+     * Create a new order from a client's shopping cart without blocking the caller.
+     * The cart is read, stock reserved and the order saved as PENDING on a background thread,
+     * then the payment runs; the returned future completes once the order is PAID or CANCELED, or
+     * PAYMENT_REVIEW if the payment timed out or could not be recorded and a beekeeper has to settle it.
+     * @param client The client
+     * @return A future completed with the order as it was left, or with null if the order could not be placed
+     */
+    CompletableFuture<Order> createOrderFromCartAsync(Client client);
+
     /**
      * Find an order by ID
      * @param orderId The ID of the order
@@ -36,6 +50,14 @@ public interface OrderService extends Observable<EntityChangeEvent<?>> {
      */
     List<Order> findByClient(Client client);
 
+    /**
+     * Find one keyset page of the order table rows for a client
+     * @param client The client
+     * @param pageable The page size, sort direction and cursor
+     * @return A keyset page of order rows for the client
+     */
+    KeysetPage<OrderRow> findOrderRowsByClient(Client client, KeysetPageable pageable);
+
     /**
      * Find orders with a specific status
      * @param status The status to search for
@@ -80,7 +102,7 @@ public interface OrderService extends Observable<EntityChangeEvent<?>> {
     boolean processPayment(Integer orderId);
 
     /**
-     * Update the status of an order
+     * Update the status of an order. Canceling an order gives its reserved stock back.
      * @param orderId The ID of the order
      * @param status The new status
      * @return true if the status was updated successfully, false otherwise
@@ -111,4 +133,21 @@ public interface OrderService extends Observable<EntityChangeEvent<?>> {
      * @return A list of filtered orders
      */
     List<Order> findOrdersWithFilters(Beekeeper beekeeper, String status, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Find the order table rows for a beekeeper's products, with optional filters
+     * @param beekeeper The beekeeper
+     * @param status The status filter, or null for any status
+     * @param startDate The start date filter, or null for no lower bound
+     * @param endDate The end date filter, or null for no upper bound
+     * @param pageable The page size, sort direction and cursor
+     * @return A keyset page of order rows
+     */
+    KeysetPage<OrderRow> findOrderRowsForBeekeeper(Beekeeper beekeeper, String status, LocalDateTime startDate,
+                                                   LocalDateTime endDate, KeysetPageable pageable);
+
+    /**
+     * Stop accepting orders and release the placement executor once running placements finish
+     */
+    void shutdown();
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package org.apiary.service.interfaces;
 
 import org.apiary.model.Order;
 import org.apiary.model.Payment;
+import org.apiary.model.PaymentResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentService {
     /**
@@ -14,6 +16,15 @@ public interface PaymentService {
      */
     boolean processPayment(Order order);
 
+    /**
+     * Process payment for an order without blocking the caller.
+     * The gateway runs on a bounded payment executor; a payment that cannot be queued completes as
+     * a failed result, and one that does not finish within the configured timeout as a timed out result.
+     * @param order The order to process payment for
+     * @return A future completed with the payment result; it never completes exceptionally
+     */
+    CompletableFuture<PaymentResult> processPaymentAsync(Order order);
+
     /**
      * Find the payment for an order
      * @param order The order
@@ -49,4 +60,9 @@ public interface PaymentService {
      * @return A list of payments made between the specified dates
      */
     List<Payment> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Stop accepting payments and release the payment executor
+     */
+    void shutdown();
 }
\ No newline at end of file
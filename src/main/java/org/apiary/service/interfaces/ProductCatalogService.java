@@ -0,0 +1,61 @@
+package org.apiary.service.interfaces;
+
+import org.apiary.model.projection.ProductCard;
+import org.apiary.utils.pagination.Page;
+import org.apiary.utils.pagination.Pageable;
+
+import java.math.BigDecimal;
+
+/**
+ * In-memory index of the product catalog.
+ * The index is loaded once from the database and then kept current from the entity change
+ * events of the product, order and apiary services, so catalog pages are served without a query.
+ * A periodic consistency check reconciles it with the database to repair any missed change.
+ */
+public interface ProductCatalogService {
+    /**
+     * Find a page of catalog cards with filters, served from the index
+     * @param name The name to search for, or null for any name
+     * @param category The category filter, or null for any category
+     * @param minPrice The minimum price, or null for no lower bound
+     * @param maxPrice The maximum price, or null for no upper bound
+     * @param availableOnly Whether to only include products in stock
+     * @param pageable The pagination information
+     * @return A page of product cards, matching what the database query would return
+     */
+    Page<ProductCard> findProductCards(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                       boolean availableOnly, Pageable pageable);
+
+    /**
+     * Search the catalog by words in product names and descriptions, served from memory.
+     * Sorting by "relevance" keeps the search ranking; any other sort orders the matches
+     * as {@link #findProductCards} would.
+     * @param query The words to search for
+     * @param category The category filter, or null for any category
+     * @param minPrice The minimum price, or null for no lower bound
+     * @param maxPrice The maximum price, or null for no upper bound
+     * @param availableOnly Whether to only include products in stock
+     * @param pageable The pagination information
+     * @return A page of the matching product cards
+     */
+    Page<ProductCard> searchProductCards(String query, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                         boolean availableOnly, Pageable pageable);
+
+    /**
+     * Compare the index with the database and repair every entry that differs.
+     * Entries changed by an event while the check was reading the database are left alone.
+     * @return The number of entries that were added, removed or corrected, or -1 if the check failed
+     */
+    int checkConsistency();
+
+    /**
+     * Get the number of products in the index
+     * @return The number of indexed products, in stock or not
+     */
+    int size();
+
+    /**
+     * Stop the periodic consistency check
+     */
+    void shutdown();
+}
\ No newline at end of file
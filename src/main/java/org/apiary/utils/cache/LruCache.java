@@ -0,0 +1,67 @@
+package org.apiary.utils.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-size cache that evicts the least recently used entry when full.
+ * It is not synchronized; use it from a single thread, such as the JavaFX Application Thread.
+ * @param <K> The type of the cache key
+ * @param <V> The type of the cached value
+ */
+public class LruCache<K, V> {
+
+    private final int capacity;
+    private final Map<K, V> entries;
+
+    /**
+     * Create a cache
+     * @param capacity The maximum number of entries kept
+     */
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        // Access order, so every get moves the entry to the most recently used end
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value and mark it as recently used
+     * @param key The key
+     * @return The cached value, or null if the key is not cached
+     */
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Cache a value, evicting the least recently used entry if the cache is full
+     * @param key The key
+     * @param value The value
+     */
+    public void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Remove every entry, e.g. when the cached data has changed
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Get the number of cached entries
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package org.apiary.utils.concurrent;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the data loads of a view on a shared background executor, so service and database
+ * calls never block the JavaFX Application Thread.
+ * Loads are keyed by the part of the view they fill. Starting a load for a key cancels the one
+ * still in flight for that key, so only the result of the latest request is ever published.
+ * Results and failures are delivered on the JavaFX Application Thread, and the loader itself
+ * must only be used from that thread.
+ */
+public class BackgroundLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(BackgroundLoader.class.getName());
+    private static final int THREADS = 4;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new LoaderThreadFactory());
+
+    private final Map<String, Task<?>> inFlight = new HashMap<>();
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+    /**
+     * Load data in the background, replacing any load still in flight for the same key
+     * @param key The part of the view being loaded, e.g. "products"
+     * @param loader The work to run in the background; it must not touch any JavaFX node
+     * @param onSuccess Called on the JavaFX Application Thread with the loaded data
+     * @param onFailure Called on the JavaFX Application Thread if the load throws
+     * @param <T> The type of data loaded
+     * @return The task running the load
+     */
+    public <T> Task<T> load(String key, Callable<T> loader, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        cancel(key);
+
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return loader.call();
+            }
+        };
+        // Task delivers these events through Platform.runLater, on the JavaFX Application Thread
+        task.setOnSucceeded(event -> {
+            if (finish(key, task)) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            if (finish(key, task)) {
+                LOGGER.log(Level.SEVERE, "Background load failed: " + key, task.getException());
+                onFailure.accept(task.getException());
+            }
+        });
+        task.setOnCancelled(event -> finish(key, task));
+
+        inFlight.put(key, task);
+        loading.set(true);
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancel the load in flight for a key, if any. Its result is discarded.
+     * @param key The part of the view being loaded
+     */
+    public void cancel(String key) {
+        Task<?> previous = inFlight.remove(key);
+        if (previous != null) {
+            // Do not interrupt: a query interrupted mid-flight can leave its connection unusable
+            previous.cancel(false);
+            LOGGER.fine("Cancelled superseded load: " + key);
+        }
+        loading.set(!inFlight.isEmpty());
+    }
+
+    /**
+     * Cancel every load in flight, e.g. when the view is closed
+     */
+    public void cancelAll() {
+        inFlight.values().forEach(task -> task.cancel(false));
+        inFlight.clear();
+        loading.set(false);
+    }
+
+    /**
+     * Check whether any load is in flight for a key
+     * @param key The part of the view being loaded
+     * @return true if a load is in flight, false otherwise
+     */
+    public boolean isLoading(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * Property that is true while any load of this loader is in flight, for binding a loading indicator
+     * @return The loading property
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    /**
+     * Stop the shared executor; pending loads are dropped
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+        try {
+            EXECUTOR.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Background loader executor shut down");
+    }
+
+    private boolean finish(String key, Task<?> task) {
+        boolean current = inFlight.remove(key, task);
+        loading.set(!inFlight.isEmpty());
+        return current;
+    }
+
+    /**
+     * Creates named daemon threads, so pending loads never keep the JVM alive on exit
+     */
+    private static class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "background-loader-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
\ No newline at end of file
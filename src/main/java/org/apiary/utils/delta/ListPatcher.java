@@ -0,0 +1,128 @@
+package org.apiary.utils.delta;
+
+import org.apiary.utils.events.EntityChangeEvent;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Applies an entity change to a loaded list in place, matching rows by id, so a table can
+ * follow a change without reloading it from the database.
+ * A patch is only applied when its outcome is certain; when the list's order or filter cannot
+ * place the changed row locally, {@link Result#RELOAD} tells the caller to reload instead.
+ * Used on an ObservableList, every patch fires a single-row change, so only that row is redrawn.
+ * @param <T> The type of the rows
+ * @param <K> The type of the row id
+ */
+public class ListPatcher<T, K> {
+
+    /**
+     * Outcome of applying a change
+     */
+    public enum Result {
+        /** The list was changed to reflect the change */
+        PATCHED,
+        /** The change does not affect the list */
+        UNCHANGED,
+        /** The change could not be applied locally; the list must be reloaded */
+        RELOAD
+    }
+
+    private final Function<? super T, K> idOf;
+    private final Comparator<? super T> order;
+
+    /**
+     * Create a patcher
+     * @param idOf Extracts the id of a row
+     * @param order The order the list is loaded in, or null if it is not known, in which case
+     *              rows that are new to the list cannot be placed and need a reload
+     */
+    public ListPatcher(Function<? super T, K> idOf, Comparator<? super T> order) {
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    /**
+     * Apply a change to a list
+     * @param items The list to patch
+     * @param type The type of change
+     * @param row The row in its new state (its last state for deletions)
+     * @param shown Whether a row belongs in the list under the current filters, or null if that
+     *              cannot be decided locally
+     * @return What happened to the list
+     */
+    public Result apply(List<T> items, EntityChangeEvent.Type type, T row, Predicate<? super T> shown) {
+        int index = indexOf(items, idOf.apply(row));
+
+        if (type == EntityChangeEvent.Type.DELETED) {
+            if (index < 0) {
+                return Result.UNCHANGED;
+            }
+            items.remove(index);
+            return Result.PATCHED;
+        }
+
+        if (shown == null) {
+            return Result.RELOAD;
+        }
+        if (!shown.test(row)) {
+            if (index < 0) {
+                return Result.UNCHANGED;
+            }
+            items.remove(index);
+            return Result.PATCHED;
+        }
+
+        if (index >= 0 && (order == null || staysInPlace(items, index, row))) {
+            items.set(index, row);
+            return Result.PATCHED;
+        }
+        if (order == null) {
+            return Result.RELOAD;
+        }
+        if (index >= 0) {
+            items.remove(index);
+        }
+        items.add(insertionPoint(items, row), row);
+        return Result.PATCHED;
+    }
+
+    /**
+     * Find a row by id
+     * @param items The list to search
+     * @param id The id
+     * @return The index of the row, or -1 if the list does not contain it
+     */
+    public int indexOf(List<T> items, K id) {
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item != null && Objects.equals(idOf.apply(item), id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean staysInPlace(List<T> items, int index, T row) {
+        return (index == 0 || order.compare(items.get(index - 1), row) <= 0)
+                && (index == items.size() - 1 || order.compare(row, items.get(index + 1)) <= 0);
+    }
+
+    // After any rows that compare equal, so a new row lands where a reload would put it
+    private int insertionPoint(List<T> items, T row) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(items.get(mid), row) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
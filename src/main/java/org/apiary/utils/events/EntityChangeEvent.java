@@ -1,5 +1,11 @@
 package org.apiary.utils.events;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Event class for entity changes
  * @param <T> The type of the entity
@@ -16,6 +22,8 @@ public class EntityChangeEvent<T> implements Event {
     private final T entity;
     private final T oldEntity;
     private final String entityType;
+    private final Integer clientId;
+    private final Set<Integer> beekeeperIds;
 
     /**
      * Create a new entity change event
@@ -33,10 +41,25 @@ public class EntityChangeEvent<T> implements Event {
      * @param oldEntity The old entity state (for updates)
      */
     public EntityChangeEvent(Type type, T entity, T oldEntity) {
+        this(type, entity, oldEntity, null, Set.of());
+    }
+
+    /**
+     * Create a new entity change event for an entity that belongs to a client and/or beekeepers.
+     * Observers subscribed for an owner only receive events that name that owner.
+     * @param type The type of change
+     * @param entity The new entity state
+     * @param oldEntity The old entity state (for updates), or null
+     * @param clientId The ID of the client the entity belongs to, or null
+     * @param beekeeperIds The IDs of the beekeepers the entity belongs to
+     */
+    public EntityChangeEvent(Type type, T entity, T oldEntity, Integer clientId, Collection<Integer> beekeeperIds) {
         this.type = type;
         this.entity = entity;
         this.oldEntity = oldEntity;
         this.entityType = entity != null ? entity.getClass().getSimpleName() : "Unknown";
+        this.clientId = clientId;
+        this.beekeeperIds = Set.copyOf(beekeeperIds);
     }
 
     /**
@@ -70,4 +93,76 @@ public class EntityChangeEvent<T> implements Event {
     public String getEntityType() {
         return entityType;
     }
+
+    /**
+     * Get the ID of the client the entity belongs to
+     * @return The client ID, or null if the entity does not belong to a client
+     */
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Get the IDs of the beekeepers the entity belongs to
+     * @return The beekeeper IDs; empty if the entity does not belong to a beekeeper
+     */
+    public Set<Integer> getBeekeeperIds() {
+        return beekeeperIds;
+    }
+
+    /**
+     * Events are routed by entity type and by each of their owners
+     * @return The routing keys of this event
+     */
+    @Override
+    public Collection<?> routingKeys() {
+        List<Object> keys = new ArrayList<>(2 + beekeeperIds.size());
+        keys.add(entityKey(entityType));
+        if (clientId != null) {
+            keys.add(clientKey(clientId));
+        }
+        for (Integer beekeeperId : beekeeperIds) {
+            keys.add(beekeeperKey(beekeeperId));
+        }
+        return keys;
+    }
+
+    /**
+     * Updates of the same entity are merged while they wait for delivery.
+     * Creations and deletions are never merged, so observers see every one of them.
+     * @return The entity type and entity for an update, null otherwise
+     */
+    @Override
+    public Object coalescingKey() {
+        return type == Type.UPDATED && entity != null ? List.of(entityType, entity) : null;
+    }
+
+    /**
+     * Merge a later update of the same entity: the result carries the latest state
+     * and the state from before the first update
+     * @param later The later update
+     * @return The merged update
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Event coalesce(Event later) {
+        EntityChangeEvent<T> next = (EntityChangeEvent<T>) later;
+        // An update can move an entity between owners; the merged event concerns all of them
+        Set<Integer> owners = new LinkedHashSet<>(beekeeperIds);
+        owners.addAll(next.beekeeperIds);
+        return new EntityChangeEvent<>(Type.UPDATED, next.entity, oldEntity != null ? oldEntity : next.oldEntity,
+                next.clientId != null ? next.clientId : clientId, owners);
+    }
+
+    static Object entityKey(String entityType) {
+        return List.of("entity", entityType);
+    }
+
+    static Object clientKey(Integer clientId) {
+        return List.of("client", clientId);
+    }
+
+    static Object beekeeperKey(Integer beekeeperId) {
+        return List.of("beekeeper", beekeeperId);
+    }
 }
\ No newline at end of file
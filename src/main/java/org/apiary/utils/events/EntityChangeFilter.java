@@ -0,0 +1,106 @@
+package org.apiary.utils.events;
+
+import org.apiary.utils.observer.EventFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filter for entity change events by entity class, change type and owner.
+ * Each criterion left unset matches every event; the filter is immutable, and each
+ * narrowing method returns a new filter.
+ */
+public class EntityChangeFilter implements EventFilter<EntityChangeEvent<?>> {
+
+    private final Set<String> entityTypes;
+    private final Set<EntityChangeEvent.Type> types;
+    private final Integer clientId;
+    private final Integer beekeeperId;
+
+    private EntityChangeFilter(Set<String> entityTypes, Set<EntityChangeEvent.Type> types,
+                               Integer clientId, Integer beekeeperId) {
+        this.entityTypes = entityTypes;
+        this.types = types;
+        this.clientId = clientId;
+        this.beekeeperId = beekeeperId;
+    }
+
+    /**
+     * Create a filter that matches every entity change
+     * @return The filter
+     */
+    public static EntityChangeFilter any() {
+        return new EntityChangeFilter(Set.of(), Set.of(), null, null);
+    }
+
+    /**
+     * Create a filter that matches changes to the given entity classes
+     * @param entityClasses The entity classes
+     * @return The filter
+     */
+    public static EntityChangeFilter forEntities(Class<?>... entityClasses) {
+        Set<String> entityTypes = Arrays.stream(entityClasses).map(Class::getSimpleName).collect(Collectors.toSet());
+        return new EntityChangeFilter(entityTypes, Set.of(), null, null);
+    }
+
+    /**
+     * Narrow the filter to the given change types
+     * @param types The change types
+     * @return A new filter
+     */
+    public EntityChangeFilter ofTypes(EntityChangeEvent.Type... types) {
+        Set<EntityChangeEvent.Type> typeSet = EnumSet.noneOf(EntityChangeEvent.Type.class);
+        typeSet.addAll(Arrays.asList(types));
+        return new EntityChangeFilter(entityTypes, typeSet, clientId, beekeeperId);
+    }
+
+    /**
+     * Narrow the filter to entities that belong to a client
+     * @param clientId The client ID
+     * @return A new filter
+     */
+    public EntityChangeFilter ownedByClient(Integer clientId) {
+        return new EntityChangeFilter(entityTypes, types, clientId, beekeeperId);
+    }
+
+    /**
+     * Narrow the filter to entities that belong to a beekeeper
+     * @param beekeeperId The beekeeper ID
+     * @return A new filter
+     */
+    public EntityChangeFilter ownedByBeekeeper(Integer beekeeperId) {
+        return new EntityChangeFilter(entityTypes, types, clientId, beekeeperId);
+    }
+
+    @Override
+    public boolean matches(EntityChangeEvent<?> event) {
+        return (entityTypes.isEmpty() || entityTypes.contains(event.getEntityType()))
+                && (types.isEmpty() || types.contains(event.getType()))
+                && (clientId == null || clientId.equals(event.getClientId()))
+                && (beekeeperId == null || event.getBeekeeperIds().contains(beekeeperId));
+    }
+
+    /**
+     * Index by owner when there is one, since an owner is far more selective than an entity class
+     * @return The index keys of this filter
+     */
+    @Override
+    public Collection<?> indexKeys() {
+        if (beekeeperId != null) {
+            return List.of(EntityChangeEvent.beekeeperKey(beekeeperId));
+        }
+        if (clientId != null) {
+            return List.of(EntityChangeEvent.clientKey(clientId));
+        }
+        List<Object> keys = new ArrayList<>(entityTypes.size());
+        for (String entityType : entityTypes) {
+            keys.add(EntityChangeEvent.entityKey(entityType));
+        }
+        return keys;
+    }
+}
\ No newline at end of file
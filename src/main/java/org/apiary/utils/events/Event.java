@@ -1,8 +1,37 @@
 package org.apiary.utils.events;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Base interface for all event classes
  */
 public interface Event {
-    // Marker interface for all events
+
+    /**
+     * Get the key under which this event may be merged with a later pending event.
+     * Two pending events with equal keys are delivered as one, see {@link #coalesce(Event)}.
+     * @return The coalescing key, or null if the event must always be delivered on its own
+     */
+    default Object coalescingKey() {
+        return null;
+    }
+
+    /**
+     * Merge a later event with the same coalescing key into this one
+     * @param later The later event
+     * @return The single event to deliver in place of both
+     */
+    default Event coalesce(Event later) {
+        return later;
+    }
+
+    /**
+     * Get the keys this event is routed by. Observers subscribed with a filter that is indexed
+     * by keys are only considered for events that carry one of those keys.
+     * @return The routing keys; empty if the event only reaches unindexed subscriptions
+     */
+    default Collection<?> routingKeys() {
+        return List.of();
+    }
 }
\ No newline at end of file
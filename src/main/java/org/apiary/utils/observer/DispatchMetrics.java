@@ -0,0 +1,110 @@
+package org.apiary.utils.observer;
+
+/**
+ * Point-in-time snapshot of an {@link EventDispatcher}'s counters
+ */
+public class DispatchMetrics {
+
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final long published;
+    private final long delivered;
+    private final long coalesced;
+    private final long dropped;
+    private final long batches;
+    private final double averageLatencyMillis;
+    private final double maxLatencyMillis;
+
+    public DispatchMetrics(int queueDepth, int maxQueueDepth, long published, long delivered, long coalesced,
+                           long dropped, long batches, double averageLatencyMillis, double maxLatencyMillis) {
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.published = published;
+        this.delivered = delivered;
+        this.coalesced = coalesced;
+        this.dropped = dropped;
+        this.batches = batches;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    /**
+     * Get the number of events waiting for delivery, over all observers
+     * @return The current queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Get the largest queue depth seen since the dispatcher was created
+     * @return The peak queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Get the number of events handed to the dispatcher, one per observer notified
+     * @return The number of published events
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * Get the number of events delivered to observers
+     * @return The number of delivered events
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Get the number of events merged into an event that was already waiting
+     * @return The number of coalesced events
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Get the number of events dropped because an observer's queue stayed full
+     * @return The number of dropped events
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Get the number of batches delivered to observers
+     * @return The number of batches
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Get the average time from publishing an event to the start of its delivery
+     * @return The average dispatch latency in milliseconds
+     */
+    public double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    /**
+     * Get the longest time from publishing an event to the start of its delivery
+     * @return The maximum dispatch latency in milliseconds
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queue depth %d (max %d), published %d, delivered %d in %d batches, " +
+                        "coalesced %d, dropped %d, latency avg %.1f ms (max %.1f ms)",
+                queueDepth, maxQueueDepth, published, delivered, batches, coalesced, dropped,
+                averageLatencyMillis, maxLatencyMillis);
+    }
+}
\ No newline at end of file
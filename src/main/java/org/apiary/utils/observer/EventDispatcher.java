@@ -0,0 +1,261 @@
+package org.apiary.utils.observer;
+
+import org.apiary.utils.events.Event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers events to observers on a dedicated pool instead of the publishing thread.
+ * Every observer has its own bounded mailbox, drained by one task at a time, so an observer
+ * sees its events in publishing order and a slow observer never holds up the others.
+ * Events wait in the mailbox for a short window before delivery; events published in that
+ * window with the same {@link Event#coalescingKey()} are merged, and everything pending is
+ * handed over as one batch through {@link Observer#updateAll(List)}.
+ * When a mailbox is full the publisher waits for room, up to a timeout, and the event is
+ * dropped if none frees up.
+ */
+public class EventDispatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(EventDispatcher.class.getName());
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final int mailboxCapacity;
+    private final long coalesceWindowMillis;
+    private final long offerTimeoutMillis;
+    private final Map<Observer<?>, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Create a dispatcher
+     * @param threads The number of delivery threads
+     * @param mailboxCapacity The maximum number of events waiting for one observer
+     * @param coalesceWindowMillis How long an event waits for others to merge with before delivery
+     * @param offerTimeoutMillis How long a publisher waits for room in a full mailbox before the event is dropped
+     */
+    public EventDispatcher(int threads, int mailboxCapacity, long coalesceWindowMillis, long offerTimeoutMillis) {
+        if (threads <= 0 || mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Threads and mailbox capacity must be positive");
+        }
+        this.mailboxCapacity = mailboxCapacity;
+        this.coalesceWindowMillis = Math.max(0, coalesceWindowMillis);
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.executor = new ScheduledThreadPoolExecutor(threads, new DispatchThreadFactory());
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Queue an event for an observer.
+     * If the dispatcher has been shut down the event is delivered on the calling thread instead.
+     * @param observer The observer to notify
+     * @param event The event
+     * @param <E> The type of event
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> void dispatch(Observer<E> observer, E event) {
+        if (executor.isShutdown()) {
+            observer.update(event);
+            return;
+        }
+        published.increment();
+
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(observer, o -> new Mailbox((Observer<Event>) o));
+            synchronized (mailbox) {
+                // A mailbox is retired once drained; take a fresh one so ordering restarts cleanly
+                if (mailbox.retired) {
+                    continue;
+                }
+                mailbox.offer(event);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get a snapshot of the dispatch counters
+     * @return The current metrics
+     */
+    public DispatchMetrics getMetrics() {
+        long deliveredCount = delivered.sum();
+        double averageLatency = deliveredCount == 0 ? 0 : totalLatencyNanos.sum() / 1e6 / deliveredCount;
+        return new DispatchMetrics(queueDepth.get(), maxQueueDepth.get(), published.sum(), deliveredCount,
+                coalesced.sum(), dropped.sum(), batches.sum(), averageLatency, maxLatencyNanos.get() / 1e6);
+    }
+
+    /**
+     * Deliver what is still pending, then stop the delivery threads.
+     * Events dispatched afterwards are delivered synchronously.
+     */
+    public void shutdown() {
+        // Delayed drains still run after shutdown(), so pending events are not lost
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(coalesceWindowMillis + 5000, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Event dispatcher shut down: " + getMetrics());
+    }
+
+    /**
+     * Pending events of one observer. All fields are guarded by the mailbox's own monitor.
+     */
+    private final class Mailbox {
+        private final Observer<Event> observer;
+        // Coalescing key -> pending event; events without a key get a key of their own
+        private final Map<Object, Pending> pending = new LinkedHashMap<>();
+        private boolean scheduled;
+        private boolean retired;
+        // Publishers waiting for room; the mailbox must outlive them
+        private int waiters;
+
+        private Mailbox(Observer<Event> observer) {
+            this.observer = observer;
+        }
+
+        private void offer(Event event) {
+            Object key = event.coalescingKey();
+            if (key != null) {
+                Pending waiting = pending.get(key);
+                if (waiting != null) {
+                    waiting.event = waiting.event.coalesce(event);
+                    coalesced.increment();
+                    return;
+                }
+            } else {
+                key = new Object();
+            }
+
+            if (pending.size() >= mailboxCapacity && !awaitRoom()) {
+                dropped.increment();
+                LOGGER.warning("Event queue full for observer " + observer.getClass().getSimpleName() +
+                        ", dropping event: " + event.getClass().getSimpleName());
+                return;
+            }
+
+            pending.put(key, new Pending(event));
+            int depth = queueDepth.incrementAndGet();
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+            if (!scheduled) {
+                scheduled = true;
+                schedule();
+            }
+        }
+
+        // Wait for the drain task to make room; the monitor is released while waiting
+        private boolean awaitRoom() {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+            waiters++;
+            try {
+                while (pending.size() >= mailboxCapacity) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiters--;
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.schedule(this::drain, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shut down in the meantime; deliver on the publishing thread
+                drain();
+            }
+        }
+
+        private void drain() {
+            List<Pending> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                queueDepth.addAndGet(-batch.size());
+                notifyAll();
+            }
+
+            long now = System.nanoTime();
+            List<Event> events = new ArrayList<>(batch.size());
+            for (Pending entry : batch) {
+                long latency = now - entry.publishedAt;
+                totalLatencyNanos.add(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                events.add(entry.event);
+            }
+            try {
+                observer.updateAll(events);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error notifying observer: " + observer.getClass().getSimpleName(), e);
+            }
+            delivered.add(events.size());
+            batches.increment();
+
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                    if (waiters == 0) {
+                        retired = true;
+                        mailboxes.remove(observer, this);
+                    }
+                } else {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final long publishedAt = System.nanoTime();
+        private Event event;
+
+        private Pending(Event event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * Creates named daemon threads, so queued events never keep the JVM alive on exit
+     */
+    private static class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "event-dispatcher-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
\ No newline at end of file
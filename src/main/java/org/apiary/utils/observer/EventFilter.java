@@ -0,0 +1,29 @@
+package org.apiary.utils.observer;
+
+import org.apiary.utils.events.Event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Condition an event must meet to be delivered to a subscribed observer
+ * @param <E> The type of event
+ */
+public interface EventFilter<E extends Event> {
+    /**
+     * Check whether an event should be delivered
+     * @param event The event
+     * @return true if the observer should receive the event
+     */
+    boolean matches(E event);
+
+    /**
+     * Get the keys the subscription is indexed by, so it is only considered for events that
+     * carry at least one of them in {@link Event#routingKeys()}.
+     * A filter that returns keys must never match an event without any of them.
+     * @return The index keys; empty to consider the subscription for every event
+     */
+    default Collection<?> indexKeys() {
+        return List.of();
+    }
+}
\ No newline at end of file
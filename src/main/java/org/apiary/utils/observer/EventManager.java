@@ -1,73 +1,143 @@
-// src/main/java/org/apiary/utils/observer/EventManager.java
 package org.apiary.utils.observer;
 
 import org.apiary.utils.events.Event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Base class for implementing the Observable interface
+ * Base class for implementing the Observable interface.
+ * Observers are notified on the publishing thread unless an {@link EventDispatcher} is set,
+ * in which case only observers added with {@link #addSynchronousObserver} still are.
+ * Filtered subscriptions are indexed by their filter's keys, so an event is only tested against
+ * the subscriptions indexed under one of its routing keys and the unindexed ones.
  * @param <E> The type of event to notify observers of
  */
 public class EventManager<E extends Event> implements Observable<E> {
     private static final Logger LOGGER = Logger.getLogger(EventManager.class.getName());
 
-    // Using CopyOnWriteArrayList for thread safety when notifying observers
-    private final List<Observer<E>> observers = new CopyOnWriteArrayList<>();
+    // Replaced as a whole on every change, so notifying never locks and sees a consistent snapshot
+    private volatile Registry<E> registry = new Registry<>(List.of());
+    private final Object registryLock = new Object();
+    private volatile EventDispatcher eventDispatcher;
+
+    /**
+     * Set the dispatcher used to notify observers asynchronously
+     * @param eventDispatcher The dispatcher, or null to notify every observer on the publishing thread
+     */
+    public void setEventDispatcher(EventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    /**
+     * Get the dispatcher used to notify observers asynchronously
+     * @return The dispatcher, or null if observers are notified on the publishing thread
+     */
+    public EventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
 
     @Override
     public void addObserver(Observer<E> observer) {
-        if (observer != null) {
-            // Log the registration attempt
-            LOGGER.info("=== ATTEMPTING TO ADD OBSERVER ===");
-            LOGGER.info("Observer: " + observer.getClass().getSimpleName() + "@" +
-                    Integer.toHexString(observer.hashCode()));
-            LOGGER.info("Current observer count BEFORE adding: " + observers.size());
-
-            // Check if already exists
-            boolean alreadyExists = observers.contains(observer);
-            LOGGER.info("Observer already exists: " + alreadyExists);
-
-            if (!alreadyExists) {
-                observers.add(observer);
-                LOGGER.info("Successfully added observer. New count: " + observers.size());
-            } else {
-                LOGGER.warning("Observer already exists, not adding duplicate");
-            }
-            LOGGER.info("=== ADD OBSERVER COMPLETED ===");
-        } else {
+        subscribe(observer, null, false);
+    }
+
+    @Override
+    public void addObserver(Observer<E> observer, EventFilter<E> filter) {
+        subscribe(observer, filter, false);
+    }
+
+    @Override
+    public void addSynchronousObserver(Observer<E> observer) {
+        subscribe(observer, null, true);
+    }
+
+    @Override
+    public void addSynchronousObserver(Observer<E> observer, EventFilter<E> filter) {
+        subscribe(observer, filter, true);
+    }
+
+    private void subscribe(Observer<E> observer, EventFilter<E> filter, boolean synchronous) {
+        if (observer == null) {
             LOGGER.warning("Attempted to add null observer");
+            return;
+        }
+
+        synchronized (registryLock) {
+            List<Subscription<E>> subscriptions = registry.subscriptions;
+            if (subscriptions.stream().anyMatch(subscription -> subscription.observer.equals(observer))) {
+                LOGGER.warning("Observer already exists, not adding duplicate: " + observer.getClass().getSimpleName());
+                return;
+            }
+            List<Subscription<E>> updated = new ArrayList<>(subscriptions);
+            long order = subscriptions.isEmpty() ? 0 : subscriptions.get(subscriptions.size() - 1).order + 1;
+            updated.add(new Subscription<>(observer, filter, synchronous, order));
+            registry = new Registry<>(updated);
+            LOGGER.info("Added " + (synchronous ? "synchronous " : "") + (filter != null ? "filtered " : "") +
+                    "observer: " + observer.getClass().getSimpleName() + "@" +
+                    Integer.toHexString(observer.hashCode()) + ". Total observers: " + updated.size());
         }
     }
 
     @Override
     public void removeObserver(Observer<E> observer) {
         if (observer != null) {
-            observers.remove(observer);
+            int remaining;
+            synchronized (registryLock) {
+                List<Subscription<E>> updated = new ArrayList<>(registry.subscriptions);
+                updated.removeIf(subscription -> subscription.observer.equals(observer));
+                registry = new Registry<>(updated);
+                remaining = updated.size();
+            }
             LOGGER.info("Removed observer: " + observer.getClass().getSimpleName() +
-                    ". Total observers: " + observers.size());
+                    ". Total observers: " + remaining);
         }
     }
 
     @Override
     public void notifyObservers(E event) {
-        LOGGER.info("EventManager notifying " + observers.size() + " observers of event: " +
-                event.getClass().getSimpleName());
+        EventDispatcher dispatcher = eventDispatcher;
+        List<Subscription<E>> candidates = registry.candidates(event);
+        LOGGER.fine("EventManager notifying up to " + candidates.size() + " observers of event: " +
+                event.getClass().getSimpleName() + (dispatcher != null ? " (async)" : ""));
+
+        List<Subscription<E>> matching = new ArrayList<>(candidates.size());
+        for (Subscription<E> subscription : candidates) {
+            if (subscription.accepts(event)) {
+                matching.add(subscription);
+            }
+        }
 
-        for (Observer<E> observer : observers) {
-            try {
-                LOGGER.info("Notifying observer: " + observer.getClass().getSimpleName());
-                observer.update(event);
-                LOGGER.info("Observer notification completed for: " + observer.getClass().getSimpleName());
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error notifying observer: " + observer.getClass().getSimpleName(), e);
+        // Synchronous observers first, so their state is current before anyone else sees the event
+        for (Subscription<E> subscription : matching) {
+            if (dispatcher == null || subscription.synchronous) {
+                notifyObserver(subscription.observer, event);
+            }
+        }
+        if (dispatcher != null) {
+            for (Subscription<E> subscription : matching) {
+                if (!subscription.synchronous) {
+                    dispatcher.dispatch(subscription.observer, event);
+                }
             }
         }
+    }
 
-        LOGGER.info("All observer notifications completed");
+    private void notifyObserver(Observer<E> observer, E event) {
+        try {
+            observer.update(event);
+            LOGGER.fine("Observer notification completed for: " + observer.getClass().getSimpleName());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error notifying observer: " + observer.getClass().getSimpleName(), e);
+        }
     }
 
 
@@ -77,7 +147,7 @@ public class EventManager<E extends Event> implements Observable<E> {
      * @return The number of observers
      */
     public int countObservers() {
-        return observers.size();
+        return registry.subscriptions.size();
     }
 
     /**
@@ -85,13 +155,83 @@ public class EventManager<E extends Event> implements Observable<E> {
      * @return true if there are observers, false otherwise
      */
     public boolean hasObservers() {
-        return !observers.isEmpty();
+        return !registry.subscriptions.isEmpty();
     }
 
     /**
      * Remove all observers
      */
     public void clearObservers() {
-        observers.clear();
+        synchronized (registryLock) {
+            registry = new Registry<>(List.of());
+        }
+    }
+
+    /**
+     * One observer with the filter and delivery mode it subscribed with
+     */
+    private static final class Subscription<E extends Event> {
+        private final Observer<E> observer;
+        private final EventFilter<E> filter;
+        private final boolean synchronous;
+        // Registration order, kept when candidates are merged from several index entries
+        private final long order;
+
+        private Subscription(Observer<E> observer, EventFilter<E> filter, boolean synchronous, long order) {
+            this.observer = observer;
+            this.filter = filter;
+            this.synchronous = synchronous;
+            this.order = order;
+        }
+
+        private boolean accepts(E event) {
+            try {
+                return filter == null || filter.matches(event);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error filtering event for observer: " + observer.getClass().getSimpleName(), e);
+                return false;
+            }
+        }
+
+        private Collection<?> indexKeys() {
+            return filter != null ? filter.indexKeys() : List.of();
+        }
+    }
+
+    /**
+     * Immutable snapshot of the subscriptions and their index
+     */
+    private static final class Registry<E extends Event> {
+        private final List<Subscription<E>> subscriptions;
+        private final List<Subscription<E>> unindexed = new ArrayList<>();
+        private final Map<Object, List<Subscription<E>>> byKey = new HashMap<>();
+
+        private Registry(List<Subscription<E>> subscriptions) {
+            this.subscriptions = List.copyOf(subscriptions);
+            for (Subscription<E> subscription : this.subscriptions) {
+                Collection<?> keys = subscription.indexKeys();
+                if (keys.isEmpty()) {
+                    unindexed.add(subscription);
+                } else {
+                    for (Object key : keys) {
+                        byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(subscription);
+                    }
+                }
+            }
+        }
+
+        // The subscriptions that may match an event, in registration order
+        private List<Subscription<E>> candidates(E event) {
+            if (byKey.isEmpty()) {
+                return unindexed;
+            }
+            Set<Subscription<E>> candidates = new LinkedHashSet<>(unindexed);
+            for (Object key : event.routingKeys()) {
+                candidates.addAll(byKey.getOrDefault(key, List.of()));
+            }
+            List<Subscription<E>> ordered = new ArrayList<>(candidates);
+            ordered.sort(Comparator.comparingLong(subscription -> subscription.order));
+            return ordered;
+        }
     }
 }
\ No newline at end of file
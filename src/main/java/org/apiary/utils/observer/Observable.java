@@ -13,6 +13,28 @@ public interface Observable<E extends Event> {
      */
     void addObserver(Observer<E> observer);
 
+    /**
+     * Add an observer that only receives the events a filter matches
+     * @param observer The observer to add
+     * @param filter The filter events must match
+     */
+    void addObserver(Observer<E> observer, EventFilter<E> filter);
+
+    /**
+     * Add an observer that is always notified on the publishing thread, before the call that
+     * published the event returns, even when other observers are notified asynchronously.
+     * Use it for observers that keep state other observers read while handling the same event.
+     * @param observer The observer to add
+     */
+    void addSynchronousObserver(Observer<E> observer);
+
+    /**
+     * Add a synchronous observer that only receives the events a filter matches
+     * @param observer The observer to add
+     * @param filter The filter events must match
+     */
+    void addSynchronousObserver(Observer<E> observer, EventFilter<E> filter);
+
     /**
      * Remove an observer
      * @param observer The observer to remove
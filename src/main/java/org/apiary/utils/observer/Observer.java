@@ -2,6 +2,8 @@ package org.apiary.utils.observer;
 
 import org.apiary.utils.events.Event;
 
+import java.util.List;
+
 /**
  * Interface for observer classes
  * @param <E> The type of event to observe
@@ -12,4 +14,15 @@ public interface Observer<E extends Event> {
      * @param event The event to handle
      */
     void update(E event);
+
+    /**
+     * Handle a batch of events delivered together by an {@link EventDispatcher}.
+     * The default handles them one by one; override it to do shared work, such as a reload, once per batch.
+     * @param events The events, in the order they were published
+     */
+    default void updateAll(List<E> events) {
+        for (E event : events) {
+            update(event);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package org.apiary.utils.pagination;
+
+import java.util.List;
+
+/**
+ * Represents a page of items fetched with keyset pagination
+ * @param <T> The type of items in the page
+ */
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final boolean hasNext;
+    private final KeysetPageable nextPageable;
+
+    /**
+     * Create a new keyset page
+     * @param content The content of the page
+     * @param hasNext Whether more items follow this page
+     * @param nextPageable The pageable positioned after the last item, or null if there is no next page
+     */
+    public KeysetPage(List<T> content, boolean hasNext, KeysetPageable nextPageable) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextPageable = nextPageable;
+    }
+
+    /**
+     * Create an empty keyset page
+     * @param <T> The type of items
+     * @return An empty page with no next page
+     */
+    public static <T> KeysetPage<T> empty() {
+        return new KeysetPage<>(List.of(), false, null);
+    }
+
+    /**
+     * Get the content of the page
+     * @return The content of the page
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Check if there is a next page
+     * @return true if there is a next page, false otherwise
+     */
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * Get the pageable for the next page
+     * @return The pageable positioned after the last item, or null if there is no next page
+     */
+    public KeysetPageable getNextPageable() {
+        return nextPageable;
+    }
+}
\ No newline at end of file
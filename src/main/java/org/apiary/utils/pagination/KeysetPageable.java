@@ -0,0 +1,116 @@
+package org.apiary.utils.pagination;
+
+/**
+ * Represents cursor-based (keyset) pagination information for a query.
+ * Instead of an offset it carries the sort key and id of the last item seen,
+ * so the next page is fetched with a seek on the key rather than by skipping rows.
+ */
+public class KeysetPageable {
+    private final int size;
+    private final String sortBy;
+    private final String sortDirection;
+    private final Object lastSortValue;
+    private final Integer lastId;
+
+    private KeysetPageable(int size, String sortBy, String sortDirection, Object lastSortValue, Integer lastId) {
+        this.size = Math.max(1, size); // Ensure size is at least 1
+        this.sortBy = sortBy;
+        this.sortDirection = sortDirection;
+        this.lastSortValue = lastSortValue;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Create a keyset pageable for the first page with default sorting (by id, ascending)
+     * @param size The page size
+     * @return A keyset pageable for the first page
+     */
+    public static KeysetPageable first(int size) {
+        return first(size, "id", "asc");
+    }
+
+    /**
+     * Create a keyset pageable for the first page with custom sorting
+     * @param size The page size
+     * @param sortBy The field to sort by
+     * @param sortDirection The sort direction ("asc" or "desc")
+     * @return A keyset pageable for the first page
+     */
+    public static KeysetPageable first(int size, String sortBy, String sortDirection) {
+        return new KeysetPageable(size, sortBy, sortDirection, null, null);
+    }
+
+    /**
+     * Create a keyset pageable for the page following the given item
+     * @param lastSortValue The sort key value of the last item seen
+     * @param lastId The id of the last item seen, used to break ties on the sort key
+     * @return A keyset pageable positioned after the given item
+     */
+    public KeysetPageable after(Object lastSortValue, Integer lastId) {
+        return new KeysetPageable(size, sortBy, sortDirection, lastSortValue, lastId);
+    }
+
+    /**
+     * Get the page size
+     * @return The page size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the field to sort by
+     * @return The field to sort by
+     */
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * Get the sort direction
+     * @return The sort direction ("asc" or "desc")
+     */
+    public String getSortDirection() {
+        return sortDirection;
+    }
+
+    /**
+     * Check if sorting is ascending
+     * @return true if sorting is ascending, false otherwise
+     */
+    public boolean isSortAscending() {
+        return "asc".equalsIgnoreCase(sortDirection);
+    }
+
+    /**
+     * Get the sort key value of the last item seen
+     * @return The last sort key value, or null on the first page
+     */
+    public Object getLastSortValue() {
+        return lastSortValue;
+    }
+
+    /**
+     * Get the id of the last item seen
+     * @return The last id, or null on the first page
+     */
+    public Integer getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Check if this pageable points at the first page
+     * @return true if no cursor has been set, false otherwise
+     */
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    /**
+     * Create a keyset pageable for the first page, keeping size and sorting
+     * @return A keyset pageable for the first page
+     */
+    public KeysetPageable first() {
+        return new KeysetPageable(size, sortBy, sortDirection, null, null);
+    }
+}
\ No newline at end of file
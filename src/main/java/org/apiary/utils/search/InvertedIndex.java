@@ -0,0 +1,186 @@
+package org.apiary.utils.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index from terms to the documents that contain them.
+ * Each document is a fixed list of fields, and each field position has its own weight.
+ * Every query term must match a document, either exactly or as the prefix of a document term
+ * so that partial words typed so far already find results. Matches are ranked by field
+ * weight and by how rare the matched term is across the index.
+ * @param <K> The type of the document key
+ */
+public class InvertedIndex<K extends Comparable<K>> {
+
+    // A prefix match counts for less than the whole word
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final double[] fieldWeights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Term -> document -> weight of the term in that document
+    private final NavigableMap<String, Map<K, Double>> postings = new TreeMap<>();
+    private final Map<K, Map<String, Double>> documents = new HashMap<>();
+
+    /**
+     * Create an index whose documents have one field per weight
+     * @param fieldWeights The weight of each field, in the order fields are passed to {@link #put}
+     */
+    public InvertedIndex(double... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Add a document, or replace it if the key is already indexed
+     * @param key The document key
+     * @param fields The field texts, in the order of the weights; null fields are skipped
+     */
+    public void put(K key, String... fields) {
+        Map<String, Double> terms = new HashMap<>();
+        for (int i = 0; i < fields.length && i < fieldWeights.length; i++) {
+            for (String term : TextAnalyzer.tokenize(fields[i])) {
+                terms.merge(term, fieldWeights[i], Double::sum);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            unindex(key);
+            documents.put(key, terms);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     * @param key The document key
+     */
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            unindex(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every document
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed documents
+     * @return The number of documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the keys of the indexed documents
+     * @return A copy of the keys
+     */
+    public Set<K> keys() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the documents matching every term of a query, best match first
+     * @param query The query text; it is analyzed the same way as the indexed fields
+     * @param limit The maximum number of keys to return
+     * @return The matching keys ordered by descending score, then by key; empty if the query has no terms
+     */
+    public List<K> search(String query, int limit) {
+        List<String> queryTerms = TextAnalyzer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<K, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            for (String queryTerm : queryTerms.stream().distinct().toList()) {
+                Map<K, Double> termScores = scoreTerm(queryTerm, documentCount);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // All query terms are required
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<K, Double> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<K, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<K, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        List<K> keys = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            keys.add(ranked.get(i).getKey());
+        }
+        return keys;
+    }
+
+    // Score of one query term per document, taking the best of its exact and prefix matches
+    private Map<K, Double> scoreTerm(String queryTerm, int documentCount) {
+        Map<K, Double> termScores = new HashMap<>();
+        for (Map.Entry<String, Map<K, Double>> posting
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            double idf = Math.log(1.0 + (double) documentCount / posting.getValue().size());
+            double factor = posting.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_FACTOR;
+            posting.getValue().forEach((key, weight) -> termScores.merge(key, weight * idf * factor, Math::max));
+        }
+        return termScores;
+    }
+
+    private void unindex(K key) {
+        Map<String, Double> previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<K, Double> posting = postings.get(term);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
\ No newline at end of file
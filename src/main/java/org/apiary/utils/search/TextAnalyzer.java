@@ -0,0 +1,48 @@
+package org.apiary.utils.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility methods for turning text into search terms
+ */
+public class TextAnalyzer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Prevent instantiation
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Fold a string for matching: strip accents and lower-case it, so "Salcâm" and "salcam" compare equal
+     * @param text The text to fold
+     * @return The folded text, or an empty string if the text is null
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Split text into folded terms on anything that is not a letter or digit
+     * @param text The text to split
+     * @return The terms in the order they appear, duplicates included
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(fold(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
\ No newline at end of file
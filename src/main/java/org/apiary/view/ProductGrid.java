@@ -0,0 +1,132 @@
+package org.apiary.view;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import org.apiary.model.projection.ProductCard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Virtualised grid of product tiles.
+ * Products are grouped into rows as wide as the grid allows, and each row is one cell of a
+ * list view, so only the rows on screen have nodes and those nodes are recycled while
+ * scrolling. Setting new products patches only the rows whose products changed.
+ */
+public class ProductGrid extends ListView<List<ProductCard>> {
+
+    private static final double GAP = 15;
+    // Room for the vertical scroll bar and the list view's own insets
+    private static final double RESERVED_WIDTH = 30;
+
+    private final ObservableList<List<ProductCard>> rows = FXCollections.observableArrayList();
+    private List<ProductCard> products = List.of();
+    private int columns = 1;
+    private Consumer<ProductCard> onViewDetails = product -> { };
+    private Consumer<ProductCard> onAddToCart = product -> { };
+
+    public ProductGrid() {
+        super();
+        setItems(rows);
+        getStyleClass().add("product-grid");
+        setFocusTraversable(false);
+        setFixedCellSize(ProductTile.HEIGHT + GAP);
+        setCellFactory(listView -> new ProductRowCell());
+
+        widthProperty().addListener((obs, oldWidth, newWidth) -> {
+            int fitting = Math.max(1, (int) ((newWidth.doubleValue() - RESERVED_WIDTH + GAP) / (ProductTile.WIDTH + GAP)));
+            if (fitting != columns) {
+                columns = fitting;
+                rows.setAll(toRows(products));
+            }
+        });
+    }
+
+    /**
+     * Set the handler for a tile's "View Details" button
+     * @param onViewDetails Called with the product of the tile
+     */
+    public void setOnViewDetails(Consumer<ProductCard> onViewDetails) {
+        this.onViewDetails = onViewDetails;
+    }
+
+    /**
+     * Set the handler for a tile's "Add to Cart" button
+     * @param onAddToCart Called with the product of the tile
+     */
+    public void setOnAddToCart(Consumer<ProductCard> onAddToCart) {
+        this.onAddToCart = onAddToCart;
+    }
+
+    /**
+     * Show a list of products.
+     * Rows that hold the same products as before are left alone, so refreshing after a
+     * change only rebinds the tiles of the rows that actually changed.
+     * @param products The products, in display order
+     */
+    public void setProducts(List<ProductCard> products) {
+        this.products = List.copyOf(products);
+        List<List<ProductCard>> newRows = toRows(this.products);
+
+        int common = Math.min(rows.size(), newRows.size());
+        for (int i = 0; i < common; i++) {
+            if (!rows.get(i).equals(newRows.get(i))) {
+                rows.set(i, newRows.get(i));
+            }
+        }
+        if (rows.size() > newRows.size()) {
+            rows.remove(newRows.size(), rows.size());
+        } else if (newRows.size() > common) {
+            rows.addAll(newRows.subList(common, newRows.size()));
+        }
+    }
+
+    /**
+     * Get the products shown in the grid
+     * @return The products, in display order
+     */
+    public List<ProductCard> getProducts() {
+        return products;
+    }
+
+    private List<List<ProductCard>> toRows(List<ProductCard> products) {
+        List<List<ProductCard>> grouped = new ArrayList<>();
+        for (int from = 0; from < products.size(); from += columns) {
+            grouped.add(products.subList(from, Math.min(from + columns, products.size())));
+        }
+        return grouped;
+    }
+
+    /**
+     * One row of tiles. The cell keeps its tiles and rebinds them when it is reused for another row.
+     */
+    private class ProductRowCell extends ListCell<List<ProductCard>> {
+        private final HBox row = new HBox(GAP);
+        private final List<ProductTile> tiles = new ArrayList<>();
+
+        @Override
+        protected void updateItem(List<ProductCard> item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+
+            while (tiles.size() < item.size()) {
+                tiles.add(new ProductTile(product -> onViewDetails.accept(product),
+                        product -> onAddToCart.accept(product)));
+            }
+            for (int i = 0; i < item.size(); i++) {
+                tiles.get(i).bind(item.get(i));
+            }
+            if (row.getChildren().size() != item.size()) {
+                row.getChildren().setAll(tiles.subList(0, item.size()));
+            }
+            setGraphic(row);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package org.apiary.view;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.apiary.model.projection.ProductCard;
+
+import java.util.function.Consumer;
+
+/**
+ * Catalog tile for one product.
+ * The node tree is built once; binding the tile to another product only changes its texts,
+ * so a tile can be recycled for any product the grid scrolls to.
+ */
+public class ProductTile extends VBox {
+
+    static final double WIDTH = 200;
+    static final double HEIGHT = 250;
+
+    private final Label nameLabel = new Label();
+    private final Label apiaryLabel = new Label();
+    private final Label priceLabel = new Label();
+    private ProductCard product;
+
+    /**
+     * Create an unbound tile
+     * @param onViewDetails Called with the bound product when "View Details" is pressed
+     * @param onAddToCart Called with the bound product when "Add to Cart" is pressed
+     */
+    public ProductTile(Consumer<ProductCard> onViewDetails, Consumer<ProductCard> onAddToCart) {
+        getStyleClass().add("product-tile");
+        setPrefSize(WIDTH, HEIGHT);
+        setMinSize(WIDTH, HEIGHT);
+        setMaxSize(WIDTH, HEIGHT);
+        setPadding(new Insets(10));
+        setSpacing(5);
+
+        StackPane imageContainer = new StackPane();
+        imageContainer.setPrefSize(180, 120);
+        Rectangle placeholder = new Rectangle(180, 120);
+        placeholder.setFill(Color.LIGHTGOLDENRODYELLOW);
+        placeholder.setStroke(Color.DARKGOLDENROD);
+        placeholder.setStrokeWidth(2);
+        Label honeyIcon = new Label("🍯");
+        honeyIcon.setStyle("-fx-font-size: 36px;");
+        imageContainer.getChildren().addAll(placeholder, honeyIcon);
+
+        nameLabel.getStyleClass().add("product-name");
+        nameLabel.setWrapText(true);
+        apiaryLabel.setWrapText(true);
+        priceLabel.getStyleClass().add("product-price");
+
+        Button viewButton = new Button("View Details");
+        viewButton.getStyleClass().add("secondary-button");
+        viewButton.setOnAction(e -> onViewDetails.accept(product));
+
+        Button addToCartButton = new Button("Add to Cart");
+        addToCartButton.getStyleClass().add("primary-button");
+        addToCartButton.setMaxWidth(Double.MAX_VALUE);
+        addToCartButton.setOnAction(e -> onAddToCart.accept(product));
+
+        getChildren().addAll(imageContainer, nameLabel, apiaryLabel, priceLabel,
+                new Region(), viewButton, addToCartButton);
+        VBox.setVgrow(viewButton, Priority.ALWAYS);
+    }
+
+    /**
+     * Show a product in this tile
+     * @param product The product to show
+     */
+    public void bind(ProductCard product) {
+        this.product = product;
+        setId("product-tile-" + product.getProductId());
+        nameLabel.setText(product.getName());
+        apiaryLabel.setText("From: " + product.getApiaryName());
+        priceLabel.setText(String.format("%.2f RON", product.getPrice().doubleValue()));
+    }
+
+    /**
+     * Get the product shown in this tile
+     * @return The bound product, or null if the tile was never bound
+     */
+    public ProductCard getProduct() {
+        return product;
+    }
+}
\ No newline at end of file
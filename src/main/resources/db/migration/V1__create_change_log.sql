@@ -0,0 +1,18 @@
+-- Change feed shared by the application instances (ChangeLogEntry)
+IF OBJECT_ID(N'dbo.ChangeLog', N'U') IS NULL
+BEGIN
+    CREATE TABLE dbo.ChangeLog (
+        changeId     BIGINT IDENTITY(1, 1) NOT NULL PRIMARY KEY,
+        entityType   VARCHAR(50)  NOT NULL,
+        entityId     INT          NOT NULL,
+        changeType   VARCHAR(10)  NOT NULL,
+        origin       VARCHAR(36)  NOT NULL,
+        clientId     INT          NULL,
+        beekeeperIds VARCHAR(255) NULL,
+        apiaryId     INT          NULL,
+        hiveId       INT          NULL,
+        date         DATETIME2    NOT NULL
+    );
+    -- The retention purge deletes by date
+    CREATE INDEX IX_ChangeLog_date ON dbo.ChangeLog (date);
+END
\ No newline at end of file
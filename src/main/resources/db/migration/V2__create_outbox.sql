@@ -0,0 +1,17 @@
+-- Order and stock events waiting to be published (OutboxEvent)
+IF OBJECT_ID(N'dbo.Outbox', N'U') IS NULL
+BEGIN
+    CREATE TABLE dbo.Outbox (
+        outboxId      BIGINT IDENTITY(1, 1) NOT NULL PRIMARY KEY,
+        entityType    VARCHAR(50) NOT NULL,
+        entityId      INT         NOT NULL,
+        eventType     VARCHAR(10) NOT NULL,
+        origin        VARCHAR(36) NOT NULL,
+        date          DATETIME2   NOT NULL,
+        publishedDate DATETIME2   NULL
+    );
+    -- The relay reads an instance's unpublished events in write order
+    CREATE INDEX IX_Outbox_unpublished ON dbo.Outbox (origin, outboxId) WHERE publishedDate IS NULL;
+    -- The retention purge deletes by date
+    CREATE INDEX IX_Outbox_date ON dbo.Outbox (date);
+END
\ No newline at end of file
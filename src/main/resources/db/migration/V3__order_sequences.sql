@@ -0,0 +1,75 @@
+-- Orders and order items take their IDs from sequences instead of IDENTITY columns, so Hibernate can
+-- batch their inserts. Each sequence hands out blocks of 50, the allocationSize of the entity's generator;
+-- the pooled optimizer takes each value as the top of a block, so a new sequence starts one block past
+-- the highest ID in use.
+SET XACT_ABORT ON;
+DECLARE @sql NVARCHAR(MAX);
+
+IF OBJECT_ID(N'dbo.Orders_seq', N'SO') IS NULL
+BEGIN
+    SET @sql = N'CREATE SEQUENCE dbo.Orders_seq AS INT START WITH '
+            + CAST(ISNULL((SELECT MAX(orderId) FROM dbo.Orders), 0) + 50 AS NVARCHAR(11)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+END
+
+IF OBJECT_ID(N'dbo.OrderItem_seq', N'SO') IS NULL
+BEGIN
+    SET @sql = N'CREATE SEQUENCE dbo.OrderItem_seq AS INT START WITH '
+            + CAST(ISNULL((SELECT MAX(orderItemId) FROM dbo.OrderItem), 0) + 50 AS NVARCHAR(11)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+END
+
+-- SQL Server cannot drop IDENTITY from a column, so each table is rebuilt with the same rows.
+-- The foreign keys that point at Orders are dropped first and added back at the end.
+IF COLUMNPROPERTY(OBJECT_ID(N'dbo.Orders'), N'orderId', 'IsIdentity') = 1
+BEGIN
+    BEGIN TRANSACTION;
+    SET @sql = N'';
+    SELECT @sql = @sql + N'ALTER TABLE ' + QUOTENAME(OBJECT_SCHEMA_NAME(parent_object_id)) + N'.'
+            + QUOTENAME(OBJECT_NAME(parent_object_id)) + N' DROP CONSTRAINT ' + QUOTENAME(name) + N';'
+    FROM sys.foreign_keys
+    WHERE referenced_object_id = OBJECT_ID(N'dbo.Orders');
+    EXEC sp_executesql @sql;
+
+    EXEC sp_rename N'dbo.Orders', N'Orders_identity';
+    EXEC (N'
+        CREATE TABLE dbo.Orders (
+            orderId  INT            NOT NULL PRIMARY KEY,
+            clientId INT            NOT NULL,
+            date     DATETIME2      NOT NULL,
+            status   VARCHAR(255)   NOT NULL,
+            total    NUMERIC(10, 2) NOT NULL,
+            CONSTRAINT FK_Orders_Users FOREIGN KEY (clientId) REFERENCES dbo.Users (userId)
+        );
+        INSERT INTO dbo.Orders (orderId, clientId, date, status, total)
+            SELECT orderId, clientId, date, status, total FROM dbo.Orders_identity;
+        DROP TABLE dbo.Orders_identity;');
+    COMMIT TRANSACTION;
+END
+
+IF COLUMNPROPERTY(OBJECT_ID(N'dbo.OrderItem'), N'orderItemId', 'IsIdentity') = 1
+BEGIN
+    BEGIN TRANSACTION;
+    EXEC sp_rename N'dbo.OrderItem', N'OrderItem_identity';
+    EXEC (N'
+        CREATE TABLE dbo.OrderItem (
+            orderItemId INT            NOT NULL PRIMARY KEY,
+            orderId     INT            NOT NULL,
+            productId   INT            NOT NULL,
+            quantity    INT            NOT NULL,
+            price       NUMERIC(10, 2) NOT NULL,
+            CONSTRAINT FK_OrderItem_HoneyProduct FOREIGN KEY (productId) REFERENCES dbo.HoneyProduct (productId)
+        );
+        INSERT INTO dbo.OrderItem (orderItemId, orderId, productId, quantity, price)
+            SELECT orderItemId, orderId, productId, quantity, price FROM dbo.OrderItem_identity;
+        DROP TABLE dbo.OrderItem_identity;');
+    COMMIT TRANSACTION;
+END
+
+IF NOT EXISTS (SELECT 1 FROM sys.foreign_keys
+               WHERE parent_object_id = OBJECT_ID(N'dbo.OrderItem') AND referenced_object_id = OBJECT_ID(N'dbo.Orders'))
+    EXEC (N'ALTER TABLE dbo.OrderItem ADD CONSTRAINT FK_OrderItem_Orders FOREIGN KEY (orderId) REFERENCES dbo.Orders (orderId)');
+
+IF NOT EXISTS (SELECT 1 FROM sys.foreign_keys
+               WHERE parent_object_id = OBJECT_ID(N'dbo.Payment') AND referenced_object_id = OBJECT_ID(N'dbo.Orders'))
+    EXEC (N'ALTER TABLE dbo.Payment ADD CONSTRAINT FK_Payment_Orders FOREIGN KEY (orderId) REFERENCES dbo.Orders (orderId)');
\ No newline at end of file
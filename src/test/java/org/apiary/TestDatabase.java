@@ -0,0 +1,30 @@
+package org.apiary;
+
+import org.apiary.config.HibernateConfig;
+import org.hibernate.SessionFactory;
+
+/**
+ * Points the application's session factory at an in-memory H2 database, so repository and
+ * service tests run without a SQL Server. The test profile creates the schema on start.
+ */
+public final class TestDatabase {
+
+    // Prevent instantiation
+    private TestDatabase() {
+    }
+
+    /**
+     * Start the session factory on the test database, or return the one already started
+     * @return The session factory
+     */
+    public static synchronized SessionFactory start() {
+        System.setProperty("app.profile", "test");
+        System.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+        System.setProperty("hibernate.connection.url",
+                "jdbc:h2:mem:apiary_test;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,USER,VALUE");
+        System.setProperty("hibernate.connection.username", "sa");
+        System.setProperty("hibernate.connection.password", "");
+        System.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        return HibernateConfig.getSessionFactory();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package org.apiary.repository.impl;
+
+import org.apiary.TestDatabase;
+import org.apiary.config.HibernateConfig;
+import org.apiary.model.Apiary;
+import org.apiary.model.Beekeeper;
+import org.apiary.model.HoneyProduct;
+import org.apiary.repository.transaction.SessionScope;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoneyProductRepositoryImplTest {
+
+    private static final AtomicInteger NEXT_USER = new AtomicInteger();
+    private static final int THREADS = 8;
+
+    private final HoneyProductRepositoryImpl honeyProductRepository = new HoneyProductRepositoryImpl();
+    private Apiary apiary;
+    private HoneyProduct product;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Beekeeper beekeeper = new Beekeeper("stockkeeper" + NEXT_USER.incrementAndGet(), "secret");
+        new UserRepositoryImpl().save(beekeeper);
+        apiary = new ApiaryRepositoryImpl().save(new Apiary("Stock apiary", "Iasi", beekeeper));
+        product = honeyProductRepository.save(
+                new HoneyProduct("Linden honey", "Raw", BigDecimal.TEN, new BigDecimal("10.00"), apiary));
+    }
+
+    @Test
+    void decrementFailsWithoutTouchingStockWhenThereIsNotEnough() {
+        assertEquals(1, honeyProductRepository.decrementQuantity(product.getProductId(), new BigDecimal("7")));
+        assertEquals(0, honeyProductRepository.decrementQuantity(product.getProductId(), new BigDecimal("4")));
+        assertEquals(0, new BigDecimal("3").compareTo(stock()));
+    }
+
+    @Test
+    void concurrentDecrementsNeverTakeStockBelowZero() throws Exception {
+        BigDecimal quantity = new BigDecimal("3");
+        int attempts = 40;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return honeyProductRepository.decrementQuantity(product.getProductId(), quantity);
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get(30, TimeUnit.SECONDS);
+            }
+
+            // 10 in stock covers three decrements of 3; every other attempt must be refused
+            assertEquals(3, succeeded);
+            assertEquals(0, BigDecimal.ONE.compareTo(stock()));
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void saveAllCreatesAndUpdatesAcrossSeveralBatches() {
+        int count = HibernateConfig.getBatchSize() * 2 + 3;
+        List<HoneyProduct> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(new HoneyProduct("Batch honey " + i, "Raw", BigDecimal.ONE, BigDecimal.ONE, apiary));
+        }
+
+        List<HoneyProduct> created = honeyProductRepository.saveAll(products);
+        assertEquals(count, created.size());
+        assertTrue(created.stream().allMatch(saved -> saved.getProductId() != null));
+        assertEquals(count + 1, honeyProductRepository.findByApiary(apiary).size());
+
+        created.forEach(saved -> saved.setPrice(new BigDecimal("2.50")));
+        honeyProductRepository.saveAll(created);
+        for (HoneyProduct saved : honeyProductRepository.findByApiary(apiary)) {
+            if (!saved.getProductId().equals(product.getProductId())) {
+                assertEquals(0, new BigDecimal("2.50").compareTo(saved.getPrice()));
+            }
+        }
+    }
+
+    @Test
+    void saveAllInAScopeKeepsTheCallersEntitiesAttached() {
+        List<HoneyProduct> products = new ArrayList<>();
+        for (int i = 0; i < HibernateConfig.getBatchSize() + 1; i++) {
+            products.add(new HoneyProduct("Scoped honey " + i, "Raw", BigDecimal.ONE, BigDecimal.ONE, apiary));
+        }
+
+        try (SessionScope scope = SessionScope.open()) {
+            Session session = scope.getSession();
+            HoneyProduct loaded = honeyProductRepository.findById(session, product.getProductId()).orElseThrow();
+            Transaction transaction = session.beginTransaction();
+            honeyProductRepository.saveAll(session, products);
+            transaction.commit();
+
+            // Only the saved batches are evicted, not what the scope loaded before
+            assertTrue(session.contains(loaded));
+        }
+    }
+
+    private BigDecimal stock() {
+        return honeyProductRepository.findById(product.getProductId()).orElseThrow().getQuantity();
+    }
+}
\ No newline at end of file
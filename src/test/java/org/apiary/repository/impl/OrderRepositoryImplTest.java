@@ -0,0 +1,174 @@
+package org.apiary.repository.impl;
+
+import org.apiary.TestDatabase;
+import org.apiary.model.Apiary;
+import org.apiary.model.Beekeeper;
+import org.apiary.model.Client;
+import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.model.OrderItem;
+import org.apiary.model.projection.OrderRow;
+import org.apiary.utils.pagination.KeysetPage;
+import org.apiary.utils.pagination.KeysetPageable;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderRepositoryImplTest {
+
+    private static final AtomicInteger NEXT_USER = new AtomicInteger();
+
+    private final OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+    private Beekeeper beekeeper;
+    private Client client;
+    private HoneyProduct acacia;
+    private HoneyProduct linden;
+    private Order order;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void setUp() {
+        UserRepositoryImpl userRepository = new UserRepositoryImpl();
+        int user = NEXT_USER.incrementAndGet();
+        beekeeper = new Beekeeper("graphkeeper" + user, "secret");
+        userRepository.save(beekeeper);
+        client = new Client("graphclient" + user, "secret");
+        userRepository.save(client);
+        Apiary apiary = new ApiaryRepositoryImpl().save(new Apiary("Graph apiary " + user, "Sibiu", beekeeper));
+        HoneyProductRepositoryImpl honeyProductRepository = new HoneyProductRepositoryImpl();
+        acacia = honeyProductRepository.save(
+                new HoneyProduct("Acacia honey", "Raw", BigDecimal.TEN, BigDecimal.TEN, apiary));
+        linden = honeyProductRepository.save(
+                new HoneyProduct("Linden honey", "Raw", BigDecimal.ONE, BigDecimal.TEN, apiary));
+
+        order = new Order(client);
+        order.addItem(new OrderItem(order, acacia, 2, acacia.getPrice()));
+        order.addItem(new OrderItem(order, linden, 3, linden.getPrice()));
+        order = orderRepository.save(order);
+    }
+
+    @Test
+    void findByIdWithItemsLoadsTheOrderDetailsInOneRead() {
+        Order loaded = orderRepository.findByIdWithItems(order.getOrderId()).orElseThrow();
+
+        // The session is closed; anything the graph did not fetch would throw here
+        assertTrue(Hibernate.isInitialized(loaded.getItems()));
+        assertEquals(2, loaded.getItems().size());
+        for (OrderItem item : loaded.getItems()) {
+            assertTrue(Hibernate.isInitialized(item.getProduct()));
+            assertEquals(beekeeper.getUsername(), item.getProduct().getApiary().getBeekeeper().getUsername());
+        }
+        assertEquals(client.getUsername(), loaded.getClient().getUsername());
+    }
+
+    @Test
+    void findByIdKeepsTheItemsLazy() {
+        Order loaded = orderRepository.findById(order.getOrderId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(loaded.getItems()));
+    }
+
+    @Test
+    void findByClientWithItemsReturnsEachOrderOnce() {
+        List<Order> orders = orderRepository.findByClientWithItems(client);
+
+        assertEquals(1, orders.size());
+        assertTrue(Hibernate.isInitialized(orders.get(0).getItems()));
+        assertEquals(2, orders.get(0).getItems().size());
+    }
+
+    @Test
+    void findByBeekeeperWithItemsLoadsTheItems() {
+        List<Order> orders = orderRepository.findByBeekeeperWithItems(beekeeper, null, null, null);
+
+        assertEquals(1, orders.size());
+        assertTrue(Hibernate.isInitialized(orders.get(0).getItems()));
+        assertEquals(2, orders.get(0).getItems().size());
+    }
+
+    @Test
+    void rowPagesSeekPastTheLastRowIncludingDateTies() {
+        // Two orders share a date with each other, so the seek must break the tie on the order ID
+        LocalDateTime tied = LocalDateTime.now().minusDays(1);
+        saveOrder(tied);
+        saveOrder(tied);
+        saveOrder(LocalDateTime.now().minusDays(2));
+
+        List<Integer> seen = new ArrayList<>();
+        KeysetPage<OrderRow> page = orderRepository.findRowsByClient(client, KeysetPageable.first(2, "date", "desc"));
+        seen.addAll(ids(page));
+        assertTrue(page.hasNext());
+        page = orderRepository.findRowsByClient(client, page.getNextPageable());
+        seen.addAll(ids(page));
+        assertFalse(page.hasNext());
+        assertNull(page.getNextPageable());
+
+        List<Integer> newestFirst = orderRepository.findByClient(client).stream()
+                .sorted((a, b) -> a.getDate().equals(b.getDate())
+                        ? b.getOrderId().compareTo(a.getOrderId())
+                        : b.getDate().compareTo(a.getDate()))
+                .map(Order::getOrderId)
+                .toList();
+        assertEquals(newestFirst, seen);
+    }
+
+    @Test
+    void beekeeperRowPagesListEachOrderOnce() {
+        saveOrder(LocalDateTime.now().minusDays(1));
+
+        KeysetPage<OrderRow> first = orderRepository.findRowsByBeekeeper(
+                beekeeper, null, null, null, KeysetPageable.first(1, "date", "desc"));
+        KeysetPage<OrderRow> second = orderRepository.findRowsByBeekeeper(
+                beekeeper, null, null, null, first.getNextPageable());
+
+        assertEquals(List.of(order.getOrderId()), ids(first));
+        assertEquals(2, first.getContent().get(0).getItemCount());
+        assertEquals(1, second.getContent().size());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void saveAllTakesOrderIdsFromThePooledSequence() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Order batched = new Order(client);
+            batched.addItem(new OrderItem(batched, acacia, 1, acacia.getPrice()));
+            orders.add(batched);
+        }
+
+        List<Integer> ids = orderRepository.saveAll(orders).stream().map(Order::getOrderId).toList();
+
+        // IDs come from the block the optimizer holds in memory, so the orders get consecutive IDs
+        assertEquals(List.of(ids.get(0), ids.get(0) + 1, ids.get(0) + 2), ids);
+        // Together with the order saved in setUp
+        assertEquals(4, orderRepository.findByClient(client).size());
+    }
+
+    private void saveOrder(LocalDateTime date) {
+        Order older = new Order(client);
+        older.setDate(date);
+        older.addItem(new OrderItem(older, acacia, 1, acacia.getPrice()));
+        older.addItem(new OrderItem(older, linden, 1, linden.getPrice()));
+        orderRepository.save(older);
+    }
+
+    private static List<Integer> ids(KeysetPage<OrderRow> page) {
+        return page.getContent().stream().map(OrderRow::getOrderId).toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package org.apiary.service.impl;
+
+import org.apiary.TestDatabase;
+import org.apiary.model.Apiary;
+import org.apiary.model.Beekeeper;
+import org.apiary.model.CartItem;
+import org.apiary.model.Client;
+import org.apiary.model.HoneyProduct;
+import org.apiary.model.Order;
+import org.apiary.model.OrderItem;
+import org.apiary.model.ShoppingCart;
+import org.apiary.model.StubPaymentGateway;
+import org.apiary.repository.impl.ApiaryRepositoryImpl;
+import org.apiary.repository.impl.CartItemRepositoryImpl;
+import org.apiary.repository.impl.HiveRepositoryImpl;
+import org.apiary.repository.impl.HoneyProductRepositoryImpl;
+import org.apiary.repository.impl.OrderItemRepositoryImpl;
+import org.apiary.repository.impl.OrderRepositoryImpl;
+import org.apiary.repository.impl.OutboxRepositoryImpl;
+import org.apiary.repository.impl.PaymentRepositoryImpl;
+import org.apiary.repository.impl.ShoppingCartRepositoryImpl;
+import org.apiary.repository.impl.UserRepositoryImpl;
+import org.apiary.repository.transaction.TransactionTemplate;
+import org.apiary.service.interfaces.ShoppingCartService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderServiceImplTest {
+
+    private static final AtomicInteger NEXT_USER = new AtomicInteger();
+    private static final BigDecimal STOCK = new BigDecimal("5.00");
+
+    private final HoneyProductRepositoryImpl honeyProductRepository = new HoneyProductRepositoryImpl();
+    private final OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+    private final CartItemRepositoryImpl cartItemRepository = new CartItemRepositoryImpl() {
+        @Override
+        public int deleteByCart(Session session, ShoppingCart cart) {
+            if (failCartClear) {
+                throw new IllegalStateException("Simulated failure clearing the cart");
+            }
+            return super.deleteByCart(session, cart);
+        }
+    };
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate();
+    private ShoppingCartService shoppingCartService;
+    private HoneyProductServiceImpl honeyProductService;
+    private PaymentServiceImpl paymentService;
+    private OutboxRelay outboxRelay;
+    private OrderServiceImpl orderService;
+    private Client client;
+    private HoneyProduct product;
+    private volatile Thread cartReadThread;
+    private volatile boolean failCartClear;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void setUp() {
+        UserRepositoryImpl userRepository = new UserRepositoryImpl();
+        int user = NEXT_USER.incrementAndGet();
+        Beekeeper beekeeper = new Beekeeper("beekeeper" + user, "secret");
+        userRepository.save(beekeeper);
+        client = new Client("client" + user, "secret");
+        userRepository.save(client);
+        Apiary apiary = new ApiaryRepositoryImpl().save(new Apiary("Apiary " + user, "Cluj", beekeeper));
+        product = honeyProductRepository.save(new HoneyProduct("Acacia honey", "Raw", BigDecimal.TEN, STOCK, apiary));
+
+        ApiaryServiceImpl apiaryService = new ApiaryServiceImpl(new ApiaryRepositoryImpl(), new HiveRepositoryImpl(),
+                honeyProductRepository, new OrderItemRepositoryImpl(), cartItemRepository, transactionTemplate);
+        honeyProductService = new HoneyProductServiceImpl(honeyProductRepository, apiaryService,
+                new HiveServiceImpl(new HiveRepositoryImpl(), apiaryService), 0);
+        shoppingCartService = new ShoppingCartServiceImpl(new ShoppingCartRepositoryImpl(), cartItemRepository,
+                honeyProductRepository) {
+            @Override
+            public List<CartItem> getCartItems(Client client) {
+                cartReadThread = Thread.currentThread();
+                return super.getCartItems(client);
+            }
+        };
+        assertTrue(shoppingCartService.addToCart(client, product, 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (orderService != null) {
+            orderService.shutdown();
+        }
+        if (paymentService != null) {
+            paymentService.shutdown();
+        }
+        if (outboxRelay != null) {
+            outboxRelay.shutdown();
+        }
+        honeyProductService.shutdown();
+    }
+
+    @Test
+    void successfulPaymentMarksOrderPaidAndClearsCart() {
+        Order order = placeOrder(new StubPaymentGateway(50, 0.0), 5000).join();
+
+        assertNotNull(order);
+        assertEquals("PAID", order.getStatus());
+        assertEquals("SUCCESS", order.getPayment().getStatus());
+        assertEquals(0, new BigDecimal("3").compareTo(stock()));
+        assertTrue(shoppingCartService.getCartItems(client).isEmpty());
+    }
+
+    @Test
+    void declinedPaymentCancelsOrderAndRestoresStock() {
+        Order order = placeOrder(new StubPaymentGateway(50, 1.0), 5000).join();
+
+        assertNotNull(order);
+        assertEquals("CANCELED", order.getStatus());
+        assertEquals(0, STOCK.compareTo(stock()));
+        assertEquals(1, shoppingCartService.getCartItems(client).size());
+    }
+
+    @Test
+    void timedOutPaymentIsHeldForReviewWithStockReserved() {
+        Order order = placeOrder(new StubPaymentGateway(5000, 0.0), 200).join();
+
+        assertNotNull(order);
+        assertEquals("PAYMENT_REVIEW", order.getStatus());
+        assertEquals("PENDING", order.getPayment().getStatus());
+        assertEquals(0, new BigDecimal("3").compareTo(stock()));
+        assertEquals(1, shoppingCartService.getCartItems(client).size());
+
+        assertTrue(orderService.updateOrderStatus(order.getOrderId(), "CANCELED"));
+        assertEquals(0, STOCK.compareTo(stock()));
+    }
+
+    @Test
+    void placementRunsOffTheCallingThread() throws Exception {
+        CompletableFuture<Order> order = placeOrder(new StubPaymentGateway(500, 0.0), 5000);
+
+        assertFalse(order.isDone());
+        assertEquals("PAID", order.get(10, TimeUnit.SECONDS).getStatus());
+        assertNotNull(cartReadThread);
+        assertNotSame(Thread.currentThread(), cartReadThread);
+    }
+
+    @Test
+    void orderCanceledDuringPaymentIsNotPaidAndStockIsRestoredOnce() throws Exception {
+        CompletableFuture<Order> placement = placeOrder(new StubPaymentGateway(1000, 0.0), 5000);
+        Order pending = awaitPlacedOrder();
+        assertEquals("PENDING", pending.getStatus());
+
+        assertTrue(orderService.cancelOrder(pending.getOrderId(), client));
+        Order order = placement.get(10, TimeUnit.SECONDS);
+
+        assertEquals("CANCELED", order.getStatus());
+        assertEquals("REFUND_DUE", order.getPayment().getStatus());
+        assertEquals(0, STOCK.compareTo(stock()));
+        assertEquals("CANCELED", orderRepository.findById(pending.getOrderId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void paidOrderThatCannotBeRecordedIsHeldForReview() {
+        failCartClear = true;
+        Order order = placeOrder(new StubPaymentGateway(50, 0.0), 5000).join();
+
+        assertNotNull(order);
+        assertEquals("PAYMENT_REVIEW", order.getStatus());
+        assertEquals("SUCCESS", order.getPayment().getStatus());
+        // The stock stays reserved for the order until a beekeeper settles it
+        assertEquals(0, new BigDecimal("3").compareTo(stock()));
+
+        failCartClear = false;
+        assertTrue(orderService.updateOrderStatus(order.getOrderId(), "PAID"));
+        assertEquals("PAID", orderRepository.findById(order.getOrderId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void stalePendingOrderIsHeldForReview() {
+        Order placed = placeOrder(new StubPaymentGateway(50, 0.0), 5000).join();
+        Order stale = new Order(client);
+        stale.setDate(LocalDateTime.now().minusHours(1));
+        stale.addItem(new OrderItem(stale, product, 1, product.getPrice()));
+        stale = orderRepository.save(stale);
+
+        assertTrue(orderService.reviewStalePendingOrders() >= 1);
+
+        assertEquals("PAYMENT_REVIEW", orderRepository.findById(stale.getOrderId()).orElseThrow().getStatus());
+        assertEquals("PAID", orderRepository.findById(placed.getOrderId()).orElseThrow().getStatus());
+        assertFalse(orderService.cancelOrder(stale.getOrderId(), client));
+    }
+
+    @Test
+    void canceledStatusUpdateRestoresStock() {
+        Order order = placeOrder(new StubPaymentGateway(50, 0.0), 5000).join();
+        assertEquals(0, new BigDecimal("3").compareTo(stock()));
+
+        assertTrue(orderService.updateOrderStatus(order.getOrderId(), "CANCELED"));
+
+        assertEquals(0, STOCK.compareTo(stock()));
+        assertFalse(orderService.updateOrderStatus(order.getOrderId(), "PAID"));
+    }
+
+    private Order awaitPlacedOrder() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<Order> orders = orderRepository.findByClient(client);
+        while (orders.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            orders = orderRepository.findByClient(client);
+        }
+        assertEquals(1, orders.size());
+        return orders.get(0);
+    }
+
+    private CompletableFuture<Order> placeOrder(StubPaymentGateway gateway, long paymentTimeoutMillis) {
+        paymentService = new PaymentServiceImpl(new PaymentRepositoryImpl(), gateway, 2, 10, paymentTimeoutMillis);
+        outboxRelay = new OutboxRelay(new OutboxRepositoryImpl(), 1000, 100, 60);
+        orderService = new OrderServiceImpl(new OrderRepositoryImpl(), new OrderItemRepositoryImpl(),
+                shoppingCartService, paymentService, honeyProductService, honeyProductRepository,
+                cartItemRepository, transactionTemplate, outboxRelay, 0);
+        return orderService.createOrderFromCartAsync(client);
+    }
+
+    private BigDecimal stock() {
+        return honeyProductRepository.findById(product.getProductId()).orElseThrow().getQuantity();
+    }
+}
\ No newline at end of file
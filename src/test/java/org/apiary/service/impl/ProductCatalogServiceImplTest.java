@@ -0,0 +1,191 @@
+package org.apiary.service.impl;
+
+import org.apiary.TestDatabase;
+import org.apiary.model.Apiary;
+import org.apiary.model.Beekeeper;
+import org.apiary.model.HoneyProduct;
+import org.apiary.model.StubPaymentGateway;
+import org.apiary.model.projection.ProductCard;
+import org.apiary.repository.changefeed.ChangeFeed;
+import org.apiary.repository.changefeed.LoopbackChangeFeedTransport;
+import org.apiary.repository.impl.ApiaryRepositoryImpl;
+import org.apiary.repository.impl.CartItemRepositoryImpl;
+import org.apiary.repository.impl.HiveRepositoryImpl;
+import org.apiary.repository.impl.HoneyProductRepositoryImpl;
+import org.apiary.repository.impl.OrderItemRepositoryImpl;
+import org.apiary.repository.impl.OrderRepositoryImpl;
+import org.apiary.repository.impl.OutboxRepositoryImpl;
+import org.apiary.repository.impl.PaymentRepositoryImpl;
+import org.apiary.repository.impl.ShoppingCartRepositoryImpl;
+import org.apiary.repository.impl.UserRepositoryImpl;
+import org.apiary.repository.transaction.TransactionTemplate;
+import org.apiary.utils.pagination.Pageable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two application instances over the test database and one loopback change feed:
+ * "local" serves the catalog, "remote" writes through its own repositories.
+ */
+class ProductCatalogServiceImplTest {
+
+    private static final AtomicInteger NEXT_USER = new AtomicInteger();
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    private final LoopbackChangeFeedTransport transport = new LoopbackChangeFeedTransport();
+    private final ChangeFeed remoteFeed = new ChangeFeed(transport, POLL_INTERVAL_MILLIS, 50, 60);
+    private final ChangeFeed localFeed = new ChangeFeed(transport, POLL_INTERVAL_MILLIS, 50, 60);
+    private final HoneyProductRepositoryImpl remoteProducts = new HoneyProductRepositoryImpl();
+    private final HoneyProductRepositoryImpl localProducts = new HoneyProductRepositoryImpl();
+    private HoneyProductServiceImpl honeyProductService;
+    private PaymentServiceImpl paymentService;
+    private OutboxRelay outboxRelay;
+    private OrderServiceImpl orderService;
+    private ProductCatalogServiceImpl catalog;
+    private Apiary apiary;
+    private String name;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void setUp() {
+        remoteProducts.setChangeFeed(remoteFeed);
+        localProducts.setChangeFeed(localFeed);
+        int user = NEXT_USER.incrementAndGet();
+        Beekeeper beekeeper = new Beekeeper("catalogkeeper" + user, "secret");
+        new UserRepositoryImpl().save(beekeeper);
+        apiary = new ApiaryRepositoryImpl().save(new Apiary("Catalog apiary " + user, "Brasov", beekeeper));
+        name = "Feed honey " + user;
+
+        ApiaryRepositoryImpl apiaryRepository = new ApiaryRepositoryImpl();
+        HiveRepositoryImpl hiveRepository = new HiveRepositoryImpl();
+        OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+        CartItemRepositoryImpl cartItemRepository = new CartItemRepositoryImpl();
+        TransactionTemplate transactionTemplate = new TransactionTemplate();
+        ApiaryServiceImpl apiaryService = new ApiaryServiceImpl(apiaryRepository, hiveRepository, localProducts,
+                new OrderItemRepositoryImpl(), cartItemRepository, transactionTemplate);
+        HiveServiceImpl hiveService = new HiveServiceImpl(hiveRepository, apiaryService);
+        honeyProductService = new HoneyProductServiceImpl(localProducts, apiaryService, hiveService, 0);
+        paymentService = new PaymentServiceImpl(new PaymentRepositoryImpl(), new StubPaymentGateway(0, 0.0),
+                1, 10, 1000);
+        outboxRelay = new OutboxRelay(new OutboxRepositoryImpl(), 1000, 100, 60);
+        orderService = new OrderServiceImpl(orderRepository, new OrderItemRepositoryImpl(),
+                new ShoppingCartServiceImpl(new ShoppingCartRepositoryImpl(), cartItemRepository, localProducts),
+                paymentService, honeyProductService, localProducts, cartItemRepository, transactionTemplate,
+                outboxRelay, 0);
+
+        catalog = new ProductCatalogServiceImpl(localProducts, honeyProductService, orderService, apiaryService, 0);
+        new ChangeFeedRelay(localFeed, apiaryRepository, hiveRepository, localProducts, orderRepository,
+                apiaryService, hiveService, honeyProductService, orderService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        localFeed.shutdown();
+        catalog.shutdown();
+        orderService.shutdown();
+        honeyProductService.shutdown();
+        paymentService.shutdown();
+        outboxRelay.shutdown();
+    }
+
+    @Test
+    void productCreatedOnAnotherInstanceIsIndexed() throws Exception {
+        catalog.checkConsistency();
+
+        HoneyProduct product = remoteProducts.save(
+                new HoneyProduct(name, "Raw", new BigDecimal("12.00"), new BigDecimal("4.00"), apiary));
+
+        ProductCard card = awaitCard(product.getProductId(), indexed -> indexed != null);
+        assertEquals(name, card.getName());
+        assertEquals(apiary.getName(), card.getApiaryName());
+        assertEquals(0, new BigDecimal("12.00").compareTo(card.getPrice()));
+    }
+
+    @Test
+    void productUpdatedOnAnotherInstanceIsPatched() throws Exception {
+        HoneyProduct product = remoteProducts.save(
+                new HoneyProduct(name, "Raw", new BigDecimal("12.00"), new BigDecimal("4.00"), apiary));
+        catalog.checkConsistency();
+
+        product.setPrice(new BigDecimal("15.50"));
+        remoteProducts.save(product);
+
+        awaitCard(product.getProductId(), indexed -> indexed != null
+                && new BigDecimal("15.50").compareTo(indexed.getPrice()) == 0);
+        // The index followed the feed; a consistency check finds nothing left to repair
+        assertEquals(0, catalog.checkConsistency());
+    }
+
+    @Test
+    void productDeletedOnAnotherInstanceIsRemoved() throws Exception {
+        HoneyProduct product = remoteProducts.save(
+                new HoneyProduct(name, "Raw", new BigDecimal("12.00"), new BigDecimal("4.00"), apiary));
+        catalog.checkConsistency();
+        assertNotNull(card(product.getProductId()));
+
+        remoteProducts.delete(product);
+
+        awaitCard(product.getProductId(), indexed -> indexed == null);
+    }
+
+    @Test
+    void ownChangesAreNotRelayedBack() throws Exception {
+        HoneyProduct product = remoteProducts.save(
+                new HoneyProduct(name, "Raw", new BigDecimal("12.00"), new BigDecimal("4.00"), apiary));
+        // Relaying the creation reads the product back; let that happen before it changes again
+        awaitFeed(transport.latestChangeId());
+        catalog.checkConsistency();
+
+        // Written by this instance's repository alone, so no local event told the catalog
+        product.setPrice(new BigDecimal("20.00"));
+        localProducts.save(product);
+        awaitFeed(transport.latestChangeId());
+
+        assertEquals(0, new BigDecimal("12.00").compareTo(card(product.getProductId()).getPrice()));
+    }
+
+    private void awaitFeed(long changeId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (localFeed.getHighWaterMark() < changeId && System.nanoTime() < deadline) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        assertTrue(localFeed.getHighWaterMark() >= changeId, "change feed stopped at " + localFeed.getHighWaterMark());
+    }
+
+    private ProductCard awaitCard(Integer productId, Predicate<ProductCard> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ProductCard card = card(productId);
+        while (!condition.test(card) && System.nanoTime() < deadline) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            card = card(productId);
+        }
+        assertTrue(condition.test(card), "catalog card of product " + productId + " is " + card);
+        return card;
+    }
+
+    private ProductCard card(Integer productId) {
+        for (ProductCard card : catalog.findProductCards(name, null, null, null, false,
+                new Pageable(0, 50)).getContent()) {
+            if (card.getProductId().equals(productId)) {
+                return card;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
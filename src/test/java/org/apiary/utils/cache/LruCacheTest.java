@@ -0,0 +1,54 @@
+package org.apiary.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LruCacheTest {
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // Reading "a" makes "b" the least recently used
+        assertEquals(1, cache.get("a"));
+
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void putReplacesWithoutEvicting() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 10);
+
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.get("a"));
+        assertEquals(2, cache.get("b"));
+    }
+
+    @Test
+    void clearRemovesEveryEntry() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, Integer>(0));
+    }
+}
\ No newline at end of file
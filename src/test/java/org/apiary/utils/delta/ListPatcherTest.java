@@ -0,0 +1,88 @@
+package org.apiary.utils.delta;
+
+import org.apiary.utils.delta.ListPatcher.Result;
+import org.apiary.utils.events.EntityChangeEvent.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ListPatcherTest {
+
+    private static final ListPatcher<Row, Integer> BY_NAME =
+            new ListPatcher<>(Row::id, Comparator.comparing(Row::name));
+    private static final ListPatcher<Row, Integer> UNORDERED = new ListPatcher<>(Row::id, null);
+
+    @Test
+    void deletionRemovesTheRow() {
+        List<Row> rows = rows(new Row(1, "a"), new Row(2, "b"));
+
+        assertEquals(Result.PATCHED, BY_NAME.apply(rows, Type.DELETED, new Row(1, "a"), null));
+        assertEquals(rows(new Row(2, "b")), rows);
+        assertEquals(Result.UNCHANGED, BY_NAME.apply(rows, Type.DELETED, new Row(9, "z"), null));
+    }
+
+    @Test
+    void updateThatKeepsItsPlaceReplacesTheRow() {
+        List<Row> rows = rows(new Row(1, "a"), new Row(2, "c"), new Row(3, "e"));
+
+        assertEquals(Result.PATCHED,
+                BY_NAME.apply(rows, Type.UPDATED, new Row(2, "d"), row -> true));
+        assertEquals(rows(new Row(1, "a"), new Row(2, "d"), new Row(3, "e")), rows);
+    }
+
+    @Test
+    void updateThatChangesTheSortKeyMovesTheRow() {
+        List<Row> rows = rows(new Row(1, "a"), new Row(2, "c"), new Row(3, "e"));
+
+        assertEquals(Result.PATCHED,
+                BY_NAME.apply(rows, Type.UPDATED, new Row(1, "f"), row -> true));
+        assertEquals(rows(new Row(2, "c"), new Row(3, "e"), new Row(1, "f")), rows);
+    }
+
+    @Test
+    void newRowIsInsertedAfterEqualRows() {
+        List<Row> rows = rows(new Row(1, "a"), new Row(2, "b"), new Row(3, "c"));
+
+        assertEquals(Result.PATCHED,
+                BY_NAME.apply(rows, Type.CREATED, new Row(4, "b"), row -> true));
+        assertEquals(rows(new Row(1, "a"), new Row(2, "b"), new Row(4, "b"), new Row(3, "c")), rows);
+    }
+
+    @Test
+    void rowThatLeavesTheFilterIsRemoved() {
+        List<Row> rows = rows(new Row(1, "a"), new Row(2, "b"));
+
+        assertEquals(Result.PATCHED,
+                BY_NAME.apply(rows, Type.UPDATED, new Row(2, "x"), row -> row.name().compareTo("m") < 0));
+        assertEquals(rows(new Row(1, "a")), rows);
+        assertEquals(Result.UNCHANGED,
+                BY_NAME.apply(rows, Type.CREATED, new Row(3, "y"), row -> row.name().compareTo("m") < 0));
+        assertEquals(rows(new Row(1, "a")), rows);
+    }
+
+    @Test
+    void unknownFilterOrOrderAsksForAReload() {
+        List<Row> rows = rows(new Row(1, "a"), new Row(2, "b"));
+
+        assertEquals(Result.RELOAD, BY_NAME.apply(rows, Type.UPDATED, new Row(1, "c"), null));
+        assertEquals(Result.RELOAD,
+                UNORDERED.apply(rows, Type.CREATED, new Row(3, "c"), row -> true));
+        assertEquals(rows(new Row(1, "a"), new Row(2, "b")), rows);
+
+        // Without an order an existing row is replaced where it is
+        assertEquals(Result.PATCHED,
+                UNORDERED.apply(rows, Type.UPDATED, new Row(1, "z"), row -> true));
+        assertEquals(rows(new Row(1, "z"), new Row(2, "b")), rows);
+    }
+
+    private static List<Row> rows(Row... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private record Row(Integer id, String name) {
+    }
+}
\ No newline at end of file
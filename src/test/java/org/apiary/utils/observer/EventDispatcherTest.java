@@ -0,0 +1,209 @@
+package org.apiary.utils.observer;
+
+import org.apiary.utils.events.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventDispatcherTest {
+
+    private EventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void eventsWithTheSameKeyAreMergedIntoTheLatest() throws Exception {
+        dispatcher = new EventDispatcher(1, 16, 200, 1000);
+        RecordingObserver observer = new RecordingObserver(2);
+
+        for (int i = 1; i <= 5; i++) {
+            dispatcher.dispatch(observer, new CounterEvent("stock", i));
+        }
+        dispatcher.dispatch(observer, new CounterEvent("price", 1));
+
+        assertTrue(observer.awaitBatches());
+        assertEquals(List.of(List.of("stock=5", "price=1")), observer.batches());
+        // Counters are updated once the observer returns; shutting down waits for that
+        dispatcher.shutdown();
+        assertEquals(4, dispatcher.getMetrics().getCoalesced());
+        assertEquals(2, dispatcher.getMetrics().getDelivered());
+    }
+
+    @Test
+    void eventsWithoutAKeyAreDeliveredInPublishingOrder() throws Exception {
+        dispatcher = new EventDispatcher(2, 16, 50, 1000);
+        RecordingObserver observer = new RecordingObserver(3);
+
+        for (int i = 1; i <= 3; i++) {
+            dispatcher.dispatch(observer, new CounterEvent(null, i));
+        }
+
+        assertTrue(observer.awaitBatches());
+        assertEquals(List.of(List.of("null=1", "null=2", "null=3")), observer.batches());
+        // Counters are updated once the observer returns; shutting down waits for that
+        dispatcher.shutdown();
+        assertEquals(0, dispatcher.getMetrics().getCoalesced());
+    }
+
+    @Test
+    void publisherWaitsForRoomInAFullMailbox() throws Exception {
+        dispatcher = new EventDispatcher(1, 1, 0, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver observer = new RecordingObserver(3, release);
+
+        dispatcher.dispatch(observer, new CounterEvent(null, 1));
+        assertTrue(observer.awaitDelivering());
+        // The observer is busy with the first event; the second fills the mailbox
+        dispatcher.dispatch(observer, new CounterEvent(null, 2));
+        new Thread(() -> {
+            sleep(100);
+            release.countDown();
+        }).start();
+
+        long start = System.nanoTime();
+        dispatcher.dispatch(observer, new CounterEvent(null, 3));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waitedMillis >= 50, "publisher returned after " + waitedMillis + " ms");
+        assertTrue(observer.awaitBatches());
+        assertEquals(List.of("null=1", "null=2", "null=3"), observer.events());
+        // Counters are updated once the observer returns; shutting down waits for that
+        dispatcher.shutdown();
+        assertEquals(0, dispatcher.getMetrics().getDropped());
+    }
+
+    @Test
+    void eventIsDroppedWhenNoRoomFreesUpInTime() throws Exception {
+        dispatcher = new EventDispatcher(1, 1, 0, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver observer = new RecordingObserver(2, release);
+
+        dispatcher.dispatch(observer, new CounterEvent(null, 1));
+        assertTrue(observer.awaitDelivering());
+        dispatcher.dispatch(observer, new CounterEvent(null, 2));
+        dispatcher.dispatch(observer, new CounterEvent(null, 3));
+        release.countDown();
+
+        assertTrue(observer.awaitBatches());
+        assertEquals(List.of("null=1", "null=2"), observer.events());
+        // Counters are updated once the observer returns; shutting down waits for that
+        dispatcher.shutdown();
+        assertEquals(1, dispatcher.getMetrics().getDropped());
+    }
+
+    @Test
+    void eventsAreDeliveredOnTheCallingThreadAfterShutdown() {
+        dispatcher = new EventDispatcher(1, 16, 50, 1000);
+        dispatcher.shutdown();
+        List<Thread> threads = new ArrayList<>();
+
+        dispatcher.dispatch(event -> threads.add(Thread.currentThread()), new CounterEvent(null, 1));
+
+        assertEquals(1, threads.size());
+        assertSame(Thread.currentThread(), threads.get(0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Event with an optional coalescing key; merging keeps the later value
+     */
+    private static final class CounterEvent implements Event {
+        private final String key;
+        private final int value;
+
+        private CounterEvent(String key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object coalescingKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Records every batch it receives, optionally holding up delivery until released
+     */
+    private static final class RecordingObserver implements Observer<CounterEvent> {
+        private final List<List<String>> batches = new ArrayList<>();
+        private final CountDownLatch expectedEvents;
+        private final CountDownLatch delivering = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingObserver(int expectedEvents) {
+            this(expectedEvents, new CountDownLatch(0));
+        }
+
+        private RecordingObserver(int expectedEvents, CountDownLatch release) {
+            this.expectedEvents = new CountDownLatch(expectedEvents);
+            this.release = release;
+        }
+
+        @Override
+        public void update(CounterEvent event) {
+            updateAll(List.of(event));
+        }
+
+        @Override
+        public void updateAll(List<CounterEvent> events) {
+            delivering.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<String> batch = new ArrayList<>();
+            for (CounterEvent event : events) {
+                batch.add(event.toString());
+            }
+            synchronized (batches) {
+                batches.add(batch);
+            }
+            events.forEach(event -> expectedEvents.countDown());
+        }
+
+        private boolean awaitDelivering() throws InterruptedException {
+            return delivering.await(5, TimeUnit.SECONDS);
+        }
+
+        private boolean awaitBatches() throws InterruptedException {
+            return expectedEvents.await(5, TimeUnit.SECONDS);
+        }
+
+        private List<List<String>> batches() {
+            synchronized (batches) {
+                return new ArrayList<>(batches);
+            }
+        }
+
+        private List<String> events() {
+            List<String> events = new ArrayList<>();
+            batches().forEach(events::addAll);
+            return events;
+        }
+    }
+}
\ No newline at end of file
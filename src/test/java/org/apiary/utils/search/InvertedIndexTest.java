@@ -0,0 +1,71 @@
+package org.apiary.utils.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvertedIndexTest {
+
+    // Name, then description
+    private final InvertedIndex<Integer> index = new InvertedIndex<>(3.0, 1.0);
+
+    @BeforeEach
+    void setUp() {
+        index.put(1, "Acacia honey", "Light and mild");
+        index.put(2, "Linden honey", "Made from acacia and linden blossoms");
+        index.put(3, "Salcâm comb", null);
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        assertEquals(List.of(2), index.search("linden acacia", 10));
+        assertEquals(List.of(), index.search("linden comb", 10));
+    }
+
+    @Test
+    void matchInAHeavierFieldRanksFirst() {
+        assertEquals(List.of(1, 2), index.search("acacia", 10));
+    }
+
+    @Test
+    void queryIsFoldedAndMatchesPrefixes() {
+        assertEquals(List.of(3), index.search("SALCAM", 10));
+        assertEquals(List.of(2), index.search("lind", 10));
+        assertEquals(List.of(1, 2), index.search("hon", 10));
+    }
+
+    @Test
+    void exactMatchOutranksPrefixMatch() {
+        InvertedIndex<Integer> names = new InvertedIndex<>(1.0);
+        names.put(1, "Honeydew");
+        names.put(2, "Honey");
+
+        assertEquals(List.of(2, 1), names.search("honey", 10));
+    }
+
+    @Test
+    void resultsAreLimited() {
+        assertEquals(List.of(1), index.search("honey", 1));
+        assertEquals(List.of(), index.search("honey", 0));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsADocument() {
+        index.put(1, "Rapeseed honey", null);
+        assertEquals(List.of(2), index.search("acacia", 10));
+
+        index.remove(2);
+        assertEquals(List.of(), index.search("acacia", 10));
+        assertEquals(Set.of(1, 3), index.keys());
+        assertEquals(2, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.search("honey", 10));
+    }
+}
\ No newline at end of file
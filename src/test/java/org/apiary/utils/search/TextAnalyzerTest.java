@@ -0,0 +1,25 @@
+package org.apiary.utils.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextAnalyzerTest {
+
+    @Test
+    void foldStripsAccentsAndCase() {
+        assertEquals("salcam", TextAnalyzer.fold("Salcâm"));
+        assertEquals("miere de tei", TextAnalyzer.fold("MIERE de Teî"));
+        assertEquals("", TextAnalyzer.fold(null));
+    }
+
+    @Test
+    void tokenizeSplitsOnAnythingButLettersAndDigits() {
+        assertEquals(List.of("acacia", "honey", "500g", "acacia"), TextAnalyzer.tokenize("Acacia-honey, 500g (acacia)"));
+        assertEquals(List.of("floare", "de", "salcam"), TextAnalyzer.tokenize("  Floare de salcâm!  "));
+        assertEquals(List.of(), TextAnalyzer.tokenize(" -- "));
+        assertEquals(List.of(), TextAnalyzer.tokenize(null));
+    }
+}
\ No newline at end of file